@@ -24,6 +24,7 @@ public class DataLoader implements CommandLineRunner {
     private final VacationRequestRepository vacationRequestRepository;
     private final PerformanceReviewRepository performanceReviewRepository;
     private final ActivityLogRepository activityLogRepository;
+    private final TaxTableRepository taxTableRepository;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -33,6 +34,50 @@ public class DataLoader implements CommandLineRunner {
             loadData();
             log.info("Dados iniciais carregados com sucesso!");
         }
+        // Tabelas de impostos são necessárias mesmo em bases já populadas
+        if (taxTableRepository.count() == 0) {
+            loadTaxTables();
+            log.info("Tabelas de INSS e IRRF carregadas");
+        }
+    }
+
+    private void loadTaxTables() {
+        // INSS 2024 (simplificada: alíquota da faixa sobre o salário todo, teto fixo)
+        TaxTable inss = TaxTable.builder()
+                .type(TaxTable.TaxType.INSS)
+                .validFrom(LocalDate.of(2024, 1, 1))
+                .mode(TaxTable.CalculationMode.FLAT)
+                .ceilingValue(new BigDecimal("908.85"))
+                .description("INSS 2024")
+                .build();
+        addBracket(inss, "1412.00", "0.075", "0");
+        addBracket(inss, "2666.68", "0.09", "0");
+        addBracket(inss, "4000.03", "0.12", "0");
+        addBracket(inss, "7786.02", "0.14", "0");
+        taxTableRepository.save(inss);
+
+        // IRRF 2024 (alíquota sobre a base menos a parcela a deduzir)
+        TaxTable irrf = TaxTable.builder()
+                .type(TaxTable.TaxType.IRRF)
+                .validFrom(LocalDate.of(2024, 1, 1))
+                .mode(TaxTable.CalculationMode.DEDUCTION)
+                .description("IRRF 2024")
+                .build();
+        addBracket(irrf, "2259.20", "0", "0");
+        addBracket(irrf, "2826.65", "0.075", "169.44");
+        addBracket(irrf, "3751.05", "0.15", "381.44");
+        addBracket(irrf, "4664.68", "0.225", "662.77");
+        addBracket(irrf, null, "0.275", "896.00");
+        taxTableRepository.save(irrf);
+    }
+
+    private void addBracket(TaxTable table, String upperLimit, String rate, String deduction) {
+        table.getBrackets().add(TaxBracket.builder()
+                .table(table)
+                .upperLimit(upperLimit != null ? new BigDecimal(upperLimit) : null)
+                .rate(new BigDecimal(rate))
+                .deduction(new BigDecimal(deduction))
+                .build());
     }
 
     private void loadData() {
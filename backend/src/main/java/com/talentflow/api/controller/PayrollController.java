@@ -1,17 +1,37 @@
 package com.talentflow.api.controller;
 
+import com.talentflow.api.dto.PayrollCalculationRunDTO;
 import com.talentflow.api.dto.PayrollDTO;
+import com.talentflow.api.dto.PayrollReconciliationDTO;
+import com.talentflow.api.dto.PayrollRemittanceDTO;
+import com.talentflow.api.dto.PayrollSimulationRequest;
+import com.talentflow.api.dto.PayrollSimulationResultDTO;
+import com.talentflow.api.dto.ThirteenthSalaryDTO;
+import com.talentflow.api.service.EsocialExportService;
+import com.talentflow.api.service.PayrollBulkCalculationService;
+import com.talentflow.api.service.PayrollReconciliationService;
+import com.talentflow.api.service.PayrollRemittanceService;
 import com.talentflow.api.service.PayrollService;
+import com.talentflow.api.service.PayrollSimulationService;
+import com.talentflow.api.service.PayrollSummaryService;
+import com.talentflow.api.service.PayrollTimeFeedService;
+import com.talentflow.api.service.PayrollYearToDateService;
+import com.talentflow.api.service.PayslipService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +43,15 @@ import java.util.Map;
 public class PayrollController {
 
     private final PayrollService payrollService;
+    private final PayslipService payslipService;
+    private final PayrollBulkCalculationService payrollBulkCalculationService;
+    private final PayrollSimulationService payrollSimulationService;
+    private final PayrollSummaryService payrollSummaryService;
+    private final PayrollTimeFeedService payrollTimeFeedService;
+    private final PayrollReconciliationService payrollReconciliationService;
+    private final PayrollRemittanceService payrollRemittanceService;
+    private final EsocialExportService esocialExportService;
+    private final PayrollYearToDateService payrollYearToDateService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
@@ -68,6 +97,108 @@ public class PayrollController {
         return ResponseEntity.ok(payrollService.generateMonthlyPayroll(year, month));
     }
 
+    @GetMapping("/payslips/{year}/{month}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Gerar holerites do período em um arquivo ZIP")
+    public ResponseEntity<StreamingResponseBody> downloadPayslips(
+            @PathVariable Integer year,
+            @PathVariable Integer month) {
+        List<PayslipService.Payslip> payslips = payslipService.findByPeriod(year, month);
+        String filename = String.format("holerites_%d_%02d.zip", year, month);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(out -> payslipService.writeZip(payslips, out));
+    }
+
+    @PostMapping("/remittance/{year}/{month}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Gerar remessa CNAB 240 das folhas aprovadas ainda não remetidas do período")
+    public ResponseEntity<StreamingResponseBody> createRemittance(
+            @PathVariable Integer year,
+            @PathVariable Integer month,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentDate) {
+        PayrollRemittanceDTO remittance = payrollRemittanceService.create(year, month,
+                paymentDate != null ? paymentDate : LocalDate.now());
+        return remittanceFile(remittance);
+    }
+
+    @GetMapping("/remittances/{year}/{month}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Listar remessas bancárias geradas no período")
+    public ResponseEntity<List<PayrollRemittanceDTO>> findRemittances(@PathVariable Integer year,
+                                                                      @PathVariable Integer month) {
+        return ResponseEntity.ok(payrollRemittanceService.findByPeriod(year, month));
+    }
+
+    @GetMapping("/remittances/{id}/file")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Baixar novamente o arquivo de uma remessa (mesmo NSA e mesmas folhas)")
+    public ResponseEntity<StreamingResponseBody> downloadRemittance(@PathVariable Long id) {
+        return remittanceFile(payrollRemittanceService.findById(id));
+    }
+
+    private ResponseEntity<StreamingResponseBody> remittanceFile(PayrollRemittanceDTO remittance) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + remittance.getFileName())
+                .contentType(MediaType.parseMediaType("text/plain; charset=US-ASCII"))
+                .body(out -> payrollRemittanceService.writeRemittance(remittance.getId(), out));
+    }
+
+    @GetMapping("/thirteenth/{year}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Calcular o 13º salário do ano a partir dos acumulados da folha")
+    public ResponseEntity<ThirteenthSalaryDTO> calculateThirteenth(@PathVariable Integer year) {
+        return ResponseEntity.ok(payrollYearToDateService.calculateThirteenth(year));
+    }
+
+    @PostMapping("/year-to-date/{year}/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconstruir os acumulados anuais da folha a partir das folhas do ano")
+    public ResponseEntity<Map<String, Object>> rebuildYearToDate(@PathVariable Integer year) {
+        return ResponseEntity.ok(payrollYearToDateService.rebuild(year));
+    }
+
+    @PostMapping("/esocial/{year}/{month}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Gerar os lotes de eventos S-1200 e S-1210 do eSocial das folhas fechadas do período")
+    public ResponseEntity<Map<String, Object>> exportEsocial(
+            @PathVariable Integer year,
+            @PathVariable Integer month,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentDate) {
+        return ResponseEntity.ok(esocialExportService.export(year, month, paymentDate));
+    }
+
+    @GetMapping("/reconciliation/{year}/{month}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Conciliar a folha do período com a do mês anterior")
+    public ResponseEntity<PayrollReconciliationDTO> reconcile(
+            @PathVariable Integer year,
+            @PathVariable Integer month,
+            @RequestParam(required = false) BigDecimal thresholdPercent,
+            @RequestParam(required = false) BigDecimal minDifference,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(payrollReconciliationService.reconcile(year, month, thresholdPercent, minDifference, page, size));
+    }
+
+    @GetMapping("/reconciliation/{year}/{month}/csv")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Exportar a conciliação da folha com o mês anterior em CSV")
+    public ResponseEntity<StreamingResponseBody> exportReconciliation(
+            @PathVariable Integer year,
+            @PathVariable Integer month,
+            @RequestParam(required = false) BigDecimal thresholdPercent,
+            @RequestParam(required = false) BigDecimal minDifference) {
+        String filename = String.format("conciliacao_folha_%d_%02d.csv", year, month);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .body(out -> payrollReconciliationService.writeCsv(year, month, thresholdPercent, minDifference, out));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     @Operation(summary = "Atualizar folha de pagamento")
@@ -84,6 +215,54 @@ public class PayrollController {
         return ResponseEntity.ok(payrollService.calculate(id));
     }
 
+    @PostMapping("/{year}/{month}/time-records")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Aplicar horas extras e descontos do ponto às folhas em rascunho do período")
+    public ResponseEntity<Map<String, Object>> applyTimeRecords(
+            @PathVariable Integer year,
+            @PathVariable Integer month) {
+        return ResponseEntity.ok(payrollTimeFeedService.apply(year, month));
+    }
+
+    @PostMapping("/{year}/{month}/calculate")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Gerar e calcular em lote a folha do período, com retomada após reinício")
+    public ResponseEntity<PayrollCalculationRunDTO> calculatePeriod(
+            @PathVariable Integer year,
+            @PathVariable Integer month) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(payrollBulkCalculationService.start(year, month));
+    }
+
+    @GetMapping("/calculations/{runId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Acompanhar o andamento de um cálculo em lote")
+    public ResponseEntity<PayrollCalculationRunDTO> getCalculationRun(@PathVariable Long runId) {
+        return ResponseEntity.ok(payrollBulkCalculationService.findById(runId));
+    }
+
+    @GetMapping("/{year}/{month}/calculations")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Listar os cálculos em lote do período")
+    public ResponseEntity<List<PayrollCalculationRunDTO>> getCalculationRuns(
+            @PathVariable Integer year,
+            @PathVariable Integer month) {
+        return ResponseEntity.ok(payrollBulkCalculationService.findByPeriod(year, month));
+    }
+
+    @PostMapping("/calculations/{runId}/resume")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Retomar um cálculo em lote que falhou")
+    public ResponseEntity<PayrollCalculationRunDTO> resumeCalculationRun(@PathVariable Long runId) {
+        return ResponseEntity.ok(payrollBulkCalculationService.resume(runId));
+    }
+
+    @PostMapping("/simulations")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Simular reajustes sobre a folha do período sem alterar os dados")
+    public ResponseEntity<PayrollSimulationResultDTO> simulate(@RequestBody PayrollSimulationRequest request) {
+        return ResponseEntity.ok(payrollSimulationService.simulate(request));
+    }
+
     @PostMapping("/{id}/approve")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Aprovar folha de pagamento")
@@ -104,15 +283,16 @@ public class PayrollController {
     public ResponseEntity<Map<String, Object>> getStats(
             @PathVariable Integer year,
             @PathVariable Integer month) {
-        BigDecimal total = payrollService.getTotalPaidByPeriod(year, month);
-        List<PayrollDTO> payrolls = payrollService.findByPeriod(year, month);
-        
-        return ResponseEntity.ok(Map.of(
-                "totalPaid", total,
-                "count", payrolls.size(),
-                "period", month + "/" + year
-        ));
+        return ResponseEntity.ok(payrollSummaryService.getStats(year, month));
     }
-}
-
 
+    @PostMapping("/stats/{year}/{month}/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconstruir os totais da folha do período")
+    public ResponseEntity<Map<String, Object>> rebuildStats(
+            @PathVariable Integer year,
+            @PathVariable Integer month) {
+        payrollSummaryService.rebuild(year, month);
+        return ResponseEntity.ok(payrollSummaryService.getStats(year, month));
+    }
+}
@@ -4,88 +4,183 @@ import com.talentflow.api.service.ReportExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Parameter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 @RestController
 @RequestMapping("/reports/export")
 @RequiredArgsConstructor
-@Tag(name = "Exportação de Relatórios", description = "Exportação de relatórios em PDF e Excel")
+@Tag(name = "Exportação de Relatórios", description = "Exportação de relatórios em PDF e Excel e de dados em CSV e NDJSON")
 @SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasAnyRole('ADMIN', 'HR')")
 public class ReportExportController {
 
     private final ReportExportService reportExportService;
     private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv; charset=UTF-8");
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     @GetMapping("/employees/pdf")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     @Operation(summary = "Exportar funcionários em PDF")
-    public ResponseEntity<byte[]> exportEmployeesPdf() {
-        byte[] pdf = reportExportService.exportEmployeesToPdf();
+    public ResponseEntity<StreamingResponseBody> exportEmployeesPdf() {
         String filename = "funcionarios_" + LocalDate.now().format(FILE_DATE_FORMAT) + ".pdf";
         
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+                .body(reportExportService::exportEmployeesToPdf);
     }
 
     @GetMapping("/employees/excel")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     @Operation(summary = "Exportar funcionários em Excel")
-    public ResponseEntity<byte[]> exportEmployeesExcel() throws IOException {
-        byte[] excel = reportExportService.exportEmployeesToExcel();
+    public ResponseEntity<StreamingResponseBody> exportEmployeesExcel() {
         String filename = "funcionarios_" + LocalDate.now().format(FILE_DATE_FORMAT) + ".xlsx";
         
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(excel);
+                .body(reportExportService::exportEmployeesToExcel);
     }
 
     @GetMapping("/candidates/pdf")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     @Operation(summary = "Exportar candidatos em PDF")
-    public ResponseEntity<byte[]> exportCandidatesPdf() {
-        byte[] pdf = reportExportService.exportCandidatesToPdf();
+    public ResponseEntity<StreamingResponseBody> exportCandidatesPdf() {
         String filename = "candidatos_" + LocalDate.now().format(FILE_DATE_FORMAT) + ".pdf";
         
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+                .body(reportExportService::exportCandidatesToPdf);
     }
 
     @GetMapping("/candidates/excel")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
     @Operation(summary = "Exportar candidatos em Excel")
-    public ResponseEntity<byte[]> exportCandidatesExcel() throws IOException {
-        byte[] excel = reportExportService.exportCandidatesToExcel();
+    public ResponseEntity<StreamingResponseBody> exportCandidatesExcel() {
         String filename = "candidatos_" + LocalDate.now().format(FILE_DATE_FORMAT) + ".xlsx";
         
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(excel);
+                .body(reportExportService::exportCandidatesToExcel);
     }
 
     @GetMapping("/vacations/pdf")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
     @Operation(summary = "Exportar férias em PDF")
-    public ResponseEntity<byte[]> exportVacationsPdf() {
-        byte[] pdf = reportExportService.exportVacationsToPdf();
+    public ResponseEntity<StreamingResponseBody> exportVacationsPdf() {
         String filename = "ferias_" + LocalDate.now().format(FILE_DATE_FORMAT) + ".pdf";
         
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+                .body(reportExportService::exportVacationsToPdf);
+    }
+
+    @GetMapping("/vacations/excel")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    @Operation(summary = "Exportar férias em Excel")
+    public ResponseEntity<StreamingResponseBody> exportVacationsExcel() {
+        String filename = "ferias_" + LocalDate.now().format(FILE_DATE_FORMAT) + ".xlsx";
+        
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .body(reportExportService::exportVacationsToExcel);
+    }
+
+    // ==================== DADOS BRUTOS (CSV / NDJSON) ====================
+
+    @GetMapping("/employees/{format:csv|ndjson}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Exportar dados de funcionários em CSV ou NDJSON (incremental com since)")
+    public ResponseEntity<StreamingResponseBody> exportEmployeesData(
+            @PathVariable String format,
+            @Parameter(description = "Apenas registros alterados a partir desta data/hora (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ReportExportService.DataFormat dataFormat = parseFormat(format);
+        return dataResponse("funcionarios", dataFormat,
+                out -> reportExportService.exportEmployeesData(dataFormat, since, out));
     }
-}
 
+    @GetMapping("/candidates/{format:csv|ndjson}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Exportar dados de candidatos em CSV ou NDJSON (incremental com since)")
+    public ResponseEntity<StreamingResponseBody> exportCandidatesData(
+            @PathVariable String format,
+            @Parameter(description = "Apenas registros alterados a partir desta data/hora (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ReportExportService.DataFormat dataFormat = parseFormat(format);
+        return dataResponse("candidatos", dataFormat,
+                out -> reportExportService.exportCandidatesData(dataFormat, since, out));
+    }
 
+    @GetMapping("/vacations/{format:csv|ndjson}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    @Operation(summary = "Exportar dados de férias em CSV ou NDJSON (incremental com since)")
+    public ResponseEntity<StreamingResponseBody> exportVacationsData(
+            @PathVariable String format,
+            @Parameter(description = "Apenas registros alterados a partir desta data/hora (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ReportExportService.DataFormat dataFormat = parseFormat(format);
+        return dataResponse("ferias", dataFormat,
+                out -> reportExportService.exportVacationsData(dataFormat, since, out));
+    }
 
+    @GetMapping("/time-records/{format:csv|ndjson}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Exportar dados de ponto em CSV ou NDJSON (incremental com since)")
+    public ResponseEntity<StreamingResponseBody> exportTimeRecordsData(
+            @PathVariable String format,
+            @Parameter(description = "Apenas registros alterados a partir desta data/hora (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ReportExportService.DataFormat dataFormat = parseFormat(format);
+        return dataResponse("ponto", dataFormat,
+                out -> reportExportService.exportTimeRecordsData(dataFormat, since, out));
+    }
+
+    @GetMapping("/payroll/{format:csv|ndjson}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Exportar dados da folha de pagamento em CSV ou NDJSON (incremental com since)")
+    public ResponseEntity<StreamingResponseBody> exportPayrollData(
+            @PathVariable String format,
+            @Parameter(description = "Apenas registros alterados a partir desta data/hora (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        ReportExportService.DataFormat dataFormat = parseFormat(format);
+        return dataResponse("folha", dataFormat,
+                out -> reportExportService.exportPayrollData(dataFormat, since, out));
+    }
+
+    private ReportExportService.DataFormat parseFormat(String format) {
+        return ReportExportService.DataFormat.valueOf(format.toUpperCase());
+    }
+
+    private ResponseEntity<StreamingResponseBody> dataResponse(String prefix, ReportExportService.DataFormat format,
+                                                               StreamingResponseBody body) {
+        boolean csv = format == ReportExportService.DataFormat.CSV;
+        String filename = prefix + "_" + LocalDate.now().format(FILE_DATE_FORMAT) + (csv ? ".csv" : ".ndjson");
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(csv ? TEXT_CSV : APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,80 @@
+package com.talentflow.api.controller;
+
+import com.talentflow.api.dto.ReportJobDTO;
+import com.talentflow.api.entity.ReportJob;
+import com.talentflow.api.service.ReportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/reports/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Relatórios Assíncronos", description = "Geração de relatórios em segundo plano")
+@SecurityRequirement(name = "bearerAuth")
+public class ReportJobController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping
+    @Operation(summary = "Solicitar geração de relatório")
+    public ResponseEntity<ReportJobDTO> submit(
+            @RequestParam ReportJob.ReportType type,
+            @RequestParam ReportJob.ReportFormat format) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportJobService.submit(type, format));
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar relatórios solicitados pelo usuário")
+    public ResponseEntity<List<ReportJobDTO>> findMine() {
+        return ResponseEntity.ok(reportJobService.findMine());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Consultar situação do relatório")
+    public ResponseEntity<ReportJobDTO> findById(@PathVariable Long id) {
+        return ResponseEntity.ok(reportJobService.findById(id));
+    }
+
+    @GetMapping("/{id}/download")
+    @Operation(summary = "Download do relatório gerado")
+    public void download(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ReportJobDTO job = reportJobService.findById(id);
+        Path file = reportJobService.getFile(id);
+        long size = Files.size(file);
+
+        response.setContentType(job.getFormat() == ReportJob.ReportFormat.PDF ?
+                MediaType.APPLICATION_PDF_VALUE :
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + job.getFileName());
+        response.setContentLengthLong(size);
+
+        // Envio sem cópia em espaço de usuário quando o Tomcat suporta sendfile
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+        } else {
+            Files.copy(file, response.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.talentflow.api.controller;
+
+import com.talentflow.api.dto.TaxTableDTO;
+import com.talentflow.api.service.TaxTableService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/tax-tables")
+@RequiredArgsConstructor
+@Tag(name = "Tabelas de Impostos", description = "Tabelas de INSS e IRRF por vigência")
+@SecurityRequirement(name = "bearerAuth")
+public class TaxTableController {
+
+    private final TaxTableService taxTableService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Listar tabelas de impostos")
+    public ResponseEntity<List<TaxTableDTO>> findAll() {
+        return ResponseEntity.ok(taxTableService.findAll());
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Buscar tabela de imposto por ID")
+    public ResponseEntity<TaxTableDTO> findById(@PathVariable Long id) {
+        return ResponseEntity.ok(taxTableService.findById(id));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Cadastrar nova versão de tabela de imposto")
+    public ResponseEntity<TaxTableDTO> create(@RequestBody TaxTableDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(taxTableService.create(dto));
+    }
+}
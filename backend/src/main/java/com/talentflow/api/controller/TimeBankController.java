@@ -0,0 +1,48 @@
+package com.talentflow.api.controller;
+
+import com.talentflow.api.dto.TimeBankBalanceDTO;
+import com.talentflow.api.dto.TimeBankStatementDTO;
+import com.talentflow.api.service.TimeBankService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/time-bank")
+@RequiredArgsConstructor
+@Tag(name = "Banco de Horas", description = "Saldo e extrato do banco de horas")
+@SecurityRequirement(name = "bearerAuth")
+public class TimeBankController {
+
+    private final TimeBankService timeBankService;
+
+    @GetMapping("/employee/{employeeId}")
+    @Operation(summary = "Saldo do banco de horas do funcionário")
+    public ResponseEntity<TimeBankBalanceDTO> getBalance(@PathVariable Long employeeId) {
+        return ResponseEntity.ok(timeBankService.getBalance(employeeId));
+    }
+
+    @GetMapping("/employee/{employeeId}/statement")
+    @Operation(summary = "Extrato do banco de horas no período")
+    public ResponseEntity<TimeBankStatementDTO> getStatement(
+            @PathVariable Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(timeBankService.getStatement(employeeId, startDate, endDate));
+    }
+
+    @PostMapping("/expire")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Expirar agora os créditos vencidos")
+    public ResponseEntity<Map<String, Object>> expire() {
+        return ResponseEntity.ok(timeBankService.expire(LocalDate.now()));
+    }
+}
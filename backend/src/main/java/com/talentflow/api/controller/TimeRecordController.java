@@ -1,16 +1,27 @@
 package com.talentflow.api.controller;
 
+import com.talentflow.api.dto.MonthlyTimesheetDTO;
+import com.talentflow.api.dto.TimeClockImportDTO;
+import com.talentflow.api.dto.TimePunchSyncRequest;
+import com.talentflow.api.dto.TimePunchSyncResultDTO;
 import com.talentflow.api.dto.TimeRecordDTO;
+import com.talentflow.api.service.MonthlyTimesheetService;
+import com.talentflow.api.service.TimeClockImportService;
+import com.talentflow.api.service.TimePunchSyncService;
+import com.talentflow.api.service.TimeRecordAnomalyService;
 import com.talentflow.api.service.TimeRecordService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +34,10 @@ import java.util.Map;
 public class TimeRecordController {
 
     private final TimeRecordService timeRecordService;
+    private final MonthlyTimesheetService monthlyTimesheetService;
+    private final TimeClockImportService timeClockImportService;
+    private final TimePunchSyncService timePunchSyncService;
+    private final TimeRecordAnomalyService timeRecordAnomalyService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
@@ -60,6 +75,13 @@ public class TimeRecordController {
                 .orElse(ResponseEntity.noContent().build());
     }
 
+    @GetMapping("/today/cache-stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Estatísticas do cache de registros de hoje")
+    public ResponseEntity<Map<String, Object>> getTodayCacheStats() {
+        return ResponseEntity.ok(timeRecordService.getTodayCacheStats());
+    }
+
     @PostMapping("/clock-in/{employeeId}")
     @Operation(summary = "Registrar entrada")
     public ResponseEntity<TimeRecordDTO> clockIn(
@@ -88,6 +110,15 @@ public class TimeRecordController {
         return ResponseEntity.ok(timeRecordService.clockOut(employeeId));
     }
 
+    @PostMapping("/sync")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER', 'EMPLOYEE')")
+    @Operation(summary = "Sincronizar marcações feitas sem conexão no aplicativo (gestores e funcionários só as próprias)")
+    public ResponseEntity<TimePunchSyncResultDTO> sync(
+            @RequestBody TimePunchSyncRequest syncRequest,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(timePunchSyncService.sync(syncRequest, request.getRemoteAddr()));
+    }
+
     @PostMapping("/{id}/approve")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
     @Operation(summary = "Aprovar registro de ponto")
@@ -126,12 +157,68 @@ public class TimeRecordController {
         ));
     }
 
+    @GetMapping("/monthly/{year}/{month}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    @Operation(summary = "Consolidado mensal de ponto da empresa por departamento")
+    public ResponseEntity<MonthlyTimesheetDTO> getCompanyMonth(
+            @PathVariable Integer year,
+            @PathVariable Integer month) {
+        return ResponseEntity.ok(monthlyTimesheetService.getCompanyMonth(year, month));
+    }
+
+    @GetMapping("/monthly/{year}/{month}/department/{departmentId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    @Operation(summary = "Consolidado mensal de ponto do departamento por funcionário")
+    public ResponseEntity<MonthlyTimesheetDTO> getDepartmentMonth(
+            @PathVariable Integer year,
+            @PathVariable Integer month,
+            @PathVariable Long departmentId) {
+        return ResponseEntity.ok(monthlyTimesheetService.getDepartmentMonth(year, month, departmentId));
+    }
+
+    @PostMapping("/monthly/{year}/{month}/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconstruir o consolidado mensal de ponto a partir dos registros")
+    public ResponseEntity<Map<String, Object>> rebuildMonth(
+            @PathVariable Integer year,
+            @PathVariable Integer month) {
+        return ResponseEntity.ok(monthlyTimesheetService.rebuild(year, month));
+    }
+
     @GetMapping("/pending/count")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
     @Operation(summary = "Contar registros pendentes de aprovação")
     public ResponseEntity<Map<String, Long>> countPending() {
         return ResponseEntity.ok(Map.of("count", timeRecordService.countPending()));
     }
-}
 
+    @GetMapping("/anomalies")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    @Operation(summary = "Listar ocorrências de ponto do dia (falta, saída não registrada, intervalo curto)")
+    public ResponseEntity<List<TimeRecordDTO>> findAnomalies(@RequestParam String date) {
+        return ResponseEntity.ok(timeRecordAnomalyService.findByDate(LocalDate.parse(date)));
+    }
 
+    @PostMapping("/anomalies/detect")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Executar a verificação de ocorrências de ponto de um dia")
+    public ResponseEntity<Map<String, Object>> detectAnomalies(@RequestParam String date) {
+        return ResponseEntity.ok(timeRecordAnomalyService.detect(LocalDate.parse(date)));
+    }
+
+    @PostMapping(value = "/import/afd", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Importar AFD do relógio de ponto (Portarias 1510 e 671)")
+    public ResponseEntity<TimeClockImportDTO> importAfd(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean reprocess) throws IOException {
+        return ResponseEntity.ok(timeClockImportService.importAfd(file, reprocess));
+    }
+
+    @GetMapping("/import/afd")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Listar importações de AFD recentes")
+    public ResponseEntity<List<TimeClockImportDTO>> findImports() {
+        return ResponseEntity.ok(timeClockImportService.findRecent());
+    }
+}
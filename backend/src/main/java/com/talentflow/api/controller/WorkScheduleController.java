@@ -0,0 +1,116 @@
+package com.talentflow.api.controller;
+
+import com.talentflow.api.dto.WorkScheduleAssignmentDTO;
+import com.talentflow.api.dto.WorkScheduleDTO;
+import com.talentflow.api.dto.WorkShiftDTO;
+import com.talentflow.api.service.TimeRecordRecomputeService;
+import com.talentflow.api.service.WorkScheduleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/work-schedules")
+@RequiredArgsConstructor
+@Tag(name = "Escalas de Trabalho", description = "Turnos, escalas e atribuições")
+@SecurityRequirement(name = "bearerAuth")
+public class WorkScheduleController {
+
+    private final WorkScheduleService workScheduleService;
+    private final TimeRecordRecomputeService timeRecordRecomputeService;
+
+    @GetMapping("/shifts")
+    @Operation(summary = "Listar turnos")
+    public ResponseEntity<List<WorkShiftDTO>> findAllShifts() {
+        return ResponseEntity.ok(workScheduleService.findAllShifts());
+    }
+
+    @PostMapping("/shifts")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Criar turno")
+    public ResponseEntity<WorkShiftDTO> createShift(@Valid @RequestBody WorkShiftDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(workScheduleService.createShift(dto));
+    }
+
+    @PutMapping("/shifts/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Atualizar turno")
+    public ResponseEntity<WorkShiftDTO> updateShift(@PathVariable Long id, @Valid @RequestBody WorkShiftDTO dto) {
+        return ResponseEntity.ok(workScheduleService.updateShift(id, dto));
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar escalas")
+    public ResponseEntity<List<WorkScheduleDTO>> findAll() {
+        return ResponseEntity.ok(workScheduleService.findAll());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar escala por ID")
+    public ResponseEntity<WorkScheduleDTO> findById(@PathVariable Long id) {
+        return ResponseEntity.ok(workScheduleService.findById(id));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Criar escala")
+    public ResponseEntity<WorkScheduleDTO> create(@Valid @RequestBody WorkScheduleDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(workScheduleService.create(dto));
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Atualizar escala")
+    public ResponseEntity<WorkScheduleDTO> update(@PathVariable Long id, @Valid @RequestBody WorkScheduleDTO dto) {
+        return ResponseEntity.ok(workScheduleService.update(id, dto));
+    }
+
+    @GetMapping("/assignments")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR', 'MANAGER')")
+    @Operation(summary = "Listar atribuições de escala")
+    public ResponseEntity<List<WorkScheduleAssignmentDTO>> findAllAssignments() {
+        return ResponseEntity.ok(workScheduleService.findAllAssignments());
+    }
+
+    @PostMapping("/assignments")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Atribuir escala a funcionário ou departamento")
+    public ResponseEntity<WorkScheduleAssignmentDTO> assign(@Valid @RequestBody WorkScheduleAssignmentDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(workScheduleService.assign(dto));
+    }
+
+    @DeleteMapping("/assignments/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR')")
+    @Operation(summary = "Remover atribuição de escala")
+    public ResponseEntity<Map<String, String>> unassign(@PathVariable Long id) {
+        workScheduleService.unassign(id);
+        return ResponseEntity.ok(Map.of("message", "Atribuição de escala removida com sucesso"));
+    }
+
+    @GetMapping("/employee/{employeeId}")
+    @Operation(summary = "Jornada do funcionário numa data")
+    public ResponseEntity<Map<String, Object>> describe(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(workScheduleService.describe(employeeId, date != null ? date : LocalDate.now()));
+    }
+
+    @PostMapping("/recompute")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Recalcular os registros de ponto a partir de uma data pelas escalas atuais")
+    public ResponseEntity<Map<String, Object>> recompute(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        return ResponseEntity.ok(timeRecordRecomputeService.recompute(from));
+    }
+}
@@ -38,10 +38,33 @@ public class EmployeeDTO {
     private String phone;
     private String address;
     private LocalDate birthDate;
+    private String cpf;
+    private String pis;
+    
+    // Dados bancários
+    private String bankCode;
+    private String bankAgency;
+    private String bankAgencyDigit;
+    private String bankAccount;
+    private String bankAccountDigit;
     
     private Employee.EmployeeStatus status;
     private Role role;
     
+    /**
+     * Remove CPF, PIS e dados bancários, visíveis só para administrador e RH.
+     */
+    public EmployeeDTO withoutRestrictedData() {
+        cpf = null;
+        pis = null;
+        bankCode = null;
+        bankAgency = null;
+        bankAgencyDigit = null;
+        bankAccount = null;
+        bankAccountDigit = null;
+        return this;
+    }
+
     public static EmployeeDTO fromEntity(Employee employee) {
         return EmployeeDTO.builder()
                 .id(employee.getId())
@@ -55,6 +78,13 @@ public class EmployeeDTO {
                 .phone(employee.getPhone())
                 .address(employee.getAddress())
                 .birthDate(employee.getBirthDate())
+                .cpf(employee.getCpf())
+                .pis(employee.getPis())
+                .bankCode(employee.getBankCode())
+                .bankAgency(employee.getBankAgency())
+                .bankAgencyDigit(employee.getBankAgencyDigit())
+                .bankAccount(employee.getBankAccount())
+                .bankAccountDigit(employee.getBankAccountDigit())
                 .status(employee.getStatus())
                 .role(employee.getUser().getRole())
                 .build();
@@ -0,0 +1,41 @@
+package com.talentflow.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyTimesheetDTO {
+
+    private Integer referenceYear;
+    private Integer referenceMonth;
+    private Long departmentId;      // Nulo na visão da empresa
+    private String departmentName;
+    private Long employees;
+    private Long daysPresent;
+    private Long workedMinutes;
+    private Long overtimeMinutes;
+    private Long approvedOvertimeMinutes;
+    private Long lateMinutes;
+    private Long earlyDepartureMinutes;
+    private List<Entry> items;      // Departamentos (empresa) ou funcionários (departamento)
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Long id;
+        private String name;
+        private Long employees;
+        private Long daysPresent;
+        private Long workedMinutes;
+        private Long overtimeMinutes;
+        private Long approvedOvertimeMinutes;
+        private Long lateMinutes;
+        private Long earlyDepartureMinutes;
+    }
+}
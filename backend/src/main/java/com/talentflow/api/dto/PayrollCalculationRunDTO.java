@@ -0,0 +1,51 @@
+package com.talentflow.api.dto;
+
+import com.talentflow.api.entity.PayrollRun;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollCalculationRunDTO {
+
+    private Long id;
+    private Integer referenceYear;
+    private Integer referenceMonth;
+    private PayrollRun.RunStatus status;
+
+    private Integer total;
+    private Integer processed;
+    private Integer succeeded;
+    private Integer failed;
+    private Double percentComplete;
+
+    // Lotes
+    private Integer chunkSize;
+    private Integer totalChunks;
+    private Integer completedChunks;
+    private Integer runningChunks;
+    private Integer failedChunks;
+
+    private Double throughputPerSecond;
+    private Long etaSeconds;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long elapsedMillis;
+    private String errorMessage;
+
+    private List<Failure> failures;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+        private Long payrollId;
+        private Long employeeId;
+        private String message;
+    }
+}
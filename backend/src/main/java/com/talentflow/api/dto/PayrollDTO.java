@@ -28,6 +28,7 @@ public class PayrollDTO {
     // Proventos
     private BigDecimal overtimeHours;
     private BigDecimal overtimeValue;
+    private Boolean overtimeManual;
     private BigDecimal bonus;
     private BigDecimal commission;
     private BigDecimal mealAllowance;
@@ -48,22 +49,29 @@ public class PayrollDTO {
     private BigDecimal transportDiscount;
     private BigDecimal loanDiscount;
     private BigDecimal otherDeductions;
+    private Integer timeDiscountMinutes;
+    private BigDecimal timeDiscount;
     private BigDecimal totalDeductions;
     
     private BigDecimal netSalary;
     
     private Payroll.PayrollStatus status;
     private LocalDate paymentDate;
+    private Long remittanceId;
     private String notes;
     
     private LocalDateTime createdAt;
     private LocalDateTime processedAt;
     private String processedByName;
 
+    private static final String[] MONTHS = {"Janeiro", "Fevereiro", "Março", "Abril", "Maio", "Junho",
+                                            "Julho", "Agosto", "Setembro", "Outubro", "Novembro", "Dezembro"};
+
+    public static String formatPeriod(Integer month, Integer year) {
+        return MONTHS[month - 1] + "/" + year;
+    }
+
     public static PayrollDTO fromEntity(Payroll payroll) {
-        String[] months = {"Janeiro", "Fevereiro", "Março", "Abril", "Maio", "Junho",
-                          "Julho", "Agosto", "Setembro", "Outubro", "Novembro", "Dezembro"};
-        
         return PayrollDTO.builder()
                 .id(payroll.getId())
                 .employeeId(payroll.getEmployee().getId())
@@ -73,10 +81,11 @@ public class PayrollDTO {
                                payroll.getEmployee().getDepartment().getName() : null)
                 .referenceMonth(payroll.getReferenceMonth())
                 .referenceYear(payroll.getReferenceYear())
-                .referencePeriod(months[payroll.getReferenceMonth() - 1] + "/" + payroll.getReferenceYear())
+                .referencePeriod(formatPeriod(payroll.getReferenceMonth(), payroll.getReferenceYear()))
                 .baseSalary(payroll.getBaseSalary())
                 .overtimeHours(payroll.getOvertimeHours())
                 .overtimeValue(payroll.getOvertimeValue())
+                .overtimeManual(payroll.getOvertimeManual())
                 .bonus(payroll.getBonus())
                 .commission(payroll.getCommission())
                 .mealAllowance(payroll.getMealAllowance())
@@ -95,10 +104,13 @@ public class PayrollDTO {
                 .transportDiscount(payroll.getTransportDiscount())
                 .loanDiscount(payroll.getLoanDiscount())
                 .otherDeductions(payroll.getOtherDeductions())
+                .timeDiscountMinutes(payroll.getTimeDiscountMinutes())
+                .timeDiscount(payroll.getTimeDiscount())
                 .totalDeductions(payroll.getTotalDeductions())
                 .netSalary(payroll.getNetSalary())
                 .status(payroll.getStatus())
                 .paymentDate(payroll.getPaymentDate())
+                .remittanceId(payroll.getRemittanceId())
                 .notes(payroll.getNotes())
                 .createdAt(payroll.getCreatedAt())
                 .processedAt(payroll.getProcessedAt())
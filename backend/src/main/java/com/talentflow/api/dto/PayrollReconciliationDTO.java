@@ -0,0 +1,58 @@
+package com.talentflow.api.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollReconciliationDTO {
+
+    private Integer referenceYear;
+    private Integer referenceMonth;
+    private Integer previousYear;
+    private Integer previousMonth;
+    private BigDecimal thresholdPercent;
+    private BigDecimal minDifference;
+
+    private Integer page;
+    private Integer size;
+    private Boolean hasNext;
+    private List<Entry> items;
+
+    public enum Kind {
+        NEW,      // Funcionário sem folha no mês anterior
+        MISSING,  // Funcionário com folha no mês anterior e sem folha no mês
+        CHANGED   // Itens com variação acima do limite
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Long employeeId;
+        private String employeeName;
+        private Kind kind;
+        private Long previousPayrollId;
+        private Long currentPayrollId;
+        private BigDecimal previousNetSalary;
+        private BigDecimal currentNetSalary;
+        private List<Change> changes;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+        private String item;
+        private String label;
+        private BigDecimal previous;
+        private BigDecimal current;
+        private BigDecimal difference;
+        private BigDecimal percent;
+    }
+}
@@ -0,0 +1,52 @@
+package com.talentflow.api.dto;
+
+import com.talentflow.api.entity.PayrollRemittance;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollRemittanceDTO {
+
+    private Long id;
+    private String companyCnpj;
+    private String bankCode;
+    private Integer sequence;
+    private Integer referenceYear;
+    private Integer referenceMonth;
+    private String referencePeriod;
+    private LocalDate paymentDate;
+    private Long paymentCount;
+    private BigDecimal totalAmount;
+    private String fileName;
+    private LocalDateTime generatedAt;
+    private String createdBy;
+
+    public static PayrollRemittanceDTO fromEntity(PayrollRemittance entity) {
+        return PayrollRemittanceDTO.builder()
+                .id(entity.getId())
+                .companyCnpj(entity.getCompanyCnpj())
+                .bankCode(entity.getBankCode())
+                .sequence(entity.getSequence())
+                .referenceYear(entity.getReferenceYear())
+                .referenceMonth(entity.getReferenceMonth())
+                .referencePeriod(PayrollDTO.formatPeriod(entity.getReferenceMonth(), entity.getReferenceYear()))
+                .paymentDate(entity.getPaymentDate())
+                .paymentCount(entity.getPaymentCount())
+                .totalAmount(entity.getTotalAmount())
+                .fileName(fileName(entity))
+                .generatedAt(entity.getGeneratedAt())
+                .createdBy(entity.getCreatedBy())
+                .build();
+    }
+
+    public static String fileName(PayrollRemittance entity) {
+        return String.format("remessa_folha_%d_%02d_%06d.rem",
+                entity.getReferenceYear(), entity.getReferenceMonth(), entity.getSequence());
+    }
+}
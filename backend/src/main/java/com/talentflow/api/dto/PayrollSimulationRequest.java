@@ -0,0 +1,37 @@
+package com.talentflow.api.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollSimulationRequest {
+
+    private Integer referenceYear;
+    private Integer referenceMonth;
+    private List<Rule> rules;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        private Scope scope;
+        private String target;      // Nome do departamento ou cargo (ignorado para ALL)
+        private ChangeType type;
+        private BigDecimal value;   // Percentual (6 = +6%) ou valor fixo em reais
+    }
+
+    public enum Scope {
+        ALL,
+        DEPARTMENT,
+        POSITION
+    }
+
+    public enum ChangeType {
+        PERCENTAGE,
+        FIXED
+    }
+}
@@ -0,0 +1,52 @@
+package com.talentflow.api.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollSimulationResultDTO {
+
+    private Integer referenceYear;
+    private Integer referenceMonth;
+    private Integer employees;
+    private Integer affectedEmployees;
+    private Long elapsedMillis;
+
+    private Totals current;
+    private Totals simulated;
+    private Totals delta;
+
+    private List<DepartmentResult> departments;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Totals {
+        private BigDecimal baseSalary;
+        private BigDecimal grossSalary;
+        private BigDecimal inssValue;
+        private BigDecimal irrfValue;
+        private BigDecimal fgtsValue;
+        private BigDecimal netSalary;
+        private BigDecimal employerCost; // Bruto + FGTS
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DepartmentResult {
+        private String department;
+        private Integer employees;
+        private Integer affectedEmployees;
+        private Totals current;
+        private Totals simulated;
+        private Totals delta;
+    }
+}
@@ -0,0 +1,51 @@
+package com.talentflow.api.dto;
+
+import com.talentflow.api.entity.ReportJob;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDTO {
+
+    private Long id;
+    private ReportJob.ReportType type;
+    private ReportJob.ReportFormat format;
+    private ReportJob.JobStatus status;
+
+    private Long requestedById;
+    private String requestedByName;
+
+    private String fileName;
+    private Long fileSize;
+    private String errorMessage;
+    private String downloadUrl;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+
+    public static ReportJobDTO fromEntity(ReportJob job) {
+        return ReportJobDTO.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .requestedById(job.getRequestedBy() != null ? job.getRequestedBy().getId() : null)
+                .requestedByName(job.getRequestedBy() != null ? job.getRequestedBy().getName() : null)
+                .fileName(job.getFileName())
+                .fileSize(job.getFileSize())
+                .errorMessage(job.getErrorMessage())
+                .downloadUrl(job.getStatus() == ReportJob.JobStatus.COMPLETED ?
+                        "/reports/jobs/" + job.getId() + "/download" : null)
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .expiresAt(job.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.talentflow.api.dto;
+
+import com.talentflow.api.entity.TaxBracket;
+import com.talentflow.api.entity.TaxTable;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaxTableDTO {
+
+    private Long id;
+    private TaxTable.TaxType type;
+    private LocalDate validFrom;
+    private TaxTable.CalculationMode mode;
+    private BigDecimal ceilingValue;
+    private String description;
+    private List<BracketDTO> brackets;
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BracketDTO {
+        private BigDecimal upperLimit;
+        private BigDecimal rate;
+        private BigDecimal deduction;
+    }
+
+    public static TaxTableDTO fromEntity(TaxTable table) {
+        return TaxTableDTO.builder()
+                .id(table.getId())
+                .type(table.getType())
+                .validFrom(table.getValidFrom())
+                .mode(table.getMode())
+                .ceilingValue(table.getCeilingValue())
+                .description(table.getDescription())
+                .brackets(table.getBrackets().stream()
+                        .sorted(Comparator.comparing(TaxBracket::getUpperLimit, Comparator.nullsLast(Comparator.naturalOrder())))
+                        .map(b -> new BracketDTO(b.getUpperLimit(), b.getRate(), b.getDeduction()))
+                        .toList())
+                .createdAt(table.getCreatedAt())
+                .build();
+    }
+}
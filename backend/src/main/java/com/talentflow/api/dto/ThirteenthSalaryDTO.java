@@ -0,0 +1,37 @@
+package com.talentflow.api.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThirteenthSalaryDTO {
+
+    private Integer referenceYear;
+    private Integer employees;
+    private BigDecimal grossTotal;
+    private BigDecimal firstInstallmentTotal;
+    private BigDecimal secondInstallmentTotal;
+    private List<Entry> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Long employeeId;
+        private String employeeName;
+        private Integer monthsWorked;
+        private BigDecimal baseSalary;
+        private BigDecimal overtimeAverage;   // Média mensal das horas extras no ano
+        private BigDecimal grossValue;        // (Salário + média) x meses / 12
+        private BigDecimal firstInstallment;  // Metade do bruto, sem descontos
+        private BigDecimal inssValue;
+        private BigDecimal irrfValue;
+        private BigDecimal secondInstallment; // Bruto - INSS - IRRF - 1ª parcela
+    }
+}
@@ -0,0 +1,21 @@
+package com.talentflow.api.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeBankBalanceDTO {
+
+    private Long employeeId;
+    private String employeeName;
+    private Integer balanceMinutes;
+    private String balance;
+    private Integer creditedMinutes;
+    private Integer debitedMinutes;
+    private Integer expiredMinutes;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,52 @@
+package com.talentflow.api.dto;
+
+import com.talentflow.api.entity.TimeBankEntry;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeBankEntryDTO {
+
+    private Long id;
+    private Long timeRecordId;
+    private TimeBankEntry.EntryType type;
+    private LocalDate referenceDate;
+    private Integer minutes;
+    private String time;
+    private Integer balanceAfter;
+    private Integer remainingMinutes;
+    private LocalDate expiresAt;
+    private String description;
+    private LocalDateTime createdAt;
+
+    public static TimeBankEntryDTO fromEntity(TimeBankEntry entry) {
+        return TimeBankEntryDTO.builder()
+                .id(entry.getId())
+                .timeRecordId(entry.getTimeRecordId())
+                .type(entry.getType())
+                .referenceDate(entry.getReferenceDate())
+                .minutes(entry.getMinutes())
+                .time(formatBalance(entry.getMinutes()))
+                .balanceAfter(entry.getBalanceAfter())
+                .remainingMinutes(entry.getRemainingMinutes())
+                .expiresAt(entry.getExpiresAt())
+                .description(entry.getDescription())
+                .createdAt(entry.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Minutos com sinal no formato das horas do ponto (ex.: "-1h 30min").
+     */
+    public static String formatBalance(Integer minutes) {
+        if (minutes == null || minutes >= 0) {
+            return TimeRecordDTO.formatMinutes(minutes);
+        }
+        return "-" + TimeRecordDTO.formatMinutes(-minutes);
+    }
+}
@@ -0,0 +1,25 @@
+package com.talentflow.api.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeBankStatementDTO {
+
+    private Long employeeId;
+    private String employeeName;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer openingBalanceMinutes;
+    private Integer closingBalanceMinutes;
+    private String closingBalance;
+    private Integer creditedMinutes;    // Movimentos positivos do período
+    private Integer debitedMinutes;     // Movimentos negativos do período, inclusive expirações
+    private Integer expiringMinutes;    // Créditos em aberto que vencem até o fim do período
+    private List<TimeBankEntryDTO> entries;
+}
@@ -0,0 +1,62 @@
+package com.talentflow.api.dto;
+
+import com.talentflow.api.entity.TimeClockImport;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeClockImportDTO {
+
+    private Long id;
+    private String repSerial;
+    private String fileName;
+    private Long fileSize;
+    private Long lines;
+    private Long punches;
+    private Long invalidLines;
+    private Long alreadyImported;
+    private Long unknownWorkerPunches;
+    private List<String> unknownWorkers;    // Amostra de PIS/CPF sem cadastro (só na resposta da importação)
+    private List<Long> invalidLineNumbers;  // Amostra das linhas inválidas (só na resposta da importação)
+    private Long days;
+    private Long inserted;
+    private Long updated;
+    private Long unchanged;
+    private Long conflicts;
+    private Long lastNsr;
+    private Long parseMillis;
+    private Long elapsedMillis;
+    private Long linesPerSecond;
+    private String importedBy;
+    private LocalDateTime createdAt;
+
+    public static TimeClockImportDTO fromEntity(TimeClockImport entity) {
+        return TimeClockImportDTO.builder()
+                .id(entity.getId())
+                .repSerial(entity.getRepSerial())
+                .fileName(entity.getFileName())
+                .fileSize(entity.getFileSize())
+                .lines(entity.getLines())
+                .punches(entity.getPunches())
+                .invalidLines(entity.getInvalidLines())
+                .alreadyImported(entity.getAlreadyImported())
+                .unknownWorkerPunches(entity.getUnknownWorkerPunches())
+                .days(entity.getDays())
+                .inserted(entity.getInserted())
+                .updated(entity.getUpdated())
+                .unchanged(entity.getUnchanged())
+                .conflicts(entity.getConflicts())
+                .lastNsr(entity.getLastNsr())
+                .parseMillis(entity.getParseMillis())
+                .elapsedMillis(entity.getElapsedMillis())
+                .linesPerSecond(entity.getLinesPerSecond())
+                .importedBy(entity.getImportedBy())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+}
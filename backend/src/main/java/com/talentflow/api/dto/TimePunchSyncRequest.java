@@ -0,0 +1,27 @@
+package com.talentflow.api.dto;
+
+import com.talentflow.api.entity.TimePunchKey;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimePunchSyncRequest {
+
+    private List<Punch> punches;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Punch {
+        private UUID key;                       // Gerada no aparelho; reenvios usam a mesma
+        private Long employeeId;
+        private TimePunchKey.PunchType type;
+        private LocalDateTime timestamp;        // Horário da marcação no aparelho
+        private String location;
+    }
+}
@@ -0,0 +1,44 @@
+package com.talentflow.api.dto;
+
+import com.talentflow.api.entity.TimePunchKey;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimePunchSyncResultDTO {
+
+    private Integer received;
+    private Integer applied;
+    private Integer duplicates;
+    private Integer rejected;
+    private Long elapsedMillis;
+    private List<Item> results;     // Na ordem do lote enviado
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private UUID key;
+        private Long employeeId;
+        private TimePunchKey.PunchType type;
+        private LocalDateTime timestamp;
+        private LocalDate recordDate;
+        private Status status;
+        private Long timeRecordId;
+        private String message;
+    }
+
+    public enum Status {
+        APPLIED,    // Gravada agora
+        DUPLICATE,  // Já sincronizada (mesma chave) ou já registrada no mesmo minuto
+        REJECTED    // Recusada; o motivo vem em message
+    }
+}
@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TimeRecordDTO {
@@ -35,6 +35,7 @@ public class TimeRecordDTO {
     
     private TimeRecord.RecordType type;
     private TimeRecord.RecordStatus status;
+    private TimeRecord.Anomaly anomaly;
     
     private String justification;
     private String location;
@@ -75,6 +76,7 @@ public class TimeRecordDTO {
                 .earlyDepartureMinutes(record.getEarlyDepartureMinutes())
                 .type(record.getType())
                 .status(record.getStatus())
+                .anomaly(record.getAnomaly())
                 .justification(record.getJustification())
                 .location(record.getLocation())
                 .createdAt(record.getCreatedAt())
@@ -91,7 +93,7 @@ public class TimeRecordDTO {
         return "Funcionário #" + employee.getId();
     }
 
-    private static String formatMinutes(Integer minutes) {
+    public static String formatMinutes(Integer minutes) {
         if (minutes == null || minutes == 0) return "0h";
         int hours = minutes / 60;
         int mins = minutes % 60;
@@ -0,0 +1,43 @@
+package com.talentflow.api.dto;
+
+import com.talentflow.api.entity.WorkScheduleAssignment;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkScheduleAssignmentDTO {
+
+    private Long id;
+
+    @NotNull(message = "Escala é obrigatória")
+    private Long scheduleId;
+    private String scheduleName;
+
+    // Informe o funcionário ou o departamento
+    private Long employeeId;
+    private String employeeName;
+    private Long departmentId;
+    private String departmentName;
+
+    @NotNull(message = "Data de início é obrigatória")
+    private LocalDate validFrom;
+
+    public static WorkScheduleAssignmentDTO fromEntity(WorkScheduleAssignment assignment) {
+        return WorkScheduleAssignmentDTO.builder()
+                .id(assignment.getId())
+                .scheduleId(assignment.getSchedule().getId())
+                .scheduleName(assignment.getSchedule().getName())
+                .employeeId(assignment.getEmployee() != null ? assignment.getEmployee().getId() : null)
+                .employeeName(assignment.getEmployee() != null && assignment.getEmployee().getUser() != null ?
+                        assignment.getEmployee().getUser().getName() : null)
+                .departmentId(assignment.getDepartment() != null ? assignment.getDepartment().getId() : null)
+                .departmentName(assignment.getDepartment() != null ? assignment.getDepartment().getName() : null)
+                .validFrom(assignment.getValidFrom())
+                .build();
+    }
+}
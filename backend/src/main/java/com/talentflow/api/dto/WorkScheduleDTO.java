@@ -0,0 +1,49 @@
+package com.talentflow.api.dto;
+
+import com.talentflow.api.entity.WorkSchedule;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkScheduleDTO {
+
+    private Long id;
+
+    @NotBlank(message = "Nome é obrigatório")
+    private String name;
+
+    private String description;
+
+    @NotNull(message = "Início do ciclo é obrigatório")
+    private LocalDate cycleStart;
+
+    // Turno de cada dia do ciclo, na ordem; nulo = folga
+    @NotEmpty(message = "Informe ao menos um dia no ciclo")
+    private List<Long> shiftIds;
+
+    private List<String> shiftNames;
+
+    public static WorkScheduleDTO fromEntity(WorkSchedule schedule) {
+        return WorkScheduleDTO.builder()
+                .id(schedule.getId())
+                .name(schedule.getName())
+                .description(schedule.getDescription())
+                .cycleStart(schedule.getCycleStart())
+                .shiftIds(schedule.getDays().stream()
+                        .map(d -> d.getShift() != null ? d.getShift().getId() : null)
+                        .collect(Collectors.toList()))
+                .shiftNames(schedule.getDays().stream()
+                        .map(d -> d.getShift() != null ? d.getShift().getName() : "Folga")
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
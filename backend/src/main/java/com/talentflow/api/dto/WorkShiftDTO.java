@@ -0,0 +1,50 @@
+package com.talentflow.api.dto;
+
+import com.talentflow.api.entity.WorkShift;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkShiftDTO {
+
+    private Long id;
+
+    @NotBlank(message = "Nome é obrigatório")
+    private String name;
+
+    @NotNull(message = "Horário de entrada é obrigatório")
+    private LocalTime startTime;
+
+    @NotNull(message = "Horário de saída é obrigatório")
+    private LocalTime endTime;
+
+    @Min(value = 0, message = "Intervalo não pode ser negativo")
+    private Integer breakMinutes;
+
+    private Integer expectedMinutes;  // Jornada: duração do turno menos o intervalo
+    private Boolean nightShift;       // Saída no dia seguinte
+
+    public static WorkShiftDTO fromEntity(WorkShift shift) {
+        long shiftMinutes = Duration.between(shift.getStartTime(), shift.getEndTime()).toMinutes();
+        if (shiftMinutes <= 0) {
+            shiftMinutes += 24 * 60;
+        }
+        return WorkShiftDTO.builder()
+                .id(shift.getId())
+                .name(shift.getName())
+                .startTime(shift.getStartTime())
+                .endTime(shift.getEndTime())
+                .breakMinutes(shift.getBreakMinutes())
+                .expectedMinutes((int) Math.max(0, shiftMinutes - shift.getBreakMinutes()))
+                .nightShift(!shift.getEndTime().isAfter(shift.getStartTime()))
+                .build();
+    }
+}
@@ -10,7 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = @Index(name = "idx_employees_updated_at", columnList = "updated_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -46,6 +46,29 @@ public class Employee {
     @Column(name = "birth_date")
     private LocalDate birthDate;
 
+    @Column(unique = true, length = 11)
+    private String cpf;
+
+    // PIS/PASEP (NIS), que identifica o trabalhador nas marcações do relógio de ponto
+    @Column(unique = true, length = 11)
+    private String pis;
+
+    // Dados bancários para crédito do salário
+    @Column(name = "bank_code", length = 3)
+    private String bankCode;
+
+    @Column(name = "bank_agency", length = 5)
+    private String bankAgency;
+
+    @Column(name = "bank_agency_digit", length = 1)
+    private String bankAgencyDigit;
+
+    @Column(name = "bank_account", length = 12)
+    private String bankAccount;
+
+    @Column(name = "bank_account_digit", length = 1)
+    private String bankAccountDigit;
+
     @Enumerated(EnumType.STRING)
     @Builder.Default
     private EmployeeStatus status = EmployeeStatus.ACTIVE;
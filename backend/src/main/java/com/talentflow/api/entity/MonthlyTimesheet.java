@@ -0,0 +1,68 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Totais do mês por funcionário a partir dos dias encerrados (com saída) e não rejeitados, usados
+ * nas visões mensais por departamento e da empresa sem reler as marcações. Mantidos por delta na
+ * saída, aprovação e rejeição do registro de ponto.
+ */
+@Entity
+@Table(name = "monthly_timesheets", uniqueConstraints = @UniqueConstraint(
+        columnNames = {"reference_year", "reference_month", "employee_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyTimesheet {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "reference_year", nullable = false)
+    private Integer referenceYear;
+
+    @Column(name = "reference_month", nullable = false)
+    private Integer referenceMonth;
+
+    @Column(name = "days_present", nullable = false)
+    @Builder.Default
+    private Integer daysPresent = 0;
+
+    @Column(name = "worked_minutes", nullable = false)
+    @Builder.Default
+    private Integer workedMinutes = 0;
+
+    @Column(name = "overtime_minutes", nullable = false)
+    @Builder.Default
+    private Integer overtimeMinutes = 0;
+
+    // Horas extras de registros já aprovados (as que entram na folha)
+    @Column(name = "approved_overtime_minutes", nullable = false)
+    @Builder.Default
+    private Integer approvedOvertimeMinutes = 0;
+
+    @Column(name = "late_minutes", nullable = false)
+    @Builder.Default
+    private Integer lateMinutes = 0;
+
+    @Column(name = "early_departure_minutes", nullable = false)
+    @Builder.Default
+    private Integer earlyDepartureMinutes = 0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -86,6 +86,8 @@ public class Notification {
         ONBOARDING_TASK,
         BIRTHDAY,
         ANNIVERSARY,
+        REPORT_READY,
+        TIME_ANOMALY,
         SYSTEM
     }
 
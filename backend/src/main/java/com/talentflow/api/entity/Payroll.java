@@ -9,7 +9,12 @@ import java.time.LocalDateTime;
 import java.time.YearMonth;
 
 @Entity
-@Table(name = "payrolls")
+// Uma folha por funcionário e período; a restrição também serve de índice da consulta por período
+@Table(name = "payrolls", uniqueConstraints = @UniqueConstraint(name = "uk_payrolls_period_employee",
+        columnNames = {"reference_year", "reference_month", "employee_id"}), indexes = {
+        @Index(name = "idx_payrolls_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_payrolls_remittance", columnList = "remittance_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,6 +48,11 @@ public class Payroll {
     @Builder.Default
     private BigDecimal overtimeValue = BigDecimal.ZERO;
 
+    // Horas extras lançadas à mão pelo RH: a entrada do ponto não as sobrescreve
+    @Column(name = "overtime_manual")
+    @Builder.Default
+    private Boolean overtimeManual = false;
+
     @Column(precision = 10, scale = 2)
     @Builder.Default
     private BigDecimal bonus = BigDecimal.ZERO;
@@ -115,6 +125,15 @@ public class Payroll {
     @Builder.Default
     private BigDecimal otherDeductions = BigDecimal.ZERO;
 
+    // Atrasos e saídas antecipadas apurados do ponto
+    @Column(name = "time_discount_minutes")
+    @Builder.Default
+    private Integer timeDiscountMinutes = 0;
+
+    @Column(name = "time_discount", precision = 10, scale = 2)
+    @Builder.Default
+    private BigDecimal timeDiscount = BigDecimal.ZERO;
+
     @Column(name = "total_deductions", precision = 10, scale = 2)
     private BigDecimal totalDeductions;
 
@@ -128,6 +147,10 @@ public class Payroll {
     @Column(name = "payment_date")
     private LocalDate paymentDate;
 
+    // Remessa bancária que incluiu a folha; nula enquanto não remetida
+    @Column(name = "remittance_id")
+    private Long remittanceId;
+
     @Column(columnDefinition = "TEXT")
     private String notes;
 
@@ -0,0 +1,74 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Totais da folha por competência, departamento e status, mantidos incrementalmente a cada
+ * mudança de folha para que as estatísticas não precisem ler as folhas do período.
+ */
+@Entity
+@Table(name = "payroll_period_summaries", uniqueConstraints = @UniqueConstraint(
+        columnNames = {"reference_year", "reference_month", "department_id", "status"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollPeriodSummary {
+
+    public static final long NO_DEPARTMENT = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reference_year", nullable = false)
+    private Integer referenceYear;
+
+    @Column(name = "reference_month", nullable = false)
+    private Integer referenceMonth;
+
+    // Id do departamento, ou NO_DEPARTMENT para funcionários sem departamento
+    @Column(name = "department_id", nullable = false)
+    private Long departmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Payroll.PayrollStatus status;
+
+    @Column(name = "payroll_count", nullable = false)
+    @Builder.Default
+    private Long payrollCount = 0L;
+
+    @Column(name = "gross_total", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal grossTotal = BigDecimal.ZERO;
+
+    @Column(name = "net_total", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal netTotal = BigDecimal.ZERO;
+
+    @Column(name = "inss_total", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal inssTotal = BigDecimal.ZERO;
+
+    @Column(name = "irrf_total", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal irrfTotal = BigDecimal.ZERO;
+
+    @Column(name = "fgts_total", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal fgtsTotal = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
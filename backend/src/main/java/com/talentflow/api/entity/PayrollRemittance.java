@@ -0,0 +1,58 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Remessa CNAB 240 gerada para um período. O NSA (número sequencial do arquivo) é único por
+ * CNPJ da empresa; as folhas incluídas apontam para a remessa e não entram nas seguintes.
+ */
+@Entity
+@Table(name = "payroll_remittances", uniqueConstraints = @UniqueConstraint(columnNames = {"company_cnpj", "sequence"}),
+        indexes = @Index(name = "idx_payroll_remittances_period", columnList = "reference_year, reference_month"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollRemittance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "company_cnpj", nullable = false, length = 14)
+    private String companyCnpj;
+
+    @Column(name = "bank_code", nullable = false, length = 3)
+    private String bankCode;
+
+    // NSA gravado no header do arquivo
+    @Column(nullable = false)
+    private Integer sequence;
+
+    @Column(name = "reference_year", nullable = false)
+    private Integer referenceYear;
+
+    @Column(name = "reference_month", nullable = false)
+    private Integer referenceMonth;
+
+    @Column(name = "payment_date", nullable = false)
+    private LocalDate paymentDate;
+
+    @Column(name = "payment_count")
+    private Long paymentCount;
+
+    @Column(name = "total_amount", precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    // Data e hora do header; reenvios do mesmo arquivo usam os mesmos valores
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+
+    @Column(name = "created_by")
+    private String createdBy;
+}
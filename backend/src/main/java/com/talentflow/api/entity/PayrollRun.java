@@ -0,0 +1,74 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Execução do cálculo da folha de um período. As folhas em rascunho são divididas em lotes
+ * ({@link PayrollRunChunk}) e cada lote concluído fica gravado, permitindo retomar após reinício.
+ */
+@Entity
+@Table(name = "payroll_runs", indexes = @Index(name = "idx_payroll_runs_status", columnList = "status"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reference_year", nullable = false)
+    private Integer referenceYear;
+
+    @Column(name = "reference_month", nullable = false)
+    private Integer referenceMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private RunStatus status = RunStatus.PREPARING;
+
+    @Column(name = "total_payrolls")
+    @Builder.Default
+    private Integer totalPayrolls = 0;
+
+    @Column(name = "total_chunks")
+    @Builder.Default
+    private Integer totalChunks = 0;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Início ou última retomada do processamento dos lotes, e folhas já processadas nesse momento:
+    // o ritmo e a previsão de término contam só a partir daí
+    @Column(name = "compute_started_at")
+    private LocalDateTime computeStartedAt;
+
+    @Column(name = "processed_before_compute")
+    private Integer processedBeforeCompute;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum RunStatus {
+        PREPARING,  // Gerando folhas, aplicando o ponto e dividindo em lotes
+        RUNNING,    // Lotes em processamento
+        COMPLETED,  // Todos os lotes concluídos
+        FAILED      // Algum lote esgotou as tentativas
+    }
+}
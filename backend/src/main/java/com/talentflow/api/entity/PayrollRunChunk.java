@@ -0,0 +1,103 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lote de folhas de uma execução, delimitado por faixa de ids. Um worker reserva o lote com um
+ * UPDATE condicional; o cálculo das folhas e a conclusão do lote são gravados na mesma transação.
+ */
+@Entity
+@Table(name = "payroll_run_chunks", indexes = @Index(name = "idx_payroll_run_chunks_run_status", columnList = "run_id, status"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollRunChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    @ToString.Exclude
+    private PayrollRun run;
+
+    @Column(name = "chunk_index", nullable = false)
+    private Integer chunkIndex;
+
+    @Column(name = "first_payroll_id", nullable = false)
+    private Long firstPayrollId;
+
+    @Column(name = "last_payroll_id", nullable = false)
+    private Long lastPayrollId;
+
+    @Column(name = "payroll_count", nullable = false)
+    private Integer payrollCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private ChunkStatus status = ChunkStatus.PENDING;
+
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Builder.Default
+    private Integer processed = 0;
+
+    @Builder.Default
+    private Integer succeeded = 0;
+
+    @Builder.Default
+    private Integer failed = 0;
+
+    @Column(name = "claimed_by")
+    private String claimedBy;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @ElementCollection
+    @CollectionTable(name = "payroll_run_failures", joinColumns = @JoinColumn(name = "chunk_id"))
+    @Builder.Default
+    @ToString.Exclude
+    private List<Failure> failures = new ArrayList<>();
+
+    public enum ChunkStatus {
+        PENDING,  // Aguardando um worker
+        RUNNING,  // Reservado por um worker
+        DONE,     // Concluído e gravado
+        FAILED    // Tentativas esgotadas
+    }
+
+    /**
+     * Folha que não pôde ser calculada dentro de um lote concluído.
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+
+        @Column(name = "payroll_id")
+        private Long payrollId;
+
+        @Column(name = "employee_id")
+        private Long employeeId;
+
+        @Column(columnDefinition = "TEXT")
+        private String message;
+    }
+}
@@ -0,0 +1,69 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Acumulados do ano por funcionário (folhas calculadas, aprovadas ou pagas), usados no 13º salário
+ * e nas médias de férias sem reler as folhas do ano. Mantidos por delta a cada mudança de folha.
+ */
+@Entity
+@Table(name = "payroll_year_to_date", uniqueConstraints = @UniqueConstraint(
+        columnNames = {"employee_id", "reference_year"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollYearToDate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "reference_year", nullable = false)
+    private Integer referenceYear;
+
+    // Meses com folha calculada no ano
+    @Column(name = "months_worked", nullable = false)
+    @Builder.Default
+    private Integer monthsWorked = 0;
+
+    @Column(name = "gross_total", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal grossTotal = BigDecimal.ZERO;
+
+    @Column(name = "inss_total", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal inssTotal = BigDecimal.ZERO;
+
+    @Column(name = "irrf_total", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal irrfTotal = BigDecimal.ZERO;
+
+    @Column(name = "fgts_total", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal fgtsTotal = BigDecimal.ZERO;
+
+    @Column(name = "overtime_hours_total", precision = 10, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal overtimeHoursTotal = BigDecimal.ZERO;
+
+    @Column(name = "overtime_value_total", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal overtimeValueTotal = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,85 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "report_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private JobStatus status = JobStatus.QUEUED;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "requested_by")
+    @ToString.Exclude
+    private User requestedBy;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "file_path")
+    private String filePath;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum ReportType {
+        EMPLOYEES,   // Funcionários
+        CANDIDATES,  // Candidatos
+        VACATIONS    // Férias e ausências
+    }
+
+    public enum ReportFormat {
+        PDF,
+        EXCEL
+    }
+
+    public enum JobStatus {
+        QUEUED,     // Na fila
+        RUNNING,    // Em processamento
+        COMPLETED,  // Concluído
+        FAILED,     // Falhou
+        EXPIRED     // Arquivo expirado
+    }
+}
@@ -0,0 +1,37 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "tax_brackets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaxBracket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tax_table_id", nullable = false)
+    @ToString.Exclude
+    private TaxTable table;
+
+    // Limite superior inclusivo da faixa; nulo = sem limite
+    @Column(name = "upper_limit", precision = 12, scale = 2)
+    private BigDecimal upperLimit;
+
+    // Alíquota em fração (0.075 = 7,5%)
+    @Column(nullable = false, precision = 6, scale = 4)
+    private BigDecimal rate;
+
+    // Parcela a deduzir (modo DEDUCTION)
+    @Column(precision = 10, scale = 2)
+    @Builder.Default
+    private BigDecimal deduction = BigDecimal.ZERO;
+}
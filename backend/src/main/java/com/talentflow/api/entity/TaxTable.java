@@ -0,0 +1,65 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "tax_tables", uniqueConstraints = @UniqueConstraint(columnNames = {"type", "valid_from"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaxTable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaxType type;
+
+    // Vale para competências a partir desta data, até a próxima versão do mesmo tipo
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CalculationMode mode;
+
+    // Valor fixo aplicado acima da última faixa (teto); nulo = última faixa sem limite
+    @Column(name = "ceiling_value", precision = 10, scale = 2)
+    private BigDecimal ceilingValue;
+
+    private String description;
+
+    @OneToMany(mappedBy = "table", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    @ToString.Exclude
+    private List<TaxBracket> brackets = new ArrayList<>();
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum TaxType {
+        INSS,
+        IRRF
+    }
+
+    public enum CalculationMode {
+        FLAT,        // Alíquota da faixa sobre toda a base
+        PROGRESSIVE, // Cada parcela da base tributada pela alíquota da sua faixa
+        DEDUCTION    // Alíquota da faixa sobre a base menos a parcela a deduzir
+    }
+}
@@ -0,0 +1,51 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Saldo corrente do banco de horas por funcionário, atualizado na mesma transação de cada
+ * movimento do razão. A atualização do saldo também serializa os movimentos do funcionário.
+ */
+@Entity
+@Table(name = "time_bank_balances", uniqueConstraints = @UniqueConstraint(columnNames = "employee_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeBankBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "balance_minutes", nullable = false)
+    @Builder.Default
+    private Integer balanceMinutes = 0;
+
+    @Column(name = "credited_minutes", nullable = false)
+    @Builder.Default
+    private Integer creditedMinutes = 0;
+
+    @Column(name = "debited_minutes", nullable = false)
+    @Builder.Default
+    private Integer debitedMinutes = 0;
+
+    @Column(name = "expired_minutes", nullable = false)
+    @Builder.Default
+    private Integer expiredMinutes = 0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
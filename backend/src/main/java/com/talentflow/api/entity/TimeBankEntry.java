@@ -0,0 +1,81 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Movimento do banco de horas. O razão só recebe inserções: correções entram como estorno e a
+ * expiração como um débito do saldo que restava do crédito. Cada movimento guarda o saldo do
+ * funcionário logo depois dele, e os créditos guardam quanto ainda não foi compensado.
+ */
+@Entity
+@Table(name = "time_bank_entries", indexes = {
+        @Index(name = "idx_time_bank_entries_statement", columnList = "employee_id, created_at"),
+        @Index(name = "idx_time_bank_entries_record", columnList = "time_record_id"),
+        @Index(name = "idx_time_bank_entries_open_credits", columnList = "employee_id, expires_at"),
+        @Index(name = "idx_time_bank_entries_expiry", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeBankEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    // Registro de ponto de origem; nulo na expiração
+    @Column(name = "time_record_id")
+    private Long timeRecordId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EntryType type;
+
+    // Dia trabalhado a que o movimento se refere
+    @Column(name = "reference_date", nullable = false)
+    private LocalDate referenceDate;
+
+    // Positivo para créditos, negativo para débitos
+    @Column(nullable = false)
+    private Integer minutes;
+
+    @Column(name = "balance_after", nullable = false)
+    private Integer balanceAfter;
+
+    // Parte do crédito ainda não compensada nem expirada; zero nos demais movimentos
+    @Column(name = "remaining_minutes", nullable = false)
+    @Builder.Default
+    private Integer remainingMinutes = 0;
+
+    // Último dia para compensar o crédito
+    @Column(name = "expires_at")
+    private LocalDate expiresAt;
+
+    private String description;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public enum EntryType {
+        CREDIT,             // Horas extras aprovadas
+        DEBIT,              // Atraso e saída antecipada do dia aprovado
+        CREDIT_REVERSAL,    // Estorno de horas extras (rejeição ou recálculo)
+        DEBIT_REVERSAL,     // Estorno de atraso e saída antecipada
+        EXPIRY              // Crédito não compensado no prazo
+    }
+}
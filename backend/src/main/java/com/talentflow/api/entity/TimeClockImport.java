@@ -0,0 +1,84 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Importação de um AFD do relógio de ponto, com os totais da leitura e da gravação. O maior NSR
+ * lido de cada REP marca até onde o arquivo acumulado já foi importado; a próxima importação do
+ * mesmo REP pula as marcações até ele.
+ */
+@Entity
+@Table(name = "time_clock_imports", indexes = @Index(name = "idx_time_clock_imports_rep", columnList = "rep_serial, last_nsr"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeClockImport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Número de fabricação do REP, do cabeçalho do AFD; vazio quando o arquivo não tem cabeçalho
+    @Column(name = "rep_serial", length = 17)
+    private String repSerial;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    private Long lines;
+
+    private Long punches;
+
+    @Column(name = "invalid_lines")
+    private Long invalidLines;
+
+    // Marcações com NSR até o último já importado do REP
+    @Column(name = "already_imported")
+    private Long alreadyImported;
+
+    // Marcações de PIS/CPF sem funcionário cadastrado
+    @Column(name = "unknown_worker_punches")
+    private Long unknownWorkerPunches;
+
+    // Dias de funcionário com marcações no arquivo
+    private Long days;
+
+    private Long inserted;
+
+    private Long updated;
+
+    private Long unchanged;
+
+    // Dias alterados por outra operação durante a gravação; entram na próxima importação
+    private Long conflicts;
+
+    @Column(name = "last_nsr")
+    private Long lastNsr;
+
+    @Column(name = "parse_millis")
+    private Long parseMillis;
+
+    @Column(name = "elapsed_millis")
+    private Long elapsedMillis;
+
+    @Column(name = "lines_per_second")
+    private Long linesPerSecond;
+
+    @Column(name = "imported_by")
+    private String importedBy;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
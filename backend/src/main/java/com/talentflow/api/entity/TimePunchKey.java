@@ -0,0 +1,64 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Chave de idempotência de uma marcação sincronizada pelo aplicativo. A chave gerada no aparelho é
+ * a própria chave primária (uuid, 16 bytes), então o reenvio de um lote é reconhecido por uma
+ * consulta no índice e devolve o resultado da primeira vez.
+ */
+@Entity
+@Table(name = "time_punch_keys", indexes = @Index(name = "idx_time_punch_keys_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimePunchKey {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private UUID idempotencyKey;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    // Dia de trabalho a que a marcação foi atribuída
+    @Column(name = "record_date")
+    private LocalDate recordDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "punch_type", nullable = false)
+    private PunchType punchType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Outcome outcome;
+
+    @Column(name = "time_record_id")
+    private Long timeRecordId;
+
+    // Motivo da rejeição ou marcação que já estava no registro
+    @Column
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum PunchType {
+        CLOCK_IN,   // Entrada
+        LUNCH_OUT,  // Saída para almoço
+        LUNCH_IN,   // Retorno do almoço
+        CLOCK_OUT   // Saída
+    }
+
+    public enum Outcome {
+        APPLIED,    // Gravada no registro do dia
+        DUPLICATE,  // Já estava no registro do dia no mesmo minuto
+        REJECTED    // Recusada pelas regras de marcação
+    }
+}
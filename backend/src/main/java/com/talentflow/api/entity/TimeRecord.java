@@ -9,7 +9,11 @@ import java.time.LocalTime;
 import java.time.Duration;
 
 @Entity
-@Table(name = "time_records")
+@Table(name = "time_records", indexes = {
+        @Index(name = "idx_time_records_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_time_records_record_date", columnList = "record_date")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_time_records_employee_date",
+        columnNames = {"employee_id", "record_date"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -83,6 +87,11 @@ public class TimeRecord {
     @Column(name = "approved_at")
     private LocalDateTime approvedAt;
 
+    // Ocorrência apontada pela verificação noturna; nula quando o dia está regular
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Anomaly anomaly;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -108,6 +117,12 @@ public class TimeRecord {
         REJECTED,  // Rejeitado
         JUSTIFIED  // Justificado
     }
+
+    public enum Anomaly {
+        MISSING_CLOCK_OUT,  // Entrada sem saída
+        ABSENT,             // Falta sem férias aprovadas em dia de trabalho
+        SHORT_LUNCH         // Intervalo abaixo do mínimo para a jornada
+    }
 }
 
 
@@ -0,0 +1,58 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escala de trabalho: ciclo de dias que se repete a partir de uma data (7 dias para a escala
+ * semanal, 2 para 12x36, ...), cada dia com um turno ou folga.
+ */
+@Entity
+@Table(name = "work_schedules")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    private String description;
+
+    // Primeiro dia do ciclo (posição 0)
+    @Column(name = "cycle_start", nullable = false)
+    private LocalDate cycleStart;
+
+    @OneToMany(mappedBy = "schedule", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("position")
+    @Builder.Default
+    @ToString.Exclude
+    private List<WorkScheduleDay> days = new ArrayList<>();
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
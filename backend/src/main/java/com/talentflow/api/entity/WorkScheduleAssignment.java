@@ -0,0 +1,54 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Escala atribuída a um funcionário ou a um departamento a partir de uma data, até a próxima
+ * atribuição do mesmo funcionário ou departamento. A do funcionário prevalece sobre a do
+ * departamento.
+ */
+@Entity
+@Table(name = "work_schedule_assignments", indexes = {
+        @Index(name = "idx_schedule_assignments_employee", columnList = "employee_id, valid_from"),
+        @Index(name = "idx_schedule_assignments_department", columnList = "department_id, valid_from")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkScheduleAssignment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "schedule_id", nullable = false)
+    @ToString.Exclude
+    private WorkSchedule schedule;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id")
+    @ToString.Exclude
+    private Employee employee;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id")
+    @ToString.Exclude
+    private Department department;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,32 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "work_schedule_days", uniqueConstraints = @UniqueConstraint(columnNames = {"schedule_id", "position"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkScheduleDay {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "schedule_id", nullable = false)
+    @ToString.Exclude
+    private WorkSchedule schedule;
+
+    // Posição no ciclo, a partir de 0
+    @Column(nullable = false)
+    private Integer position;
+
+    // Nulo = folga
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "shift_id")
+    @ToString.Exclude
+    private WorkShift shift;
+}
@@ -0,0 +1,37 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Pedido de recálculo dos registros de ponto deixado por uma mudança de escala, gravado na mesma
+ * transação da mudança. Sobrevive a reinícios e é visto por todas as instâncias; sai da tabela
+ * depois que o recálculo a partir da data termina.
+ */
+@Entity
+@Table(name = "work_schedule_recomputes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkScheduleRecompute {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Data mais antiga com registros afetados
+    @Column(name = "affected_from", nullable = false)
+    private LocalDate affectedFrom;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,55 @@
+package com.talentflow.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Turno de trabalho (horário de entrada e saída e intervalo). Saída igual ou anterior à entrada
+ * indica turno noturno, que termina no dia seguinte.
+ */
+@Entity
+@Table(name = "work_shifts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkShift {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    // Intervalo de refeição descontado da jornada esperada
+    @Column(name = "break_minutes", nullable = false)
+    @Builder.Default
+    private Integer breakMinutes = 60;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
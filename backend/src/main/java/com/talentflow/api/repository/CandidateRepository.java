@@ -1,11 +1,18 @@
 package com.talentflow.api.repository;
 
 import com.talentflow.api.entity.Candidate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CandidateRepository extends JpaRepository<Candidate, Long> {
@@ -21,6 +28,13 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long> {
     
     @Query("SELECT c FROM Candidate c WHERE c.jobPosition.id = :jobPositionId AND c.status = :status")
     List<Candidate> findByJobPositionIdAndStatus(Long jobPositionId, Candidate.CandidateStatus status);
+    
+    @Query("SELECT c FROM Candidate c LEFT JOIN FETCH c.jobPosition WHERE c.id > :lastId ORDER BY c.id")
+    List<Candidate> findBatchAfter(@Param("lastId") Long lastId, Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Candidate c LEFT JOIN FETCH c.jobPosition WHERE c.updatedAt >= :since ORDER BY c.id")
+    Stream<Candidate> streamUpdatedSince(@Param("since") LocalDateTime since);
 }
 
 
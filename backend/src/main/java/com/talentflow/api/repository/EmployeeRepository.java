@@ -1,15 +1,52 @@
 package com.talentflow.api.repository;
 
 import com.talentflow.api.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
+    /**
+     * Dados mínimos de um funcionário para gerar e exibir a folha do mês.
+     */
+    interface PayrollSeed {
+        Long getId();
+        BigDecimal getSalary();
+        String getName();
+        String getPosition();
+        String getDepartmentName();
+    }
+
+    /**
+     * Departamento atual de cada funcionário, para resolver a escala do departamento.
+     */
+    interface DepartmentRef {
+        Long getId();
+        Long getDepartmentId();
+    }
+
+    /**
+     * Identificadores do trabalhador nas marcações do relógio de ponto (PIS no AFD da Portaria
+     * 1510, CPF no da Portaria 671).
+     */
+    interface TimeClockRef {
+        Long getId();
+        String getPis();
+        String getCpf();
+    }
     
     List<Employee> findByDepartmentId(Long departmentId);
     
@@ -17,11 +54,40 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     
     List<Employee> findByStatus(Employee.EmployeeStatus status);
     
+    boolean existsByCpf(String cpf);
+    
+    boolean existsByCpfAndIdNot(String cpf, Long id);
+
+    boolean existsByPis(String pis);
+
+    boolean existsByPisAndIdNot(String pis, Long id);
+    
     @Query("SELECT e FROM Employee e WHERE e.status = 'ACTIVE'")
     List<Employee> findAllActive();
     
+    @Query("SELECT e.id AS id, d.id AS departmentId FROM Employee e JOIN e.department d")
+    List<DepartmentRef> findDepartmentRefs();
+
+    @Query("SELECT e.id FROM Employee e WHERE e.status = 'ACTIVE'")
+    List<Long> findActiveIds();
+
+    @Query("SELECT e.id AS id, e.pis AS pis, e.cpf AS cpf FROM Employee e WHERE e.pis IS NOT NULL OR e.cpf IS NOT NULL")
+    List<TimeClockRef> findTimeClockRefs();
+
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.department.id = :departmentId")
     Long countByDepartmentId(Long departmentId);
+    
+    @Query("SELECT e FROM Employee e JOIN FETCH e.user LEFT JOIN FETCH e.department WHERE e.id > :lastId ORDER BY e.id")
+    List<Employee> findBatchAfter(@Param("lastId") Long lastId, Pageable pageable);
+    
+    @Query("SELECT e.id AS id, e.salary AS salary, u.name AS name, e.position AS position, d.name AS departmentName " +
+           "FROM Employee e LEFT JOIN e.user u LEFT JOIN e.department d WHERE e.status = :status ORDER BY e.id")
+    List<PayrollSeed> findPayrollSeeds(@Param("status") Employee.EmployeeStatus status);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM Employee e JOIN FETCH e.user u LEFT JOIN FETCH e.department " +
+           "WHERE e.updatedAt >= :since OR u.updatedAt >= :since ORDER BY e.id")
+    Stream<Employee> streamUpdatedSince(@Param("since") LocalDateTime since);
 }
 
 
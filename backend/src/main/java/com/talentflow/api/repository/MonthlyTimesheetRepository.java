@@ -0,0 +1,64 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.MonthlyTimesheet;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MonthlyTimesheetRepository extends JpaRepository<MonthlyTimesheet, Long> {
+
+    /**
+     * Totais do mês de um grupo (departamento ou funcionário).
+     */
+    interface Totals {
+        Long getId();
+        String getName();
+        Long getEmployees();
+        Long getDaysPresent();
+        Long getWorkedMinutes();
+        Long getOvertimeMinutes();
+        Long getApprovedOvertimeMinutes();
+        Long getLateMinutes();
+        Long getEarlyDepartureMinutes();
+    }
+
+    @Modifying
+    @Query("UPDATE MonthlyTimesheet m SET m.daysPresent = m.daysPresent + :days, " +
+           "m.workedMinutes = m.workedMinutes + :worked, m.overtimeMinutes = m.overtimeMinutes + :overtime, " +
+           "m.approvedOvertimeMinutes = m.approvedOvertimeMinutes + :approvedOvertime, " +
+           "m.lateMinutes = m.lateMinutes + :late, m.earlyDepartureMinutes = m.earlyDepartureMinutes + :early, " +
+           "m.updatedAt = :now WHERE m.employeeId = :employeeId AND m.referenceYear = :year AND m.referenceMonth = :month")
+    int addDelta(@Param("employeeId") Long employeeId, @Param("year") Integer year, @Param("month") Integer month,
+                 @Param("days") int days, @Param("worked") int worked, @Param("overtime") int overtime,
+                 @Param("approvedOvertime") int approvedOvertime, @Param("late") int late,
+                 @Param("early") int early, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyTimesheet m WHERE m.referenceYear = :year AND m.referenceMonth = :month")
+    int deleteByPeriod(@Param("year") Integer year, @Param("month") Integer month);
+
+    @Query("SELECT d.id AS id, d.name AS name, COUNT(m) AS employees, SUM(m.daysPresent) AS daysPresent, " +
+           "SUM(m.workedMinutes) AS workedMinutes, SUM(m.overtimeMinutes) AS overtimeMinutes, " +
+           "SUM(m.approvedOvertimeMinutes) AS approvedOvertimeMinutes, SUM(m.lateMinutes) AS lateMinutes, " +
+           "SUM(m.earlyDepartureMinutes) AS earlyDepartureMinutes " +
+           "FROM MonthlyTimesheet m JOIN Employee e ON e.id = m.employeeId LEFT JOIN e.department d " +
+           "WHERE m.referenceYear = :year AND m.referenceMonth = :month AND m.daysPresent > 0 " +
+           "GROUP BY d.id, d.name ORDER BY d.name")
+    List<Totals> sumByDepartment(@Param("year") Integer year, @Param("month") Integer month);
+
+    @Query("SELECT m.employeeId AS id, u.name AS name, 1L AS employees, CAST(m.daysPresent AS long) AS daysPresent, " +
+           "CAST(m.workedMinutes AS long) AS workedMinutes, CAST(m.overtimeMinutes AS long) AS overtimeMinutes, " +
+           "CAST(m.approvedOvertimeMinutes AS long) AS approvedOvertimeMinutes, CAST(m.lateMinutes AS long) AS lateMinutes, " +
+           "CAST(m.earlyDepartureMinutes AS long) AS earlyDepartureMinutes " +
+           "FROM MonthlyTimesheet m JOIN Employee e ON e.id = m.employeeId LEFT JOIN e.user u " +
+           "WHERE m.referenceYear = :year AND m.referenceMonth = :month AND e.department.id = :departmentId " +
+           "AND m.daysPresent > 0 ORDER BY u.name, m.employeeId")
+    List<Totals> findByDepartment(@Param("year") Integer year, @Param("month") Integer month,
+                                  @Param("departmentId") Long departmentId);
+}
@@ -0,0 +1,36 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.Payroll;
+import com.talentflow.api.entity.PayrollPeriodSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PayrollPeriodSummaryRepository extends JpaRepository<PayrollPeriodSummary, Long> {
+
+    List<PayrollPeriodSummary> findByReferenceYearAndReferenceMonth(Integer year, Integer month);
+
+    @Modifying
+    @Query("UPDATE PayrollPeriodSummary s SET s.payrollCount = s.payrollCount + :count, " +
+           "s.grossTotal = s.grossTotal + :gross, s.netTotal = s.netTotal + :net, " +
+           "s.inssTotal = s.inssTotal + :inss, s.irrfTotal = s.irrfTotal + :irrf, s.fgtsTotal = s.fgtsTotal + :fgts, " +
+           "s.updatedAt = :now " +
+           "WHERE s.referenceYear = :year AND s.referenceMonth = :month " +
+           "AND s.departmentId = :departmentId AND s.status = :status")
+    int addDelta(@Param("year") Integer year, @Param("month") Integer month,
+                 @Param("departmentId") Long departmentId, @Param("status") Payroll.PayrollStatus status,
+                 @Param("count") long count, @Param("gross") BigDecimal gross, @Param("net") BigDecimal net,
+                 @Param("inss") BigDecimal inss, @Param("irrf") BigDecimal irrf, @Param("fgts") BigDecimal fgts,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM PayrollPeriodSummary s WHERE s.referenceYear = :year AND s.referenceMonth = :month")
+    int deleteByPeriod(@Param("year") Integer year, @Param("month") Integer month);
+}
@@ -0,0 +1,18 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.PayrollRemittance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PayrollRemittanceRepository extends JpaRepository<PayrollRemittance, Long> {
+
+    @Query("SELECT MAX(r.sequence) FROM PayrollRemittance r WHERE r.companyCnpj = :companyCnpj")
+    Integer findLastSequence(@Param("companyCnpj") String companyCnpj);
+
+    List<PayrollRemittance> findByReferenceYearAndReferenceMonthOrderBySequenceDesc(Integer year, Integer month);
+}
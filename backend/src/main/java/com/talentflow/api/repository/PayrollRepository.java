@@ -1,17 +1,127 @@
 package com.talentflow.api.repository;
 
 import com.talentflow.api.entity.Payroll;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PayrollRepository extends JpaRepository<Payroll, Long> {
 
+    interface PayrollKey {
+        Long getId();
+        Long getEmployeeId();
+    }
+
+    interface DraftInput {
+        Long getId();
+        Long getEmployeeId();
+        BigDecimal getBaseSalary();
+        Boolean getOvertimeManual();
+    }
+
+    /**
+     * Folha aprovada com os dados do favorecido para a remessa bancária.
+     */
+    interface RemittanceRow {
+        Long getPayrollId();
+        String getName();
+        String getCpf();
+        String getBankCode();
+        String getBankAgency();
+        String getBankAgencyDigit();
+        String getBankAccount();
+        String getBankAccountDigit();
+        BigDecimal getNetSalary();
+    }
+
+    /**
+     * Folha aprovada ou paga com os valores das rubricas para os eventos S-1200 e S-1210 do eSocial.
+     */
+    interface EsocialRow {
+        Long getPayrollId();
+        Long getEmployeeId();
+        String getCpf();
+        Long getDepartmentId();
+        LocalDate getPaymentDate();
+        BigDecimal getBaseSalary();
+        BigDecimal getOvertimeValue();
+        BigDecimal getBonus();
+        BigDecimal getCommission();
+        BigDecimal getMealAllowance();
+        BigDecimal getTransportAllowance();
+        BigDecimal getHealthAllowance();
+        BigDecimal getOtherEarnings();
+        BigDecimal getInssValue();
+        BigDecimal getIrrfValue();
+        BigDecimal getHealthDiscount();
+        BigDecimal getDentalDiscount();
+        BigDecimal getMealDiscount();
+        BigDecimal getTransportDiscount();
+        BigDecimal getLoanDiscount();
+        BigDecimal getOtherDeductions();
+        BigDecimal getTimeDiscount();
+        BigDecimal getNetSalary();
+    }
+
+    /**
+     * Valores de uma folha usados na simulação: salário, demais proventos e descontos fixos somados.
+     */
+    interface SimulationRow {
+        BigDecimal getBaseSalary();
+        BigDecimal getOtherEarnings();
+        BigDecimal getFixedDeductions();
+        String getDepartmentName();
+        String getPosition();
+    }
+
+    interface PeriodAggregate {
+        Integer getReferenceYear();
+        Integer getReferenceMonth();
+        Long getDepartmentId();
+        Payroll.PayrollStatus getStatus();
+        Long getPayrollCount();
+        BigDecimal getGrossTotal();
+        BigDecimal getNetTotal();
+        BigDecimal getInssTotal();
+        BigDecimal getIrrfTotal();
+        BigDecimal getFgtsTotal();
+    }
+
+    interface YearToDateAggregate {
+        Long getEmployeeId();
+        Long getMonthsWorked();
+        BigDecimal getGrossTotal();
+        BigDecimal getInssTotal();
+        BigDecimal getIrrfTotal();
+        BigDecimal getFgtsTotal();
+        BigDecimal getOvertimeHoursTotal();
+        BigDecimal getOvertimeValueTotal();
+    }
+
+    interface Period {
+        Integer getReferenceYear();
+        Integer getReferenceMonth();
+    }
+
+    interface RemittanceTotals {
+        Long getCount();
+        BigDecimal getTotal();
+    }
+
     List<Payroll> findByEmployeeId(Long employeeId);
 
     List<Payroll> findByReferenceYearAndReferenceMonth(Integer year, Integer month);
@@ -20,6 +130,37 @@ public interface PayrollRepository extends JpaRepository<Payroll, Long> {
 
     List<Payroll> findByStatus(Payroll.PayrollStatus status);
 
+    @Query("SELECT p.baseSalary AS baseSalary, " +
+           "COALESCE(p.overtimeValue, 0) + COALESCE(p.bonus, 0) + COALESCE(p.commission, 0) + COALESCE(p.mealAllowance, 0) + " +
+           "COALESCE(p.transportAllowance, 0) + COALESCE(p.healthAllowance, 0) + COALESCE(p.otherEarnings, 0) AS otherEarnings, " +
+           "COALESCE(p.healthDiscount, 0) + COALESCE(p.dentalDiscount, 0) + COALESCE(p.mealDiscount, 0) + " +
+           "COALESCE(p.transportDiscount, 0) + COALESCE(p.loanDiscount, 0) + COALESCE(p.otherDeductions, 0) + COALESCE(p.timeDiscount, 0) AS fixedDeductions, " +
+           "d.name AS departmentName, e.position AS position " +
+           "FROM Payroll p JOIN p.employee e LEFT JOIN e.department d " +
+           "WHERE p.referenceYear = :year AND p.referenceMonth = :month AND p.status <> 'CANCELLED'")
+    List<SimulationRow> findSimulationRows(@Param("year") Integer year, @Param("month") Integer month);
+
+    @Query("SELECT p.referenceYear AS referenceYear, p.referenceMonth AS referenceMonth, " +
+           "COALESCE(d.id, 0) AS departmentId, p.status AS status, COUNT(p) AS payrollCount, " +
+           "COALESCE(SUM(p.grossSalary), 0) AS grossTotal, COALESCE(SUM(p.netSalary), 0) AS netTotal, " +
+           "COALESCE(SUM(p.inssValue), 0) AS inssTotal, COALESCE(SUM(p.irrfValue), 0) AS irrfTotal, " +
+           "COALESCE(SUM(p.fgtsValue), 0) AS fgtsTotal " +
+           "FROM Payroll p JOIN p.employee e LEFT JOIN e.department d " +
+           "WHERE (:year IS NULL OR p.referenceYear = :year) AND (:month IS NULL OR p.referenceMonth = :month) " +
+           "GROUP BY p.referenceYear, p.referenceMonth, COALESCE(d.id, 0), p.status")
+    List<PeriodAggregate> aggregateByPeriod(@Param("year") Integer year, @Param("month") Integer month);
+
+    @Query("SELECT DISTINCT p.referenceYear AS referenceYear, p.referenceMonth AS referenceMonth " +
+           "FROM Payroll p WHERE p.employee.id = :employeeId")
+    List<Period> findPeriodsByEmployee(@Param("employeeId") Long employeeId);
+
+    @Query("SELECT p.id AS id, p.employee.id AS employeeId FROM Payroll p " +
+           "WHERE p.referenceYear = :year AND p.referenceMonth = :month")
+    List<PayrollKey> findKeysByPeriod(@Param("year") Integer year, @Param("month") Integer month);
+
+    boolean existsByEmployeeIdAndReferenceYearAndReferenceMonth(Long employeeId, Integer referenceYear,
+                                                               Integer referenceMonth);
+
     @Query("SELECT p FROM Payroll p WHERE p.referenceYear = :year ORDER BY p.referenceMonth DESC")
     List<Payroll> findByYear(@Param("year") Integer year);
 
@@ -31,6 +172,111 @@ public interface PayrollRepository extends JpaRepository<Payroll, Long> {
 
     @Query("SELECT COUNT(p) FROM Payroll p WHERE p.referenceYear = :year AND p.referenceMonth = :month AND p.status = :status")
     Long countByPeriodAndStatus(@Param("year") Integer year, @Param("month") Integer month, @Param("status") Payroll.PayrollStatus status);
-}
 
+    @Query("SELECT COUNT(p) FROM Payroll p WHERE p.referenceYear = :year AND p.referenceMonth = :month " +
+           "AND p.status = 'APPROVED' AND p.remittanceId IS NULL")
+    long countPendingRemittance(@Param("year") Integer year, @Param("month") Integer month);
+
+    @Query("SELECT COUNT(p) FROM Payroll p JOIN p.employee e WHERE p.referenceYear = :year AND p.referenceMonth = :month " +
+           "AND p.status = 'APPROVED' AND p.remittanceId IS NULL " +
+           "AND (e.cpf IS NULL OR e.bankCode IS NULL OR e.bankAgency IS NULL OR e.bankAccount IS NULL)")
+    long countApprovedWithoutBankData(@Param("year") Integer year, @Param("month") Integer month);
 
+    @Query("SELECT COUNT(p) FROM Payroll p WHERE p.referenceYear = :year AND p.referenceMonth = :month " +
+           "AND p.status = 'APPROVED' AND p.remittanceId IS NULL AND (p.netSalary IS NULL OR p.netSalary <= 0)")
+    long countApprovedWithoutPositiveNet(@Param("year") Integer year, @Param("month") Integer month);
+
+    /**
+     * Inclui na remessa as folhas aprovadas ainda não remetidas do período; a condição sobre
+     * remittanceId impede que duas remessas concorrentes levem a mesma folha.
+     */
+    @Modifying
+    @Query("UPDATE Payroll p SET p.remittanceId = :remittanceId, p.updatedAt = :now " +
+           "WHERE p.referenceYear = :year AND p.referenceMonth = :month AND p.status = 'APPROVED' " +
+           "AND p.remittanceId IS NULL AND p.netSalary > 0")
+    int markRemitted(@Param("remittanceId") Long remittanceId, @Param("year") Integer year,
+                     @Param("month") Integer month, @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(p) AS count, COALESCE(SUM(p.netSalary), 0) AS total FROM Payroll p " +
+           "WHERE p.remittanceId = :remittanceId")
+    RemittanceTotals findRemittanceTotals(@Param("remittanceId") Long remittanceId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.id AS payrollId, u.name AS name, e.cpf AS cpf, e.bankCode AS bankCode, e.bankAgency AS bankAgency, " +
+           "e.bankAgencyDigit AS bankAgencyDigit, e.bankAccount AS bankAccount, e.bankAccountDigit AS bankAccountDigit, " +
+           "p.netSalary AS netSalary FROM Payroll p JOIN p.employee e LEFT JOIN e.user u " +
+           "WHERE p.remittanceId = :remittanceId AND e.bankCode = :bankCode ORDER BY p.id")
+    Stream<RemittanceRow> streamRemittedToBank(@Param("remittanceId") Long remittanceId,
+                                               @Param("bankCode") String bankCode);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.id AS payrollId, u.name AS name, e.cpf AS cpf, e.bankCode AS bankCode, e.bankAgency AS bankAgency, " +
+           "e.bankAgencyDigit AS bankAgencyDigit, e.bankAccount AS bankAccount, e.bankAccountDigit AS bankAccountDigit, " +
+           "p.netSalary AS netSalary FROM Payroll p JOIN p.employee e LEFT JOIN e.user u " +
+           "WHERE p.remittanceId = :remittanceId AND e.bankCode <> :bankCode ORDER BY p.id")
+    Stream<RemittanceRow> streamRemittedToOtherBanks(@Param("remittanceId") Long remittanceId,
+                                                     @Param("bankCode") String bankCode);
+
+    @Query("SELECT p.id AS id, p.employee.id AS employeeId, p.baseSalary AS baseSalary, " +
+           "p.overtimeManual AS overtimeManual FROM Payroll p " +
+           "WHERE p.referenceYear = :year AND p.referenceMonth = :month AND p.status = 'DRAFT'")
+    List<DraftInput> findDraftInputs(@Param("year") Integer year, @Param("month") Integer month);
+
+    @Query("SELECT p.id FROM Payroll p WHERE p.referenceYear = :year AND p.referenceMonth = :month " +
+           "AND p.status = 'DRAFT' ORDER BY p.id")
+    List<Long> findDraftIds(@Param("year") Integer year, @Param("month") Integer month);
+
+    @Query("SELECT p FROM Payroll p WHERE p.referenceYear = :year AND p.referenceMonth = :month " +
+           "AND p.status = 'DRAFT' AND p.id BETWEEN :firstId AND :lastId ORDER BY p.id")
+    List<Payroll> findDraftInRange(@Param("year") Integer year, @Param("month") Integer month,
+                                   @Param("firstId") Long firstId, @Param("lastId") Long lastId);
+
+    @Query("SELECT p FROM Payroll p JOIN FETCH p.employee e LEFT JOIN FETCH e.user u LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH p.processedBy pb LEFT JOIN FETCH pb.user " +
+           "WHERE p.referenceYear = :year AND p.referenceMonth = :month ORDER BY u.name, p.id")
+    List<Payroll> findForPayslips(@Param("year") Integer year, @Param("month") Integer month);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Payroll p JOIN FETCH p.employee e JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department LEFT JOIN FETCH p.processedBy pb LEFT JOIN FETCH pb.user " +
+           "WHERE p.updatedAt >= :since ORDER BY p.id")
+    Stream<Payroll> streamUpdatedSince(@Param("since") LocalDateTime since);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Payroll p JOIN FETCH p.employee e LEFT JOIN FETCH e.user " +
+           "WHERE p.referenceYear = :year AND p.referenceMonth = :month AND p.status <> 'CANCELLED' ORDER BY e.id")
+    Stream<Payroll> streamByPeriodOrderByEmployee(@Param("year") Integer year, @Param("month") Integer month);
+
+    @Query("SELECT COUNT(p) FROM Payroll p JOIN p.employee e WHERE p.referenceYear = :year AND p.referenceMonth = :month " +
+           "AND p.status IN ('APPROVED', 'PAID') AND e.cpf IS NULL")
+    long countClosedWithoutCpf(@Param("year") Integer year, @Param("month") Integer month);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.id AS payrollId, e.id AS employeeId, e.cpf AS cpf, d.id AS departmentId, p.paymentDate AS paymentDate, " +
+           "p.baseSalary AS baseSalary, p.overtimeValue AS overtimeValue, p.bonus AS bonus, p.commission AS commission, " +
+           "p.mealAllowance AS mealAllowance, p.transportAllowance AS transportAllowance, " +
+           "p.healthAllowance AS healthAllowance, p.otherEarnings AS otherEarnings, p.inssValue AS inssValue, " +
+           "p.irrfValue AS irrfValue, p.healthDiscount AS healthDiscount, p.dentalDiscount AS dentalDiscount, " +
+           "p.mealDiscount AS mealDiscount, p.transportDiscount AS transportDiscount, p.loanDiscount AS loanDiscount, " +
+           "p.otherDeductions AS otherDeductions, p.timeDiscount AS timeDiscount, p.netSalary AS netSalary " +
+           "FROM Payroll p JOIN p.employee e LEFT JOIN e.department d " +
+           "WHERE p.referenceYear = :year AND p.referenceMonth = :month AND p.status IN ('APPROVED', 'PAID') ORDER BY p.id")
+    Stream<EsocialRow> streamClosedForEsocial(@Param("year") Integer year, @Param("month") Integer month);
+
+    @Query("SELECT DISTINCT p.referenceYear FROM Payroll p ORDER BY p.referenceYear")
+    List<Integer> findReferenceYears();
+
+    @Query("SELECT DISTINCT p.employee.id FROM Payroll p WHERE p.referenceYear = :year " +
+           "AND p.status IN ('CALCULATED', 'APPROVED', 'PAID') ORDER BY p.employee.id")
+    List<Long> findEmployeeIdsWithClosedPayrolls(@Param("year") Integer year);
+
+    @Query("SELECT p.employee.id AS employeeId, COUNT(p) AS monthsWorked, " +
+           "COALESCE(SUM(p.grossSalary), 0) AS grossTotal, COALESCE(SUM(p.inssValue), 0) AS inssTotal, " +
+           "COALESCE(SUM(p.irrfValue), 0) AS irrfTotal, COALESCE(SUM(p.fgtsValue), 0) AS fgtsTotal, " +
+           "COALESCE(SUM(p.overtimeHours), 0) AS overtimeHoursTotal, " +
+           "COALESCE(SUM(p.overtimeValue), 0) AS overtimeValueTotal FROM Payroll p " +
+           "WHERE p.referenceYear = :year AND p.status IN ('CALCULATED', 'APPROVED', 'PAID') " +
+           "AND p.employee.id IN :employeeIds GROUP BY p.employee.id")
+    List<YearToDateAggregate> aggregateYearToDate(@Param("year") Integer year,
+                                                  @Param("employeeIds") Collection<Long> employeeIds);
+}
@@ -0,0 +1,75 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.PayrollRunChunk;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PayrollRunChunkRepository extends JpaRepository<PayrollRunChunk, Long> {
+
+    interface ChunkProgress {
+        PayrollRunChunk.ChunkStatus getStatus();
+        Long getChunks();
+        Long getProcessed();
+        Long getSucceeded();
+        Long getFailed();
+    }
+
+    interface RunFailure {
+        Long getPayrollId();
+        Long getEmployeeId();
+        String getMessage();
+    }
+
+    boolean existsByRunId(Long runId);
+
+    /**
+     * Lotes que podem ser reservados: pendentes ou com reserva expirada (worker interrompido).
+     */
+    @Query("SELECT c.id FROM PayrollRunChunk c WHERE c.run.id = :runId AND " +
+           "(c.status = 'PENDING' OR (c.status = 'RUNNING' AND c.claimedAt < :expiry)) ORDER BY c.chunkIndex")
+    List<Long> findClaimableIds(@Param("runId") Long runId, @Param("expiry") LocalDateTime expiry, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE PayrollRunChunk c SET c.status = 'RUNNING', c.claimedBy = :worker, c.claimedAt = :now, " +
+           "c.attempts = c.attempts + 1 WHERE c.id = :id AND " +
+           "(c.status = 'PENDING' OR (c.status = 'RUNNING' AND c.claimedAt < :expiry))")
+    int claim(@Param("id") Long id, @Param("worker") String worker,
+              @Param("now") LocalDateTime now, @Param("expiry") LocalDateTime expiry);
+
+    @Modifying
+    @Query("UPDATE PayrollRunChunk c SET c.status = 'DONE', c.processed = :processed, c.succeeded = :succeeded, " +
+           "c.failed = :failed, c.completedAt = :now, c.errorMessage = NULL " +
+           "WHERE c.id = :id AND c.status = 'RUNNING' AND c.claimedBy = :worker")
+    int complete(@Param("id") Long id, @Param("worker") String worker, @Param("processed") int processed,
+                 @Param("succeeded") int succeeded, @Param("failed") int failed, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE PayrollRunChunk c SET c.status = CASE WHEN c.attempts >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END, " +
+           "c.errorMessage = :message WHERE c.id = :id AND c.status = 'RUNNING' AND c.claimedBy = :worker")
+    int release(@Param("id") Long id, @Param("worker") String worker,
+                @Param("maxAttempts") int maxAttempts, @Param("message") String message);
+
+    @Modifying
+    @Query("UPDATE PayrollRunChunk c SET c.status = 'PENDING', c.attempts = 0 WHERE c.run.id = :runId AND c.status = 'FAILED'")
+    int resetFailed(@Param("runId") Long runId);
+
+    @Query("SELECT COUNT(c) FROM PayrollRunChunk c WHERE c.run.id = :runId AND c.status IN ('PENDING', 'RUNNING')")
+    long countUnfinished(@Param("runId") Long runId);
+
+    @Query("SELECT c.status AS status, COUNT(c) AS chunks, COALESCE(SUM(c.processed), 0) AS processed, " +
+           "COALESCE(SUM(c.succeeded), 0) AS succeeded, COALESCE(SUM(c.failed), 0) AS failed " +
+           "FROM PayrollRunChunk c WHERE c.run.id = :runId GROUP BY c.status")
+    List<ChunkProgress> getProgress(@Param("runId") Long runId);
+
+    @Query("SELECT f.payrollId AS payrollId, f.employeeId AS employeeId, f.message AS message " +
+           "FROM PayrollRunChunk c JOIN c.failures f WHERE c.run.id = :runId ORDER BY f.payrollId")
+    List<RunFailure> findFailures(@Param("runId") Long runId, Pageable pageable);
+}
@@ -0,0 +1,27 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.PayrollRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+
+    List<PayrollRun> findByStatusIn(Collection<PayrollRun.RunStatus> statuses);
+
+    List<PayrollRun> findByReferenceYearAndReferenceMonthOrderByIdDesc(Integer year, Integer month);
+
+    boolean existsByReferenceYearAndReferenceMonthAndStatusIn(Integer year, Integer month,
+                                                            Collection<PayrollRun.RunStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE PayrollRun r SET r.status = :status, r.finishedAt = :now WHERE r.id = :id AND r.status = 'RUNNING'")
+    int finish(@Param("id") Long id, @Param("status") PayrollRun.RunStatus status, @Param("now") LocalDateTime now);
+}
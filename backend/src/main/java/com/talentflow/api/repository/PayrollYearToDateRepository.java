@@ -0,0 +1,61 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.PayrollYearToDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PayrollYearToDateRepository extends JpaRepository<PayrollYearToDate, Long> {
+
+    /**
+     * Acumulado do ano com o salário atual do funcionário, para o 13º salário.
+     */
+    interface ThirteenthInput {
+        Long getEmployeeId();
+        String getName();
+        BigDecimal getSalary();
+        Integer getMonthsWorked();
+        BigDecimal getOvertimeValueTotal();
+    }
+
+    @Modifying
+    @Query("UPDATE PayrollYearToDate a SET a.monthsWorked = a.monthsWorked + :months, " +
+           "a.grossTotal = a.grossTotal + :gross, a.inssTotal = a.inssTotal + :inss, a.irrfTotal = a.irrfTotal + :irrf, " +
+           "a.fgtsTotal = a.fgtsTotal + :fgts, a.overtimeHoursTotal = a.overtimeHoursTotal + :overtimeHours, " +
+           "a.overtimeValueTotal = a.overtimeValueTotal + :overtimeValue, a.updatedAt = :now " +
+           "WHERE a.employeeId = :employeeId AND a.referenceYear = :year")
+    int addDelta(@Param("employeeId") Long employeeId, @Param("year") Integer year, @Param("months") int months,
+                 @Param("gross") BigDecimal gross, @Param("inss") BigDecimal inss, @Param("irrf") BigDecimal irrf,
+                 @Param("fgts") BigDecimal fgts, @Param("overtimeHours") BigDecimal overtimeHours,
+                 @Param("overtimeValue") BigDecimal overtimeValue, @Param("now") LocalDateTime now);
+
+    // Bloqueia as linhas dos funcionários no ano até o fim da transação; devolve quantas existem
+    @Modifying
+    @Query("UPDATE PayrollYearToDate a SET a.updatedAt = :now WHERE a.referenceYear = :year AND a.employeeId IN :employeeIds")
+    int lock(@Param("year") Integer year, @Param("employeeIds") Collection<Long> employeeIds,
+             @Param("now") LocalDateTime now);
+
+    @Query("SELECT a.employeeId FROM PayrollYearToDate a WHERE a.referenceYear = :year AND a.employeeId IN :employeeIds")
+    List<Long> findEmployeeIds(@Param("year") Integer year, @Param("employeeIds") Collection<Long> employeeIds);
+
+    List<PayrollYearToDate> findByReferenceYearAndEmployeeIdIn(Integer year, Collection<Long> employeeIds);
+
+    @Modifying
+    @Query("DELETE FROM PayrollYearToDate a WHERE a.referenceYear = :year AND NOT EXISTS (" +
+           "SELECT p.id FROM Payroll p WHERE p.employee.id = a.employeeId AND p.referenceYear = :year " +
+           "AND p.status IN ('CALCULATED', 'APPROVED', 'PAID'))")
+    int deleteWithoutClosedPayrolls(@Param("year") Integer year);
+
+    @Query("SELECT a.employeeId AS employeeId, u.name AS name, e.salary AS salary, a.monthsWorked AS monthsWorked, " +
+           "a.overtimeValueTotal AS overtimeValueTotal FROM PayrollYearToDate a JOIN Employee e ON e.id = a.employeeId " +
+           "LEFT JOIN e.user u WHERE a.referenceYear = :year AND a.monthsWorked > 0 ORDER BY u.name, a.employeeId")
+    List<ThirteenthInput> findThirteenthInputs(@Param("year") Integer year);
+}
@@ -0,0 +1,36 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.ReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    List<ReportJob> findByRequestedByIdOrderByCreatedAtDesc(Long userId);
+
+    @Query("SELECT COUNT(j) FROM ReportJob j WHERE j.requestedBy.id = :userId AND j.status IN :statuses")
+    long countByUserAndStatusIn(@Param("userId") Long userId, @Param("statuses") Collection<ReportJob.JobStatus> statuses);
+
+    @Query("SELECT j FROM ReportJob j WHERE j.requestedBy.id = :userId AND j.type = :type AND j.format = :format AND " +
+           "(j.status IN ('QUEUED', 'RUNNING') OR (j.status = 'COMPLETED' AND j.expiresAt > :now)) " +
+           "ORDER BY j.createdAt DESC")
+    List<ReportJob> findReusable(@Param("userId") Long userId,
+                                 @Param("type") ReportJob.ReportType type,
+                                 @Param("format") ReportJob.ReportFormat format,
+                                 @Param("now") LocalDateTime now);
+
+    @Query("SELECT j FROM ReportJob j WHERE j.status = 'COMPLETED' AND j.expiresAt <= :now")
+    List<ReportJob> findExpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = 'FAILED', j.errorMessage = :message WHERE j.status IN ('QUEUED', 'RUNNING')")
+    int failUnfinished(@Param("message") String message);
+}
@@ -0,0 +1,18 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.TaxTable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TaxTableRepository extends JpaRepository<TaxTable, Long> {
+
+    @Query("SELECT DISTINCT t FROM TaxTable t LEFT JOIN FETCH t.brackets ORDER BY t.type, t.validFrom")
+    List<TaxTable> findAllWithBrackets();
+
+    boolean existsByTypeAndValidFrom(TaxTable.TaxType type, LocalDate validFrom);
+}
@@ -0,0 +1,22 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.TimeBankBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface TimeBankBalanceRepository extends JpaRepository<TimeBankBalance, Long> {
+
+    Optional<TimeBankBalance> findByEmployeeId(Long employeeId);
+
+    // Bloqueia a linha do saldo até o fim da transação; 0 quando o funcionário ainda não tem saldo
+    @Modifying
+    @Query("UPDATE TimeBankBalance b SET b.updatedAt = :now WHERE b.employeeId = :employeeId")
+    int lock(@Param("employeeId") Long employeeId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,49 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.TimeBankEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TimeBankEntryRepository extends JpaRepository<TimeBankEntry, Long> {
+
+    /**
+     * Horas extras e atrasos já lançados para um registro de ponto, líquidos dos estornos.
+     */
+    interface Posted {
+        Long getCredit();
+        Long getDebit();
+    }
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN e.type IN ('CREDIT', 'CREDIT_REVERSAL') THEN e.minutes ELSE 0 END), 0) AS credit, " +
+           "COALESCE(-SUM(CASE WHEN e.type IN ('DEBIT', 'DEBIT_REVERSAL') THEN e.minutes ELSE 0 END), 0) AS debit " +
+           "FROM TimeBankEntry e WHERE e.timeRecordId = :timeRecordId")
+    Posted sumPostedByRecord(@Param("timeRecordId") Long timeRecordId);
+
+    // Créditos em aberto na ordem de compensação: primeiro os que vencem antes
+    @Query("SELECT e FROM TimeBankEntry e WHERE e.employeeId = :employeeId AND e.expiresAt IS NOT NULL " +
+           "AND e.remainingMinutes > 0 ORDER BY e.expiresAt, e.id")
+    List<TimeBankEntry> findOpenCredits(@Param("employeeId") Long employeeId);
+
+    @Query("SELECT DISTINCT e.employeeId FROM TimeBankEntry e WHERE e.expiresAt < :date AND e.remainingMinutes > 0")
+    List<Long> findEmployeesWithExpiredCredits(@Param("date") LocalDate date);
+
+    @Query("SELECT e FROM TimeBankEntry e WHERE e.employeeId = :employeeId AND e.expiresAt < :date " +
+           "AND e.remainingMinutes > 0 ORDER BY e.expiresAt, e.id")
+    List<TimeBankEntry> findExpiredCredits(@Param("employeeId") Long employeeId, @Param("date") LocalDate date);
+
+    @Query("SELECT e FROM TimeBankEntry e WHERE e.employeeId = :employeeId " +
+           "AND e.createdAt >= :start AND e.createdAt < :end ORDER BY e.createdAt, e.id")
+    List<TimeBankEntry> findStatement(@Param("employeeId") Long employeeId,
+                                      @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    Optional<TimeBankEntry> findFirstByEmployeeIdAndCreatedAtBeforeOrderByCreatedAtDescIdDesc(Long employeeId,
+                                                                                            LocalDateTime createdAt);
+}
@@ -0,0 +1,18 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.TimeClockImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TimeClockImportRepository extends JpaRepository<TimeClockImport, Long> {
+
+    @Query("SELECT MAX(i.lastNsr) FROM TimeClockImport i WHERE i.repSerial = :repSerial")
+    Long findLastNsr(@Param("repSerial") String repSerial);
+
+    List<TimeClockImport> findTop50ByOrderByCreatedAtDesc();
+}
@@ -0,0 +1,21 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.TimePunchKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface TimePunchKeyRepository extends JpaRepository<TimePunchKey, UUID> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TimePunchKey k WHERE k.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
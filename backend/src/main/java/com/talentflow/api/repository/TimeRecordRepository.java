@@ -1,18 +1,71 @@
 package com.talentflow.api.repository;
 
 import com.talentflow.api.entity.TimeRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TimeRecordRepository extends JpaRepository<TimeRecord, Long> {
 
+    /**
+     * Minutos do período por funcionário, só dos dias aprovados: horas extras em dia útil, trabalho
+     * em feriado ou fim de semana (todo ele é extra) e atrasos/saídas antecipadas.
+     */
+    interface PeriodMinutes {
+        Long getEmployeeId();
+        Long getOvertimeMinutes();
+        Long getRestDayMinutes();
+        Long getLateMinutes();
+        Long getEarlyDepartureMinutes();
+    }
+
+    /**
+     * Totais do mês por funcionário para reconstruir o consolidado mensal.
+     */
+    interface MonthTotals {
+        Long getEmployeeId();
+        Long getDaysPresent();
+        Long getWorkedMinutes();
+        Long getOvertimeMinutes();
+        Long getApprovedOvertimeMinutes();
+        Long getLateMinutes();
+        Long getEarlyDepartureMinutes();
+    }
+
+    /**
+     * Marcações e minutos calculados de um registro, para o recálculo após mudança de escala.
+     */
+    interface PunchTimes {
+        Long getId();
+        Long getEmployeeId();
+        LocalDate getRecordDate();
+        LocalTime getClockIn();
+        LocalTime getLunchOut();
+        LocalTime getLunchIn();
+        LocalTime getClockOut();
+        Integer getLateMinutes();
+        Integer getEarlyDepartureMinutes();
+        Integer getWorkedMinutes();
+        Integer getOvertimeMinutes();
+        TimeRecord.RecordStatus getStatus();
+    }
+
     List<TimeRecord> findByEmployeeId(Long employeeId);
 
     Optional<TimeRecord> findByEmployeeIdAndRecordDate(Long employeeId, LocalDate recordDate);
@@ -21,10 +74,122 @@ public interface TimeRecordRepository extends JpaRepository<TimeRecord, Long> {
 
     List<TimeRecord> findByRecordDate(LocalDate recordDate);
 
+    @Query("SELECT t FROM TimeRecord t JOIN FETCH t.employee e LEFT JOIN FETCH e.user LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH t.approvedBy a LEFT JOIN FETCH a.user WHERE t.recordDate = :date")
+    List<TimeRecord> findByRecordDateWithEmployee(@Param("date") LocalDate date);
+
+    @Query("SELECT t FROM TimeRecord t JOIN FETCH t.employee e LEFT JOIN FETCH e.user LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH t.approvedBy a LEFT JOIN FETCH a.user WHERE t.recordDate = :date AND t.anomaly IS NOT NULL " +
+           "ORDER BY t.anomaly, e.id")
+    List<TimeRecord> findAnomaliesWithEmployee(@Param("date") LocalDate date);
+
+    @Query("SELECT t FROM TimeRecord t JOIN FETCH t.employee e LEFT JOIN FETCH e.user LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH t.approvedBy a LEFT JOIN FETCH a.user WHERE e.id = :employeeId AND t.recordDate = :date")
+    Optional<TimeRecord> findDayWithEmployee(@Param("employeeId") Long employeeId, @Param("date") LocalDate date);
+
+    // Marcações do dia com UPDATE condicional: 0 linhas indica estado diferente do esperado
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE TimeRecord t SET t.lunchOut = :time, t.updatedAt = :now WHERE t.employee.id = :employeeId " +
+           "AND t.recordDate = :date AND t.clockIn IS NOT NULL AND t.lunchOut IS NULL")
+    int markLunchOut(@Param("employeeId") Long employeeId, @Param("date") LocalDate date,
+                     @Param("time") LocalTime time, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE TimeRecord t SET t.lunchIn = :time, t.updatedAt = :now WHERE t.employee.id = :employeeId " +
+           "AND t.recordDate = :date AND t.lunchOut IS NOT NULL AND t.lunchIn IS NULL")
+    int markLunchIn(@Param("employeeId") Long employeeId, @Param("date") LocalDate date,
+                    @Param("time") LocalTime time, @Param("now") LocalDateTime now);
+
+    // As horas calculadas dependem das marcações do almoço: confere se continuam as mesmas
+    @Transactional
+    @Modifying
+    @Query("UPDATE TimeRecord t SET t.clockOut = :time, t.earlyDepartureMinutes = :earlyMinutes, " +
+           "t.workedMinutes = :workedMinutes, t.overtimeMinutes = :overtimeMinutes, t.updatedAt = :now " +
+           "WHERE t.employee.id = :employeeId AND t.recordDate = :date AND t.clockIn IS NOT NULL " +
+           "AND t.clockOut IS NULL AND t.lunchOut IS NOT DISTINCT FROM :lunchOut AND t.lunchIn IS NOT DISTINCT FROM :lunchIn")
+    int markClockOut(@Param("employeeId") Long employeeId, @Param("date") LocalDate date,
+                     @Param("lunchOut") LocalTime lunchOut,
+                     @Param("lunchIn") LocalTime lunchIn, @Param("time") LocalTime time,
+                     @Param("earlyMinutes") int earlyMinutes, @Param("workedMinutes") int workedMinutes,
+                     @Param("overtimeMinutes") int overtimeMinutes, @Param("now") LocalDateTime now);
+
+    // Marcações sincronizadas do aplicativo: grava só se as marcações continuam as lidas
+    @Transactional
+    @Modifying
+    @Query("UPDATE TimeRecord t SET t.clockIn = :clockIn, t.lunchOut = :lunchOut, t.lunchIn = :lunchIn, " +
+           "t.clockOut = :clockOut, t.lateMinutes = :lateMinutes, t.earlyDepartureMinutes = :earlyMinutes, " +
+           "t.workedMinutes = :workedMinutes, t.overtimeMinutes = :overtimeMinutes, t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.clockIn IS NOT DISTINCT FROM :expectedClockIn " +
+           "AND t.lunchOut IS NOT DISTINCT FROM :expectedLunchOut AND t.lunchIn IS NOT DISTINCT FROM :expectedLunchIn " +
+           "AND t.clockOut IS NOT DISTINCT FROM :expectedClockOut")
+    int markSyncedPunches(@Param("id") Long id, @Param("clockIn") LocalTime clockIn,
+                          @Param("lunchOut") LocalTime lunchOut, @Param("lunchIn") LocalTime lunchIn,
+                          @Param("clockOut") LocalTime clockOut, @Param("lateMinutes") Integer lateMinutes,
+                          @Param("earlyMinutes") Integer earlyMinutes, @Param("workedMinutes") Integer workedMinutes,
+                          @Param("overtimeMinutes") Integer overtimeMinutes, @Param("now") LocalDateTime now,
+                          @Param("expectedClockIn") LocalTime expectedClockIn,
+                          @Param("expectedLunchOut") LocalTime expectedLunchOut,
+                          @Param("expectedLunchIn") LocalTime expectedLunchIn,
+                          @Param("expectedClockOut") LocalTime expectedClockOut);
+
+    @Query("SELECT t.employee.id FROM TimeRecord t WHERE t.recordDate = :date AND t.clockIn IS NOT NULL")
+    List<Long> findEmployeeIdsWithClockIn(@Param("date") LocalDate date);
+
     List<TimeRecord> findByStatus(TimeRecord.RecordStatus status);
 
-    @Query("SELECT t FROM TimeRecord t WHERE t.employee.id = :employeeId AND YEAR(t.recordDate) = :year AND MONTH(t.recordDate) = :month ORDER BY t.recordDate")
-    List<TimeRecord> findByEmployeeAndMonth(@Param("employeeId") Long employeeId, @Param("year") Integer year, @Param("month") Integer month);
+    // Intervalo de datas em vez de YEAR()/MONTH(): usa o índice único (employee_id, record_date)
+    @Query("SELECT t FROM TimeRecord t JOIN FETCH t.employee e LEFT JOIN FETCH e.user LEFT JOIN FETCH e.department " +
+           "LEFT JOIN FETCH t.approvedBy a LEFT JOIN FETCH a.user WHERE e.id = :employeeId " +
+           "AND t.recordDate >= :startDate AND t.recordDate < :endDate ORDER BY t.recordDate")
+    List<TimeRecord> findByEmployeeAndPeriod(@Param("employeeId") Long employeeId,
+                                             @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT t.id AS id, t.employee.id AS employeeId, t.recordDate AS recordDate, t.clockIn AS clockIn, " +
+           "t.lunchOut AS lunchOut, t.lunchIn AS lunchIn, t.clockOut AS clockOut, t.lateMinutes AS lateMinutes, " +
+           "t.earlyDepartureMinutes AS earlyDepartureMinutes, t.workedMinutes AS workedMinutes, " +
+           "t.overtimeMinutes AS overtimeMinutes, t.status AS status FROM TimeRecord t " +
+           "WHERE t.recordDate >= :startDate AND t.clockIn IS NOT NULL AND t.id > :lastId ORDER BY t.id")
+    List<PunchTimes> findPunchTimesAfter(@Param("startDate") LocalDate startDate, @Param("lastId") Long lastId,
+                                         Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.employee.id AS employeeId, t.recordDate AS recordDate, t.clockIn AS clockIn, " +
+           "t.lunchOut AS lunchOut, t.lunchIn AS lunchIn, t.clockOut AS clockOut, t.lateMinutes AS lateMinutes, " +
+           "t.earlyDepartureMinutes AS earlyDepartureMinutes, t.workedMinutes AS workedMinutes, " +
+           "t.overtimeMinutes AS overtimeMinutes, t.status AS status FROM TimeRecord t " +
+           "WHERE t.status = 'APPROVED' AND t.employee.id = :employeeId ORDER BY t.recordDate, t.id")
+    List<PunchTimes> findApprovedPunchTimesByEmployee(@Param("employeeId") Long employeeId);
+
+    /**
+     * Funcionários com dia aprovado que deveria ter lançamento no banco de horas e não tem (dias
+     * aprovados antes da abertura do banco), em lotes por id.
+     */
+    @Query("SELECT DISTINCT t.employee.id FROM TimeRecord t WHERE t.status = 'APPROVED' AND t.employee.id > :lastId " +
+           "AND (COALESCE(t.overtimeMinutes, 0) > 0 OR COALESCE(t.lateMinutes, 0) > 0 " +
+           "OR COALESCE(t.earlyDepartureMinutes, 0) > 0) " +
+           "AND NOT EXISTS (SELECT 1 FROM TimeBankEntry e WHERE e.timeRecordId = t.id) ORDER BY t.employee.id")
+    List<Long> findEmployeesWithUnpostedApprovedAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.employee.id AS employeeId, t.recordDate AS recordDate, t.clockIn AS clockIn, " +
+           "t.lunchOut AS lunchOut, t.lunchIn AS lunchIn, t.clockOut AS clockOut, t.lateMinutes AS lateMinutes, " +
+           "t.earlyDepartureMinutes AS earlyDepartureMinutes, t.workedMinutes AS workedMinutes, " +
+           "t.overtimeMinutes AS overtimeMinutes, t.status AS status FROM TimeRecord t " +
+           "WHERE t.employee.id IN :employeeIds AND t.recordDate BETWEEN :startDate AND :endDate")
+    List<PunchTimes> findPunchTimes(@Param("employeeIds") Collection<Long> employeeIds,
+                                    @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT MIN(t.recordDate) FROM TimeRecord t")
+    LocalDate findFirstRecordDate();
+
+    @Query("SELECT t.employee.id AS employeeId, COUNT(t) AS daysPresent, " +
+           "SUM(COALESCE(t.workedMinutes, 0)) AS workedMinutes, SUM(COALESCE(t.overtimeMinutes, 0)) AS overtimeMinutes, " +
+           "SUM(CASE WHEN t.status = 'APPROVED' THEN COALESCE(t.overtimeMinutes, 0) ELSE 0 END) AS approvedOvertimeMinutes, " +
+           "SUM(COALESCE(t.lateMinutes, 0)) AS lateMinutes, SUM(COALESCE(t.earlyDepartureMinutes, 0)) AS earlyDepartureMinutes " +
+           "FROM TimeRecord t WHERE t.recordDate >= :startDate AND t.recordDate < :endDate " +
+           "AND t.clockOut IS NOT NULL AND t.status <> 'REJECTED' GROUP BY t.employee.id")
+    List<MonthTotals> sumMonthByEmployee(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     @Query("SELECT SUM(t.workedMinutes) FROM TimeRecord t WHERE t.employee.id = :employeeId AND t.recordDate BETWEEN :startDate AND :endDate")
     Integer getTotalWorkedMinutes(@Param("employeeId") Long employeeId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
@@ -32,11 +197,26 @@ public interface TimeRecordRepository extends JpaRepository<TimeRecord, Long> {
     @Query("SELECT SUM(t.overtimeMinutes) FROM TimeRecord t WHERE t.employee.id = :employeeId AND t.recordDate BETWEEN :startDate AND :endDate")
     Integer getTotalOvertimeMinutes(@Param("employeeId") Long employeeId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT t.employee.id AS employeeId, " +
+           "SUM(CASE WHEN t.type NOT IN ('HOLIDAY', 'WEEKEND') THEN COALESCE(t.overtimeMinutes, 0) ELSE 0 END) AS overtimeMinutes, " +
+           "SUM(CASE WHEN t.type IN ('HOLIDAY', 'WEEKEND') THEN COALESCE(t.workedMinutes, 0) ELSE 0 END) AS restDayMinutes, " +
+           "SUM(COALESCE(t.lateMinutes, 0)) AS lateMinutes, " +
+           "SUM(COALESCE(t.earlyDepartureMinutes, 0)) AS earlyDepartureMinutes " +
+           "FROM TimeRecord t WHERE t.recordDate >= :startDate AND t.recordDate < :endDate AND t.status = 'APPROVED' " +
+           "GROUP BY t.employee.id")
+    List<PeriodMinutes> sumMinutesByEmployee(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
     @Query("SELECT t FROM TimeRecord t WHERE t.employee.department.id = :departmentId AND t.recordDate = :date")
     List<TimeRecord> findByDepartmentAndDate(@Param("departmentId") Long departmentId, @Param("date") LocalDate date);
 
     @Query("SELECT COUNT(t) FROM TimeRecord t WHERE t.status = 'PENDING'")
     Long countPending();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM TimeRecord t JOIN FETCH t.employee e JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department LEFT JOIN FETCH t.approvedBy a LEFT JOIN FETCH a.user " +
+           "WHERE t.updatedAt >= :since ORDER BY t.id")
+    Stream<TimeRecord> streamUpdatedSince(@Param("since") LocalDateTime since);
 }
 
 
@@ -1,15 +1,23 @@
 package com.talentflow.api.repository;
 
 import com.talentflow.api.entity.User;
+import com.talentflow.api.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.id FROM User u WHERE u.isActive = true AND u.role IN :roles")
+    List<Long> findActiveIdsByRoleIn(@Param("roles") Collection<Role> roles);
 }
 
 
@@ -1,15 +1,20 @@
 package com.talentflow.api.repository;
 
 import com.talentflow.api.entity.VacationRequest;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface VacationRequestRepository extends JpaRepository<VacationRequest, Long> {
@@ -42,6 +47,17 @@ public interface VacationRequestRepository extends JpaRepository<VacationRequest
             @Param("type") VacationRequest.VacationType type,
             @Param("employeeId") Long employeeId,
             Pageable pageable);
+
+    @Query("SELECT v FROM VacationRequest v JOIN FETCH v.employee e JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department LEFT JOIN FETCH v.approvedBy a LEFT JOIN FETCH a.user " +
+           "WHERE v.id < :lastId ORDER BY v.id DESC")
+    List<VacationRequest> findBatchBefore(@Param("lastId") Long lastId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT v FROM VacationRequest v JOIN FETCH v.employee e JOIN FETCH e.user " +
+           "LEFT JOIN FETCH e.department LEFT JOIN FETCH v.approvedBy a LEFT JOIN FETCH a.user " +
+           "WHERE v.updatedAt >= :since ORDER BY v.id")
+    Stream<VacationRequest> streamUpdatedSince(@Param("since") LocalDateTime since);
 }
 
 
@@ -0,0 +1,40 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.WorkScheduleAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkScheduleAssignmentRepository extends JpaRepository<WorkScheduleAssignment, Long> {
+
+    /**
+     * Atribuição reduzida aos ids, para compilar a resolução de escalas.
+     */
+    interface AssignmentRef {
+        Long getScheduleId();
+        Long getEmployeeId();
+        Long getDepartmentId();
+        LocalDate getValidFrom();
+    }
+
+    boolean existsByEmployeeIdAndValidFrom(Long employeeId, LocalDate validFrom);
+
+    boolean existsByDepartmentIdAndValidFrom(Long departmentId, LocalDate validFrom);
+
+    @Query("SELECT a FROM WorkScheduleAssignment a JOIN FETCH a.schedule LEFT JOIN FETCH a.employee e " +
+           "LEFT JOIN FETCH e.user LEFT JOIN FETCH a.department ORDER BY a.validFrom DESC, a.id DESC")
+    List<WorkScheduleAssignment> findAllWithTargets();
+
+    @Query("SELECT a.schedule.id AS scheduleId, e.id AS employeeId, d.id AS departmentId, a.validFrom AS validFrom " +
+           "FROM WorkScheduleAssignment a LEFT JOIN a.employee e LEFT JOIN a.department d ORDER BY a.validFrom")
+    List<AssignmentRef> findAllRefs();
+
+    @Query("SELECT MIN(a.validFrom) FROM WorkScheduleAssignment a WHERE a.schedule.id IN :scheduleIds")
+    LocalDate findFirstValidFrom(@Param("scheduleIds") Collection<Long> scheduleIds);
+}
@@ -0,0 +1,29 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.WorkScheduleRecompute;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface WorkScheduleRecomputeRepository extends JpaRepository<WorkScheduleRecompute, Long> {
+
+    /**
+     * Recálculo pendente: data mais antiga e último pedido lido (ambos nulos sem pedidos).
+     */
+    interface Pending {
+        LocalDate getAffectedFrom();
+        Long getLastId();
+    }
+
+    @Query("SELECT MIN(r.affectedFrom) AS affectedFrom, MAX(r.id) AS lastId FROM WorkScheduleRecompute r")
+    Pending findPending();
+
+    @Modifying
+    @Query("DELETE FROM WorkScheduleRecompute r WHERE r.id <= :lastId")
+    int deleteUpTo(@Param("lastId") Long lastId);
+}
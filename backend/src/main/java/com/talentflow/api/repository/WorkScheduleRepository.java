@@ -0,0 +1,25 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.WorkSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WorkScheduleRepository extends JpaRepository<WorkSchedule, Long> {
+
+    boolean existsByName(String name);
+
+    @Query("SELECT DISTINCT s FROM WorkSchedule s LEFT JOIN FETCH s.days d LEFT JOIN FETCH d.shift ORDER BY s.name")
+    List<WorkSchedule> findAllWithDays();
+
+    @Query("SELECT s FROM WorkSchedule s LEFT JOIN FETCH s.days d LEFT JOIN FETCH d.shift WHERE s.id = :id")
+    Optional<WorkSchedule> findWithDays(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT d.schedule.id FROM WorkScheduleDay d WHERE d.shift.id = :shiftId")
+    List<Long> findIdsUsingShift(@Param("shiftId") Long shiftId);
+}
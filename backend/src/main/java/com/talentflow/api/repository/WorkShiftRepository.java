@@ -0,0 +1,15 @@
+package com.talentflow.api.repository;
+
+import com.talentflow.api.entity.WorkShift;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WorkShiftRepository extends JpaRepository<WorkShift, Long> {
+
+    boolean existsByName(String name);
+
+    List<WorkShift> findAllByOrderByName();
+}
@@ -0,0 +1,192 @@
+package com.talentflow.api.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Leitor do AFD (Arquivo Fonte de Dados) do relógio de ponto, nos leiautes da Portaria 1510/2009
+ * e da Portaria 671/2021. O arquivo é mapeado em memória em janelas e os campos de largura fixa
+ * são lidos direto do buffer, dígito a dígito, sem montar strings por linha. Só o cabeçalho (tipo
+ * 1) e as marcações (tipo 3 e, na 671, tipo 7) interessam; os demais registros são contados e
+ * ignorados. As posições dos campos seguem o leiaute (1 a n).
+ */
+public class AfdParser {
+
+    // Janela mapeada por vez; a linha que atravessa o fim da janela é relida na próxima
+    private static final int WINDOW = 64 * 1024 * 1024;
+
+    private static final long TRAILER_NSR = 999_999_999L;
+
+    /**
+     * Recebe os registros lidos. A marcação traz o dia em epoch day e o horário em segundos do dia;
+     * o trabalhador é identificado pelo PIS (1510) ou pelo CPF (671).
+     */
+    public interface Handler {
+
+        void header(String repSerial);
+
+        void punch(long nsr, long epochDay, int secondOfDay, long worker, boolean cpf);
+
+        void invalid(long lineNumber);
+    }
+
+    /**
+     * Totais da leitura do arquivo.
+     */
+    public record Summary(long lines, long punches, long invalid, long bytes) {
+    }
+
+    private final Handler handler;
+
+    private long lines;
+    private long punches;
+    private long invalid;
+
+    public AfdParser(Handler handler) {
+        this.handler = handler;
+    }
+
+    public Summary parse(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                int length = (int) Math.min(WINDOW, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean last = position + length == size;
+
+                int start = 0;
+                for (int i = 0; i < length; i++) {
+                    if (buffer.get(i) == '\n') {
+                        line(buffer, start, i);
+                        start = i + 1;
+                    }
+                }
+                if (last) {
+                    if (start < length) {
+                        line(buffer, start, length);
+                    }
+                    position = size;
+                } else if (start == 0) {
+                    throw new IOException("Linha do AFD maior que " + WINDOW + " bytes");
+                } else {
+                    position += start;
+                }
+            }
+            return new Summary(lines, punches, invalid, size);
+        }
+    }
+
+    private void line(MappedByteBuffer buffer, int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if (end == start) {
+            return;
+        }
+        lines++;
+        int length = end - start;
+        if (length < 10) {
+            invalid();
+            return;
+        }
+
+        long nsr = number(buffer, start, 9);
+        if (nsr == TRAILER_NSR) {
+            return;
+        }
+        if (nsr < 0) {
+            invalid();
+            return;
+        }
+        switch (buffer.get(start + 9)) {
+            case '1' -> header(buffer, start, length);
+            case '3', '7' -> punch(buffer, start, length, nsr);
+            default -> {
+                // Empresa (2), ajuste do relógio (4), empregado (5) e eventos (6): não entram no ponto
+            }
+        }
+    }
+
+    private void header(MappedByteBuffer buffer, int start, int length) {
+        // Número de fabricação do REP: posições 188-204 (1510) ou 190-206 (671, com CNO/CAEPF de 14)
+        int offset = length >= 253 ? 189 : length >= 204 ? 187 : -1;
+        handler.header(offset < 0 ? "" : text(buffer, start + offset, 17));
+    }
+
+    private void punch(MappedByteBuffer buffer, int start, int length, long nsr) {
+        long year;
+        long month;
+        long day;
+        long hour;
+        long minute;
+        long worker;
+        boolean cpf;
+        if (length >= 46 && buffer.get(start + 14) == '-') {
+            // 671: data e hora AAAA-MM-DDThh:mm:00-0300 (11-34), CPF (35-46)
+            year = number(buffer, start + 10, 4);
+            month = number(buffer, start + 15, 2);
+            day = number(buffer, start + 18, 2);
+            hour = number(buffer, start + 21, 2);
+            minute = number(buffer, start + 24, 2);
+            worker = number(buffer, start + 34, 12);
+            cpf = true;
+        } else if (length >= 34) {
+            // 1510: data DDMMAAAA (11-18), hora hhmm (19-22), PIS (23-34)
+            day = number(buffer, start + 10, 2);
+            month = number(buffer, start + 12, 2);
+            year = number(buffer, start + 14, 4);
+            hour = number(buffer, start + 18, 2);
+            minute = number(buffer, start + 20, 2);
+            worker = number(buffer, start + 22, 12);
+            cpf = false;
+        } else {
+            invalid();
+            return;
+        }
+        if (year < 1 || hour < 0 || hour > 23 || minute < 0 || minute > 59 || worker <= 0) {
+            invalid();
+            return;
+        }
+
+        long epochDay;
+        try {
+            epochDay = LocalDate.of((int) year, (int) month, (int) day).toEpochDay();
+        } catch (DateTimeException e) {
+            invalid();
+            return;
+        }
+        punches++;
+        handler.punch(nsr, epochDay, (int) (hour * 3600 + minute * 60), worker, cpf);
+    }
+
+    private void invalid() {
+        invalid++;
+        handler.invalid(lines);
+    }
+
+    // Número de `digits` dígitos ASCII; -1 se algum não for dígito
+    private static long number(MappedByteBuffer buffer, int offset, int digits) {
+        long value = 0;
+        for (int i = offset; i < offset + digits; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static String text(MappedByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1).trim();
+    }
+}
@@ -0,0 +1,138 @@
+package com.talentflow.api.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Lê tabelas grandes em lotes por chave (id > último id, ou id < último id na ordem decrescente)
+ * ou por cursor ({@link Stream} do repositório, também dois cursores combinados por chave),
+ * limpando o contexto de persistência a cada lote para que o consumo de memória não cresça com o
+ * número de linhas. Deve ser chamado dentro de uma transação.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchReader {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    public <T> long forEach(BiFunction<Long, Pageable, List<T>> fetcher,
+                            Function<T, Long> idExtractor,
+                            Consumer<T> action) {
+        return forEach(fetcher, idExtractor, action, DEFAULT_BATCH_SIZE);
+    }
+
+    public <T> long forEach(BiFunction<Long, Pageable, List<T>> fetcher,
+                            Function<T, Long> idExtractor,
+                            Consumer<T> action,
+                            int batchSize) {
+        return read(fetcher, idExtractor, action, batchSize, 0L);
+    }
+
+    public <T> long forEachDescending(BiFunction<Long, Pageable, List<T>> fetcher,
+                                      Function<T, Long> idExtractor,
+                                      Consumer<T> action) {
+        return read(fetcher, idExtractor, action, DEFAULT_BATCH_SIZE, Long.MAX_VALUE);
+    }
+
+    public <T> long forEach(Stream<T> cursor, Consumer<T> action) {
+        long total = 0;
+
+        try (cursor) {
+            Iterator<T> iterator = cursor.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++total % DEFAULT_BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Percorre dois cursores ordenados pela mesma chave em uma única passada (merge join), chamando
+     * a ação com o par de itens de mesma chave; o lado sem correspondência vem null. A leitura para
+     * quando a ação retorna false. Retorna o número de pares visitados.
+     */
+    public <T, K extends Comparable<K>> long mergeJoin(Stream<T> left, Stream<T> right,
+                                                       Function<T, K> keyExtractor,
+                                                       BiPredicate<T, T> action) {
+        long total = 0;
+
+        try (left; right) {
+            Iterator<T> leftIterator = left.iterator();
+            Iterator<T> rightIterator = right.iterator();
+            T leftItem = leftIterator.hasNext() ? leftIterator.next() : null;
+            T rightItem = rightIterator.hasNext() ? rightIterator.next() : null;
+
+            while (leftItem != null || rightItem != null) {
+                int order = leftItem == null ? 1
+                        : rightItem == null ? -1
+                        : keyExtractor.apply(leftItem).compareTo(keyExtractor.apply(rightItem));
+
+                boolean proceed = action.test(order <= 0 ? leftItem : null, order >= 0 ? rightItem : null);
+                if (order <= 0) {
+                    leftItem = leftIterator.hasNext() ? leftIterator.next() : null;
+                }
+                if (order >= 0) {
+                    rightItem = rightIterator.hasNext() ? rightIterator.next() : null;
+                }
+
+                if (++total % DEFAULT_BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+                if (!proceed) {
+                    break;
+                }
+            }
+        }
+
+        return total;
+    }
+
+    private <T> long read(BiFunction<Long, Pageable, List<T>> fetcher,
+                          Function<T, Long> idExtractor,
+                          Consumer<T> action,
+                          int batchSize,
+                          long startId) {
+        Pageable limit = PageRequest.of(0, batchSize);
+        long lastId = startId;
+        long total = 0;
+
+        while (true) {
+            List<T> batch = fetcher.apply(lastId, limit);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            for (T item : batch) {
+                action.accept(item);
+            }
+            total += batch.size();
+            lastId = idExtractor.apply(batch.get(batch.size() - 1));
+
+            // Libera as entidades do lote já processado
+            entityManager.clear();
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        return total;
+    }
+}
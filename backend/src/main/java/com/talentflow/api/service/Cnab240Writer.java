@@ -0,0 +1,282 @@
+package com.talentflow.api.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Arquivo de remessa CNAB 240 (FEBRABAN) de pagamento de salários. Cada registro é montado em um
+ * único buffer de 240 posições reaproveitado entre as linhas e gravado direto no stream, sem
+ * montar strings. Textos saem em ASCII maiúsculo sem acentos; as posições dos campos seguem o
+ * layout (1 a 240).
+ */
+public class Cnab240Writer {
+
+    public static final int RECORD_LENGTH = 240;
+
+    private static final int FILE_LAYOUT_VERSION = 89;
+    private static final int BATCH_LAYOUT_VERSION = 45;
+    private static final int RECORDING_DENSITY = 1600;
+    private static final int SERVICE_SALARY = 30;
+    private static final int INSCRIPTION_CPF = 1;
+    private static final int INSCRIPTION_CNPJ = 2;
+
+    /** Forma de lançamento: crédito em conta no mesmo banco da empresa. */
+    public static final int ENTRY_ACCOUNT_CREDIT = 1;
+    /** Forma de lançamento: TED para conta em outro banco. */
+    public static final int ENTRY_TED = 41;
+
+    // Caracteres Latin-1 já convertidos para ASCII maiúsculo sem acento
+    private static final byte[] ASCII = new byte[256];
+
+    static {
+        for (int c = 0; c < ASCII.length; c++) {
+            char base = Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFD).charAt(0);
+            char upper = Character.toUpperCase(base);
+            ASCII[c] = (byte) (upper >= 32 && upper <= 126 ? upper : ' ');
+        }
+    }
+
+    /**
+     * Dados da empresa pagadora e da conta de débito.
+     */
+    public record Company(String bankCode, String bankName, String cnpj, String agreement,
+                          String agency, String agencyDigit, String account, String accountDigit, String name) {
+    }
+
+    private final OutputStream out;
+    private final Company company;
+    private final byte[] record = new byte[RECORD_LENGTH + 2];
+
+    private int batches;
+    private int fileRecords;
+    private int pendingEntryType;
+    private boolean batchOpen;
+    private int batchRecords;
+    private int batchSequence;
+    private long batchTotalCents;
+    private long paymentCount;
+
+    public Cnab240Writer(OutputStream out, Company company) {
+        this.out = new BufferedOutputStream(out, 64 * 1024);
+        this.company = company;
+        record[RECORD_LENGTH] = '\r';
+        record[RECORD_LENGTH + 1] = '\n';
+    }
+
+    public void fileHeader(LocalDateTime generatedAt, int sequence) throws IOException {
+        clear();
+        num(1, 3, company.bankCode());
+        num(4, 7, 0);
+        num(8, 8, 0);
+        num(18, 18, INSCRIPTION_CNPJ);
+        num(19, 32, company.cnpj());
+        alpha(33, 52, company.agreement());
+        num(53, 57, company.agency());
+        alpha(58, 58, company.agencyDigit());
+        num(59, 70, company.account());
+        alpha(71, 71, company.accountDigit());
+        alpha(73, 102, company.name());
+        alpha(103, 132, company.bankName());
+        num(143, 143, 1);
+        date(144, generatedAt.toLocalDate());
+        num(152, 153, generatedAt.getHour());
+        num(154, 155, generatedAt.getMinute());
+        num(156, 157, generatedAt.getSecond());
+        num(158, 163, sequence);
+        num(164, 166, FILE_LAYOUT_VERSION);
+        num(167, 171, RECORDING_DENSITY);
+        emit();
+    }
+
+    /**
+     * Abre um lote para a forma de lançamento informada. O header só é gravado no primeiro
+     * pagamento, então lotes sem pagamentos não aparecem no arquivo.
+     */
+    public void startBatch(int entryType) throws IOException {
+        endBatch();
+        pendingEntryType = entryType;
+    }
+
+    /**
+     * Pagamento de um funcionário: segmento A (conta e valor) e segmento B (CPF).
+     */
+    public void payment(String bankCode, String agency, String agencyDigit, String account, String accountDigit,
+                        String name, String cpf, long reference, LocalDate paymentDate, long amountCents) throws IOException {
+        if (!batchOpen) {
+            batchHeader();
+        }
+
+        clear();
+        detailPrefix('A');
+        num(15, 15, 0);
+        num(16, 17, 0);
+        num(18, 20, pendingEntryType == ENTRY_TED ? 18 : 0);
+        num(21, 23, bankCode);
+        num(24, 28, agency);
+        alpha(29, 29, agencyDigit);
+        num(30, 41, account);
+        alpha(42, 42, accountDigit);
+        alpha(44, 73, name);
+        num(74, 93, reference);
+        date(94, paymentDate);
+        alpha(102, 104, "BRL");
+        num(105, 119, 0);
+        num(120, 134, amountCents);
+        num(155, 162, 0);
+        num(163, 177, 0);
+        num(230, 230, 0);
+        emit();
+
+        clear();
+        detailPrefix('B');
+        num(18, 18, INSCRIPTION_CPF);
+        num(19, 32, cpf);
+        num(63, 67, 0);
+        num(118, 125, 0);
+        num(128, 210, 0);
+        num(226, 226, 0);
+        emit();
+
+        batchTotalCents += amountCents;
+        paymentCount++;
+    }
+
+    /**
+     * Fecha o lote aberto (se houver), grava o trailer do arquivo e descarrega o buffer.
+     */
+    public void finish() throws IOException {
+        endBatch();
+
+        clear();
+        num(1, 3, company.bankCode());
+        num(4, 7, 9999);
+        num(8, 8, 9);
+        num(18, 23, batches);
+        num(24, 29, fileRecords + 1);
+        num(30, 35, 0);
+        emit();
+        out.flush();
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    private void batchHeader() throws IOException {
+        batches++;
+        batchOpen = true;
+        batchRecords = 0;
+        batchSequence = 0;
+        batchTotalCents = 0;
+
+        clear();
+        num(1, 3, company.bankCode());
+        num(4, 7, batches);
+        num(8, 8, 1);
+        alpha(9, 9, "C");
+        num(10, 11, SERVICE_SALARY);
+        num(12, 13, pendingEntryType);
+        num(14, 16, BATCH_LAYOUT_VERSION);
+        num(18, 18, INSCRIPTION_CNPJ);
+        num(19, 32, company.cnpj());
+        alpha(33, 52, company.agreement());
+        num(53, 57, company.agency());
+        alpha(58, 58, company.agencyDigit());
+        num(59, 70, company.account());
+        alpha(71, 71, company.accountDigit());
+        alpha(73, 102, company.name());
+        num(173, 177, 0);
+        num(213, 220, 0);
+        emit();
+    }
+
+    private void endBatch() throws IOException {
+        if (!batchOpen) {
+            return;
+        }
+        clear();
+        num(1, 3, company.bankCode());
+        num(4, 7, batches);
+        num(8, 8, 5);
+        num(18, 23, batchRecords + 1);
+        num(24, 41, batchTotalCents);
+        num(42, 59, 0);
+        num(60, 65, 0);
+        emit();
+        batchOpen = false;
+    }
+
+    private void detailPrefix(char segment) {
+        num(1, 3, company.bankCode());
+        num(4, 7, batches);
+        num(8, 8, 3);
+        num(9, 13, ++batchSequence);
+        record[13] = (byte) segment;
+    }
+
+    private void emit() throws IOException {
+        out.write(record);
+        fileRecords++;
+        if (batchOpen) {
+            batchRecords++;
+        }
+    }
+
+    private void clear() {
+        Arrays.fill(record, 0, RECORD_LENGTH, (byte) ' ');
+    }
+
+    private void num(int from, int to, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Valor negativo na posição " + from);
+        }
+        for (int i = to - 1; i >= from - 1; i--) {
+            record[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        if (value != 0) {
+            throw new IllegalArgumentException("Valor excede o campo nas posições " + from + "-" + to);
+        }
+    }
+
+    private void num(int from, int to, String digits) {
+        int position = to - 1;
+        if (digits != null) {
+            for (int i = digits.length() - 1; i >= 0; i--) {
+                char c = digits.charAt(i);
+                if (c < '0' || c > '9') {
+                    continue;
+                }
+                if (position < from - 1) {
+                    throw new IllegalArgumentException("Valor excede o campo nas posições " + from + "-" + to);
+                }
+                record[position--] = (byte) c;
+            }
+        }
+        while (position >= from - 1) {
+            record[position--] = '0';
+        }
+    }
+
+    private void alpha(int from, int to, String text) {
+        if (text == null) {
+            return;
+        }
+        int length = Math.min(text.length(), to - from + 1);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            record[from - 1 + i] = c < ASCII.length ? ASCII[c] : (byte) ' ';
+        }
+    }
+
+    private void date(int from, LocalDate date) {
+        num(from, from + 1, date.getDayOfMonth());
+        num(from + 2, from + 3, date.getMonthValue());
+        num(from + 4, from + 7, date.getYear());
+    }
+}
@@ -0,0 +1,154 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.entity.TaxBracket;
+import com.talentflow.api.entity.TaxTable;
+import com.talentflow.api.exception.BusinessException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tabela de imposto compilada para aritmética inteira: limites em centavos e alíquotas em
+ * pontos-base (1/10000). Todos os modos são reduzidos a "base × alíquota − dedução" por faixa,
+ * com a dedução pré-calculada, então o cálculo é uma busca binária e uma multiplicação.
+ * Imutável e seguro para uso concorrente.
+ */
+public final class CompiledTaxTable {
+
+    static final long RATE_SCALE = 10_000L;
+    private static final long NO_CEILING = -1L;
+
+    private final TaxTable.TaxType type;
+    private final LocalDate validFrom;
+    private final long[] upperCents;
+    private final long[] rates;
+    private final long[] scaledDeductions; // centavos × RATE_SCALE
+    private final long ceilingCents;
+
+    private CompiledTaxTable(TaxTable.TaxType type, LocalDate validFrom, long[] upperCents, long[] rates,
+                             long[] scaledDeductions, long ceilingCents) {
+        this.type = type;
+        this.validFrom = validFrom;
+        this.upperCents = upperCents;
+        this.rates = rates;
+        this.scaledDeductions = scaledDeductions;
+        this.ceilingCents = ceilingCents;
+    }
+
+    public static CompiledTaxTable compile(TaxTable table) {
+        List<TaxBracket> brackets = table.getBrackets().stream()
+                .sorted(Comparator.comparing(TaxBracket::getUpperLimit, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        if (brackets.isEmpty()) {
+            throw new BusinessException("Tabela de " + table.getType() + " sem faixas");
+        }
+
+        int size = brackets.size();
+        long[] upper = new long[size];
+        long[] rates = new long[size];
+        long[] deductions = new long[size];
+
+        long lower = 0;
+        long accumulated = 0; // imposto acumulado das faixas anteriores (modo progressivo), escalado
+        for (int i = 0; i < size; i++) {
+            TaxBracket bracket = brackets.get(i);
+            if (bracket.getUpperLimit() == null && i < size - 1) {
+                throw new BusinessException("Apenas a última faixa pode não ter limite");
+            }
+            upper[i] = bracket.getUpperLimit() != null ? toCents(bracket.getUpperLimit()) : Long.MAX_VALUE;
+            if (i > 0 && upper[i] <= upper[i - 1]) {
+                throw new BusinessException("Limites das faixas devem ser crescentes");
+            }
+            rates[i] = toRate(bracket.getRate());
+
+            deductions[i] = switch (table.getMode()) {
+                case FLAT -> 0L;
+                case DEDUCTION -> toCents(bracket.getDeduction() != null ? bracket.getDeduction() : BigDecimal.ZERO) * RATE_SCALE;
+                // cumulado + (base − inferior) × alíquota  =  base × alíquota − (inferior × alíquota − cumulado)
+                case PROGRESSIVE -> lower * rates[i] - accumulated;
+            };
+
+            if (upper[i] != Long.MAX_VALUE) {
+                accumulated += (upper[i] - lower) * rates[i];
+                lower = upper[i];
+            }
+        }
+
+        long ceiling = table.getCeilingValue() != null ? toCents(table.getCeilingValue()) : NO_CEILING;
+        if (ceiling == NO_CEILING && table.getMode() == TaxTable.CalculationMode.PROGRESSIVE && upper[size - 1] != Long.MAX_VALUE) {
+            // Progressiva com última faixa limitada: o teto é a soma de todas as faixas
+            ceiling = roundHalfUp(accumulated);
+        }
+
+        return new CompiledTaxTable(table.getType(), table.getValidFrom(), upper, rates, deductions, ceiling);
+    }
+
+    /**
+     * Imposto em centavos para a base em centavos, arredondado HALF_UP e nunca negativo.
+     */
+    public long taxCents(long baseCents) {
+        if (baseCents <= 0) {
+            return 0;
+        }
+
+        int i = bracketIndex(baseCents);
+        if (i == upperCents.length) {
+            if (ceilingCents != NO_CEILING) {
+                return ceilingCents;
+            }
+            i = upperCents.length - 1;
+        }
+
+        return roundHalfUp(baseCents * rates[i] - scaledDeductions[i]);
+    }
+
+    public BigDecimal tax(BigDecimal base) {
+        return fromCents(taxCents(toCents(base)));
+    }
+
+    public TaxTable.TaxType getType() {
+        return type;
+    }
+
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    /**
+     * Primeira faixa cujo limite superior (inclusivo) é maior ou igual à base; o laço tem número
+     * fixo de iterações e só uma seleção condicional, sem desvio dependente dos dados.
+     */
+    private int bracketIndex(long baseCents) {
+        int first = 0;
+        int length = upperCents.length;
+        while (length > 1) {
+            int half = length >>> 1;
+            first = upperCents[first + half - 1] < baseCents ? first + half : first;
+            length -= half;
+        }
+        return upperCents[first] < baseCents ? first + 1 : first;
+    }
+
+    private static long roundHalfUp(long scaled) {
+        return scaled <= 0 ? 0 : (scaled + RATE_SCALE / 2) / RATE_SCALE;
+    }
+
+    static long toCents(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static long toRate(BigDecimal rate) {
+        try {
+            return rate.multiply(BigDecimal.valueOf(RATE_SCALE)).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new BusinessException("Alíquota " + rate + " excede a precisão de 0,01%");
+        }
+    }
+}
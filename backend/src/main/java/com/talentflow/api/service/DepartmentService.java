@@ -20,6 +20,7 @@ public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
     private final EmployeeRepository employeeRepository;
+    private final PayrollSimulationService payrollSimulationService;
 
     public List<DepartmentDTO> findAll() {
         return departmentRepository.findAll().stream()
@@ -63,6 +64,10 @@ public class DepartmentService {
             throw new BusinessException("Já existe um departamento com este nome");
         }
 
+        if (!department.getName().equals(dto.getName())) {
+            // A simulação da folha agrupa pelo nome do departamento
+            payrollSimulationService.invalidateAll();
+        }
         department.setName(dto.getName());
         department.setDescription(dto.getDescription());
 
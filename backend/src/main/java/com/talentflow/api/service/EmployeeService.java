@@ -11,11 +11,14 @@ import com.talentflow.api.repository.DepartmentRepository;
 import com.talentflow.api.repository.EmployeeRepository;
 import com.talentflow.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,22 +29,27 @@ public class EmployeeService {
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final WorkScheduleService workScheduleService;
+    private final PayrollSummaryService payrollSummaryService;
+    private final PayrollSimulationService payrollSimulationService;
 
     public List<EmployeeDTO> findAll() {
+        boolean restricted = canSeeRestrictedData();
         return employeeRepository.findAll().stream()
-                .map(EmployeeDTO::fromEntity)
+                .map(employee -> toDTO(employee, restricted))
                 .collect(Collectors.toList());
     }
 
     public EmployeeDTO findById(Long id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Funcionário não encontrado"));
-        return EmployeeDTO.fromEntity(employee);
+        return toDTO(employee, canSeeRestrictedData());
     }
 
     public List<EmployeeDTO> findByDepartment(Long departmentId) {
+        boolean restricted = canSeeRestrictedData();
         return employeeRepository.findByDepartmentId(departmentId).stream()
-                .map(EmployeeDTO::fromEntity)
+                .map(employee -> toDTO(employee, restricted))
                 .collect(Collectors.toList());
     }
 
@@ -50,6 +58,8 @@ public class EmployeeService {
         if (userRepository.existsByEmail(dto.getEmail())) {
             throw new BusinessException("Email já cadastrado");
         }
+        String cpf = normalizeCpf(dto.getCpf(), null);
+        String pis = normalizePis(dto.getPis(), null);
 
         User user = User.builder()
                 .name(dto.getName())
@@ -76,10 +86,16 @@ public class EmployeeService {
                 .phone(dto.getPhone())
                 .address(dto.getAddress())
                 .birthDate(dto.getBirthDate())
+                .cpf(cpf)
+                .pis(pis)
                 .status(Employee.EmployeeStatus.ACTIVE)
                 .build();
+        applyBankAccount(employee, dto);
 
         employee = employeeRepository.save(employee);
+        if (department != null) {
+            workScheduleService.invalidate();
+        }
         return EmployeeDTO.fromEntity(employee);
     }
 
@@ -102,25 +118,49 @@ public class EmployeeService {
             user.setRole(dto.getRole());
         }
 
+        if (!Objects.equals(employee.getPosition(), dto.getPosition())) {
+            // A simulação da folha agrupa pelo cargo atual
+            payrollSimulationService.invalidateAll();
+        }
         employee.setPosition(dto.getPosition());
         employee.setPhone(dto.getPhone());
         employee.setAddress(dto.getAddress());
         employee.setBirthDate(dto.getBirthDate());
         employee.setSalary(dto.getSalary());
         employee.setHireDate(dto.getHireDate());
+        // CPF, PIS e dados bancários só mudam quando enviados (o formulário básico não os envia);
+        // texto vazio limpa o campo
+        if (dto.getCpf() != null) {
+            employee.setCpf(normalizeCpf(dto.getCpf(), id));
+        }
+        if (dto.getPis() != null) {
+            employee.setPis(normalizePis(dto.getPis(), id));
+        }
+        applyBankAccount(employee, dto);
         
         if (dto.getStatus() != null) {
             employee.setStatus(dto.getStatus());
         }
 
+        boolean departmentChanged = false;
         if (dto.getDepartmentId() != null) {
             Department department = departmentRepository.findById(dto.getDepartmentId())
                     .orElseThrow(() -> new ResourceNotFoundException("Departamento não encontrado"));
+            if (employee.getDepartment() == null || !department.getId().equals(employee.getDepartment().getId())) {
+                // A escala do departamento passa a valer para o funcionário
+                workScheduleService.invalidate();
+                departmentChanged = true;
+            }
             employee.setDepartment(department);
         }
 
         userRepository.save(user);
-        employee = employeeRepository.save(employee);
+        employee = employeeRepository.saveAndFlush(employee);
+        if (departmentChanged) {
+            // Os resumos da folha agrupam pelo departamento atual
+            payrollSummaryService.rebuildForEmployee(id);
+            payrollSimulationService.invalidateAll();
+        }
         return EmployeeDTO.fromEntity(employee);
     }
 
@@ -138,6 +178,100 @@ public class EmployeeService {
     public Long count() {
         return employeeRepository.count();
     }
-}
 
+    private static EmployeeDTO toDTO(Employee employee, boolean restricted) {
+        EmployeeDTO dto = EmployeeDTO.fromEntity(employee);
+        return restricted ? dto : dto.withoutRestrictedData();
+    }
+
+    /**
+     * CPF, PIS e dados bancários só saem nas consultas de administrador e RH.
+     */
+    private static boolean canSeeRestrictedData() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof User user
+                && (user.getRole() == Role.ADMIN || user.getRole() == Role.HR);
+    }
+
+    private String normalizeCpf(String value, Long employeeId) {
+        String cpf = digits(value);
+        if (cpf == null) {
+            return null;
+        }
+        if (cpf.length() != 11) {
+            throw new BusinessException("CPF inválido");
+        }
+        boolean taken = employeeId == null
+                ? employeeRepository.existsByCpf(cpf)
+                : employeeRepository.existsByCpfAndIdNot(cpf, employeeId);
+        if (taken) {
+            throw new BusinessException("CPF já cadastrado");
+        }
+        return cpf;
+    }
 
+    private String normalizePis(String value, Long employeeId) {
+        String pis = digits(value);
+        if (pis == null) {
+            return null;
+        }
+        if (pis.length() != 11) {
+            throw new BusinessException("PIS inválido");
+        }
+        boolean taken = employeeId == null
+                ? employeeRepository.existsByPis(pis)
+                : employeeRepository.existsByPisAndIdNot(pis, employeeId);
+        if (taken) {
+            throw new BusinessException("PIS já cadastrado");
+        }
+        return pis;
+    }
+
+    private static void applyBankAccount(Employee employee, EmployeeDTO dto) {
+        if (dto.getBankCode() != null) {
+            employee.setBankCode(bankNumber(dto.getBankCode(), 3, "Código do banco"));
+        }
+        if (dto.getBankAgency() != null) {
+            employee.setBankAgency(bankNumber(dto.getBankAgency(), 5, "Agência"));
+        }
+        if (dto.getBankAgencyDigit() != null) {
+            employee.setBankAgencyDigit(checkDigit(dto.getBankAgencyDigit(), "Dígito da agência"));
+        }
+        if (dto.getBankAccount() != null) {
+            employee.setBankAccount(bankNumber(dto.getBankAccount(), 12, "Conta"));
+        }
+        if (dto.getBankAccountDigit() != null) {
+            employee.setBankAccountDigit(checkDigit(dto.getBankAccountDigit(), "Dígito da conta"));
+        }
+    }
+
+    // Mesmos tamanhos das colunas e dos campos da remessa CNAB 240
+    private static String bankNumber(String value, int maxLength, String field) {
+        String number = digits(value);
+        if (number != null && number.length() > maxLength) {
+            throw new BusinessException(field + " deve ter no máximo " + maxLength + " dígitos");
+        }
+        return number;
+    }
+
+    private static String digits(String value) {
+        if (value == null) {
+            return null;
+        }
+        String digits = value.replaceAll("\\D", "");
+        return digits.isEmpty() ? null : digits;
+    }
+
+    // Dígito verificador bancário: um número ou X
+    private static String checkDigit(String value, String field) {
+        if (value.isBlank()) {
+            return null;
+        }
+        String digit = value.trim().toUpperCase();
+        char c = digit.charAt(0);
+        if (digit.length() != 1 || !((c >= '0' && c <= '9') || c == 'X')) {
+            throw new BusinessException(field + " deve ser um único número ou X");
+        }
+        return digit;
+    }
+}
@@ -0,0 +1,370 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.exception.BusinessException;
+import com.talentflow.api.exception.ResourceNotFoundException;
+import com.talentflow.api.repository.PayrollRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Exportação dos eventos periódicos do eSocial da folha: S-1200 (remuneração) e S-1210
+ * (pagamentos) das folhas aprovadas ou pagas do período. As folhas são lidas por cursor e cada
+ * evento é escrito direto no lote em disco, em arquivos separados por evento
+ * ({dir}/{ano}-{mês}/S-1200_lote_0001.xml, ...).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EsocialExportService {
+
+    private final PayrollRepository payrollRepository;
+
+    @Value("${app.esocial.dir:esocial}")
+    private String esocialDir;
+
+    @Value("${app.esocial.lot-size:50}")
+    private int lotSize;
+
+    @Value("${app.esocial.environment:2}")
+    private int environment;
+
+    @Value("${app.esocial.employer-cnpj:}")
+    private String employerCnpj;
+
+    @Value("${app.esocial.rubric-table:TALENTF}")
+    private String rubricTable;
+
+    private static final int MAX_LOT_SIZE = 50;
+    private static final String PROCESS_VERSION = "TalentFlow-1.0";
+    private static final String REMUNERATION_NAMESPACE = "http://www.esocial.gov.br/schema/evt/evtRemun/v_S_01_02_00";
+    private static final String PAYMENT_NAMESPACE = "http://www.esocial.gov.br/schema/evt/evtPgtos/v_S_01_02_00";
+
+    // Empregado - geral
+    private static final String EMPLOYEE_CATEGORY = "101";
+    private static final String DEFAULT_LOTACAO = "GERAL";
+
+    private static final DateTimeFormatter ID_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private record Rubric(String code, Function<PayrollRepository.EsocialRow, BigDecimal> value) {
+    }
+
+    // Rubricas da tabela do empregador (S-1010), na ordem em que saem no S-1200
+    private static final List<Rubric> RUBRICS = List.of(
+            new Rubric("1000", PayrollRepository.EsocialRow::getBaseSalary),
+            new Rubric("1010", PayrollRepository.EsocialRow::getOvertimeValue),
+            new Rubric("1020", PayrollRepository.EsocialRow::getBonus),
+            new Rubric("1030", PayrollRepository.EsocialRow::getCommission),
+            new Rubric("1040", PayrollRepository.EsocialRow::getMealAllowance),
+            new Rubric("1050", PayrollRepository.EsocialRow::getTransportAllowance),
+            new Rubric("1060", PayrollRepository.EsocialRow::getHealthAllowance),
+            new Rubric("1090", PayrollRepository.EsocialRow::getOtherEarnings),
+            new Rubric("9201", PayrollRepository.EsocialRow::getInssValue),
+            new Rubric("9203", PayrollRepository.EsocialRow::getIrrfValue),
+            new Rubric("9210", PayrollRepository.EsocialRow::getHealthDiscount),
+            new Rubric("9211", PayrollRepository.EsocialRow::getDentalDiscount),
+            new Rubric("9220", PayrollRepository.EsocialRow::getMealDiscount),
+            new Rubric("9221", PayrollRepository.EsocialRow::getTransportDiscount),
+            new Rubric("9230", PayrollRepository.EsocialRow::getLoanDiscount),
+            new Rubric("9240", PayrollRepository.EsocialRow::getTimeDiscount),
+            new Rubric("9290", PayrollRepository.EsocialRow::getOtherDeductions)
+    );
+
+    /**
+     * Gera os lotes S-1200 e S-1210 do período, substituindo os arquivos de uma exportação
+     * anterior. Os lotes são gravados em um diretório temporário e só passam a ser os do período
+     * quando a exportação termina; se ela falhar, a anterior continua no lugar. Sem data de
+     * pagamento na folha, o S-1210 usa a data informada (ou a data atual).
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> export(Integer year, Integer month, LocalDate paymentDate) {
+        String cnpj = employerCnpj == null ? "" : employerCnpj.replaceAll("\\D", "");
+        if (cnpj.length() != 14) {
+            throw new BusinessException("CNPJ do empregador não configurado para o eSocial");
+        }
+        if (lotSize < 1 || lotSize > MAX_LOT_SIZE) {
+            throw new BusinessException("Tamanho do lote do eSocial deve estar entre 1 e " + MAX_LOT_SIZE);
+        }
+        if (payrollRepository.countClosedWithoutCpf(year, month) > 0) {
+            throw new BusinessException("Há funcionários com folha aprovada ou paga sem CPF cadastrado");
+        }
+
+        long start = System.currentTimeMillis();
+        String period = YearMonth.of(year, month).toString();
+        Path staging = createStaging(period);
+        EventIds ids = new EventIds(cnpj, LocalDateTime.now());
+        LocalDate defaultPaymentDate = paymentDate != null ? paymentDate : LocalDate.now();
+
+        EsocialLotWriter remuneration = new EsocialLotWriter(staging, "S-1200", lotSize, cnpj);
+        EsocialLotWriter payments = new EsocialLotWriter(staging, "S-1210", lotSize, cnpj);
+        Path dir;
+        try {
+            try (Stream<PayrollRepository.EsocialRow> cursor = payrollRepository.streamClosedForEsocial(year, month)) {
+                Iterator<PayrollRepository.EsocialRow> rows = cursor.iterator();
+                while (rows.hasNext()) {
+                    PayrollRepository.EsocialRow row = rows.next();
+                    writeRemuneration(remuneration, ids.next(), period, cnpj, row);
+                    if (row.getNetSalary() != null && row.getNetSalary().signum() > 0) {
+                        LocalDate paidOn = row.getPaymentDate() != null ? row.getPaymentDate() : defaultPaymentDate;
+                        writePayment(payments, ids.next(), period, cnpj, row, paidOn);
+                    }
+                }
+                remuneration.close();
+                payments.close();
+            } catch (XMLStreamException e) {
+                remuneration.abort();
+                payments.abort();
+                throw new IllegalStateException("Falha ao gerar XML do eSocial", e);
+            } catch (RuntimeException e) {
+                remuneration.abort();
+                payments.abort();
+                throw e;
+            }
+
+            if (remuneration.getEvents() == 0) {
+                throw new ResourceNotFoundException("Nenhuma folha aprovada ou paga para o período");
+            }
+            dir = publish(staging, period);
+        } finally {
+            // Publicado, o diretório temporário já não existe; em falha, a exportação anterior fica intacta
+            deleteDirectory(staging);
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("eSocial {}: {} eventos S-1200 e {} S-1210 em {} lotes ({} ms)", period,
+                remuneration.getEvents(), payments.getEvents(),
+                remuneration.getFiles().size() + payments.getFiles().size(), elapsed);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("period", month + "/" + year);
+        result.put("remunerationEvents", remuneration.getEvents());
+        result.put("paymentEvents", payments.getEvents());
+        result.put("lots", Stream.concat(remuneration.getFiles().stream(), payments.getFiles().stream())
+                .map(file -> file.getFileName().toString())
+                .toList());
+        result.put("directory", dir.toAbsolutePath().toString());
+        result.put("elapsedMillis", elapsed);
+        return result;
+    }
+
+    /**
+     * S-1200: um demonstrativo por folha com as rubricas diferentes de zero.
+     */
+    private void writeRemuneration(EsocialLotWriter lot, String id, String period, String cnpj,
+                                   PayrollRepository.EsocialRow row) throws XMLStreamException {
+        XMLStreamWriter xml = lot.startEvent(id);
+        xml.writeStartElement("eSocial");
+        xml.writeDefaultNamespace(REMUNERATION_NAMESPACE);
+        xml.writeStartElement("evtRemun");
+        xml.writeAttribute("Id", id);
+
+        xml.writeStartElement("ideEvento");
+        EsocialLotWriter.element(xml, "indRetif", "1");
+        EsocialLotWriter.element(xml, "indApuracao", "1");
+        EsocialLotWriter.element(xml, "perApur", period);
+        writeEnvironment(xml);
+        xml.writeEndElement();
+
+        writeEmployer(xml, cnpj);
+
+        xml.writeStartElement("ideTrabalhador");
+        EsocialLotWriter.element(xml, "cpfTrab", row.getCpf());
+        xml.writeEndElement();
+
+        xml.writeStartElement("dmDev");
+        EsocialLotWriter.element(xml, "ideDmDev", String.valueOf(row.getPayrollId()));
+        EsocialLotWriter.element(xml, "codCateg", EMPLOYEE_CATEGORY);
+        xml.writeStartElement("infoPerApur");
+        xml.writeStartElement("ideEstabLot");
+        EsocialLotWriter.element(xml, "tpInsc", "1");
+        EsocialLotWriter.element(xml, "nrInsc", cnpj);
+        EsocialLotWriter.element(xml, "codLotacao",
+                row.getDepartmentId() != null ? "DEP" + row.getDepartmentId() : DEFAULT_LOTACAO);
+        xml.writeStartElement("remunPerApur");
+        EsocialLotWriter.element(xml, "matricula", String.valueOf(row.getEmployeeId()));
+        for (Rubric rubric : RUBRICS) {
+            BigDecimal value = rubric.value().apply(row);
+            if (value == null || value.signum() == 0) {
+                continue;
+            }
+            xml.writeStartElement("itensRemun");
+            EsocialLotWriter.element(xml, "codRubr", rubric.code());
+            EsocialLotWriter.element(xml, "ideTabRubr", rubricTable);
+            EsocialLotWriter.element(xml, "vrRubr", amount(value));
+            xml.writeEndElement();
+        }
+        // Sem exposição a agente nocivo
+        xml.writeStartElement("infoAgNocivo");
+        EsocialLotWriter.element(xml, "grauExp", "1");
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+
+        xml.writeEndElement();
+        xml.writeEndElement();
+        lot.endEvent();
+    }
+
+    /**
+     * S-1210: pagamento do líquido do demonstrativo informado no S-1200.
+     */
+    private void writePayment(EsocialLotWriter lot, String id, String period, String cnpj,
+                              PayrollRepository.EsocialRow row, LocalDate paidOn) throws XMLStreamException {
+        XMLStreamWriter xml = lot.startEvent(id);
+        xml.writeStartElement("eSocial");
+        xml.writeDefaultNamespace(PAYMENT_NAMESPACE);
+        xml.writeStartElement("evtPgtos");
+        xml.writeAttribute("Id", id);
+
+        xml.writeStartElement("ideEvento");
+        EsocialLotWriter.element(xml, "indRetif", "1");
+        EsocialLotWriter.element(xml, "perApur", YearMonth.from(paidOn).toString());
+        writeEnvironment(xml);
+        xml.writeEndElement();
+
+        writeEmployer(xml, cnpj);
+
+        xml.writeStartElement("ideBenef");
+        EsocialLotWriter.element(xml, "cpfBenef", row.getCpf());
+        xml.writeStartElement("infoPgto");
+        EsocialLotWriter.element(xml, "dtPgto", paidOn.toString());
+        // Pagamento de remuneração informada no S-1200
+        EsocialLotWriter.element(xml, "tpPgto", "1");
+        EsocialLotWriter.element(xml, "perRef", period);
+        EsocialLotWriter.element(xml, "ideDmDev", String.valueOf(row.getPayrollId()));
+        EsocialLotWriter.element(xml, "vrLiq", amount(row.getNetSalary()));
+        xml.writeEndElement();
+        xml.writeEndElement();
+
+        xml.writeEndElement();
+        xml.writeEndElement();
+        lot.endEvent();
+    }
+
+    private void writeEnvironment(XMLStreamWriter xml) throws XMLStreamException {
+        EsocialLotWriter.element(xml, "tpAmb", String.valueOf(environment));
+        // Aplicativo do empregador
+        EsocialLotWriter.element(xml, "procEmi", "1");
+        EsocialLotWriter.element(xml, "verProc", PROCESS_VERSION);
+    }
+
+    private void writeEmployer(XMLStreamWriter xml, String cnpj) throws XMLStreamException {
+        xml.writeStartElement("ideEmpregador");
+        EsocialLotWriter.element(xml, "tpInsc", "1");
+        EsocialLotWriter.element(xml, "nrInsc", cnpj.substring(0, 8));
+        xml.writeEndElement();
+    }
+
+    /**
+     * Diretório temporário da exportação, ao lado do definitivo para que a troca seja um rename.
+     */
+    private Path createStaging(String period) {
+        try {
+            Path base = Files.createDirectories(Paths.get(esocialDir));
+            return Files.createTempDirectory(base, "." + period + "_");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Troca o diretório do período pelo recém-gerado: a exportação anterior só é removida depois
+     * que a nova está no lugar. Sincronizado para que duas exportações do mesmo período não
+     * disputem o nome final.
+     */
+    private synchronized Path publish(Path staging, String period) {
+        Path dir = Paths.get(esocialDir, period);
+        Path previous = dir.resolveSibling("." + period + "_old_" + System.nanoTime());
+        try {
+            boolean replacing = Files.exists(dir);
+            if (replacing) {
+                Files.move(dir, previous, StandardCopyOption.ATOMIC_MOVE);
+            }
+            try {
+                Files.move(staging, dir, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                if (replacing) {
+                    Files.move(previous, dir, StandardCopyOption.ATOMIC_MOVE);
+                }
+                throw e;
+            }
+            if (replacing) {
+                deleteDirectory(previous);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dir;
+    }
+
+    private static void deleteDirectory(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("Não foi possível remover {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Não foi possível remover {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private static String amount(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    /**
+     * Identificador dos eventos: ID + tipo de inscrição + raiz do CNPJ com 14 posições + data e hora
+     * + sequencial de 5 dígitos. Passado o limite do sequencial, avança um segundo no carimbo.
+     */
+    private static final class EventIds {
+        private static final int MAX_SEQUENCE = 99999;
+
+        private final String prefix;
+        private final LocalDateTime generatedAt;
+        private long count;
+
+        EventIds(String cnpj, LocalDateTime generatedAt) {
+            this.prefix = "ID1" + cnpj.substring(0, 8) + "000000";
+            this.generatedAt = generatedAt.withNano(0);
+        }
+
+        String next() {
+            long second = count / MAX_SEQUENCE;
+            int sequence = (int) (count % MAX_SEQUENCE) + 1;
+            count++;
+            return prefix + ID_TIMESTAMP.format(generatedAt.plusSeconds(second)) + String.format("%05d", sequence);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.talentflow.api.service;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava eventos do eSocial em lotes de envio (envioLoteEventos) com StAX, um arquivo por lote.
+ * Cada lote é escrito em um arquivo temporário e movido para o nome final quando fecha, então só
+ * o lote corrente fica aberto e a memória não depende da quantidade de eventos.
+ */
+public class EsocialLotWriter implements AutoCloseable {
+
+    public static final String LOT_NAMESPACE = "http://www.esocial.gov.br/schema/lote/eventos/envio/v1_1_1";
+
+    // Grupo 3: eventos periódicos
+    private static final String PERIODIC_GROUP = "3";
+
+    private static final XMLOutputFactory FACTORY = XMLOutputFactory.newFactory();
+
+    private final Path dir;
+    private final String prefix;
+    private final int lotSize;
+    private final String employerRoot;
+    private final String transmitterCnpj;
+    private final List<Path> files = new ArrayList<>();
+
+    private XMLStreamWriter xml;
+    private OutputStream out;
+    private Path partial;
+    private int eventsInLot;
+    private long events;
+
+    public EsocialLotWriter(Path dir, String prefix, int lotSize, String employerCnpj) {
+        this.dir = dir;
+        this.prefix = prefix;
+        this.lotSize = lotSize;
+        this.employerRoot = employerCnpj.substring(0, 8);
+        this.transmitterCnpj = employerCnpj;
+    }
+
+    /**
+     * Abre o elemento evento (abrindo um novo lote quando necessário) e devolve o writer para o
+     * conteúdo do evento.
+     */
+    public XMLStreamWriter startEvent(String id) throws XMLStreamException {
+        if (xml == null) {
+            openLot();
+        }
+        xml.writeStartElement("evento");
+        xml.writeAttribute("Id", id);
+        return xml;
+    }
+
+    public void endEvent() throws XMLStreamException {
+        xml.writeEndElement();
+        events++;
+        if (++eventsInLot == lotSize) {
+            closeLot();
+        }
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    public List<Path> getFiles() {
+        return files;
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        if (xml != null) {
+            closeLot();
+        }
+    }
+
+    /**
+     * Descarta o lote em escrita (usado quando a exportação falha no meio).
+     */
+    public void abort() {
+        try {
+            if (xml != null) {
+                xml.close();
+                out.close();
+            }
+            if (partial != null) {
+                Files.deleteIfExists(partial);
+            }
+        } catch (XMLStreamException | IOException ignored) {
+            // Arquivo parcial: a falha original é a que interessa
+        } finally {
+            xml = null;
+            partial = null;
+        }
+    }
+
+    /**
+     * Elemento simples com conteúdo de texto.
+     */
+    static void element(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+    }
+
+    private void openLot() throws XMLStreamException {
+        try {
+            partial = Files.createTempFile(dir, prefix + "_", ".part");
+            out = new BufferedOutputStream(Files.newOutputStream(partial), 64 * 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        eventsInLot = 0;
+
+        xml = FACTORY.createXMLStreamWriter(out, "UTF-8");
+        xml.writeStartDocument("UTF-8", "1.0");
+        xml.writeStartElement("eSocial");
+        xml.writeDefaultNamespace(LOT_NAMESPACE);
+        xml.writeStartElement("envioLoteEventos");
+        xml.writeAttribute("grupo", PERIODIC_GROUP);
+
+        xml.writeStartElement("ideEmpregador");
+        element(xml, "tpInsc", "1");
+        element(xml, "nrInsc", employerRoot);
+        xml.writeEndElement();
+
+        xml.writeStartElement("ideTransmissor");
+        element(xml, "tpInsc", "1");
+        element(xml, "nrInsc", transmitterCnpj);
+        xml.writeEndElement();
+
+        xml.writeStartElement("eventos");
+    }
+
+    private void closeLot() throws XMLStreamException {
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndDocument();
+        xml.close();
+        xml = null;
+
+        Path target = dir.resolve(String.format("%s_lote_%04d.xml", prefix, files.size() + 1));
+        try {
+            out.close();
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        partial = null;
+        files.add(target);
+    }
+}
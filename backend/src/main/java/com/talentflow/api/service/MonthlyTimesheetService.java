@@ -0,0 +1,253 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.MonthlyTimesheetDTO;
+import com.talentflow.api.dto.TimeRecordDTO;
+import com.talentflow.api.entity.Department;
+import com.talentflow.api.entity.MonthlyTimesheet;
+import com.talentflow.api.entity.TimeRecord;
+import com.talentflow.api.exception.ResourceNotFoundException;
+import com.talentflow.api.repository.DepartmentRepository;
+import com.talentflow.api.repository.MonthlyTimesheetRepository;
+import com.talentflow.api.repository.TimeRecordRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Consolidado mensal do ponto por funcionário. Só dias encerrados (com saída) e não rejeitados
+ * entram no consolidado: cada mudança de registro retira a contribuição anterior e soma a nova na
+ * mesma transação, e as visões por departamento e da empresa agregam o consolidado em vez das
+ * marcações.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MonthlyTimesheetService {
+
+    private final MonthlyTimesheetRepository monthlyTimesheetRepository;
+    private final TimeRecordRepository timeRecordRepository;
+    private final DepartmentRepository departmentRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private TransactionTemplate requiresNew;
+
+    /**
+     * Contribuição de um registro de ponto para o consolidado do funcionário no mês.
+     */
+    public record Contribution(Long employeeId, Integer year, Integer month, boolean counted,
+                               int worked, int overtime, int approvedOvertime, int late, int early) {
+
+        public static Contribution of(TimeRecord record) {
+            return of(record.getEmployee().getId(), record.getRecordDate(), record.getClockOut(), record.getStatus(),
+                    record.getWorkedMinutes(), record.getOvertimeMinutes(), record.getLateMinutes(),
+                    record.getEarlyDepartureMinutes());
+        }
+
+        public static Contribution of(TimeRecordDTO record) {
+            return of(record.getEmployeeId(), record.getRecordDate(), record.getClockOut(), record.getStatus(),
+                    record.getWorkedMinutes(), record.getOvertimeMinutes(), record.getLateMinutes(),
+                    record.getEarlyDepartureMinutes());
+        }
+
+        private static Contribution of(Long employeeId, LocalDate date, LocalTime clockOut, TimeRecord.RecordStatus status,
+                                       Integer worked, Integer overtime, Integer late, Integer early) {
+            int overtimeMinutes = orZero(overtime);
+            return new Contribution(employeeId, date.getYear(), date.getMonthValue(),
+                    clockOut != null && status != TimeRecord.RecordStatus.REJECTED,
+                    orZero(worked), overtimeMinutes, status == TimeRecord.RecordStatus.APPROVED ? overtimeMinutes : 0,
+                    orZero(late), orZero(early));
+        }
+    }
+
+    @PostConstruct
+    void createTransactionTemplate() {
+        transaction = new TransactionTemplate(transactionManager);
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (monthlyTimesheetRepository.count() > 0) {
+            return;
+        }
+        LocalDate first = timeRecordRepository.findFirstRecordDate();
+        if (first == null) {
+            return;
+        }
+        for (YearMonth period = YearMonth.from(first); !period.isAfter(YearMonth.now()); period = period.plusMonths(1)) {
+            rebuild(period.getYear(), period.getMonthValue());
+        }
+    }
+
+    /**
+     * Troca a contribuição anterior do registro pela atual; sem efeito quando o registro não entra
+     * no consolidado nem antes nem depois.
+     */
+    @Transactional
+    public void replace(Contribution before, Contribution after) {
+        if (before.equals(after)) {
+            return;
+        }
+        if (before.counted()) {
+            apply(before, -1);
+        }
+        if (after.counted()) {
+            apply(after, 1);
+        }
+    }
+
+    /**
+     * Recalcula o consolidado do mês a partir dos registros de ponto, numa transação.
+     */
+    public Map<String, Object> rebuild(Integer year, Integer month) {
+        long start = System.currentTimeMillis();
+        int employees = transaction.execute(status -> rebuildMonth(year, month));
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Consolidado de ponto {}/{} reconstruído: {} funcionários ({} ms)", month, year, employees, elapsed);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("year", year);
+        result.put("month", month);
+        result.put("employees", employees);
+        result.put("elapsedMillis", elapsed);
+        return result;
+    }
+
+    private int rebuildMonth(Integer year, Integer month) {
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        monthlyTimesheetRepository.deleteByPeriod(year, month);
+        List<MonthlyTimesheet> rows = timeRecordRepository.sumMonthByEmployee(startDate, startDate.plusMonths(1)).stream()
+                .map(t -> MonthlyTimesheet.builder()
+                        .employeeId(t.getEmployeeId())
+                        .referenceYear(year)
+                        .referenceMonth(month)
+                        .daysPresent(t.getDaysPresent().intValue())
+                        .workedMinutes(t.getWorkedMinutes().intValue())
+                        .overtimeMinutes(t.getOvertimeMinutes().intValue())
+                        .approvedOvertimeMinutes(t.getApprovedOvertimeMinutes().intValue())
+                        .lateMinutes(t.getLateMinutes().intValue())
+                        .earlyDepartureMinutes(t.getEarlyDepartureMinutes().intValue())
+                        .build())
+                .collect(Collectors.toList());
+        monthlyTimesheetRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    /**
+     * Visão da empresa no mês, com os totais de cada departamento.
+     */
+    @Transactional(readOnly = true)
+    public MonthlyTimesheetDTO getCompanyMonth(Integer year, Integer month) {
+        List<MonthlyTimesheetDTO.Entry> items = toEntries(monthlyTimesheetRepository.sumByDepartment(year, month),
+                id -> "Sem departamento");
+        return summarize(MonthlyTimesheetDTO.builder().referenceYear(year).referenceMonth(month), items);
+    }
+
+    /**
+     * Visão de um departamento no mês, com os totais de cada funcionário.
+     */
+    @Transactional(readOnly = true)
+    public MonthlyTimesheetDTO getDepartmentMonth(Integer year, Integer month, Long departmentId) {
+        Department department = departmentRepository.findById(departmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Departamento não encontrado"));
+        List<MonthlyTimesheetDTO.Entry> items = toEntries(monthlyTimesheetRepository.findByDepartment(year, month, departmentId),
+                id -> "Funcionário #" + id);
+        return summarize(MonthlyTimesheetDTO.builder()
+                .referenceYear(year)
+                .referenceMonth(month)
+                .departmentId(department.getId())
+                .departmentName(department.getName()), items);
+    }
+
+    private void apply(Contribution c, int sign) {
+        if (addDelta(c, sign) > 0) {
+            return;
+        }
+        // Uma retirada sem linha indica consolidado defasado
+        if (sign < 0) {
+            log.warn("Consolidado de ponto {}/{} ausente para o funcionário {}; reconstrua o mês",
+                    c.month(), c.year(), c.employeeId());
+            return;
+        }
+        createEmptyRow(c);
+        addDelta(c, sign);
+    }
+
+    private int addDelta(Contribution c, int sign) {
+        return monthlyTimesheetRepository.addDelta(c.employeeId(), c.year(), c.month(), sign,
+                sign * c.worked(), sign * c.overtime(), sign * c.approvedOvertime(), sign * c.late(), sign * c.early(),
+                LocalDateTime.now());
+    }
+
+    /**
+     * Cria o consolidado zerado do funcionário no mês numa transação própria. Com dois primeiros
+     * dias encerrados concorrentes, o que perde a chave única só encontra a linha pronta e soma nela.
+     */
+    private void createEmptyRow(Contribution c) {
+        try {
+            requiresNew.executeWithoutResult(status -> monthlyTimesheetRepository.saveAndFlush(MonthlyTimesheet.builder()
+                    .employeeId(c.employeeId())
+                    .referenceYear(c.year())
+                    .referenceMonth(c.month())
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // Criado por outra transação entre o UPDATE e o INSERT
+        }
+    }
+
+    private static List<MonthlyTimesheetDTO.Entry> toEntries(List<MonthlyTimesheetRepository.Totals> totals,
+                                                             Function<Long, String> unnamed) {
+        return totals.stream()
+                .map(t -> MonthlyTimesheetDTO.Entry.builder()
+                        .id(t.getId())
+                        .name(t.getName() != null ? t.getName() : unnamed.apply(t.getId()))
+                        .employees(t.getEmployees())
+                        .daysPresent(t.getDaysPresent())
+                        .workedMinutes(t.getWorkedMinutes())
+                        .overtimeMinutes(t.getOvertimeMinutes())
+                        .approvedOvertimeMinutes(t.getApprovedOvertimeMinutes())
+                        .lateMinutes(t.getLateMinutes())
+                        .earlyDepartureMinutes(t.getEarlyDepartureMinutes())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static MonthlyTimesheetDTO summarize(MonthlyTimesheetDTO.MonthlyTimesheetDTOBuilder builder,
+                                                 List<MonthlyTimesheetDTO.Entry> items) {
+        return builder
+                .employees(items.stream().mapToLong(MonthlyTimesheetDTO.Entry::getEmployees).sum())
+                .daysPresent(items.stream().mapToLong(MonthlyTimesheetDTO.Entry::getDaysPresent).sum())
+                .workedMinutes(items.stream().mapToLong(MonthlyTimesheetDTO.Entry::getWorkedMinutes).sum())
+                .overtimeMinutes(items.stream().mapToLong(MonthlyTimesheetDTO.Entry::getOvertimeMinutes).sum())
+                .approvedOvertimeMinutes(items.stream().mapToLong(MonthlyTimesheetDTO.Entry::getApprovedOvertimeMinutes).sum())
+                .lateMinutes(items.stream().mapToLong(MonthlyTimesheetDTO.Entry::getLateMinutes).sum())
+                .earlyDepartureMinutes(items.stream().mapToLong(MonthlyTimesheetDTO.Entry::getEarlyDepartureMinutes).sum())
+                .items(items)
+                .build();
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -83,6 +84,31 @@ public class NotificationService {
         return NotificationDTO.fromEntity(notification);
     }
 
+    /**
+     * Cria uma notificação por usuário num único batch, sem e-mail (ex.: resumo diário para
+     * gestores). As mensagens vêm por id do usuário.
+     */
+    @Transactional
+    public int createBatch(Map<Long, String> messagesByUser, String title,
+                           Notification.NotificationType type,
+                           Notification.NotificationPriority priority,
+                           String entityType, String actionUrl) {
+        List<Notification> notifications = messagesByUser.entrySet().stream()
+                .map(entry -> Notification.builder()
+                        .user(userRepository.getReferenceById(entry.getKey()))
+                        .title(title)
+                        .message(entry.getValue())
+                        .type(type)
+                        .priority(priority != null ? priority : Notification.NotificationPriority.NORMAL)
+                        .entityType(entityType)
+                        .actionUrl(actionUrl)
+                        .isRead(false)
+                        .build())
+                .collect(Collectors.toList());
+        notificationRepository.saveAll(notifications);
+        return notifications.size();
+    }
+
     @Transactional
     public NotificationDTO markAsRead(Long id) {
         Notification notification = notificationRepository.findById(id)
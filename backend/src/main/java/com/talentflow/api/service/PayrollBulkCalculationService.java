@@ -0,0 +1,454 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.PayrollCalculationRunDTO;
+import com.talentflow.api.entity.Payroll;
+import com.talentflow.api.entity.PayrollRun;
+import com.talentflow.api.entity.PayrollRunChunk;
+import com.talentflow.api.exception.BusinessException;
+import com.talentflow.api.exception.ResourceNotFoundException;
+import com.talentflow.api.repository.PayrollRepository;
+import com.talentflow.api.repository.PayrollRunChunkRepository;
+import com.talentflow.api.repository.PayrollRunRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Cálculo em lote da folha de um período com checkpoint. A execução ({@link PayrollRun}) gera as
+ * folhas que faltam, aplica o ponto ({@link PayrollTimeFeedService}) e divide as folhas em rascunho
+ * em lotes por faixa de id. Vários workers reservam lotes com UPDATE condicional e gravam o cálculo
+ * e a conclusão do lote na mesma transação; após um reinício as execuções ativas são retomadas a
+ * partir dos lotes pendentes, e lotes de um worker interrompido voltam a ficar disponíveis quando a
+ * reserva expira.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollBulkCalculationService {
+
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollRunChunkRepository chunkRepository;
+    private final PayrollRepository payrollRepository;
+    private final PayrollService payrollService;
+    private final PayrollCalculator payrollCalculator;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final PayrollSummaryService payrollSummaryService;
+    private final PayrollTimeFeedService payrollTimeFeedService;
+    private final PayrollYearToDateService payrollYearToDateService;
+
+    @Value("${app.payroll.bulk.page-size:500}")
+    private int chunkSize;
+
+    @Value("${app.payroll.bulk.workers:4}")
+    private int workers;
+
+    @Value("${app.payroll.bulk.claim-timeout-seconds:120}")
+    private int claimTimeoutSeconds;
+
+    @Value("${app.payroll.bulk.max-attempts:3}")
+    private int maxAttempts;
+
+    private static final int MAX_REPORTED_FAILURES = 200;
+    private static final int MAX_FAILURES_PER_CHUNK = 50;
+    private static final long POLL_INTERVAL_MILLIS = 2000;
+    private static final EnumSet<PayrollRun.RunStatus> ACTIVE_STATUSES =
+            EnumSet.of(PayrollRun.RunStatus.PREPARING, PayrollRun.RunStatus.RUNNING);
+
+    private static final String UPDATE_SQL = "UPDATE payrolls SET gross_salary = ?, inss_value = ?, inss_rate = ?, " +
+            "irrf_value = ?, irrf_rate = ?, fgts_value = ?, total_deductions = ?, net_salary = ?, " +
+            "status = 'CALCULATED', processed_at = ?, updated_at = ? WHERE id = ? AND status = 'DRAFT'";
+
+    // Identifica os workers desta instância nas reservas de lote
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+
+    private ExecutorService executor;
+    private TransactionTemplate transaction;
+
+    @PostConstruct
+    void startExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "payroll-bulk-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        for (PayrollRun run : payrollRunRepository.findByStatusIn(ACTIVE_STATUSES)) {
+            log.info("Retomando cálculo em lote {} ({}/{})", run.getId(), run.getReferenceMonth(), run.getReferenceYear());
+            if (run.getStatus() == PayrollRun.RunStatus.RUNNING) {
+                // O tempo parado não entra no ritmo
+                transaction.executeWithoutResult(status -> payrollRunRepository.save(computing(run)));
+            }
+            dispatch(run.getId());
+        }
+    }
+
+    @Transactional
+    public PayrollCalculationRunDTO start(Integer year, Integer month) {
+        if (payrollRunRepository.existsByReferenceYearAndReferenceMonthAndStatusIn(year, month, ACTIVE_STATUSES)) {
+            throw new BusinessException("Já existe um cálculo em andamento para este período");
+        }
+
+        PayrollRun run = payrollRunRepository.save(PayrollRun.builder()
+                .referenceYear(year)
+                .referenceMonth(month)
+                .chunkSize(chunkSize)
+                .build());
+        dispatchAfterCommit(run.getId());
+        return toDTO(run);
+    }
+
+    /**
+     * Retoma uma execução com falha: lotes que esgotaram as tentativas voltam para a fila.
+     */
+    @Transactional
+    public PayrollCalculationRunDTO resume(Long id) {
+        PayrollRun run = getRun(id);
+        if (run.getStatus() != PayrollRun.RunStatus.FAILED) {
+            throw new BusinessException("Somente cálculos com falha podem ser retomados");
+        }
+        if (payrollRunRepository.existsByReferenceYearAndReferenceMonthAndStatusIn(
+                run.getReferenceYear(), run.getReferenceMonth(), ACTIVE_STATUSES)) {
+            throw new BusinessException("Já existe um cálculo em andamento para este período");
+        }
+
+        chunkRepository.resetFailed(id);
+        run.setStatus(chunkRepository.existsByRunId(id) ? PayrollRun.RunStatus.RUNNING : PayrollRun.RunStatus.PREPARING);
+        if (run.getStatus() == PayrollRun.RunStatus.RUNNING) {
+            computing(run);
+        }
+        run.setErrorMessage(null);
+        run.setFinishedAt(null);
+        run = payrollRunRepository.save(run);
+        dispatchAfterCommit(id);
+        return toDTO(run);
+    }
+
+    @Transactional(readOnly = true)
+    public PayrollCalculationRunDTO findById(Long id) {
+        return toDTO(getRun(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PayrollCalculationRunDTO> findByPeriod(Integer year, Integer month) {
+        return payrollRunRepository.findByReferenceYearAndReferenceMonthOrderByIdDesc(year, month).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private PayrollRun getRun(Long id) {
+        return payrollRunRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cálculo em lote não encontrado"));
+    }
+
+    private void dispatchAfterCommit(Long runId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(runId);
+            }
+        });
+    }
+
+    private void dispatch(Long runId) {
+        executor.execute(() -> {
+            if (prepare(runId)) {
+                for (int i = 0; i < Math.max(1, workers); i++) {
+                    executor.execute(() -> work(runId));
+                }
+            }
+        });
+    }
+
+    /**
+     * Gera as folhas que faltam, aplica o ponto e cria os lotes, tudo em uma transação: após uma
+     * interrupção a preparação é refeita do início. Retorna false se a execução falhou.
+     */
+    private boolean prepare(Long runId) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                PayrollRun run = getRun(runId);
+                if (run.getStatus() != PayrollRun.RunStatus.PREPARING) {
+                    return;
+                }
+                Integer year = run.getReferenceYear();
+                Integer month = run.getReferenceMonth();
+
+                payrollService.generateMonthlyPayroll(year, month);
+                payrollTimeFeedService.apply(year, month);
+
+                List<Long> ids = payrollRepository.findDraftIds(year, month);
+                List<PayrollRunChunk> chunks = new ArrayList<>();
+                for (int from = 0; from < ids.size(); from += run.getChunkSize()) {
+                    List<Long> slice = ids.subList(from, Math.min(from + run.getChunkSize(), ids.size()));
+                    chunks.add(PayrollRunChunk.builder()
+                            .run(run)
+                            .chunkIndex(chunks.size())
+                            .firstPayrollId(slice.get(0))
+                            .lastPayrollId(slice.get(slice.size() - 1))
+                            .payrollCount(slice.size())
+                            .build());
+                }
+                chunkRepository.saveAll(chunks);
+
+                run.setTotalPayrolls(ids.size());
+                run.setTotalChunks(chunks.size());
+                run.setStatus(PayrollRun.RunStatus.RUNNING);
+                run.setComputeStartedAt(LocalDateTime.now());
+                run.setProcessedBeforeCompute(0);
+                payrollRunRepository.save(run);
+            });
+            return true;
+        } catch (Exception e) {
+            log.error("Falha ao preparar o cálculo em lote {}", runId, e);
+            transaction.executeWithoutResult(status -> {
+                PayrollRun run = getRun(runId);
+                run.setStatus(PayrollRun.RunStatus.FAILED);
+                run.setErrorMessage(message(e));
+                run.setFinishedAt(LocalDateTime.now());
+                payrollRunRepository.save(run);
+            });
+            return false;
+        }
+    }
+
+    private void work(Long runId) {
+        String worker = instanceId + "-" + Thread.currentThread().getName();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Long chunkId = transaction.execute(status -> claimNext(runId, worker));
+                if (chunkId != null) {
+                    processChunk(chunkId, worker);
+                    continue;
+                }
+
+                Long unfinished = transaction.execute(status -> chunkRepository.countUnfinished(runId));
+                if (unfinished == null || unfinished == 0) {
+                    finish(runId);
+                    return;
+                }
+                // Lotes restantes estão com outros workers; aguarda conclusão ou expiração da reserva
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Worker {} interrompido no cálculo em lote {}", worker, runId, e);
+        }
+    }
+
+    private Long claimNext(Long runId, String worker) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiry = now.minusSeconds(claimTimeoutSeconds);
+        for (Long id : chunkRepository.findClaimableIds(runId, expiry, PageRequest.of(0, Math.max(1, workers)))) {
+            if (chunkRepository.claim(id, worker, now, expiry) == 1) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    private void processChunk(Long chunkId, String worker) {
+        try {
+            transaction.executeWithoutResult(status -> calculateChunk(chunkId, worker));
+        } catch (Exception e) {
+            log.warn("Falha no lote {} ({}): {}", chunkId, worker, message(e));
+            transaction.executeWithoutResult(status -> chunkRepository.release(chunkId, worker, maxAttempts, message(e)));
+        }
+    }
+
+    /**
+     * Calcula as folhas do lote e marca o lote como concluído na mesma transação. Se a reserva
+     * expirou e outro worker assumiu o lote, a transação é desfeita.
+     */
+    private void calculateChunk(Long chunkId, String worker) {
+        PayrollRunChunk chunk = chunkRepository.findById(chunkId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lote não encontrado"));
+        PayrollRun run = chunk.getRun();
+        List<Payroll> payrolls = payrollRepository.findDraftInRange(run.getReferenceYear(), run.getReferenceMonth(),
+                chunk.getFirstPayrollId(), chunk.getLastPayrollId());
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        ConcurrentLinkedQueue<PayrollRunChunk.Failure> failures = new ConcurrentLinkedQueue<>();
+
+        List<Object[]> updates = payrolls.parallelStream()
+                .map(payroll -> {
+                    try {
+                        PayrollCalculator.Result result = payrollCalculator.calculate(payroll);
+                        return new Object[]{
+                                result.grossSalary(), result.inssValue(), result.inssRate(),
+                                result.irrfValue(), result.irrfRate(), result.fgtsValue(),
+                                result.totalDeductions(), result.netSalary(),
+                                timestamp, timestamp, payroll.getId()
+                        };
+                    } catch (RuntimeException e) {
+                        failures.add(new PayrollRunChunk.Failure(payroll.getId(),
+                                payroll.getEmployee() != null ? payroll.getEmployee().getId() : null, message(e)));
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .toList();
+
+        int updated = 0;
+        if (!updates.isEmpty()) {
+            for (int count : jdbcTemplate.batchUpdate(UPDATE_SQL, updates)) {
+                // Alguns drivers retornam SUCCESS_NO_INFO (-2) em vez da contagem
+                if (count != 0) {
+                    updated++;
+                }
+            }
+        }
+
+        failures.stream().limit(MAX_FAILURES_PER_CHUNK).forEach(chunk.getFailures()::add);
+        int completed = chunkRepository.complete(chunkId, worker, payrolls.size(), updated, failures.size(), now);
+        if (completed == 0) {
+            throw new IllegalStateException("Reserva do lote " + chunkId + " expirou");
+        }
+    }
+
+    private void finish(Long runId) {
+        PayrollRun finished = transaction.execute(status -> {
+            boolean anyFailed = chunkRepository.getProgress(runId).stream()
+                    .anyMatch(progress -> progress.getStatus() == PayrollRunChunk.ChunkStatus.FAILED);
+            PayrollRun.RunStatus finalStatus = anyFailed ? PayrollRun.RunStatus.FAILED : PayrollRun.RunStatus.COMPLETED;
+
+            // Só um worker encerra a execução
+            if (payrollRunRepository.finish(runId, finalStatus, LocalDateTime.now()) == 1) {
+                PayrollRun run = getRun(runId);
+                payrollSummaryService.rebuild(run.getReferenceYear(), run.getReferenceMonth());
+                log.info("Cálculo em lote {} ({}/{}) encerrado: {}", runId,
+                        run.getReferenceMonth(), run.getReferenceYear(), finalStatus);
+                return run;
+            }
+            return null;
+        });
+
+        // Fora da transação do encerramento: a reconstrução usa transações próprias por faixa
+        if (finished != null) {
+            payrollYearToDateService.rebuild(finished.getReferenceYear());
+        }
+    }
+
+    /**
+     * Marca a retomada do processamento dos lotes com as folhas já processadas até aqui.
+     */
+    private PayrollRun computing(PayrollRun run) {
+        int processed = 0;
+        for (PayrollRunChunkRepository.ChunkProgress progress : chunkRepository.getProgress(run.getId())) {
+            processed += progress.getProcessed().intValue();
+        }
+        run.setComputeStartedAt(LocalDateTime.now());
+        run.setProcessedBeforeCompute(processed);
+        return run;
+    }
+
+    private PayrollCalculationRunDTO toDTO(PayrollRun run) {
+        int processed = 0;
+        int succeeded = 0;
+        int failed = 0;
+        int completedChunks = 0;
+        int runningChunks = 0;
+        int failedChunks = 0;
+        List<PayrollCalculationRunDTO.Failure> failures = List.of();
+
+        if (run.getId() != null && run.getStatus() != PayrollRun.RunStatus.PREPARING) {
+            for (PayrollRunChunkRepository.ChunkProgress progress : chunkRepository.getProgress(run.getId())) {
+                processed += progress.getProcessed().intValue();
+                succeeded += progress.getSucceeded().intValue();
+                failed += progress.getFailed().intValue();
+                switch (progress.getStatus()) {
+                    case DONE -> completedChunks = progress.getChunks().intValue();
+                    case RUNNING -> runningChunks = progress.getChunks().intValue();
+                    case FAILED -> failedChunks = progress.getChunks().intValue();
+                    default -> { }
+                }
+            }
+            failures = chunkRepository.findFailures(run.getId(), PageRequest.of(0, MAX_REPORTED_FAILURES)).stream()
+                    .map(f -> new PayrollCalculationRunDTO.Failure(f.getPayrollId(), f.getEmployeeId(), f.getMessage()))
+                    .collect(Collectors.toList());
+        }
+
+        LocalDateTime startedAt = run.getCreatedAt();
+        LocalDateTime end = run.getFinishedAt() != null ? run.getFinishedAt() : LocalDateTime.now();
+        long elapsedMillis = startedAt != null ? Duration.between(startedAt, end).toMillis() : 0L;
+
+        // Ritmo desde o início ou a retomada do processamento dos lotes, sem a preparação e o tempo parado
+        LocalDateTime computeStartedAt = run.getComputeStartedAt() != null ? run.getComputeStartedAt() : startedAt;
+        long computeMillis = computeStartedAt != null ? Duration.between(computeStartedAt, end).toMillis() : 0L;
+        int computed = processed - (run.getProcessedBeforeCompute() != null ? run.getProcessedBeforeCompute() : 0);
+
+        int total = run.getTotalPayrolls() != null ? run.getTotalPayrolls() : 0;
+        double throughput = computeMillis > 0 ? Math.max(0, computed) * 1000.0 / computeMillis : 0.0;
+        Long eta = null;
+        if (ACTIVE_STATUSES.contains(run.getStatus()) && throughput > 0) {
+            eta = Math.round(Math.max(0, total - processed) / throughput);
+        }
+
+        return PayrollCalculationRunDTO.builder()
+                .id(run.getId())
+                .referenceYear(run.getReferenceYear())
+                .referenceMonth(run.getReferenceMonth())
+                .status(run.getStatus())
+                .total(total)
+                .processed(processed)
+                .succeeded(succeeded)
+                .failed(failed)
+                .percentComplete(total > 0 ? Math.min(100.0, processed * 100.0 / total)
+                        : run.getStatus() == PayrollRun.RunStatus.COMPLETED ? 100.0 : 0.0)
+                .chunkSize(run.getChunkSize())
+                .totalChunks(run.getTotalChunks())
+                .completedChunks(completedChunks)
+                .runningChunks(runningChunks)
+                .failedChunks(failedChunks)
+                .throughputPerSecond(Math.round(throughput * 10) / 10.0)
+                .etaSeconds(eta)
+                .startedAt(startedAt)
+                .finishedAt(run.getFinishedAt())
+                .elapsedMillis(elapsedMillis)
+                .errorMessage(run.getErrorMessage())
+                .failures(failures)
+                .build();
+    }
+
+    private static String message(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+}
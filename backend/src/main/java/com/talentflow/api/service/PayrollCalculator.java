@@ -0,0 +1,95 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.entity.Payroll;
+import com.talentflow.api.entity.TaxTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Cálculo de salário bruto, INSS, IRRF, FGTS e líquido de uma folha, com as tabelas de impostos
+ * vigentes na competência. Não altera a entidade nem acessa o banco (as tabelas ficam compiladas
+ * em memória), então pode ser usado em paralelo no cálculo em lote.
+ */
+@Component
+@RequiredArgsConstructor
+public class PayrollCalculator {
+
+    private final TaxTableService taxTableService;
+
+    public record Result(BigDecimal grossSalary,
+                         BigDecimal inssValue,
+                         BigDecimal inssRate,
+                         BigDecimal irrfValue,
+                         BigDecimal irrfRate,
+                         BigDecimal fgtsValue,
+                         BigDecimal totalDeductions,
+                         BigDecimal netSalary) {
+
+        public void applyTo(Payroll payroll) {
+            payroll.setGrossSalary(grossSalary);
+            payroll.setInssValue(inssValue);
+            payroll.setInssRate(inssRate);
+            payroll.setIrrfValue(irrfValue);
+            payroll.setIrrfRate(irrfRate);
+            payroll.setFgtsValue(fgtsValue);
+            payroll.setTotalDeductions(totalDeductions);
+            payroll.setNetSalary(netSalary);
+        }
+    }
+
+    public Result calculate(Payroll payroll) {
+        // Calcular salário bruto
+        BigDecimal grossSalary = payroll.getBaseSalary()
+                .add(payroll.getOvertimeValue())
+                .add(payroll.getBonus())
+                .add(payroll.getCommission())
+                .add(payroll.getMealAllowance())
+                .add(payroll.getTransportAllowance())
+                .add(payroll.getHealthAllowance())
+                .add(payroll.getOtherEarnings());
+
+        CompiledTaxTable inssTable = taxTableService.resolve(TaxTable.TaxType.INSS,
+                payroll.getReferenceYear(), payroll.getReferenceMonth());
+        CompiledTaxTable irrfTable = taxTableService.resolve(TaxTable.TaxType.IRRF,
+                payroll.getReferenceYear(), payroll.getReferenceMonth());
+
+        // Calcular INSS e IRRF em centavos pelas tabelas da competência
+        long grossCents = CompiledTaxTable.toCents(grossSalary);
+        long inssCents = inssTable.taxCents(grossCents);
+        // Base de cálculo do IRRF (salário bruto - INSS)
+        long irrfCents = irrfTable.taxCents(grossCents - inssCents);
+
+        BigDecimal inssValue = CompiledTaxTable.fromCents(inssCents);
+        BigDecimal inssRate = inssValue.divide(grossSalary, 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100));
+
+        BigDecimal irrfValue = CompiledTaxTable.fromCents(irrfCents);
+        BigDecimal irrfRate = irrfValue.compareTo(BigDecimal.ZERO) > 0 ?
+                irrfValue.divide(grossSalary, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)) :
+                BigDecimal.ZERO;
+
+        // Calcular FGTS (8% do salário bruto)
+        BigDecimal fgtsValue = grossSalary.multiply(BigDecimal.valueOf(0.08))
+                .setScale(2, RoundingMode.HALF_UP);
+
+        // Total de descontos
+        BigDecimal totalDeductions = inssValue
+                .add(irrfValue)
+                .add(payroll.getHealthDiscount())
+                .add(payroll.getDentalDiscount())
+                .add(payroll.getMealDiscount())
+                .add(payroll.getTransportDiscount())
+                .add(payroll.getLoanDiscount())
+                .add(payroll.getOtherDeductions())
+                .add(payroll.getTimeDiscount() != null ? payroll.getTimeDiscount() : BigDecimal.ZERO);
+
+        // Salário líquido
+        BigDecimal netSalary = grossSalary.subtract(totalDeductions);
+
+        return new Result(grossSalary, inssValue, inssRate, irrfValue, irrfRate,
+                fgtsValue, totalDeductions, netSalary);
+    }
+}
@@ -0,0 +1,281 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.PayrollReconciliationDTO;
+import com.talentflow.api.entity.Payroll;
+import com.talentflow.api.exception.BusinessException;
+import com.talentflow.api.repository.PayrollRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Conciliação da folha de um mês com a do mês anterior. As duas competências são lidas por cursor
+ * ordenado por funcionário e comparadas em uma única passada (merge join), com memória constante:
+ * aponta funcionários novos, ausentes e itens cuja variação passa do limite.
+ */
+@Service
+@RequiredArgsConstructor
+public class PayrollReconciliationService {
+
+    private final PayrollRepository payrollRepository;
+    private final BatchReader batchReader;
+
+    @Value("${app.payroll.reconciliation.threshold-percent:5}")
+    private BigDecimal defaultThresholdPercent;
+
+    @Value("${app.payroll.reconciliation.min-difference:0}")
+    private BigDecimal defaultMinDifference;
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private static final String CSV_HEADER = "employee_id,employee_name,kind,item,previous,current,difference,percent";
+
+    private record LineItem(String key, String label, Function<Payroll, BigDecimal> value) {
+    }
+
+    private static final List<LineItem> LINE_ITEMS = List.of(
+            new LineItem("baseSalary", "Salário Base", Payroll::getBaseSalary),
+            new LineItem("overtimeValue", "Horas Extras", Payroll::getOvertimeValue),
+            new LineItem("bonus", "Bônus", Payroll::getBonus),
+            new LineItem("commission", "Comissão", Payroll::getCommission),
+            new LineItem("mealAllowance", "Vale Refeição", Payroll::getMealAllowance),
+            new LineItem("transportAllowance", "Vale Transporte", Payroll::getTransportAllowance),
+            new LineItem("healthAllowance", "Auxílio Saúde", Payroll::getHealthAllowance),
+            new LineItem("otherEarnings", "Outros Proventos", Payroll::getOtherEarnings),
+            new LineItem("grossSalary", "Salário Bruto", Payroll::getGrossSalary),
+            new LineItem("inssValue", "INSS", Payroll::getInssValue),
+            new LineItem("irrfValue", "IRRF", Payroll::getIrrfValue),
+            new LineItem("fgtsValue", "FGTS", Payroll::getFgtsValue),
+            new LineItem("healthDiscount", "Plano de Saúde", Payroll::getHealthDiscount),
+            new LineItem("dentalDiscount", "Plano Odontológico", Payroll::getDentalDiscount),
+            new LineItem("mealDiscount", "Desconto Vale Refeição", Payroll::getMealDiscount),
+            new LineItem("transportDiscount", "Desconto Vale Transporte", Payroll::getTransportDiscount),
+            new LineItem("loanDiscount", "Empréstimo", Payroll::getLoanDiscount),
+            new LineItem("otherDeductions", "Outros Descontos", Payroll::getOtherDeductions),
+            new LineItem("timeDiscount", "Atrasos e Saídas Antecipadas", Payroll::getTimeDiscount),
+            new LineItem("totalDeductions", "Total de Descontos", Payroll::getTotalDeductions),
+            new LineItem("netSalary", "Salário Líquido", Payroll::getNetSalary)
+    );
+
+    /**
+     * Limites para apontar a variação de um item: diferença absoluta acima de minDifference e
+     * variação percentual acima de thresholdPercent (itens que eram zero contam pela diferença).
+     */
+    private record Criteria(BigDecimal thresholdPercent, BigDecimal minDifference) {
+    }
+
+    @Transactional(readOnly = true)
+    public PayrollReconciliationDTO reconcile(Integer year, Integer month, BigDecimal thresholdPercent,
+                                              BigDecimal minDifference, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("Página inválida (tamanho entre 1 e " + MAX_PAGE_SIZE + ")");
+        }
+        Criteria criteria = criteria(thresholdPercent, minDifference);
+        YearMonth previous = previousPeriod(year, month);
+
+        long skip = (long) page * size;
+        List<PayrollReconciliationDTO.Entry> items = new ArrayList<>();
+        boolean[] hasNext = {false};
+        long[] seen = {0};
+
+        merge(year, month, criteria, entry -> {
+            if (seen[0]++ < skip) {
+                return true;
+            }
+            if (items.size() == size) {
+                // Há ao menos mais uma divergência depois desta página
+                hasNext[0] = true;
+                return false;
+            }
+            items.add(entry);
+            return true;
+        });
+
+        return PayrollReconciliationDTO.builder()
+                .referenceYear(year)
+                .referenceMonth(month)
+                .previousYear(previous.getYear())
+                .previousMonth(previous.getMonthValue())
+                .thresholdPercent(criteria.thresholdPercent())
+                .minDifference(criteria.minDifference())
+                .page(page)
+                .size(size)
+                .hasNext(hasNext[0])
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Escreve todas as divergências em CSV (RFC 4180) à medida que são encontradas, uma linha por
+     * item alterado; funcionários novos ou ausentes saem em uma linha sem item.
+     */
+    @Transactional(readOnly = true)
+    public void writeCsv(Integer year, Integer month, BigDecimal thresholdPercent, BigDecimal minDifference,
+                         OutputStream out) throws IOException {
+        Criteria criteria = criteria(thresholdPercent, minDifference);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+
+        try {
+            merge(year, month, criteria, entry -> {
+                try {
+                    if (entry.getChanges().isEmpty()) {
+                        writeCsvLine(writer, entry, null, entry.getPreviousNetSalary(), entry.getCurrentNetSalary(), null, null);
+                    }
+                    for (PayrollReconciliationDTO.Change change : entry.getChanges()) {
+                        writeCsvLine(writer, entry, change.getItem(), change.getPrevious(), change.getCurrent(),
+                                change.getDifference(), change.getPercent());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+    }
+
+    private void merge(Integer year, Integer month, Criteria criteria, Predicate<PayrollReconciliationDTO.Entry> sink) {
+        YearMonth previous = previousPeriod(year, month);
+
+        batchReader.mergeJoin(
+                payrollRepository.streamByPeriodOrderByEmployee(previous.getYear(), previous.getMonthValue()),
+                payrollRepository.streamByPeriodOrderByEmployee(year, month),
+                payroll -> payroll.getEmployee().getId(),
+                (before, current) -> {
+                    PayrollReconciliationDTO.Entry entry = compare(before, current, criteria);
+                    return entry == null || sink.test(entry);
+                });
+    }
+
+    /**
+     * Compara a folha anterior com a atual do mesmo funcionário. Retorna null quando não há divergência.
+     */
+    private PayrollReconciliationDTO.Entry compare(Payroll before, Payroll current, Criteria criteria) {
+        Payroll reference = current != null ? current : before;
+        PayrollReconciliationDTO.Kind kind;
+        List<PayrollReconciliationDTO.Change> changes = new ArrayList<>();
+
+        if (before == null) {
+            kind = PayrollReconciliationDTO.Kind.NEW;
+        } else if (current == null) {
+            kind = PayrollReconciliationDTO.Kind.MISSING;
+        } else {
+            for (LineItem item : LINE_ITEMS) {
+                PayrollReconciliationDTO.Change change = change(item, before, current, criteria);
+                if (change != null) {
+                    changes.add(change);
+                }
+            }
+            if (changes.isEmpty()) {
+                return null;
+            }
+            kind = PayrollReconciliationDTO.Kind.CHANGED;
+        }
+
+        return PayrollReconciliationDTO.Entry.builder()
+                .employeeId(reference.getEmployee().getId())
+                .employeeName(reference.getEmployee().getUser() != null
+                        ? reference.getEmployee().getUser().getName()
+                        : "Funcionário #" + reference.getEmployee().getId())
+                .kind(kind)
+                .previousPayrollId(before != null ? before.getId() : null)
+                .currentPayrollId(current != null ? current.getId() : null)
+                .previousNetSalary(before != null ? before.getNetSalary() : null)
+                .currentNetSalary(current != null ? current.getNetSalary() : null)
+                .changes(changes)
+                .build();
+    }
+
+    private PayrollReconciliationDTO.Change change(LineItem item, Payroll before, Payroll current, Criteria criteria) {
+        BigDecimal previousValue = orZero(item.value().apply(before));
+        BigDecimal currentValue = orZero(item.value().apply(current));
+        BigDecimal difference = currentValue.subtract(previousValue);
+        if (difference.signum() == 0 || difference.abs().compareTo(criteria.minDifference()) <= 0) {
+            return null;
+        }
+
+        BigDecimal percent = null;
+        if (previousValue.signum() != 0) {
+            percent = difference.multiply(HUNDRED).divide(previousValue.abs(), 2, RoundingMode.HALF_UP);
+            if (percent.abs().compareTo(criteria.thresholdPercent()) <= 0) {
+                return null;
+            }
+        }
+
+        return new PayrollReconciliationDTO.Change(item.key(), item.label(), previousValue, currentValue, difference, percent);
+    }
+
+    private Criteria criteria(BigDecimal thresholdPercent, BigDecimal minDifference) {
+        BigDecimal threshold = thresholdPercent != null ? thresholdPercent : defaultThresholdPercent;
+        BigDecimal min = minDifference != null ? minDifference : defaultMinDifference;
+        if (threshold.signum() < 0 || min.signum() < 0) {
+            throw new BusinessException("Limites de variação não podem ser negativos");
+        }
+        return new Criteria(threshold, min);
+    }
+
+    private static YearMonth previousPeriod(Integer year, Integer month) {
+        return YearMonth.of(year, month).minusMonths(1);
+    }
+
+    private static void writeCsvLine(Writer writer, PayrollReconciliationDTO.Entry entry, String item,
+                                     BigDecimal previous, BigDecimal current,
+                                     BigDecimal difference, BigDecimal percent) throws IOException {
+        writer.write(String.valueOf(entry.getEmployeeId()));
+        writer.write(',');
+        writeCsvField(writer, entry.getEmployeeName());
+        writer.write(',');
+        writer.write(entry.getKind().name());
+        writer.write(',');
+        writeCsvField(writer, item);
+        writer.write(',');
+        writeCsvField(writer, previous != null ? previous.toPlainString() : null);
+        writer.write(',');
+        writeCsvField(writer, current != null ? current.toPlainString() : null);
+        writer.write(',');
+        writeCsvField(writer, difference != null ? difference.toPlainString() : null);
+        writer.write(',');
+        writeCsvField(writer, percent != null ? percent.toPlainString() : null);
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        // RFC 4180: aspas apenas quando o campo contém separador, aspas ou quebra de linha
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
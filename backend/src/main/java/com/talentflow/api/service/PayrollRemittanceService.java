@@ -0,0 +1,211 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.PayrollRemittanceDTO;
+import com.talentflow.api.entity.PayrollRemittance;
+import com.talentflow.api.entity.User;
+import com.talentflow.api.exception.BusinessException;
+import com.talentflow.api.exception.ResourceNotFoundException;
+import com.talentflow.api.repository.PayrollRemittanceRepository;
+import com.talentflow.api.repository.PayrollRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Remessa CNAB 240 de pagamento de salários a partir das folhas aprovadas do período. As folhas
+ * são lidas por cursor e gravadas direto no stream de saída (arquivo ou resposta HTTP) pelo
+ * {@link Cnab240Writer}: um lote de crédito em conta para o banco da empresa e um lote de TED
+ * para os demais bancos. Cada remessa recebe o próximo NSA da empresa e marca as folhas
+ * incluídas, que não entram em remessas seguintes; o mesmo arquivo pode ser baixado de novo
+ * pela remessa gravada.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollRemittanceService {
+
+    private final PayrollRepository payrollRepository;
+    private final PayrollRemittanceRepository payrollRemittanceRepository;
+
+    @Value("${app.payroll.remittance.company-name:}")
+    private String companyName;
+
+    @Value("${app.payroll.remittance.company-cnpj:}")
+    private String companyCnpj;
+
+    @Value("${app.payroll.remittance.bank-code:}")
+    private String bankCode;
+
+    @Value("${app.payroll.remittance.bank-name:}")
+    private String bankName;
+
+    @Value("${app.payroll.remittance.agreement:}")
+    private String agreement;
+
+    @Value("${app.payroll.remittance.agency:}")
+    private String agency;
+
+    @Value("${app.payroll.remittance.agency-digit:}")
+    private String agencyDigit;
+
+    @Value("${app.payroll.remittance.account:}")
+    private String account;
+
+    @Value("${app.payroll.remittance.account-digit:}")
+    private String accountDigit;
+
+    /**
+     * Confere a configuração da empresa e as folhas pendentes do período antes de gerar a remessa.
+     */
+    @Transactional(readOnly = true)
+    public void validate(Integer year, Integer month) {
+        if (isBlank(companyName) || isBlank(companyCnpj) || isBlank(bankCode) || isBlank(agency) || isBlank(account)) {
+            throw new BusinessException("Dados bancários da empresa não configurados para a remessa");
+        }
+
+        if (payrollRepository.countPendingRemittance(year, month) == 0) {
+            throw new ResourceNotFoundException("Nenhuma folha aprovada pendente de remessa para o período");
+        }
+
+        long withoutNet = payrollRepository.countApprovedWithoutPositiveNet(year, month);
+        if (withoutNet > 0) {
+            throw new BusinessException(withoutNet + " folha(s) aprovada(s) com salário líquido zerado ou negativo");
+        }
+
+        long incomplete = payrollRepository.countApprovedWithoutBankData(year, month);
+        if (incomplete > 0) {
+            throw new BusinessException(incomplete + " funcionário(s) com folha aprovada sem CPF ou dados bancários");
+        }
+    }
+
+    /**
+     * Gera a remessa do período: reserva o próximo NSA da empresa e marca as folhas aprovadas
+     * ainda não remetidas. O arquivo é escrito depois por {@link #writeRemittance}.
+     */
+    @Transactional
+    public PayrollRemittanceDTO create(Integer year, Integer month, LocalDate paymentDate) {
+        validate(year, month);
+
+        String cnpj = digits(companyCnpj);
+        Integer last = payrollRemittanceRepository.findLastSequence(cnpj);
+        PayrollRemittance remittance;
+        try {
+            remittance = payrollRemittanceRepository.saveAndFlush(PayrollRemittance.builder()
+                    .companyCnpj(cnpj)
+                    .bankCode(bankCode)
+                    .sequence(last != null ? last + 1 : 1)
+                    .referenceYear(year)
+                    .referenceMonth(month)
+                    .paymentDate(paymentDate)
+                    .generatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
+                    .createdBy(getCurrentUserEmail())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Outra remessa da empresa reservou o mesmo NSA
+            throw new BusinessException("Outra remessa está sendo gerada; tente novamente");
+        }
+
+        int marked = payrollRepository.markRemitted(remittance.getId(), year, month, LocalDateTime.now());
+        if (marked == 0) {
+            // As folhas pendentes foram incluídas por uma remessa concorrente
+            throw new ResourceNotFoundException("Nenhuma folha aprovada pendente de remessa para o período");
+        }
+
+        PayrollRepository.RemittanceTotals totals = payrollRepository.findRemittanceTotals(remittance.getId());
+        remittance.setPaymentCount(totals.getCount());
+        remittance.setTotalAmount(totals.getTotal());
+        remittance = payrollRemittanceRepository.save(remittance);
+        log.info("Remessa CNAB 240 {}/{}: NSA {} com {} folhas", month, year, remittance.getSequence(), marked);
+        return PayrollRemittanceDTO.fromEntity(remittance);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PayrollRemittanceDTO> findByPeriod(Integer year, Integer month) {
+        return payrollRemittanceRepository.findByReferenceYearAndReferenceMonthOrderBySequenceDesc(year, month).stream()
+                .map(PayrollRemittanceDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public PayrollRemittanceDTO findById(Long id) {
+        return PayrollRemittanceDTO.fromEntity(getRemittance(id));
+    }
+
+    /**
+     * Escreve o arquivo da remessa com o NSA, a data de geração e as folhas gravadas nela; um
+     * novo download produz o mesmo arquivo, que o banco recusa se já tiver processado.
+     */
+    @Transactional(readOnly = true)
+    public void writeRemittance(Long remittanceId, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        PayrollRemittance remittance = getRemittance(remittanceId);
+        Cnab240Writer writer = new Cnab240Writer(out, company(remittance));
+        writer.fileHeader(remittance.getGeneratedAt(), remittance.getSequence());
+
+        writer.startBatch(Cnab240Writer.ENTRY_ACCOUNT_CREDIT);
+        writePayments(writer, payrollRepository.streamRemittedToBank(remittanceId, remittance.getBankCode()),
+                remittance.getPaymentDate());
+
+        writer.startBatch(Cnab240Writer.ENTRY_TED);
+        writePayments(writer, payrollRepository.streamRemittedToOtherBanks(remittanceId, remittance.getBankCode()),
+                remittance.getPaymentDate());
+
+        writer.finish();
+        log.info("Remessa CNAB 240 NSA {}: {} pagamentos em {} ms",
+                remittance.getSequence(), writer.getPaymentCount(), System.currentTimeMillis() - start);
+    }
+
+    private void writePayments(Cnab240Writer writer, Stream<PayrollRepository.RemittanceRow> cursor,
+                               LocalDate paymentDate) throws IOException {
+        try (cursor) {
+            Iterator<PayrollRepository.RemittanceRow> rows = cursor.iterator();
+            while (rows.hasNext()) {
+                PayrollRepository.RemittanceRow row = rows.next();
+                writer.payment(row.getBankCode(), row.getBankAgency(), row.getBankAgencyDigit(),
+                        row.getBankAccount(), row.getBankAccountDigit(), row.getName(), row.getCpf(),
+                        row.getPayrollId(), paymentDate, CompiledTaxTable.toCents(row.getNetSalary()));
+            }
+        }
+    }
+
+    private PayrollRemittance getRemittance(Long id) {
+        return payrollRemittanceRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Remessa não encontrada"));
+    }
+
+    private Cnab240Writer.Company company(PayrollRemittance remittance) {
+        return new Cnab240Writer.Company(remittance.getBankCode(), bankName, remittance.getCompanyCnpj(), agreement,
+                agency, agencyDigit, account, accountDigit, companyName);
+    }
+
+    private String getCurrentUserEmail() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof User user) {
+            return user.getEmail();
+        }
+        return null;
+    }
+
+    private static String digits(String value) {
+        return value.replaceAll("\\D", "");
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
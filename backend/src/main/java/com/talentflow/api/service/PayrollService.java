@@ -3,17 +3,23 @@ package com.talentflow.api.service;
 import com.talentflow.api.dto.PayrollDTO;
 import com.talentflow.api.entity.Employee;
 import com.talentflow.api.entity.Payroll;
+import com.talentflow.api.exception.BusinessException;
 import com.talentflow.api.exception.ResourceNotFoundException;
 import com.talentflow.api.repository.EmployeeRepository;
 import com.talentflow.api.repository.PayrollRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +28,22 @@ public class PayrollService {
 
     private final PayrollRepository payrollRepository;
     private final EmployeeRepository employeeRepository;
+    private final PayrollCalculator payrollCalculator;
+    private final JdbcTemplate jdbcTemplate;
+    private final PayrollSummaryService payrollSummaryService;
+    private final PayrollYearToDateService payrollYearToDateService;
+    private final PayrollSimulationService payrollSimulationService;
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    // Proventos e descontos começam zerados, como nos valores padrão da entidade
+    private static final String INSERT_DRAFT_SQL = "INSERT INTO payrolls (employee_id, reference_month, reference_year, " +
+            "base_salary, overtime_hours, overtime_value, bonus, commission, meal_allowance, transport_allowance, " +
+            "health_allowance, other_earnings, inss_value, inss_rate, irrf_value, irrf_rate, fgts_value, " +
+            "health_discount, dental_discount, meal_discount, transport_discount, loan_discount, other_deductions, " +
+            "time_discount_minutes, time_discount, overtime_manual, status, created_at, updated_at) " +
+            "SELECT ?, ?, ?, ?, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, FALSE, 'DRAFT', ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM payrolls WHERE employee_id = ? AND reference_year = ? AND reference_month = ?)";
 
     public List<PayrollDTO> findAll() {
         return payrollRepository.findAll().stream()
@@ -51,6 +73,10 @@ public class PayrollService {
     public PayrollDTO create(PayrollDTO dto) {
         Employee employee = employeeRepository.findById(dto.getEmployeeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Funcionário não encontrado"));
+        if (payrollRepository.existsByEmployeeIdAndReferenceYearAndReferenceMonth(employee.getId(),
+                dto.getReferenceYear(), dto.getReferenceMonth())) {
+            throw new BusinessException("Já existe folha do funcionário para o período");
+        }
 
         Payroll payroll = Payroll.builder()
                 .employee(employee)
@@ -61,6 +87,8 @@ public class PayrollService {
                 .build();
 
         payroll = payrollRepository.save(payroll);
+        payrollSummaryService.add(payroll);
+        payrollSimulationService.invalidate(payroll.getReferenceYear(), payroll.getReferenceMonth());
         return PayrollDTO.fromEntity(payroll);
     }
 
@@ -68,106 +96,33 @@ public class PayrollService {
     public PayrollDTO calculate(Long id) {
         Payroll payroll = payrollRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Folha de pagamento não encontrada"));
+        if (payroll.getRemittanceId() != null) {
+            throw new BusinessException("Folha já incluída em remessa bancária");
+        }
 
-        // Calcular salário bruto
-        BigDecimal grossSalary = payroll.getBaseSalary()
-                .add(payroll.getOvertimeValue())
-                .add(payroll.getBonus())
-                .add(payroll.getCommission())
-                .add(payroll.getMealAllowance())
-                .add(payroll.getTransportAllowance())
-                .add(payroll.getHealthAllowance())
-                .add(payroll.getOtherEarnings());
-        payroll.setGrossSalary(grossSalary);
-
-        // Calcular INSS (tabela simplificada 2024)
-        BigDecimal inssValue = calculateINSS(grossSalary);
-        payroll.setInssValue(inssValue);
-        payroll.setInssRate(inssValue.divide(grossSalary, 4, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100)));
-
-        // Base de cálculo do IRRF (salário bruto - INSS)
-        BigDecimal irrfBase = grossSalary.subtract(inssValue);
-
-        // Calcular IRRF (tabela simplificada 2024)
-        BigDecimal irrfValue = calculateIRRF(irrfBase);
-        payroll.setIrrfValue(irrfValue);
-        payroll.setIrrfRate(irrfValue.compareTo(BigDecimal.ZERO) > 0 ?
-                irrfValue.divide(grossSalary, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)) :
-                BigDecimal.ZERO);
-
-        // Calcular FGTS (8% do salário bruto)
-        BigDecimal fgtsValue = grossSalary.multiply(BigDecimal.valueOf(0.08))
-                .setScale(2, RoundingMode.HALF_UP);
-        payroll.setFgtsValue(fgtsValue);
-
-        // Total de descontos
-        BigDecimal totalDeductions = inssValue
-                .add(irrfValue)
-                .add(payroll.getHealthDiscount())
-                .add(payroll.getDentalDiscount())
-                .add(payroll.getMealDiscount())
-                .add(payroll.getTransportDiscount())
-                .add(payroll.getLoanDiscount())
-                .add(payroll.getOtherDeductions());
-        payroll.setTotalDeductions(totalDeductions);
-
-        // Salário líquido
-        BigDecimal netSalary = grossSalary.subtract(totalDeductions);
-        payroll.setNetSalary(netSalary);
-
+        PayrollSummaryService.Contribution before = PayrollSummaryService.Contribution.of(payroll);
+        PayrollYearToDateService.Contribution yearToDate = PayrollYearToDateService.Contribution.of(payroll);
+        payrollCalculator.calculate(payroll).applyTo(payroll);
         payroll.setStatus(Payroll.PayrollStatus.CALCULATED);
         payroll.setProcessedAt(LocalDateTime.now());
 
         payroll = payrollRepository.save(payroll);
+        payrollSummaryService.replace(before, payroll);
+        payrollYearToDateService.replace(yearToDate, payroll);
         return PayrollDTO.fromEntity(payroll);
     }
 
-    private BigDecimal calculateINSS(BigDecimal salary) {
-        // Tabela INSS 2024 (valores simplificados)
-        BigDecimal inss = BigDecimal.ZERO;
-        
-        if (salary.compareTo(BigDecimal.valueOf(1412.00)) <= 0) {
-            inss = salary.multiply(BigDecimal.valueOf(0.075));
-        } else if (salary.compareTo(BigDecimal.valueOf(2666.68)) <= 0) {
-            inss = salary.multiply(BigDecimal.valueOf(0.09));
-        } else if (salary.compareTo(BigDecimal.valueOf(4000.03)) <= 0) {
-            inss = salary.multiply(BigDecimal.valueOf(0.12));
-        } else if (salary.compareTo(BigDecimal.valueOf(7786.02)) <= 0) {
-            inss = salary.multiply(BigDecimal.valueOf(0.14));
-        } else {
-            inss = BigDecimal.valueOf(908.85); // Teto INSS
-        }
-        
-        return inss.setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal calculateIRRF(BigDecimal base) {
-        // Tabela IRRF 2024 (valores simplificados)
-        BigDecimal irrf = BigDecimal.ZERO;
-        
-        if (base.compareTo(BigDecimal.valueOf(2259.20)) <= 0) {
-            irrf = BigDecimal.ZERO; // Isento
-        } else if (base.compareTo(BigDecimal.valueOf(2826.65)) <= 0) {
-            irrf = base.multiply(BigDecimal.valueOf(0.075)).subtract(BigDecimal.valueOf(169.44));
-        } else if (base.compareTo(BigDecimal.valueOf(3751.05)) <= 0) {
-            irrf = base.multiply(BigDecimal.valueOf(0.15)).subtract(BigDecimal.valueOf(381.44));
-        } else if (base.compareTo(BigDecimal.valueOf(4664.68)) <= 0) {
-            irrf = base.multiply(BigDecimal.valueOf(0.225)).subtract(BigDecimal.valueOf(662.77));
-        } else {
-            irrf = base.multiply(BigDecimal.valueOf(0.275)).subtract(BigDecimal.valueOf(896.00));
-        }
-        
-        return irrf.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
-    }
-
     @Transactional
     public PayrollDTO approve(Long id) {
         Payroll payroll = payrollRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Folha de pagamento não encontrada"));
         
+        PayrollSummaryService.Contribution before = PayrollSummaryService.Contribution.of(payroll);
+        PayrollYearToDateService.Contribution yearToDate = PayrollYearToDateService.Contribution.of(payroll);
         payroll.setStatus(Payroll.PayrollStatus.APPROVED);
         payroll = payrollRepository.save(payroll);
+        payrollSummaryService.replace(before, payroll);
+        payrollYearToDateService.replace(yearToDate, payroll);
         return PayrollDTO.fromEntity(payroll);
     }
 
@@ -176,8 +131,12 @@ public class PayrollService {
         Payroll payroll = payrollRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Folha de pagamento não encontrada"));
         
+        PayrollSummaryService.Contribution before = PayrollSummaryService.Contribution.of(payroll);
+        PayrollYearToDateService.Contribution yearToDate = PayrollYearToDateService.Contribution.of(payroll);
         payroll.setStatus(Payroll.PayrollStatus.PAID);
         payroll = payrollRepository.save(payroll);
+        payrollSummaryService.replace(before, payroll);
+        payrollYearToDateService.replace(yearToDate, payroll);
         return PayrollDTO.fromEntity(payroll);
     }
 
@@ -186,6 +145,12 @@ public class PayrollService {
         Payroll payroll = payrollRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Folha de pagamento não encontrada"));
 
+        PayrollYearToDateService.Contribution yearToDate = PayrollYearToDateService.Contribution.of(payroll);
+        // Horas extras alteradas à mão deixam de vir do ponto
+        if (differs(payroll.getOvertimeHours(), dto.getOvertimeHours())
+                || differs(payroll.getOvertimeValue(), dto.getOvertimeValue())) {
+            payroll.setOvertimeManual(true);
+        }
         payroll.setOvertimeHours(dto.getOvertimeHours());
         payroll.setOvertimeValue(dto.getOvertimeValue());
         payroll.setBonus(dto.getBonus());
@@ -203,26 +168,107 @@ public class PayrollService {
         payroll.setNotes(dto.getNotes());
 
         payroll = payrollRepository.save(payroll);
+        payrollYearToDateService.replace(yearToDate, payroll);
+        payrollSimulationService.invalidate(payroll.getReferenceYear(), payroll.getReferenceMonth());
         return PayrollDTO.fromEntity(payroll);
     }
 
+    /**
+     * Gera as folhas do mês em poucas consultas, independente do número de funcionários:
+     * funcionários ativos e folhas já existentes são lidos por projeção, as novas folhas são
+     * inseridas em batch JDBC e os DTOs montados a partir dos dados já carregados. A inserção pula
+     * o funcionário que já tem folha no período; com duas gerações simultâneas, a que perde a chave
+     * única é recusada sem gravar nada.
+     */
     @Transactional
     public List<PayrollDTO> generateMonthlyPayroll(Integer year, Integer month) {
-        List<Employee> employees = employeeRepository.findByStatus(Employee.EmployeeStatus.ACTIVE);
-        
-        return employees.stream()
-                .filter(emp -> !payrollRepository.findByEmployeeIdAndReferenceYearAndReferenceMonth(
-                        emp.getId(), year, month).isPresent())
-                .map(emp -> {
-                    Payroll payroll = Payroll.builder()
-                            .employee(emp)
-                            .referenceMonth(month)
-                            .referenceYear(year)
-                            .baseSalary(emp.getSalary())
-                            .status(Payroll.PayrollStatus.DRAFT)
-                            .build();
-                    return PayrollDTO.fromEntity(payrollRepository.save(payroll));
-                })
+        Set<Long> existing = payrollRepository.findKeysByPeriod(year, month).stream()
+                .map(PayrollRepository.PayrollKey::getEmployeeId)
+                .collect(Collectors.toSet());
+
+        List<EmployeeRepository.PayrollSeed> seeds = employeeRepository.findPayrollSeeds(Employee.EmployeeStatus.ACTIVE).stream()
+                .filter(seed -> !existing.contains(seed.getId()))
+                .collect(Collectors.toList());
+        if (seeds.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        int[][] results;
+        try {
+            results = jdbcTemplate.batchUpdate(INSERT_DRAFT_SQL, seeds, INSERT_BATCH_SIZE, (ps, seed) -> {
+                ps.setLong(1, seed.getId());
+                ps.setInt(2, month);
+                ps.setInt(3, year);
+                ps.setBigDecimal(4, seed.getSalary());
+                ps.setTimestamp(5, timestamp);
+                ps.setTimestamp(6, timestamp);
+                ps.setLong(7, seed.getId());
+                ps.setInt(8, year);
+                ps.setInt(9, month);
+            });
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException("As folhas do período estão sendo geradas por outra operação; tente novamente");
+        }
+
+        // Só as folhas que esta chamada inseriu (as de uma geração concorrente já gravada ficam de fora)
+        List<EmployeeRepository.PayrollSeed> inserted = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                if (count != 0) {
+                    inserted.add(seeds.get(index));
+                }
+                index++;
+            }
+        }
+        if (inserted.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> insertedIds = inserted.stream().map(EmployeeRepository.PayrollSeed::getId).collect(Collectors.toSet());
+        Map<Long, Long> payrollIds = payrollRepository.findKeysByPeriod(year, month).stream()
+                .filter(key -> insertedIds.contains(key.getEmployeeId()))
+                .collect(Collectors.toMap(PayrollRepository.PayrollKey::getEmployeeId, PayrollRepository.PayrollKey::getId));
+        payrollSummaryService.rebuild(year, month);
+        payrollSimulationService.invalidate(year, month);
+
+        String period = PayrollDTO.formatPeriod(month, year);
+        return inserted.stream()
+                .map(seed -> PayrollDTO.builder()
+                        .id(payrollIds.get(seed.getId()))
+                        .employeeId(seed.getId())
+                        .employeeName(seed.getName() != null ? seed.getName() : "Funcionário #" + seed.getId())
+                        .employeePosition(seed.getPosition())
+                        .departmentName(seed.getDepartmentName())
+                        .referenceMonth(month)
+                        .referenceYear(year)
+                        .referencePeriod(period)
+                        .baseSalary(seed.getSalary())
+                        .overtimeHours(BigDecimal.ZERO)
+                        .overtimeValue(BigDecimal.ZERO)
+                        .bonus(BigDecimal.ZERO)
+                        .commission(BigDecimal.ZERO)
+                        .mealAllowance(BigDecimal.ZERO)
+                        .transportAllowance(BigDecimal.ZERO)
+                        .healthAllowance(BigDecimal.ZERO)
+                        .otherEarnings(BigDecimal.ZERO)
+                        .inssValue(BigDecimal.ZERO)
+                        .inssRate(BigDecimal.ZERO)
+                        .irrfValue(BigDecimal.ZERO)
+                        .irrfRate(BigDecimal.ZERO)
+                        .fgtsValue(BigDecimal.ZERO)
+                        .healthDiscount(BigDecimal.ZERO)
+                        .dentalDiscount(BigDecimal.ZERO)
+                        .mealDiscount(BigDecimal.ZERO)
+                        .transportDiscount(BigDecimal.ZERO)
+                        .loanDiscount(BigDecimal.ZERO)
+                        .otherDeductions(BigDecimal.ZERO)
+                        .timeDiscountMinutes(0)
+                        .timeDiscount(BigDecimal.ZERO)
+                        .status(Payroll.PayrollStatus.DRAFT)
+                        .createdAt(now)
+                        .build())
                 .collect(Collectors.toList());
     }
 
@@ -230,6 +276,10 @@ public class PayrollService {
         BigDecimal total = payrollRepository.getTotalPaidByPeriod(year, month);
         return total != null ? total : BigDecimal.ZERO;
     }
+
+    private static boolean differs(BigDecimal current, BigDecimal value) {
+        return current == null || value == null ? current != value : current.compareTo(value) != 0;
+    }
 }
 
 
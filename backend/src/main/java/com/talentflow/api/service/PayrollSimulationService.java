@@ -0,0 +1,318 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.PayrollSimulationRequest;
+import com.talentflow.api.dto.PayrollSimulationResultDTO;
+import com.talentflow.api.entity.TaxTable;
+import com.talentflow.api.exception.BusinessException;
+import com.talentflow.api.exception.ResourceNotFoundException;
+import com.talentflow.api.repository.PayrollRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Simulação de reajustes sobre a folha de um período sem alterar nenhuma folha. Os valores do
+ * período ficam em memória em formato colunar (arrays de centavos e índices de departamento e
+ * cargo), descartados após o commit de quem altera as folhas do período, os funcionários ou os
+ * departamentos; enquanto isso a simulação não consulta o banco. Cada simulação recalcula
+ * INSS, IRRF e FGTS de todos os funcionários em paralelo e devolve os totais atuais, simulados
+ * e a diferença, no geral e por departamento.
+ */
+@Service
+@RequiredArgsConstructor
+public class PayrollSimulationService {
+
+    private final PayrollRepository payrollRepository;
+    private final TaxTableService taxTableService;
+
+    private static final String NO_DEPARTMENT = "Sem departamento";
+    private static final int CHUNK_SIZE = 4096;
+    private static final long FGTS_RATE = 800; // 8% em pontos-base
+
+    // Posições das métricas no acumulador de cada departamento
+    private static final int BASE = 0;
+    private static final int GROSS = 1;
+    private static final int INSS = 2;
+    private static final int IRRF = 3;
+    private static final int FGTS = 4;
+    private static final int NET = 5;
+    private static final int COST = 6;
+    private static final int TOTALS = 7; // métricas por cenário
+    private static final int COUNT = 2 * TOTALS;
+    private static final int AFFECTED = COUNT + 1;
+    private static final int METRICS = AFFECTED + 1;
+
+    private final Map<YearMonth, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private record Snapshot(int size,
+                            long[] baseSalary, long[] otherEarnings, long[] fixedDeductions,
+                            int[] department, int[] position,
+                            String[] departments, String[] positions) {
+    }
+
+    private record CompiledRule(PayrollSimulationRequest.Scope scope, int target,
+                                PayrollSimulationRequest.ChangeType type, long amount) {
+    }
+
+    public PayrollSimulationResultDTO simulate(PayrollSimulationRequest request) {
+        if (request.getReferenceYear() == null || request.getReferenceMonth() == null) {
+            throw new BusinessException("Informe o período da simulação");
+        }
+        long start = System.nanoTime();
+        Integer year = request.getReferenceYear();
+        Integer month = request.getReferenceMonth();
+
+        Snapshot snapshot = getSnapshot(year, month);
+        CompiledRule[] rules = compileRules(snapshot, request.getRules());
+        CompiledTaxTable inss = taxTableService.resolve(TaxTable.TaxType.INSS, year, month);
+        CompiledTaxTable irrf = taxTableService.resolve(TaxTable.TaxType.IRRF, year, month);
+
+        int chunks = (snapshot.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        long[] totals = IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> simulateRange(snapshot, rules, inss, irrf,
+                        chunk * CHUNK_SIZE, Math.min(snapshot.size(), (chunk + 1) * CHUNK_SIZE)))
+                .reduce(PayrollSimulationService::merge)
+                .orElseGet(() -> new long[snapshot.departments().length * METRICS]);
+
+        return toResult(year, month, snapshot, totals, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // ==================== SNAPSHOT ====================
+
+    /**
+     * Descarta os valores em memória do período quando a transação atual confirmar.
+     */
+    public void invalidate(Integer year, Integer month) {
+        YearMonth period = YearMonth.of(year, month);
+        afterCommit(() -> snapshots.remove(period));
+    }
+
+    /**
+     * Descarta os valores em memória de todos os períodos quando a transação atual confirmar.
+     */
+    public void invalidateAll() {
+        afterCommit(snapshots::clear);
+    }
+
+    private Snapshot getSnapshot(Integer year, Integer month) {
+        // A carga roda sob o lock da chave: uma invalidação concorrente espera e descarta o resultado
+        return snapshots.computeIfAbsent(YearMonth.of(year, month), period -> load(year, month));
+    }
+
+    private Snapshot load(Integer year, Integer month) {
+        List<PayrollRepository.SimulationRow> rows = payrollRepository.findSimulationRows(year, month);
+        int size = rows.size();
+        if (size == 0) {
+            throw new ResourceNotFoundException("Nenhuma folha de pagamento encontrada para o período");
+        }
+
+        long[] baseSalary = new long[size];
+        long[] otherEarnings = new long[size];
+        long[] fixedDeductions = new long[size];
+        int[] department = new int[size];
+        int[] position = new int[size];
+        Map<String, Integer> departments = new LinkedHashMap<>();
+        Map<String, Integer> positions = new LinkedHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            PayrollRepository.SimulationRow row = rows.get(i);
+            baseSalary[i] = cents(row.getBaseSalary());
+            otherEarnings[i] = cents(row.getOtherEarnings());
+            fixedDeductions[i] = cents(row.getFixedDeductions());
+            String departmentName = row.getDepartmentName() != null ? row.getDepartmentName() : NO_DEPARTMENT;
+            department[i] = departments.computeIfAbsent(departmentName, key -> departments.size());
+            String positionName = row.getPosition() != null ? row.getPosition() : "";
+            position[i] = positions.computeIfAbsent(positionName, key -> positions.size());
+        }
+
+        return new Snapshot(size, baseSalary, otherEarnings, fixedDeductions, department, position,
+                departments.keySet().toArray(String[]::new), positions.keySet().toArray(String[]::new));
+    }
+
+    private CompiledRule[] compileRules(Snapshot snapshot, List<PayrollSimulationRequest.Rule> rules) {
+        if (rules == null || rules.isEmpty()) {
+            throw new BusinessException("Informe ao menos uma regra de simulação");
+        }
+
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (PayrollSimulationRequest.Rule rule : rules) {
+            if (rule.getScope() == null || rule.getType() == null || rule.getValue() == null) {
+                throw new BusinessException("Regra de simulação incompleta: informe escopo, tipo e valor");
+            }
+
+            int target = switch (rule.getScope()) {
+                case ALL -> -1;
+                case DEPARTMENT -> indexOf(snapshot.departments(), rule.getTarget(), "Departamento");
+                case POSITION -> indexOf(snapshot.positions(), rule.getTarget(), "Cargo");
+            };
+            long amount = rule.getType() == PayrollSimulationRequest.ChangeType.PERCENTAGE
+                    ? rule.getValue().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() // pontos-base
+                    : cents(rule.getValue());
+            compiled.add(new CompiledRule(rule.getScope(), target, rule.getType(), amount));
+        }
+        return compiled.toArray(CompiledRule[]::new);
+    }
+
+    private int indexOf(String[] names, String target, String label) {
+        if (target != null) {
+            String wanted = target.trim().toLowerCase(Locale.ROOT);
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].toLowerCase(Locale.ROOT).equals(wanted)) {
+                    return i;
+                }
+            }
+        }
+        throw new BusinessException(label + " não encontrado na folha do período: " + target);
+    }
+
+    // ==================== CÁLCULO ====================
+
+    private static long[] simulateRange(Snapshot s, CompiledRule[] rules, CompiledTaxTable inss, CompiledTaxTable irrf,
+                                        int from, int to) {
+        long[] acc = new long[s.departments().length * METRICS];
+
+        for (int i = from; i < to; i++) {
+            long current = s.baseSalary()[i];
+            long simulated = current;
+            for (CompiledRule rule : rules) {
+                boolean matches = switch (rule.scope()) {
+                    case ALL -> true;
+                    case DEPARTMENT -> s.department()[i] == rule.target();
+                    case POSITION -> s.position()[i] == rule.target();
+                };
+                if (matches) {
+                    simulated += rule.type() == PayrollSimulationRequest.ChangeType.PERCENTAGE
+                            ? scaleHalfUp(simulated * rule.amount())
+                            : rule.amount();
+                }
+            }
+            simulated = Math.max(simulated, 0);
+
+            int offset = s.department()[i] * METRICS;
+            accumulate(acc, offset, current, s.otherEarnings()[i], s.fixedDeductions()[i], inss, irrf);
+            accumulate(acc, offset + TOTALS, simulated, s.otherEarnings()[i], s.fixedDeductions()[i], inss, irrf);
+            acc[offset + COUNT]++;
+            if (simulated != current) {
+                acc[offset + AFFECTED]++;
+            }
+        }
+        return acc;
+    }
+
+    private static void accumulate(long[] acc, int offset, long baseSalary, long otherEarnings, long fixedDeductions,
+                                   CompiledTaxTable inss, CompiledTaxTable irrf) {
+        long gross = baseSalary + otherEarnings;
+        long inssValue = inss.taxCents(gross);
+        long irrfValue = irrf.taxCents(gross - inssValue);
+        long fgts = scaleHalfUp(gross * FGTS_RATE);
+
+        acc[offset + BASE] += baseSalary;
+        acc[offset + GROSS] += gross;
+        acc[offset + INSS] += inssValue;
+        acc[offset + IRRF] += irrfValue;
+        acc[offset + FGTS] += fgts;
+        acc[offset + NET] += gross - inssValue - irrfValue - fixedDeductions;
+        acc[offset + COST] += gross + fgts;
+    }
+
+    private static long[] merge(long[] left, long[] right) {
+        for (int i = 0; i < left.length; i++) {
+            left[i] += right[i];
+        }
+        return left;
+    }
+
+    /**
+     * Divide por 10000 (pontos-base) arredondando HALF_UP, também para valores negativos.
+     */
+    private static long scaleHalfUp(long scaled) {
+        long half = CompiledTaxTable.RATE_SCALE / 2;
+        return scaled >= 0
+                ? (scaled + half) / CompiledTaxTable.RATE_SCALE
+                : -((-scaled + half) / CompiledTaxTable.RATE_SCALE);
+    }
+
+    // ==================== RESULTADO ====================
+
+    private PayrollSimulationResultDTO toResult(Integer year, Integer month, Snapshot snapshot, long[] acc, long elapsed) {
+        long[] overall = new long[METRICS];
+        List<PayrollSimulationResultDTO.DepartmentResult> departments = new ArrayList<>();
+
+        for (int d = 0; d < snapshot.departments().length; d++) {
+            int offset = d * METRICS;
+            for (int m = 0; m < METRICS; m++) {
+                overall[m] += acc[offset + m];
+            }
+            departments.add(PayrollSimulationResultDTO.DepartmentResult.builder()
+                    .department(snapshot.departments()[d])
+                    .employees((int) acc[offset + COUNT])
+                    .affectedEmployees((int) acc[offset + AFFECTED])
+                    .current(totals(acc, offset))
+                    .simulated(totals(acc, offset + TOTALS))
+                    .delta(delta(acc, offset + TOTALS, offset))
+                    .build());
+        }
+
+        return PayrollSimulationResultDTO.builder()
+                .referenceYear(year)
+                .referenceMonth(month)
+                .employees((int) overall[COUNT])
+                .affectedEmployees((int) overall[AFFECTED])
+                .elapsedMillis(elapsed)
+                .current(totals(overall, 0))
+                .simulated(totals(overall, TOTALS))
+                .delta(delta(overall, TOTALS, 0))
+                .departments(departments)
+                .build();
+    }
+
+    private PayrollSimulationResultDTO.Totals totals(long[] acc, int offset) {
+        return delta(acc, offset, -1);
+    }
+
+    /**
+     * Diferença entre os totais em {@code offset} e em {@code baseline}; baseline negativo devolve
+     * os próprios totais.
+     */
+    private PayrollSimulationResultDTO.Totals delta(long[] acc, int offset, int baseline) {
+        return PayrollSimulationResultDTO.Totals.builder()
+                .baseSalary(value(acc, offset, baseline, BASE))
+                .grossSalary(value(acc, offset, baseline, GROSS))
+                .inssValue(value(acc, offset, baseline, INSS))
+                .irrfValue(value(acc, offset, baseline, IRRF))
+                .fgtsValue(value(acc, offset, baseline, FGTS))
+                .netSalary(value(acc, offset, baseline, NET))
+                .employerCost(value(acc, offset, baseline, COST))
+                .build();
+    }
+
+    private static BigDecimal value(long[] acc, int offset, int baseline, int metric) {
+        long cents = acc[offset + metric] - (baseline >= 0 ? acc[baseline + metric] : 0);
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static long cents(BigDecimal value) {
+        return value != null ? CompiledTaxTable.toCents(value) : 0L;
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,247 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.entity.Department;
+import com.talentflow.api.entity.Payroll;
+import com.talentflow.api.entity.PayrollPeriodSummary;
+import com.talentflow.api.repository.DepartmentRepository;
+import com.talentflow.api.repository.PayrollPeriodSummaryRepository;
+import com.talentflow.api.repository.PayrollRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém os totais da folha por competência, departamento e status. Cada mudança de folha
+ * retira a contribuição anterior e soma a nova na mesma transação; operações em lote (geração
+ * e cálculo do período) reconstroem o período com uma única consulta agrupada. O departamento
+ * é o atual do funcionário; quando ele muda, os períodos com folhas do funcionário são refeitos.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollSummaryService {
+
+    private final PayrollPeriodSummaryRepository summaryRepository;
+    private final PayrollRepository payrollRepository;
+    private final DepartmentRepository departmentRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Contribuição de uma folha para o resumo do seu período.
+     */
+    public record Contribution(Integer year, Integer month, Long departmentId, Payroll.PayrollStatus status,
+                               BigDecimal gross, BigDecimal net, BigDecimal inss, BigDecimal irrf, BigDecimal fgts) {
+
+        public static Contribution of(Payroll payroll) {
+            Department department = payroll.getEmployee().getDepartment();
+            return new Contribution(payroll.getReferenceYear(), payroll.getReferenceMonth(),
+                    department != null ? department.getId() : PayrollPeriodSummary.NO_DEPARTMENT,
+                    payroll.getStatus(),
+                    orZero(payroll.getGrossSalary()), orZero(payroll.getNetSalary()),
+                    orZero(payroll.getInssValue()), orZero(payroll.getIrrfValue()), orZero(payroll.getFgtsValue()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (summaryRepository.count() == 0 && payrollRepository.count() > 0) {
+            rebuildAll();
+            log.info("Resumos da folha reconstruídos a partir das folhas existentes");
+        }
+    }
+
+    @Transactional
+    public void add(Payroll payroll) {
+        apply(Contribution.of(payroll), 1);
+    }
+
+    /**
+     * Troca a contribuição anterior da folha pela atual (mudança de status e/ou valores).
+     */
+    @Transactional
+    public void replace(Contribution before, Payroll payroll) {
+        apply(before, -1);
+        apply(Contribution.of(payroll), 1);
+    }
+
+    @Transactional
+    public void rebuild(Integer year, Integer month) {
+        summaryRepository.deleteByPeriod(year, month);
+        saveAggregates(payrollRepository.aggregateByPeriod(year, month));
+    }
+
+    /**
+     * Refaz os períodos em que o funcionário tem folha, após a troca de departamento: as
+     * contribuições já somadas estão no departamento anterior.
+     */
+    @Transactional
+    public void rebuildForEmployee(Long employeeId) {
+        for (PayrollRepository.Period period : payrollRepository.findPeriodsByEmployee(employeeId)) {
+            rebuild(period.getReferenceYear(), period.getReferenceMonth());
+        }
+    }
+
+    @Transactional
+    public void rebuildAll() {
+        summaryRepository.deleteAllInBatch();
+        saveAggregates(payrollRepository.aggregateByPeriod(null, null));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStats(Integer year, Integer month) {
+        List<PayrollPeriodSummary> rows = summaryRepository.findByReferenceYearAndReferenceMonth(year, month);
+        Map<Long, String> departmentNames = departmentRepository.findAll().stream()
+                .collect(Collectors.toMap(Department::getId, Department::getName));
+
+        Map<Payroll.PayrollStatus, Totals> byStatus = new EnumMap<>(Payroll.PayrollStatus.class);
+        Map<String, Totals> byDepartment = new TreeMap<>();
+        Totals overall = new Totals();
+
+        for (PayrollPeriodSummary row : rows) {
+            if (row.getPayrollCount() == 0) {
+                continue;
+            }
+            String department = departmentNames.getOrDefault(row.getDepartmentId(), "Sem departamento");
+            overall.add(row);
+            byStatus.computeIfAbsent(row.getStatus(), status -> new Totals()).add(row);
+            byDepartment.computeIfAbsent(department, name -> new Totals()).add(row);
+        }
+
+        Totals paid = byStatus.get(Payroll.PayrollStatus.PAID);
+
+        List<Map<String, Object>> departments = new ArrayList<>();
+        byDepartment.forEach((name, totals) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("department", name);
+            entry.putAll(totals.toMap());
+            departments.add(entry);
+        });
+
+        Map<String, Object> statuses = new LinkedHashMap<>();
+        byStatus.forEach((status, totals) -> statuses.put(status.name(), totals.toMap()));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalPaid", paid != null ? paid.net.setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO);
+        stats.put("count", overall.count);
+        stats.put("period", month + "/" + year);
+        stats.put("totals", overall.toMap());
+        stats.put("byStatus", statuses);
+        stats.put("byDepartment", departments);
+        return stats;
+    }
+
+    private void apply(Contribution c, int sign) {
+        if (addDelta(c, sign) > 0) {
+            return;
+        }
+        // Uma retirada sem linha indica resumo defasado
+        if (sign < 0) {
+            log.warn("Resumo da folha ausente para {}/{}; reconstrua o período", c.month(), c.year());
+            return;
+        }
+        createEmptyRow(c);
+        addDelta(c, sign);
+    }
+
+    private int addDelta(Contribution c, int sign) {
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        return summaryRepository.addDelta(c.year(), c.month(), c.departmentId(), c.status(), sign,
+                c.gross().multiply(factor), c.net().multiply(factor), c.inss().multiply(factor),
+                c.irrf().multiply(factor), c.fgts().multiply(factor), LocalDateTime.now());
+    }
+
+    /**
+     * Cria a linha zerada da combinação numa transação própria. Com duas primeiras folhas
+     * concorrentes, a que perde a chave única só encontra a linha pronta e soma nela.
+     */
+    private void createEmptyRow(Contribution c) {
+        try {
+            requiresNew.executeWithoutResult(status -> summaryRepository.saveAndFlush(PayrollPeriodSummary.builder()
+                    .referenceYear(c.year())
+                    .referenceMonth(c.month())
+                    .departmentId(c.departmentId())
+                    .status(c.status())
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // Criada por outra transação entre o UPDATE e o INSERT
+        }
+    }
+
+    private void saveAggregates(List<PayrollRepository.PeriodAggregate> aggregates) {
+        summaryRepository.saveAll(aggregates.stream()
+                .map(a -> PayrollPeriodSummary.builder()
+                        .referenceYear(a.getReferenceYear())
+                        .referenceMonth(a.getReferenceMonth())
+                        .departmentId(a.getDepartmentId())
+                        .status(a.getStatus())
+                        .payrollCount(a.getPayrollCount())
+                        .grossTotal(a.getGrossTotal())
+                        .netTotal(a.getNetTotal())
+                        .inssTotal(a.getInssTotal())
+                        .irrfTotal(a.getIrrfTotal())
+                        .fgtsTotal(a.getFgtsTotal())
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static class Totals {
+        private long count;
+        private BigDecimal gross = BigDecimal.ZERO;
+        private BigDecimal net = BigDecimal.ZERO;
+        private BigDecimal inss = BigDecimal.ZERO;
+        private BigDecimal irrf = BigDecimal.ZERO;
+        private BigDecimal fgts = BigDecimal.ZERO;
+
+        void add(PayrollPeriodSummary row) {
+            count += row.getPayrollCount();
+            gross = gross.add(row.getGrossTotal());
+            net = net.add(row.getNetTotal());
+            inss = inss.add(row.getInssTotal());
+            irrf = irrf.add(row.getIrrfTotal());
+            fgts = fgts.add(row.getFgtsTotal());
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("grossTotal", gross.setScale(2, RoundingMode.HALF_UP));
+            map.put("netTotal", net.setScale(2, RoundingMode.HALF_UP));
+            map.put("inssTotal", inss.setScale(2, RoundingMode.HALF_UP));
+            map.put("irrfTotal", irrf.setScale(2, RoundingMode.HALF_UP));
+            map.put("fgtsTotal", fgts.setScale(2, RoundingMode.HALF_UP));
+            return map;
+        }
+    }
+}
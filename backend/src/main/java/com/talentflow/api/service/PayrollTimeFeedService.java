@@ -0,0 +1,133 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.repository.PayrollRepository;
+import com.talentflow.api.repository.TimeRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Etapa de entrada da folha a partir do ponto: horas extras, atrasos e saídas antecipadas de todos
+ * os funcionários do período são somados em uma única consulta agrupada, convertidos em valores e
+ * gravados nas folhas em rascunho com batch JDBC. Roda antes do cálculo. Só entram os dias
+ * aprovados, tanto nas horas extras quanto nos descontos; as folhas com horas extras lançadas à mão
+ * pelo RH recebem só os descontos.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollTimeFeedService {
+
+    private final TimeRecordRepository timeRecordRepository;
+    private final PayrollRepository payrollRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PayrollSimulationService payrollSimulationService;
+
+    @Value("${app.payroll.time.monthly-hours:220}")
+    private int monthlyHours;
+
+    @Value("${app.payroll.time.overtime-multiplier:1.5}")
+    private BigDecimal overtimeMultiplier;
+
+    @Value("${app.payroll.time.rest-day-multiplier:2.0}")
+    private BigDecimal restDayMultiplier;
+
+    private static final int BATCH_SIZE = 500;
+    private static final BigDecimal SIXTY = BigDecimal.valueOf(60);
+
+    private static final String UPDATE_SQL = "UPDATE payrolls SET overtime_hours = ?, overtime_value = ?, " +
+            "time_discount_minutes = ?, time_discount = ?, updated_at = ? WHERE id = ? AND status = 'DRAFT'";
+
+    private static final String UPDATE_DISCOUNT_SQL = "UPDATE payrolls SET time_discount_minutes = ?, " +
+            "time_discount = ?, updated_at = ? WHERE id = ? AND status = 'DRAFT'";
+
+    /**
+     * Preenche horas extras e descontos de ponto das folhas em rascunho do período. Folhas sem
+     * registros de ponto ficam zeradas.
+     */
+    @Transactional
+    public Map<String, Object> apply(Integer year, Integer month) {
+        long start = System.currentTimeMillis();
+        LocalDate firstDay = LocalDate.of(year, month, 1);
+
+        Map<Long, TimeRecordRepository.PeriodMinutes> minutesByEmployee = new HashMap<>();
+        for (TimeRecordRepository.PeriodMinutes minutes :
+                timeRecordRepository.sumMinutesByEmployee(firstDay, firstDay.plusMonths(1))) {
+            minutesByEmployee.put(minutes.getEmployeeId(), minutes);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        BigDecimal monthlyMinutes = BigDecimal.valueOf(monthlyHours * 60L);
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> discountOnly = new ArrayList<>();
+        int withRecords = 0;
+
+        for (PayrollRepository.DraftInput draft : payrollRepository.findDraftInputs(year, month)) {
+            TimeRecordRepository.PeriodMinutes minutes = minutesByEmployee.get(draft.getEmployeeId());
+            long overtime = 0;
+            long restDay = 0;
+            long discountMinutes = 0;
+            if (minutes != null) {
+                withRecords++;
+                overtime = orZero(minutes.getOvertimeMinutes());
+                restDay = orZero(minutes.getRestDayMinutes());
+                discountMinutes = orZero(minutes.getLateMinutes()) + orZero(minutes.getEarlyDepartureMinutes());
+            }
+
+            // Valor do minuto = salário base / (horas mensais * 60), aplicado sem arredondamento intermediário
+            BigDecimal weightedOvertime = BigDecimal.valueOf(overtime).multiply(overtimeMultiplier)
+                    .add(BigDecimal.valueOf(restDay).multiply(restDayMultiplier));
+            BigDecimal overtimeValue = draft.getBaseSalary().multiply(weightedOvertime)
+                    .divide(monthlyMinutes, 2, RoundingMode.HALF_UP);
+            BigDecimal discount = draft.getBaseSalary().multiply(BigDecimal.valueOf(discountMinutes))
+                    .divide(monthlyMinutes, 2, RoundingMode.HALF_UP);
+            BigDecimal overtimeHours = BigDecimal.valueOf(overtime + restDay).divide(SIXTY, 2, RoundingMode.HALF_UP);
+
+            if (Boolean.TRUE.equals(draft.getOvertimeManual())) {
+                discountOnly.add(new Object[]{(int) discountMinutes, discount, now, draft.getId()});
+            } else {
+                updates.add(new Object[]{overtimeHours, overtimeValue, (int) discountMinutes, discount, now, draft.getId()});
+            }
+        }
+
+        batchUpdate(UPDATE_SQL, updates);
+        batchUpdate(UPDATE_DISCOUNT_SQL, discountOnly);
+        payrollSimulationService.invalidate(year, month);
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Ponto aplicado à folha {}/{}: {} folhas ({} com registros, {} com horas extras manuais) em {} ms",
+                month, year, updates.size() + discountOnly.size(), withRecords, discountOnly.size(), elapsed);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("period", month + "/" + year);
+        result.put("updated", updates.size() + discountOnly.size());
+        result.put("withTimeRecords", withRecords);
+        result.put("manualOvertime", discountOnly.size());
+        result.put("elapsedMillis", elapsed);
+        return result;
+    }
+
+    private void batchUpdate(String sql, List<Object[]> args) {
+        for (int from = 0; from < args.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, args.subList(from, Math.min(from + BATCH_SIZE, args.size())));
+        }
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
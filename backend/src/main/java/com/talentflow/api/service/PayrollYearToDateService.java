@@ -0,0 +1,289 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.ThirteenthSalaryDTO;
+import com.talentflow.api.entity.Payroll;
+import com.talentflow.api.entity.PayrollYearToDate;
+import com.talentflow.api.entity.TaxTable;
+import com.talentflow.api.repository.PayrollRepository;
+import com.talentflow.api.repository.PayrollYearToDateRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Acumulados anuais da folha por funcionário. Só folhas calculadas, aprovadas ou pagas entram no
+ * acumulado: cada mudança de folha retira a contribuição anterior e soma a nova na mesma
+ * transação, e o cálculo em lote do período reconstrói o ano em paralelo, em faixas de
+ * funcionários com transações independentes. A primeira folha do funcionário no ano cria a linha
+ * numa transação própria, e a reconstrução bloqueia as linhas da faixa antes de ler as folhas, então
+ * uma troca concorrente ou já está nas folhas lidas ou soma o delta depois da reconstrução.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollYearToDateService {
+
+    private final PayrollYearToDateRepository yearToDateRepository;
+    private final PayrollRepository payrollRepository;
+    private final TaxTableService taxTableService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.payroll.ytd.rebuild-workers:4}")
+    private int rebuildWorkers;
+
+    @Value("${app.payroll.ytd.rebuild-slice-size:1000}")
+    private int sliceSize;
+
+    private static final Set<Payroll.PayrollStatus> COUNTED =
+            EnumSet.of(Payroll.PayrollStatus.CALCULATED, Payroll.PayrollStatus.APPROVED, Payroll.PayrollStatus.PAID);
+    private static final BigDecimal TWELVE = BigDecimal.valueOf(12);
+    private static final int THIRTEENTH_TAX_MONTH = 12;
+
+    private ExecutorService executor;
+    private TransactionTemplate transaction;
+    private TransactionTemplate requiresNew;
+
+    /**
+     * Contribuição de uma folha para o acumulado do funcionário no ano.
+     */
+    public record Contribution(Long employeeId, Integer year, boolean counted,
+                               BigDecimal gross, BigDecimal inss, BigDecimal irrf, BigDecimal fgts,
+                               BigDecimal overtimeHours, BigDecimal overtimeValue) {
+
+        public static Contribution of(Payroll payroll) {
+            return new Contribution(payroll.getEmployee().getId(), payroll.getReferenceYear(),
+                    COUNTED.contains(payroll.getStatus()),
+                    orZero(payroll.getGrossSalary()), orZero(payroll.getInssValue()), orZero(payroll.getIrrfValue()),
+                    orZero(payroll.getFgtsValue()), orZero(payroll.getOvertimeHours()), orZero(payroll.getOvertimeValue()));
+        }
+    }
+
+    @PostConstruct
+    void startExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, rebuildWorkers), runnable -> {
+            Thread thread = new Thread(runnable, "payroll-ytd-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        transaction = new TransactionTemplate(transactionManager);
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (yearToDateRepository.count() == 0 && payrollRepository.count() > 0) {
+            payrollRepository.findReferenceYears().forEach(this::rebuild);
+        }
+    }
+
+    /**
+     * Troca a contribuição anterior da folha pela atual; sem efeito quando a folha não entra no
+     * acumulado nem antes nem depois.
+     */
+    @Transactional
+    public void replace(Contribution before, Payroll payroll) {
+        Contribution after = Contribution.of(payroll);
+        if (before.equals(after)) {
+            return;
+        }
+        if (before.counted()) {
+            apply(before, -1);
+        }
+        if (after.counted()) {
+            apply(after, 1);
+        }
+    }
+
+    /**
+     * Recalcula os acumulados do ano a partir das folhas, em faixas de funcionários processadas em
+     * paralelo. Retorna o número de funcionários e o tempo gasto.
+     */
+    public synchronized Map<String, Object> rebuild(Integer year) {
+        long start = System.currentTimeMillis();
+        List<Long> employeeIds = payrollRepository.findEmployeeIdsWithClosedPayrolls(year);
+
+        List<CompletableFuture<Void>> slices = new ArrayList<>();
+        for (int from = 0; from < employeeIds.size(); from += sliceSize) {
+            List<Long> slice = employeeIds.subList(from, Math.min(from + sliceSize, employeeIds.size()));
+            slices.add(CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status ->
+                    rebuildSlice(year, slice)), executor));
+        }
+        CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new)).join();
+
+        // Funcionários sem folha fechada no ano (ex.: folhas canceladas desde a última reconstrução)
+        transaction.executeWithoutResult(status -> yearToDateRepository.deleteWithoutClosedPayrolls(year));
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Acumulados de {} reconstruídos: {} funcionários em {} faixas ({} ms)",
+                year, employeeIds.size(), slices.size(), elapsed);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("year", year);
+        result.put("employees", employeeIds.size());
+        result.put("slices", slices.size());
+        result.put("elapsedMillis", elapsed);
+        return result;
+    }
+
+    /**
+     * 13º salário do ano a partir dos acumulados: (salário atual + média das horas extras) x meses
+     * trabalhados / 12, com INSS e IRRF pelas tabelas de dezembro descontados na 2ª parcela.
+     */
+    @Transactional(readOnly = true)
+    public ThirteenthSalaryDTO calculateThirteenth(Integer year) {
+        CompiledTaxTable inssTable = taxTableService.resolve(TaxTable.TaxType.INSS, year, THIRTEENTH_TAX_MONTH);
+        CompiledTaxTable irrfTable = taxTableService.resolve(TaxTable.TaxType.IRRF, year, THIRTEENTH_TAX_MONTH);
+
+        List<ThirteenthSalaryDTO.Entry> items = new ArrayList<>();
+        BigDecimal grossTotal = BigDecimal.ZERO;
+        BigDecimal firstTotal = BigDecimal.ZERO;
+        BigDecimal secondTotal = BigDecimal.ZERO;
+
+        for (PayrollYearToDateRepository.ThirteenthInput input : yearToDateRepository.findThirteenthInputs(year)) {
+            int months = Math.min(input.getMonthsWorked(), 12);
+            BigDecimal salary = orZero(input.getSalary());
+            BigDecimal overtimeAverage = orZero(input.getOvertimeValueTotal())
+                    .divide(BigDecimal.valueOf(input.getMonthsWorked()), 2, RoundingMode.HALF_UP);
+            BigDecimal gross = salary.add(overtimeAverage).multiply(BigDecimal.valueOf(months))
+                    .divide(TWELVE, 2, RoundingMode.HALF_UP);
+            BigDecimal first = gross.divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
+
+            long grossCents = CompiledTaxTable.toCents(gross);
+            long inssCents = inssTable.taxCents(grossCents);
+            long irrfCents = irrfTable.taxCents(grossCents - inssCents);
+            BigDecimal inss = CompiledTaxTable.fromCents(inssCents);
+            BigDecimal irrf = CompiledTaxTable.fromCents(irrfCents);
+            BigDecimal second = gross.subtract(inss).subtract(irrf).subtract(first);
+
+            items.add(ThirteenthSalaryDTO.Entry.builder()
+                    .employeeId(input.getEmployeeId())
+                    .employeeName(input.getName() != null ? input.getName() : "Funcionário #" + input.getEmployeeId())
+                    .monthsWorked(months)
+                    .baseSalary(salary)
+                    .overtimeAverage(overtimeAverage)
+                    .grossValue(gross)
+                    .firstInstallment(first)
+                    .inssValue(inss)
+                    .irrfValue(irrf)
+                    .secondInstallment(second)
+                    .build());
+            grossTotal = grossTotal.add(gross);
+            firstTotal = firstTotal.add(first);
+            secondTotal = secondTotal.add(second);
+        }
+
+        return ThirteenthSalaryDTO.builder()
+                .referenceYear(year)
+                .employees(items.size())
+                .grossTotal(grossTotal)
+                .firstInstallmentTotal(firstTotal)
+                .secondInstallmentTotal(secondTotal)
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Refaz os acumulados da faixa sobre as linhas bloqueadas: as que faltam são criadas antes, e
+     * as folhas só são lidas depois do bloqueio.
+     */
+    private void rebuildSlice(Integer year, List<Long> employeeIds) {
+        if (yearToDateRepository.lock(year, employeeIds, LocalDateTime.now()) < employeeIds.size()) {
+            Set<Long> existing = new HashSet<>(yearToDateRepository.findEmployeeIds(year, employeeIds));
+            employeeIds.stream()
+                    .filter(employeeId -> !existing.contains(employeeId))
+                    .forEach(employeeId -> createEmptyRow(employeeId, year));
+            yearToDateRepository.lock(year, employeeIds, LocalDateTime.now());
+        }
+
+        Map<Long, PayrollRepository.YearToDateAggregate> aggregates = payrollRepository
+                .aggregateYearToDate(year, employeeIds).stream()
+                .collect(Collectors.toMap(PayrollRepository.YearToDateAggregate::getEmployeeId, Function.identity()));
+        List<PayrollYearToDate> rows = yearToDateRepository.findByReferenceYearAndEmployeeIdIn(year, employeeIds);
+        for (PayrollYearToDate row : rows) {
+            // Sem folha fechada: zerada aqui e removida no fim da reconstrução
+            PayrollRepository.YearToDateAggregate a = aggregates.get(row.getEmployeeId());
+            row.setMonthsWorked(a != null ? a.getMonthsWorked().intValue() : 0);
+            row.setGrossTotal(a != null ? a.getGrossTotal() : BigDecimal.ZERO);
+            row.setInssTotal(a != null ? a.getInssTotal() : BigDecimal.ZERO);
+            row.setIrrfTotal(a != null ? a.getIrrfTotal() : BigDecimal.ZERO);
+            row.setFgtsTotal(a != null ? a.getFgtsTotal() : BigDecimal.ZERO);
+            row.setOvertimeHoursTotal(a != null ? a.getOvertimeHoursTotal() : BigDecimal.ZERO);
+            row.setOvertimeValueTotal(a != null ? a.getOvertimeValueTotal() : BigDecimal.ZERO);
+        }
+        yearToDateRepository.saveAll(rows);
+    }
+
+    private void apply(Contribution c, int sign) {
+        if (addDelta(c, sign) > 0) {
+            return;
+        }
+        // Uma retirada sem linha indica acumulado defasado
+        if (sign < 0) {
+            log.warn("Acumulado de {} ausente para o funcionário {}; reconstrua o ano", c.year(), c.employeeId());
+            return;
+        }
+        createEmptyRow(c.employeeId(), c.year());
+        addDelta(c, sign);
+    }
+
+    private int addDelta(Contribution c, int sign) {
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        return yearToDateRepository.addDelta(c.employeeId(), c.year(), sign,
+                c.gross().multiply(factor), c.inss().multiply(factor), c.irrf().multiply(factor),
+                c.fgts().multiply(factor), c.overtimeHours().multiply(factor), c.overtimeValue().multiply(factor),
+                LocalDateTime.now());
+    }
+
+    /**
+     * Cria o acumulado zerado numa transação própria. Com duas primeiras folhas concorrentes, a que
+     * perde a chave única só encontra a linha pronta e soma nela.
+     */
+    private void createEmptyRow(Long employeeId, Integer year) {
+        try {
+            requiresNew.executeWithoutResult(status -> yearToDateRepository.saveAndFlush(PayrollYearToDate.builder()
+                    .employeeId(employeeId)
+                    .referenceYear(year)
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // Criado por outra transação entre o UPDATE e o INSERT
+        }
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,338 @@
+package com.talentflow.api.service;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import com.talentflow.api.dto.PayrollDTO;
+import com.talentflow.api.entity.Employee;
+import com.talentflow.api.entity.Payroll;
+import com.talentflow.api.exception.ResourceNotFoundException;
+import com.talentflow.api.repository.PayrollRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Geração de holerites em lote. Cada holerite é renderizado em paralelo para um cache em disco,
+ * identificado pelo id e pelas datas de alteração da folha e dos cadastros exibidos nela
+ * (funcionário, usuário e departamento), e o ZIP é montado a partir desses
+ * arquivos na ordem da listagem, à medida que ficam prontos.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayslipService {
+
+    private final PayrollRepository payrollRepository;
+
+    @Value("${app.payslips.dir:payslips}")
+    private String payslipsDir;
+
+    @Value("${app.payslips.parallelism:0}")
+    private int parallelism;
+
+    private static final Locale PT_BR = Locale.forLanguageTag("pt-BR");
+
+    private static final Color PRIMARY_COLOR = new Color(124, 58, 237);
+    private static final Color LIGHT_GRAY = new Color(243, 244, 246);
+    private static final Font TITLE_FONT = new Font(Font.HELVETICA, 16, Font.BOLD, PRIMARY_COLOR);
+    private static final Font SUBTITLE_FONT = new Font(Font.HELVETICA, 10, Font.NORMAL, Color.GRAY);
+    private static final Font LABEL_FONT = new Font(Font.HELVETICA, 8, Font.BOLD, Color.GRAY);
+    private static final Font VALUE_FONT = new Font(Font.HELVETICA, 10, Font.NORMAL, Color.DARK_GRAY);
+    private static final Font HEADER_FONT = new Font(Font.HELVETICA, 9, Font.BOLD, Color.WHITE);
+    private static final Font CELL_FONT = new Font(Font.HELVETICA, 9, Font.NORMAL, Color.DARK_GRAY);
+    private static final Font TOTAL_FONT = new Font(Font.HELVETICA, 10, Font.BOLD, Color.DARK_GRAY);
+    private static final Font NET_FONT = new Font(Font.HELVETICA, 12, Font.BOLD, PRIMARY_COLOR);
+
+    private ForkJoinPool pool;
+
+    /**
+     * Holerite a gerar: dados exibidos e a versão (datas de alteração) usada como chave do cache.
+     */
+    public record Payslip(PayrollDTO payroll, String version) {
+    }
+
+    @PostConstruct
+    void startPool() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @PreDestroy
+    void stopPool() {
+        pool.shutdownNow();
+    }
+
+    public List<Payslip> findByPeriod(Integer year, Integer month) {
+        List<Payslip> payslips = payrollRepository.findForPayslips(year, month).stream()
+                .map(payroll -> new Payslip(PayrollDTO.fromEntity(payroll), version(payroll)))
+                .toList();
+
+        if (payslips.isEmpty()) {
+            throw new ResourceNotFoundException("Nenhuma folha de pagamento encontrada para o período");
+        }
+        return payslips;
+    }
+
+    public void writeZip(List<Payslip> payslips, OutputStream out) throws IOException {
+        Path dir = Paths.get(payslipsDir);
+        Files.createDirectories(dir);
+
+        // Dispara todas as renderizações; o ZIP consome na ordem e só espera pelo próximo arquivo
+        List<ForkJoinTask<Path>> tasks = payslips.stream()
+                .map(payslip -> pool.submit(() -> render(dir, payslip)))
+                .toList();
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // PDFs já são comprimidos; recomprimir só gastaria CPU
+        zip.setLevel(Deflater.NO_COMPRESSION);
+
+        try {
+            for (int i = 0; i < payslips.size(); i++) {
+                Path file = tasks.get(i).join();
+                zip.putNextEntry(new ZipEntry(entryName(payslips.get(i).payroll())));
+                Files.copy(file, zip);
+                zip.closeEntry();
+            }
+            zip.finish();
+        } finally {
+            tasks.forEach(task -> task.cancel(false));
+        }
+    }
+
+    private Path render(Path dir, Payslip payslip) {
+        Long id = payslip.payroll().getId();
+        Path target = dir.resolve("holerite_" + id + "_" + payslip.version() + ".pdf");
+        if (Files.exists(target)) {
+            return target;
+        }
+
+        try {
+            Path partial = Files.createTempFile(dir, "holerite_" + id + "_", ".part");
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                writePdf(payslip.payroll(), out);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(partial);
+                throw e;
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            deleteOldVersions(dir, id, target);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteOldVersions(Path dir, Long id, Path current) {
+        try (DirectoryStream<Path> old = Files.newDirectoryStream(dir, "holerite_" + id + "_*.pdf")) {
+            for (Path file : old) {
+                if (!file.equals(current)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Não foi possível remover versões antigas do holerite {}", id, e);
+        }
+    }
+
+    // ==================== PDF ====================
+
+    private void writePdf(PayrollDTO payroll, OutputStream out) {
+        Document document = new Document(PageSize.A4, 36, 36, 36, 36);
+
+        try {
+            PdfWriter.getInstance(document, out).setCloseStream(false);
+            document.open();
+
+            Paragraph title = new Paragraph("Recibo de Pagamento de Salário", TITLE_FONT);
+            title.setAlignment(Element.ALIGN_CENTER);
+            document.add(title);
+
+            Paragraph subtitle = new Paragraph("TalentFlow - Sistema de Gestão de Talentos", SUBTITLE_FONT);
+            subtitle.setAlignment(Element.ALIGN_CENTER);
+            subtitle.setSpacingAfter(15);
+            document.add(subtitle);
+
+            PdfPTable info = new PdfPTable(new float[]{3f, 2f, 2f, 1.5f});
+            info.setWidthPercentage(100);
+            info.setSpacingAfter(15);
+            addInfo(info, "FUNCIONÁRIO", payroll.getEmployeeName());
+            addInfo(info, "CARGO", payroll.getEmployeePosition());
+            addInfo(info, "DEPARTAMENTO", payroll.getDepartmentName());
+            addInfo(info, "COMPETÊNCIA", payroll.getReferencePeriod());
+            document.add(info);
+
+            PdfPTable items = new PdfPTable(new float[]{4f, 1.5f, 2f, 2f});
+            items.setWidthPercentage(100);
+            for (String header : new String[]{"Descrição", "Referência", "Proventos", "Descontos"}) {
+                PdfPCell cell = new PdfPCell(new Phrase(header, HEADER_FONT));
+                cell.setBackgroundColor(PRIMARY_COLOR);
+                cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+                cell.setPadding(6);
+                items.addCell(cell);
+            }
+
+            addEarning(items, "Salário Base", null, payroll.getBaseSalary(), true);
+            addEarning(items, "Horas Extras", hours(payroll.getOvertimeHours()), payroll.getOvertimeValue(), false);
+            addEarning(items, "Bônus", null, payroll.getBonus(), false);
+            addEarning(items, "Comissão", null, payroll.getCommission(), false);
+            addEarning(items, "Vale Refeição", null, payroll.getMealAllowance(), false);
+            addEarning(items, "Vale Transporte", null, payroll.getTransportAllowance(), false);
+            addEarning(items, "Auxílio Saúde", null, payroll.getHealthAllowance(), false);
+            addEarning(items, "Outros Proventos", null, payroll.getOtherEarnings(), false);
+
+            addDeduction(items, "INSS", percent(payroll.getInssRate()), payroll.getInssValue());
+            addDeduction(items, "IRRF", percent(payroll.getIrrfRate()), payroll.getIrrfValue());
+            addDeduction(items, "Plano de Saúde", null, payroll.getHealthDiscount());
+            addDeduction(items, "Plano Odontológico", null, payroll.getDentalDiscount());
+            addDeduction(items, "Desconto Vale Refeição", null, payroll.getMealDiscount());
+            addDeduction(items, "Desconto Vale Transporte", null, payroll.getTransportDiscount());
+            addDeduction(items, "Empréstimo", null, payroll.getLoanDiscount());
+            addDeduction(items, "Outros Descontos", null, payroll.getOtherDeductions());
+            addDeduction(items, "Atrasos e Saídas Antecipadas", minutes(payroll.getTimeDiscountMinutes()),
+                    payroll.getTimeDiscount());
+
+            addRow(items, TOTAL_FONT, "Totais", "", money(payroll.getGrossSalary()), money(payroll.getTotalDeductions()));
+            document.add(items);
+
+            Paragraph net = new Paragraph("Líquido a Receber: R$ " + money(payroll.getNetSalary()), NET_FONT);
+            net.setAlignment(Element.ALIGN_RIGHT);
+            net.setSpacingBefore(10);
+            document.add(net);
+
+            Paragraph fgts = new Paragraph("Base FGTS: R$ " + money(payroll.getGrossSalary())
+                    + "    FGTS do mês: R$ " + money(payroll.getFgtsValue()), SUBTITLE_FONT);
+            fgts.setSpacingBefore(10);
+            document.add(fgts);
+
+            if (payroll.getStatus() == Payroll.PayrollStatus.DRAFT) {
+                document.add(new Paragraph("Folha ainda não calculada - valores sujeitos a alteração.", LABEL_FONT));
+            }
+
+            Paragraph generated = new Paragraph("Gerado em: " + LocalDate.now().format(ReportColumn.DATE_FORMAT), SUBTITLE_FONT);
+            generated.setSpacingBefore(20);
+            document.add(generated);
+
+        } catch (DocumentException e) {
+            throw new RuntimeException("Erro ao gerar holerite", e);
+        } finally {
+            document.close();
+        }
+    }
+
+    private void addInfo(PdfPTable table, String label, String value) {
+        Paragraph content = new Paragraph();
+        content.add(new Phrase(label + "\n", LABEL_FONT));
+        content.add(new Phrase(value != null ? value : "-", VALUE_FONT));
+
+        PdfPCell cell = new PdfPCell(content);
+        cell.setBackgroundColor(LIGHT_GRAY);
+        cell.setBorderColor(Color.WHITE);
+        cell.setPadding(6);
+        table.addCell(cell);
+    }
+
+    private void addEarning(PdfPTable table, String description, String reference, BigDecimal value, boolean always) {
+        if (always || isPositive(value)) {
+            addRow(table, CELL_FONT, description, reference, money(value), "");
+        }
+    }
+
+    private void addDeduction(PdfPTable table, String description, String reference, BigDecimal value) {
+        if (isPositive(value)) {
+            addRow(table, CELL_FONT, description, reference, "", money(value));
+        }
+    }
+
+    private void addRow(PdfPTable table, Font font, String description, String reference, String earning, String deduction) {
+        table.addCell(cell(description, font, Element.ALIGN_LEFT));
+        table.addCell(cell(reference != null ? reference : "", font, Element.ALIGN_CENTER));
+        table.addCell(cell(earning, font, Element.ALIGN_RIGHT));
+        table.addCell(cell(deduction, font, Element.ALIGN_RIGHT));
+    }
+
+    private PdfPCell cell(String text, Font font, int alignment) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, font));
+        cell.setHorizontalAlignment(alignment);
+        cell.setPadding(5);
+        return cell;
+    }
+
+    // ==================== HELPERS ====================
+
+    /**
+     * Versão do holerite: muda com a folha e com o nome, cargo ou departamento exibidos.
+     */
+    private static String version(Payroll payroll) {
+        Employee employee = payroll.getEmployee();
+        return millis(payroll.getUpdatedAt()) + "_" + millis(employee.getUpdatedAt())
+                + "_" + (employee.getUser() != null ? millis(employee.getUser().getUpdatedAt()) : 0L)
+                + "_" + (employee.getDepartment() != null ? millis(employee.getDepartment().getUpdatedAt()) : 0L);
+    }
+
+    private static long millis(LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    private static boolean isPositive(BigDecimal value) {
+        return value != null && value.signum() > 0;
+    }
+
+    private static String money(BigDecimal value) {
+        return value != null ? String.format(PT_BR, "%,.2f", value) : "-";
+    }
+
+    private static String percent(BigDecimal value) {
+        return isPositive(value) ? String.format(PT_BR, "%.2f%%", value) : null;
+    }
+
+    private static String hours(BigDecimal value) {
+        return isPositive(value) ? String.format(PT_BR, "%.2fh", value) : null;
+    }
+
+    private static String minutes(Integer value) {
+        return value != null && value > 0 ? String.format("%dh%02d", value / 60, value % 60) : null;
+    }
+
+    private static String entryName(PayrollDTO payroll) {
+        String name = payroll.getEmployeeName() != null ? payroll.getEmployeeName() : "funcionario";
+        String slug = Normalizer.normalize(name, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replaceAll("[^A-Za-z0-9]+", "_")
+                .toLowerCase(Locale.ROOT);
+        return String.format("holerite_%d_%02d_%s_%d.pdf",
+                payroll.getReferenceYear(), payroll.getReferenceMonth(), slug, payroll.getId());
+    }
+}
@@ -0,0 +1,186 @@
+package com.talentflow.api.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Diário de marcações de ponto em segmentos append-only ({dir}/punches-0000000001.log, ...). Cada
+ * marcação é uma linha gravada (e opcionalmente sincronizada com o disco) antes da confirmação ao
+ * funcionário; o segmento corrente é fechado a cada descarga no banco e apagado quando suas
+ * marcações já estão em time_records. A sincronização é em grupo: {@link #append} só grava e
+ * {@link #sync} roda fora do lock das gravações, então um fsync cobre todas as marcações gravadas
+ * até ele e quem chega durante um fsync é coberto pelo seguinte.
+ */
+public class PunchJournal {
+
+    private static final String PREFIX = "punches-";
+    private static final String SUFFIX = ".log";
+
+    /**
+     * Marcação de entrada aceita e ainda não gravada em time_records.
+     */
+    public record Punch(Long employeeId, LocalDate date, LocalTime time, Integer lateMinutes,
+                        String ipAddress, String location) {
+    }
+
+    private final Path dir;
+    private final boolean fsync;
+
+    private FileChannel channel;
+    private Path current;
+    private long sequence;
+
+    // Linhas gravadas e linhas garantidas no disco, contadas desde a abertura
+    private long written;
+    private final AtomicLong durable = new AtomicLong();
+    private final Object syncLock = new Object();
+
+    public PunchJournal(Path dir, boolean fsync) {
+        this.dir = dir;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Abre um segmento novo depois dos existentes e devolve os segmentos anteriores, que ainda
+     * precisam ser reaplicados.
+     */
+    public synchronized List<Path> open() throws IOException {
+        Files.createDirectories(dir);
+        List<Path> existing = segments();
+        if (!existing.isEmpty()) {
+            sequence = sequenceOf(existing.get(existing.size() - 1));
+        }
+        openNext();
+        return existing;
+    }
+
+    /**
+     * Grava a marcação sem esperar o disco; devolve a posição a passar para {@link #sync}.
+     */
+    public synchronized long append(Punch punch) throws IOException {
+        String line = punch.employeeId() + "|" + punch.date() + "|" + punch.time() + "|" +
+                (punch.lateMinutes() != null ? punch.lateMinutes() : "") + "|" +
+                encode(punch.ipAddress()) + "|" + encode(punch.location()) + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return ++written;
+    }
+
+    /**
+     * Espera a marcação da posição informada chegar ao disco. Só uma thread sincroniza por vez; as
+     * demais esperam e, ao entrar, normalmente já foram cobertas pelo fsync anterior.
+     */
+    public void sync(long position) throws IOException {
+        if (!fsync) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durable.get() >= position) {
+                return;
+            }
+            FileChannel target;
+            long upTo;
+            synchronized (this) {
+                target = channel;
+                upTo = written;
+            }
+            try {
+                target.force(false);
+            } catch (ClosedChannelException e) {
+                // Segmento fechado por rotate(), que já o sincronizou
+            }
+            durable.accumulateAndGet(upTo, Math::max);
+        }
+    }
+
+    /**
+     * Fecha o segmento corrente (se tiver marcações) e abre o próximo. Retorna o segmento fechado.
+     */
+    public synchronized Path rotate() throws IOException {
+        if (channel.size() == 0) {
+            return null;
+        }
+        Path closed = current;
+        if (fsync) {
+            channel.force(false);
+            durable.accumulateAndGet(written, Math::max);
+        }
+        channel.close();
+        openNext();
+        return closed;
+    }
+
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    public static List<Punch> read(Path segment) throws IOException {
+        List<Punch> punches = new ArrayList<>();
+        for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\\|", -1);
+            // Linha incompleta no fim do arquivo: a gravação foi interrompida antes da confirmação
+            if (fields.length != 6) {
+                continue;
+            }
+            punches.add(new Punch(Long.valueOf(fields[0]), LocalDate.parse(fields[1]), LocalTime.parse(fields[2]),
+                    fields[3].isEmpty() ? null : Integer.valueOf(fields[3]), decode(fields[4]), decode(fields[5])));
+        }
+        return punches;
+    }
+
+    public static void delete(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void openNext() throws IOException {
+        current = dir.resolve(String.format("%s%010d%s", PREFIX, ++sequence, SUFFIX));
+        channel = FileChannel.open(current, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            files.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static String encode(String value) {
+        return value == null ? "" : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String value) {
+        return value.isEmpty() ? null : URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package com.talentflow.api.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
+
+/**
+ * Coluna de relatório: chave técnica (CSV/JSON), cabeçalho, largura relativa no PDF
+ * (0 = fora do PDF), presença na planilha e o acessor do valor no DTO.
+ */
+public record ReportColumn<T>(String key, String header, float pdfWidth, boolean excel,
+                              Function<T, Object> accessor) {
+
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    public boolean pdf() {
+        return pdfWidth > 0;
+    }
+
+    public Object value(T row) {
+        return accessor.apply(row);
+    }
+
+    /**
+     * Texto exibido da célula; {@code null} quando o valor está ausente.
+     */
+    public String text(T row) {
+        return format(accessor.apply(row));
+    }
+
+    public static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String text) {
+            return text;
+        }
+        if (value instanceof LocalDate date) {
+            return date.format(DATE_FORMAT);
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toLocalDate().format(DATE_FORMAT);
+        }
+        if (value instanceof Enum<?> constant) {
+            return ReportLabels.of(constant);
+        }
+        return value.toString();
+    }
+
+    /**
+     * Valor bruto para exportações de dados (CSV/NDJSON): datas em ISO-8601 e enums pelo nome.
+     */
+    public static String raw(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value.toString();
+    }
+}
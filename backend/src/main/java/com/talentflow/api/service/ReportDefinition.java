@@ -0,0 +1,66 @@
+package com.talentflow.api.service;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Definição declarativa de um relatório, compartilhada por todos os formatos de exportação.
+ * As listas de colunas por formato são calculadas uma única vez na construção.
+ */
+@Getter
+public final class ReportDefinition<T> {
+
+    private final String title;
+    private final String sheetName;
+    private final List<ReportColumn<T>> columns;
+    private final List<ReportColumn<T>> pdfColumns;
+    private final List<ReportColumn<T>> excelColumns;
+    private final float[] pdfWidths;
+
+    private ReportDefinition(String title, String sheetName, List<ReportColumn<T>> columns) {
+        this.title = title;
+        this.sheetName = sheetName;
+        this.columns = List.copyOf(columns);
+        this.pdfColumns = columns.stream().filter(ReportColumn::pdf).toList();
+        this.excelColumns = columns.stream().filter(ReportColumn::excel).toList();
+        this.pdfWidths = new float[pdfColumns.size()];
+        for (int i = 0; i < pdfWidths.length; i++) {
+            pdfWidths[i] = pdfColumns.get(i).pdfWidth();
+        }
+    }
+
+    public static <T> Builder<T> builder(String title, String sheetName) {
+        return new Builder<>(title, sheetName);
+    }
+
+    public static final class Builder<T> {
+
+        private final String title;
+        private final String sheetName;
+        private final List<ReportColumn<T>> columns = new ArrayList<>();
+
+        private Builder(String title, String sheetName) {
+            this.title = title;
+            this.sheetName = sheetName;
+        }
+
+        /** Coluna presente no PDF e na planilha. */
+        public Builder<T> column(String key, String header, float pdfWidth, Function<T, Object> accessor) {
+            columns.add(new ReportColumn<>(key, header, pdfWidth, true, accessor));
+            return this;
+        }
+
+        /** Coluna apenas da planilha e das exportações de dados. */
+        public Builder<T> excelColumn(String key, String header, Function<T, Object> accessor) {
+            columns.add(new ReportColumn<>(key, header, 0f, true, accessor));
+            return this;
+        }
+
+        public ReportDefinition<T> build() {
+            return new ReportDefinition<>(title, sheetName, columns);
+        }
+    }
+}
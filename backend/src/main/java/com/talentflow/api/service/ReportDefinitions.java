@@ -0,0 +1,91 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.CandidateDTO;
+import com.talentflow.api.dto.EmployeeDTO;
+import com.talentflow.api.dto.PayrollDTO;
+import com.talentflow.api.dto.TimeRecordDTO;
+import com.talentflow.api.dto.VacationRequestDTO;
+
+public final class ReportDefinitions {
+
+    public static final ReportDefinition<EmployeeDTO> EMPLOYEES =
+            ReportDefinition.<EmployeeDTO>builder("Relatório de Funcionários", "Funcionários")
+                    .excelColumn("id", "ID", EmployeeDTO::getId)
+                    .column("name", "Nome", 2.5f, EmployeeDTO::getName)
+                    .column("email", "Email", 3f, EmployeeDTO::getEmail)
+                    .column("position", "Cargo", 2f, EmployeeDTO::getPosition)
+                    .column("department", "Departamento", 2f, EmployeeDTO::getDepartmentName)
+                    .column("hireDate", "Data Admissão", 1.5f, EmployeeDTO::getHireDate)
+                    .excelColumn("phone", "Telefone", EmployeeDTO::getPhone)
+                    .column("status", "Status", 1.5f, EmployeeDTO::getStatus)
+                    .build();
+
+    public static final ReportDefinition<CandidateDTO> CANDIDATES =
+            ReportDefinition.<CandidateDTO>builder("Relatório de Candidatos", "Candidatos")
+                    .excelColumn("id", "ID", CandidateDTO::getId)
+                    .column("name", "Nome", 2.5f, CandidateDTO::getName)
+                    .column("email", "Email", 3f, CandidateDTO::getEmail)
+                    .excelColumn("phone", "Telefone", CandidateDTO::getPhone)
+                    .column("jobPosition", "Vaga", 2.5f, CandidateDTO::getJobPositionTitle)
+                    .column("status", "Status", 2f, CandidateDTO::getStatus)
+                    .excelColumn("linkedin", "LinkedIn", CandidateDTO::getLinkedinUrl)
+                    .column("applicationDate", "Data Aplicação", 2f, CandidateDTO::getApplicationDate)
+                    .build();
+
+    public static final ReportDefinition<VacationRequestDTO> VACATIONS =
+            ReportDefinition.<VacationRequestDTO>builder("Relatório de Férias e Ausências", "Férias")
+                    .excelColumn("id", "ID", VacationRequestDTO::getId)
+                    .column("employee", "Funcionário", 2.5f, VacationRequestDTO::getEmployeeName)
+                    .excelColumn("department", "Departamento", VacationRequestDTO::getDepartmentName)
+                    .column("type", "Tipo", 2f, VacationRequestDTO::getType)
+                    .column("startDate", "Início", 2f, VacationRequestDTO::getStartDate)
+                    .column("endDate", "Fim", 2f, VacationRequestDTO::getEndDate)
+                    .column("days", "Dias", 1.5f, VacationRequestDTO::getDays)
+                    .column("status", "Status", 1.5f, VacationRequestDTO::getStatus)
+                    .build();
+
+    public static final ReportDefinition<TimeRecordDTO> TIME_RECORDS =
+            ReportDefinition.<TimeRecordDTO>builder("Relatório de Ponto", "Ponto")
+                    .excelColumn("id", "ID", TimeRecordDTO::getId)
+                    .excelColumn("employeeId", "ID Funcionário", TimeRecordDTO::getEmployeeId)
+                    .column("employee", "Funcionário", 2.5f, TimeRecordDTO::getEmployeeName)
+                    .excelColumn("department", "Departamento", TimeRecordDTO::getDepartmentName)
+                    .column("recordDate", "Data", 1.5f, TimeRecordDTO::getRecordDate)
+                    .column("clockIn", "Entrada", 1f, TimeRecordDTO::getClockIn)
+                    .column("lunchOut", "Saída Almoço", 1f, TimeRecordDTO::getLunchOut)
+                    .column("lunchIn", "Retorno Almoço", 1f, TimeRecordDTO::getLunchIn)
+                    .column("clockOut", "Saída", 1f, TimeRecordDTO::getClockOut)
+                    .column("workedMinutes", "Minutos Trabalhados", 1.2f, TimeRecordDTO::getWorkedMinutes)
+                    .column("overtimeMinutes", "Minutos Extras", 1.2f, TimeRecordDTO::getOvertimeMinutes)
+                    .excelColumn("lateMinutes", "Minutos de Atraso", TimeRecordDTO::getLateMinutes)
+                    .excelColumn("earlyDepartureMinutes", "Minutos de Saída Antecipada", TimeRecordDTO::getEarlyDepartureMinutes)
+                    .excelColumn("type", "Tipo", TimeRecordDTO::getType)
+                    .column("status", "Status", 1.2f, TimeRecordDTO::getStatus)
+                    .build();
+
+    public static final ReportDefinition<PayrollDTO> PAYROLL =
+            ReportDefinition.<PayrollDTO>builder("Relatório de Folha de Pagamento", "Folha")
+                    .excelColumn("id", "ID", PayrollDTO::getId)
+                    .excelColumn("employeeId", "ID Funcionário", PayrollDTO::getEmployeeId)
+                    .column("employee", "Funcionário", 2.5f, PayrollDTO::getEmployeeName)
+                    .column("department", "Departamento", 2f, PayrollDTO::getDepartmentName)
+                    .excelColumn("referenceYear", "Ano", PayrollDTO::getReferenceYear)
+                    .excelColumn("referenceMonth", "Mês", PayrollDTO::getReferenceMonth)
+                    .column("baseSalary", "Salário Base", 1.5f, PayrollDTO::getBaseSalary)
+                    .excelColumn("overtimeHours", "Horas Extras", PayrollDTO::getOvertimeHours)
+                    .excelColumn("overtimeValue", "Valor Horas Extras", PayrollDTO::getOvertimeValue)
+                    .excelColumn("bonus", "Bônus", PayrollDTO::getBonus)
+                    .excelColumn("commission", "Comissão", PayrollDTO::getCommission)
+                    .column("grossSalary", "Salário Bruto", 1.5f, PayrollDTO::getGrossSalary)
+                    .column("inssValue", "INSS", 1.2f, PayrollDTO::getInssValue)
+                    .column("irrfValue", "IRRF", 1.2f, PayrollDTO::getIrrfValue)
+                    .excelColumn("fgtsValue", "FGTS", PayrollDTO::getFgtsValue)
+                    .excelColumn("totalDeductions", "Total Descontos", PayrollDTO::getTotalDeductions)
+                    .column("netSalary", "Salário Líquido", 1.5f, PayrollDTO::getNetSalary)
+                    .column("status", "Status", 1.2f, PayrollDTO::getStatus)
+                    .excelColumn("paymentDate", "Data Pagamento", PayrollDTO::getPaymentDate)
+                    .build();
+
+    private ReportDefinitions() {
+    }
+}
@@ -1,5 +1,7 @@
 package com.talentflow.api.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lowagie.text.Document;
 import com.lowagie.text.DocumentException;
 import com.lowagie.text.Element;
@@ -12,281 +14,403 @@ import com.lowagie.text.pdf.PdfPTable;
 import com.lowagie.text.pdf.PdfWriter;
 import com.talentflow.api.dto.CandidateDTO;
 import com.talentflow.api.dto.EmployeeDTO;
+import com.talentflow.api.dto.PayrollDTO;
+import com.talentflow.api.dto.TimeRecordDTO;
 import com.talentflow.api.dto.VacationRequestDTO;
+import com.talentflow.api.entity.Candidate;
+import com.talentflow.api.entity.Employee;
+import com.talentflow.api.entity.VacationRequest;
+import com.talentflow.api.repository.CandidateRepository;
+import com.talentflow.api.repository.EmployeeRepository;
+import com.talentflow.api.repository.PayrollRepository;
+import com.talentflow.api.repository.TimeRecordRepository;
+import com.talentflow.api.repository.VacationRequestRepository;
 import lombok.RequiredArgsConstructor;
+import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.ss.usermodel.HorizontalAlignment;
 import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.awt.Color;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ReportExportService {
 
-    private final EmployeeService employeeService;
-    private final CandidateService candidateService;
-    private final VacationRequestService vacationRequestService;
+    private final EmployeeRepository employeeRepository;
+    private final CandidateRepository candidateRepository;
+    private final VacationRequestRepository vacationRequestRepository;
+    private final TimeRecordRepository timeRecordRepository;
+    private final PayrollRepository payrollRepository;
+    private final BatchReader batchReader;
+    private final ObjectMapper objectMapper;
 
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    public enum DataFormat {
+        CSV, NDJSON
+    }
+
+    // Sem "since" a extração é completa
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final int PDF_CHUNK_ROWS = 200;
+    private static final int EXCEL_WINDOW_SIZE = 100;
+    private static final int WIDTH_SAMPLE_ROWS = 200;
+    private static final int MAX_COLUMN_CHARS = 60;
+
+    // Fontes e cores são imutáveis na prática e compartilhadas entre todas as células
+    private static final Color PRIMARY_COLOR = new Color(124, 58, 237);
+    private static final Font TITLE_FONT = new Font(Font.HELVETICA, 18, Font.BOLD, PRIMARY_COLOR);
+    private static final Font SUBTITLE_FONT = new Font(Font.HELVETICA, 10, Font.NORMAL, Color.GRAY);
+    private static final Font DATE_FONT = new Font(Font.HELVETICA, 9, Font.ITALIC, Color.GRAY);
+    private static final Font HEADER_FONT = new Font(Font.HELVETICA, 10, Font.BOLD, Color.WHITE);
+    private static final Font CELL_FONT = new Font(Font.HELVETICA, 9, Font.NORMAL, Color.DARK_GRAY);
+    private static final Font FOOTER_FONT = DATE_FONT;
 
     // ==================== PDF EXPORTS ====================
 
-    public byte[] exportEmployeesToPdf() {
-        List<EmployeeDTO> employees = employeeService.findAll();
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
+    @Transactional(readOnly = true)
+    public void exportEmployeesToPdf(OutputStream out) {
+        writePdf(out, ReportDefinitions.EMPLOYEES, this::forEachEmployee);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCandidatesToPdf(OutputStream out) {
+        writePdf(out, ReportDefinitions.CANDIDATES, this::forEachCandidate);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportVacationsToPdf(OutputStream out) {
+        writePdf(out, ReportDefinitions.VACATIONS, this::forEachVacation);
+    }
+
+    // ==================== EXCEL EXPORTS ====================
+
+    @Transactional(readOnly = true)
+    public void exportEmployeesToExcel(OutputStream out) throws IOException {
+        writeExcel(out, ReportDefinitions.EMPLOYEES, this::forEachEmployee);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCandidatesToExcel(OutputStream out) throws IOException {
+        writeExcel(out, ReportDefinitions.CANDIDATES, this::forEachCandidate);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportVacationsToExcel(OutputStream out) throws IOException {
+        writeExcel(out, ReportDefinitions.VACATIONS, this::forEachVacation);
+    }
+
+    // ==================== DATA EXPORTS (CSV / NDJSON) ====================
+
+    @Transactional(readOnly = true)
+    public void exportEmployeesData(DataFormat format, LocalDateTime since, OutputStream out) throws IOException {
+        writeData(out, format, ReportDefinitions.EMPLOYEES,
+                employeeRepository.streamUpdatedSince(sinceOrEpoch(since)), EmployeeDTO::fromEntity);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCandidatesData(DataFormat format, LocalDateTime since, OutputStream out) throws IOException {
+        writeData(out, format, ReportDefinitions.CANDIDATES,
+                candidateRepository.streamUpdatedSince(sinceOrEpoch(since)), CandidateDTO::fromEntity);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportVacationsData(DataFormat format, LocalDateTime since, OutputStream out) throws IOException {
+        writeData(out, format, ReportDefinitions.VACATIONS,
+                vacationRequestRepository.streamUpdatedSince(sinceOrEpoch(since)), VacationRequestDTO::fromEntity);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTimeRecordsData(DataFormat format, LocalDateTime since, OutputStream out) throws IOException {
+        writeData(out, format, ReportDefinitions.TIME_RECORDS,
+                timeRecordRepository.streamUpdatedSince(sinceOrEpoch(since)), TimeRecordDTO::fromEntity);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportPayrollData(DataFormat format, LocalDateTime since, OutputStream out) throws IOException {
+        writeData(out, format, ReportDefinitions.PAYROLL,
+                payrollRepository.streamUpdatedSince(sinceOrEpoch(since)), PayrollDTO::fromEntity);
+    }
+
+    // ==================== DATA SOURCES ====================
+
+    private void forEachEmployee(Consumer<EmployeeDTO> action) {
+        batchReader.forEach(employeeRepository::findBatchAfter, Employee::getId,
+                employee -> action.accept(EmployeeDTO.fromEntity(employee)));
+    }
+
+    private void forEachCandidate(Consumer<CandidateDTO> action) {
+        batchReader.forEach(candidateRepository::findBatchAfter, Candidate::getId,
+                candidate -> action.accept(CandidateDTO.fromEntity(candidate)));
+    }
+
+    private void forEachVacation(Consumer<VacationRequestDTO> action) {
+        // Mais recentes primeiro, como na listagem de férias
+        batchReader.forEachDescending(vacationRequestRepository::findBatchBefore, VacationRequest::getId,
+                vacation -> action.accept(VacationRequestDTO.fromEntity(vacation)));
+    }
+
+    // ==================== RENDERERS ====================
+
+    /**
+     * Escreve o PDF diretamente no stream de saída. A tabela é marcada como incompleta e
+     * descarregada no documento a cada {@link #PDF_CHUNK_ROWS} linhas, então apenas um bloco
+     * de linhas fica em memória e as páginas prontas já seguem para o cliente.
+     */
+    <T> void writePdf(OutputStream out, ReportDefinition<T> definition, Consumer<Consumer<T>> source) {
+        List<ReportColumn<T>> columns = definition.getPdfColumns();
         Document document = new Document(PageSize.A4.rotate());
-        
+
         try {
-            PdfWriter.getInstance(document, out);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
             document.open();
-            
-            addHeader(document, "Relatório de Funcionários");
+
+            addHeader(document, definition.getTitle());
             addDate(document);
-            
-            PdfPTable table = new PdfPTable(6);
+
+            PdfPTable table = new PdfPTable(columns.size());
             table.setWidthPercentage(100);
-            table.setWidths(new float[]{2.5f, 3f, 2f, 2f, 1.5f, 1.5f});
-            
-            addTableHeader(table, new String[]{"Nome", "Email", "Cargo", "Departamento", "Data Admissão", "Status"});
-            
-            for (EmployeeDTO emp : employees) {
-                table.addCell(createCell(emp.getName()));
-                table.addCell(createCell(emp.getEmail()));
-                table.addCell(createCell(emp.getPosition()));
-                table.addCell(createCell(emp.getDepartmentName() != null ? emp.getDepartmentName() : "-"));
-                table.addCell(createCell(emp.getHireDate() != null ? emp.getHireDate().format(DATE_FORMAT) : "-"));
-                table.addCell(createCell(getStatusLabel(emp.getStatus().name())));
-            }
-            
+            table.setWidths(definition.getPdfWidths());
+            addTableHeader(table, columns);
+            table.setHeaderRows(1);
+            table.setComplete(false);
+
+            int[] counters = new int[2]; // [linhas pendentes, total]
+            source.accept(row -> {
+                for (ReportColumn<T> column : columns) {
+                    String text = column.text(row);
+                    table.addCell(createCell(text != null ? text : "-"));
+                }
+                counters[1]++;
+
+                if (++counters[0] >= PDF_CHUNK_ROWS) {
+                    // Com a tabela incompleta, as linhas já escritas são removidas e o cabeçalho mantido
+                    document.add(table);
+                    counters[0] = 0;
+                }
+            });
+
+            table.setComplete(true);
             document.add(table);
-            addFooter(document, employees.size());
-            
+            addFooter(document, counters[1]);
+
         } catch (DocumentException e) {
             throw new RuntimeException("Erro ao gerar PDF", e);
         } finally {
             document.close();
         }
-        
-        return out.toByteArray();
     }
 
-    public byte[] exportCandidatesToPdf() {
-        List<CandidateDTO> candidates = candidateService.findAll();
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        Document document = new Document(PageSize.A4.rotate());
-        
+    /**
+     * Gera a planilha com SXSSF: apenas uma janela de linhas fica em memória e o restante
+     * é descarregado em arquivo temporário até a escrita final no stream de saída.
+     */
+    <T> void writeExcel(OutputStream out, ReportDefinition<T> definition,
+                                Consumer<Consumer<T>> source) throws IOException {
+        List<ReportColumn<T>> columns = definition.getExcelColumns();
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+
         try {
-            PdfWriter.getInstance(document, out);
-            document.open();
-            
-            addHeader(document, "Relatório de Candidatos");
-            addDate(document);
-            
-            PdfPTable table = new PdfPTable(5);
-            table.setWidthPercentage(100);
-            table.setWidths(new float[]{2.5f, 3f, 2.5f, 2f, 2f});
-            
-            addTableHeader(table, new String[]{"Nome", "Email", "Vaga", "Status", "Data Aplicação"});
-            
-            for (CandidateDTO cand : candidates) {
-                table.addCell(createCell(cand.getName()));
-                table.addCell(createCell(cand.getEmail()));
-                table.addCell(createCell(cand.getJobPositionTitle() != null ? cand.getJobPositionTitle() : "-"));
-                table.addCell(createCell(getCandidateStatusLabel(cand.getStatus().name())));
-                table.addCell(createCell(cand.getApplicationDate() != null ? 
-                        cand.getApplicationDate().toLocalDate().format(DATE_FORMAT) : "-"));
+            Sheet sheet = workbook.createSheet(definition.getSheetName());
+            CellStyle headerStyle = createHeaderStyle(workbook);
+
+            // Larguras iniciais pelo cabeçalho, ajustadas por amostragem das primeiras linhas
+            int[] widths = new int[columns.size()];
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < columns.size(); i++) {
+                Cell cell = headerRow.createCell(i);
+                cell.setCellValue(columns.get(i).header());
+                cell.setCellStyle(headerStyle);
+                widths[i] = columns.get(i).header().length();
             }
-            
-            document.add(table);
-            addFooter(document, candidates.size());
-            
-        } catch (DocumentException e) {
-            throw new RuntimeException("Erro ao gerar PDF", e);
+
+            int[] rowNum = {1};
+            source.accept(item -> {
+                Row row = sheet.createRow(rowNum[0]);
+                boolean sample = rowNum[0]++ <= WIDTH_SAMPLE_ROWS;
+
+                for (int i = 0; i < columns.size(); i++) {
+                    Object value = columns.get(i).value(item);
+                    Cell cell = row.createCell(i);
+                    if (value instanceof Number number) {
+                        cell.setCellValue(number.doubleValue());
+                    } else {
+                        String text = ReportColumn.format(value);
+                        cell.setCellValue(text != null ? text : "");
+                        if (sample && text != null && text.length() > widths[i]) {
+                            widths[i] = text.length();
+                        }
+                    }
+                }
+            });
+
+            for (int i = 0; i < columns.size(); i++) {
+                sheet.setColumnWidth(i, (Math.min(widths[i], MAX_COLUMN_CHARS) + 2) * 256);
+            }
+
+            workbook.write(out);
         } finally {
-            document.close();
+            workbook.dispose();
+            workbook.close();
         }
-        
-        return out.toByteArray();
     }
 
-    public byte[] exportVacationsToPdf() {
-        List<VacationRequestDTO> vacations = vacationRequestService.findAll();
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        Document document = new Document(PageSize.A4.rotate());
-        
+    /**
+     * Escreve cada linha do cursor assim que é lida, sem montar lista intermediária.
+     * As colunas são as mesmas da planilha, com valores brutos (datas ISO, enums pelo nome).
+     */
+    private <E, T> void writeData(OutputStream out, DataFormat format, ReportDefinition<T> definition,
+                                  Stream<E> cursor, Function<E, T> mapper) throws IOException {
+        List<ReportColumn<T>> columns = definition.getExcelColumns();
         try {
-            PdfWriter.getInstance(document, out);
-            document.open();
-            
-            addHeader(document, "Relatório de Férias e Ausências");
-            addDate(document);
-            
-            PdfPTable table = new PdfPTable(6);
-            table.setWidthPercentage(100);
-            table.setWidths(new float[]{2.5f, 2f, 2f, 2f, 1.5f, 1.5f});
-            
-            addTableHeader(table, new String[]{"Funcionário", "Tipo", "Início", "Fim", "Dias", "Status"});
-            
-            for (VacationRequestDTO vac : vacations) {
-                table.addCell(createCell(vac.getEmployeeName()));
-                table.addCell(createCell(getVacationTypeLabel(vac.getType().name())));
-                table.addCell(createCell(vac.getStartDate().format(DATE_FORMAT)));
-                table.addCell(createCell(vac.getEndDate().format(DATE_FORMAT)));
-                table.addCell(createCell(String.valueOf(vac.getDays())));
-                table.addCell(createCell(getVacationStatusLabel(vac.getStatus().name())));
+            if (format == DataFormat.CSV) {
+                writeCsv(out, columns, cursor, mapper);
+            } else {
+                writeNdjson(out, columns, cursor, mapper);
             }
-            
-            document.add(table);
-            addFooter(document, vacations.size());
-            
-        } catch (DocumentException e) {
-            throw new RuntimeException("Erro ao gerar PDF", e);
-        } finally {
-            document.close();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        
-        return out.toByteArray();
     }
 
-    // ==================== EXCEL EXPORTS ====================
+    private <E, T> void writeCsv(OutputStream out, List<ReportColumn<T>> columns,
+                                 Stream<E> cursor, Function<E, T> mapper) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
 
-    public byte[] exportEmployeesToExcel() throws IOException {
-        List<EmployeeDTO> employees = employeeService.findAll();
-        
-        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            Sheet sheet = workbook.createSheet("Funcionários");
-            
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            
-            org.apache.poi.ss.usermodel.Row headerRow = sheet.createRow(0);
-            String[] headers = {"ID", "Nome", "Email", "Cargo", "Departamento", "Data Admissão", "Telefone", "Status"};
-            for (int i = 0; i < headers.length; i++) {
-                org.apache.poi.ss.usermodel.Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-            
-            int rowNum = 1;
-            for (EmployeeDTO emp : employees) {
-                org.apache.poi.ss.usermodel.Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(emp.getId());
-                row.createCell(1).setCellValue(emp.getName());
-                row.createCell(2).setCellValue(emp.getEmail());
-                row.createCell(3).setCellValue(emp.getPosition());
-                row.createCell(4).setCellValue(emp.getDepartmentName() != null ? emp.getDepartmentName() : "");
-                row.createCell(5).setCellValue(emp.getHireDate() != null ? emp.getHireDate().format(DATE_FORMAT) : "");
-                row.createCell(6).setCellValue(emp.getPhone() != null ? emp.getPhone() : "");
-                row.createCell(7).setCellValue(getStatusLabel(emp.getStatus().name()));
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
             }
-            
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+            writer.write(columns.get(i).key());
+        }
+        writer.write("\r\n");
+
+        batchReader.forEach(cursor, entity -> {
+            T row = mapper.apply(entity);
+            try {
+                for (int i = 0; i < columns.size(); i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writeCsvField(writer, ReportColumn.raw(columns.get(i).value(row)));
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-            
-            workbook.write(out);
-            return out.toByteArray();
+        });
+
+        writer.flush();
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        // RFC 4180: aspas apenas quando o campo contém separador, aspas ou quebra de linha
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
         }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
     }
 
-    public byte[] exportCandidatesToExcel() throws IOException {
-        List<CandidateDTO> candidates = candidateService.findAll();
-        
-        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            Sheet sheet = workbook.createSheet("Candidatos");
-            
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            
-            org.apache.poi.ss.usermodel.Row headerRow = sheet.createRow(0);
-            String[] headers = {"ID", "Nome", "Email", "Telefone", "Vaga", "Status", "LinkedIn", "Data Aplicação"};
-            for (int i = 0; i < headers.length; i++) {
-                org.apache.poi.ss.usermodel.Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-            
-            int rowNum = 1;
-            for (CandidateDTO cand : candidates) {
-                org.apache.poi.ss.usermodel.Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(cand.getId());
-                row.createCell(1).setCellValue(cand.getName());
-                row.createCell(2).setCellValue(cand.getEmail());
-                row.createCell(3).setCellValue(cand.getPhone() != null ? cand.getPhone() : "");
-                row.createCell(4).setCellValue(cand.getJobPositionTitle() != null ? cand.getJobPositionTitle() : "");
-                row.createCell(5).setCellValue(getCandidateStatusLabel(cand.getStatus().name()));
-                row.createCell(6).setCellValue(cand.getLinkedinUrl() != null ? cand.getLinkedinUrl() : "");
-                row.createCell(7).setCellValue(cand.getApplicationDate() != null ? 
-                        cand.getApplicationDate().toLocalDate().format(DATE_FORMAT) : "");
-            }
-            
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            workbook.write(out);
-            return out.toByteArray();
+    private <E, T> void writeNdjson(OutputStream out, List<ReportColumn<T>> columns,
+                                    Stream<E> cursor, Function<E, T> mapper) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            batchReader.forEach(cursor, entity -> {
+                T row = mapper.apply(entity);
+                try {
+                    generator.writeStartObject();
+                    for (ReportColumn<T> column : columns) {
+                        Object value = column.value(row);
+                        generator.writeFieldName(column.key());
+                        if (value instanceof Number || value instanceof Boolean) {
+                            generator.writeObject(value);
+                        } else {
+                            generator.writeString(ReportColumn.raw(value));
+                        }
+                    }
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
         }
     }
 
+    private LocalDateTime sinceOrEpoch(LocalDateTime since) {
+        return since != null ? since : EPOCH;
+    }
+
     // ==================== HELPER METHODS ====================
 
     private void addHeader(Document document, String title) throws DocumentException {
-        Font titleFont = new Font(Font.HELVETICA, 18, Font.BOLD, new Color(124, 58, 237));
-        Paragraph header = new Paragraph(title, titleFont);
+        Paragraph header = new Paragraph(title, TITLE_FONT);
         header.setAlignment(Element.ALIGN_CENTER);
         header.setSpacingAfter(10);
         document.add(header);
-        
-        Font subtitleFont = new Font(Font.HELVETICA, 10, Font.NORMAL, Color.GRAY);
-        Paragraph subtitle = new Paragraph("TalentFlow - Sistema de Gestão de Talentos", subtitleFont);
+
+        Paragraph subtitle = new Paragraph("TalentFlow - Sistema de Gestão de Talentos", SUBTITLE_FONT);
         subtitle.setAlignment(Element.ALIGN_CENTER);
         subtitle.setSpacingAfter(20);
         document.add(subtitle);
     }
 
     private void addDate(Document document) throws DocumentException {
-        Font dateFont = new Font(Font.HELVETICA, 9, Font.ITALIC, Color.GRAY);
-        Paragraph date = new Paragraph("Gerado em: " + LocalDate.now().format(DATE_FORMAT), dateFont);
+        Paragraph date = new Paragraph("Gerado em: " + LocalDate.now().format(ReportColumn.DATE_FORMAT), DATE_FONT);
         date.setAlignment(Element.ALIGN_RIGHT);
         date.setSpacingAfter(15);
         document.add(date);
     }
 
-    private void addTableHeader(PdfPTable table, String[] headers) {
-        Font headerFont = new Font(Font.HELVETICA, 10, Font.BOLD, Color.WHITE);
-        for (String header : headers) {
-            PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
-            cell.setBackgroundColor(new Color(124, 58, 237));
+    private <T> void addTableHeader(PdfPTable table, List<ReportColumn<T>> columns) {
+        for (ReportColumn<T> column : columns) {
+            PdfPCell cell = new PdfPCell(new Phrase(column.header(), HEADER_FONT));
+            cell.setBackgroundColor(PRIMARY_COLOR);
             cell.setHorizontalAlignment(Element.ALIGN_CENTER);
             cell.setPadding(8);
             table.addCell(cell);
         }
     }
 
-    private PdfPCell createCell(String text) {
-        Font cellFont = new Font(Font.HELVETICA, 9, Font.NORMAL, Color.DARK_GRAY);
-        PdfPCell cell = new PdfPCell(new Phrase(text, cellFont));
+    PdfPCell createCell(String text) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, CELL_FONT));
         cell.setPadding(6);
         cell.setHorizontalAlignment(Element.ALIGN_LEFT);
         return cell;
     }
 
     private void addFooter(Document document, int totalRecords) throws DocumentException {
-        Font footerFont = new Font(Font.HELVETICA, 9, Font.ITALIC, Color.GRAY);
-        Paragraph footer = new Paragraph("\nTotal de registros: " + totalRecords, footerFont);
+        Paragraph footer = new Paragraph("\nTotal de registros: " + totalRecords, FOOTER_FONT);
         footer.setSpacingBefore(15);
         document.add(footer);
     }
@@ -302,46 +426,4 @@ public class ReportExportService {
         style.setAlignment(HorizontalAlignment.CENTER);
         return style;
     }
-
-    private String getStatusLabel(String status) {
-        return switch (status) {
-            case "ACTIVE" -> "Ativo";
-            case "ON_LEAVE" -> "Afastado";
-            case "TERMINATED" -> "Desligado";
-            default -> status;
-        };
-    }
-
-    private String getCandidateStatusLabel(String status) {
-        return switch (status) {
-            case "NEW" -> "Novo";
-            case "SCREENING" -> "Triagem";
-            case "INTERVIEW" -> "Entrevista";
-            case "HIRED" -> "Contratado";
-            case "REJECTED" -> "Rejeitado";
-            default -> status;
-        };
-    }
-
-    private String getVacationTypeLabel(String type) {
-        return switch (type) {
-            case "VACATION" -> "Férias";
-            case "SICK_LEAVE" -> "Licença Médica";
-            case "PERSONAL" -> "Pessoal";
-            case "MATERNITY" -> "Maternidade";
-            case "PATERNITY" -> "Paternidade";
-            default -> type;
-        };
-    }
-
-    private String getVacationStatusLabel(String status) {
-        return switch (status) {
-            case "PENDING" -> "Pendente";
-            case "APPROVED" -> "Aprovada";
-            case "REJECTED" -> "Rejeitada";
-            case "CANCELLED" -> "Cancelada";
-            default -> status;
-        };
-    }
 }
-
@@ -0,0 +1,328 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.ReportJobDTO;
+import com.talentflow.api.entity.Notification;
+import com.talentflow.api.entity.ReportJob;
+import com.talentflow.api.entity.Role;
+import com.talentflow.api.entity.User;
+import com.talentflow.api.exception.BusinessException;
+import com.talentflow.api.exception.ResourceNotFoundException;
+import com.talentflow.api.repository.ReportJobRepository;
+import com.talentflow.api.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobService {
+
+    private final ReportJobRepository reportJobRepository;
+    private final UserRepository userRepository;
+    private final ReportExportService reportExportService;
+    private final NotificationService notificationService;
+
+    @Value("${app.reports.dir:reports}")
+    private String reportsDir;
+
+    @Value("${app.reports.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${app.reports.max-concurrent-jobs:4}")
+    private int maxConcurrentJobs;
+
+    @Value("${app.reports.max-jobs-per-user:2}")
+    private int maxJobsPerUser;
+
+    @Value("${app.reports.queue-capacity:50}")
+    private int queueCapacity;
+
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final EnumSet<ReportJob.JobStatus> ACTIVE_STATUSES =
+            EnumSet.of(ReportJob.JobStatus.QUEUED, ReportJob.JobStatus.RUNNING);
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void startExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void failInterruptedJobs() {
+        int count = reportJobRepository.failUnfinished("Processamento interrompido por reinício do servidor");
+        if (count > 0) {
+            log.warn("{} relatório(s) interrompido(s) marcados como falha", count);
+        }
+    }
+
+    @Transactional
+    public ReportJobDTO submit(ReportJob.ReportType type, ReportJob.ReportFormat format) {
+        User user = getCurrentUser();
+        if (user == null) {
+            throw new BusinessException("Usuário não autenticado");
+        }
+        // Mesmas permissões da exportação direta
+        boolean allowed = user.getRole() == Role.ADMIN || user.getRole() == Role.HR
+                || (type == ReportJob.ReportType.VACATIONS && user.getRole() == Role.MANAGER);
+        if (!allowed) {
+            throw new BusinessException("Relatório disponível apenas para administradores e RH");
+        }
+
+        // Reaproveita um relatório idêntico do mesmo usuário em andamento ou ainda válido em disco
+        List<ReportJob> reusable = reportJobRepository.findReusable(user.getId(), type, format, LocalDateTime.now());
+        if (!reusable.isEmpty()) {
+            return ReportJobDTO.fromEntity(reusable.get(0));
+        }
+
+        if (reportJobRepository.countByUserAndStatusIn(user.getId(), ACTIVE_STATUSES) >= maxJobsPerUser) {
+            throw new BusinessException("Limite de relatórios em processamento atingido. Aguarde a conclusão dos anteriores.");
+        }
+
+        ReportJob job = ReportJob.builder()
+                .type(type)
+                .format(format)
+                .status(ReportJob.JobStatus.QUEUED)
+                .requestedBy(userRepository.getReferenceById(user.getId()))
+                .build();
+        job = reportJobRepository.save(job);
+
+        Long jobId = job.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(jobId);
+            }
+        });
+
+        return ReportJobDTO.fromEntity(job);
+    }
+
+    public ReportJobDTO findById(Long id) {
+        return ReportJobDTO.fromEntity(getOwnJob(id));
+    }
+
+    public List<ReportJobDTO> findMine() {
+        User user = getCurrentUser();
+        if (user == null) {
+            return List.of();
+        }
+        return reportJobRepository.findByRequestedByIdOrderByCreatedAtDesc(user.getId()).stream()
+                .map(ReportJobDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    public Path getFile(Long id) {
+        ReportJob job = getOwnJob(id);
+        if (job.getStatus() != ReportJob.JobStatus.COMPLETED) {
+            throw new BusinessException("Relatório ainda não está disponível para download");
+        }
+
+        Path file = Paths.get(job.getFilePath());
+        if (!Files.exists(file)) {
+            throw new ResourceNotFoundException("Arquivo do relatório não encontrado");
+        }
+        return file;
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.cleanup-interval:300000}")
+    @Transactional
+    public void deleteExpiredFiles() {
+        for (ReportJob job : reportJobRepository.findExpired(LocalDateTime.now())) {
+            try {
+                if (job.getFilePath() != null) {
+                    Files.deleteIfExists(Paths.get(job.getFilePath()));
+                }
+                job.setStatus(ReportJob.JobStatus.EXPIRED);
+                reportJobRepository.save(job);
+            } catch (IOException e) {
+                log.error("Falha ao remover relatório expirado {}", job.getFilePath(), e);
+            }
+        }
+    }
+
+    private void enqueue(Long jobId) {
+        try {
+            executor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            markFailed(jobId, "Fila de relatórios cheia. Tente novamente em alguns minutos.");
+        }
+    }
+
+    private void run(Long jobId) {
+        ReportJob job = getJob(jobId);
+        job.setStatus(ReportJob.JobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job = reportJobRepository.save(job);
+
+        Path target = null;
+        Path partial = null;
+        try {
+            Path dir = Paths.get(reportsDir);
+            Files.createDirectories(dir);
+
+            String fileName = buildFileName(job);
+            target = dir.resolve(job.getId() + "_" + fileName);
+            partial = dir.resolve(job.getId() + "_" + fileName + ".part");
+
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                render(job, out);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            job.setStatus(ReportJob.JobStatus.COMPLETED);
+            job.setFileName(fileName);
+            job.setFilePath(target.toString());
+            job.setFileSize(Files.size(target));
+            job.setCompletedAt(LocalDateTime.now());
+            job.setExpiresAt(job.getCompletedAt().plusMinutes(ttlMinutes));
+            job = reportJobRepository.save(job);
+
+            notifyReady(job);
+        } catch (Exception e) {
+            log.error("Falha ao gerar relatório {}", jobId, e);
+            deleteQuietly(partial);
+            deleteQuietly(target);
+            markFailed(jobId, "Erro ao gerar relatório");
+        }
+    }
+
+    private void render(ReportJob job, OutputStream out) throws IOException {
+        switch (job.getType()) {
+            case EMPLOYEES -> {
+                if (job.getFormat() == ReportJob.ReportFormat.PDF) {
+                    reportExportService.exportEmployeesToPdf(out);
+                } else {
+                    reportExportService.exportEmployeesToExcel(out);
+                }
+            }
+            case CANDIDATES -> {
+                if (job.getFormat() == ReportJob.ReportFormat.PDF) {
+                    reportExportService.exportCandidatesToPdf(out);
+                } else {
+                    reportExportService.exportCandidatesToExcel(out);
+                }
+            }
+            case VACATIONS -> {
+                if (job.getFormat() == ReportJob.ReportFormat.PDF) {
+                    reportExportService.exportVacationsToPdf(out);
+                } else {
+                    reportExportService.exportVacationsToExcel(out);
+                }
+            }
+        }
+    }
+
+    private void notifyReady(ReportJob job) {
+        if (job.getRequestedBy() == null) {
+            return;
+        }
+        try {
+            notificationService.create(job.getRequestedBy().getId(), "Relatório Disponível",
+                    "O relatório " + job.getFileName() + " está pronto para download.",
+                    Notification.NotificationType.REPORT_READY,
+                    Notification.NotificationPriority.NORMAL,
+                    "ReportJob", job.getId(), "/dashboard/reports", false);
+        } catch (Exception e) {
+            log.warn("Não foi possível notificar a conclusão do relatório {}", job.getId(), e);
+        }
+    }
+
+    private void markFailed(Long jobId, String message) {
+        reportJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ReportJob.JobStatus.FAILED);
+            job.setErrorMessage(message);
+            job.setCompletedAt(LocalDateTime.now());
+            reportJobRepository.save(job);
+        });
+    }
+
+    private String buildFileName(ReportJob job) {
+        String prefix = switch (job.getType()) {
+            case EMPLOYEES -> "funcionarios";
+            case CANDIDATES -> "candidatos";
+            case VACATIONS -> "ferias";
+        };
+        String extension = job.getFormat() == ReportJob.ReportFormat.PDF ? ".pdf" : ".xlsx";
+        return prefix + "_" + LocalDate.now().format(FILE_DATE_FORMAT) + extension;
+    }
+
+    private ReportJob getJob(Long id) {
+        return reportJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Relatório não encontrado"));
+    }
+
+    /**
+     * Relatório do usuário autenticado; o de outro usuário responde como inexistente.
+     */
+    private ReportJob getOwnJob(Long id) {
+        ReportJob job = getJob(id);
+        User user = getCurrentUser();
+        if (user == null || job.getRequestedBy() == null || !user.getId().equals(job.getRequestedBy().getId())) {
+            throw new ResourceNotFoundException("Relatório não encontrado");
+        }
+        return job;
+    }
+
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof User user) {
+            return user;
+        }
+        return null;
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover {}", path, e);
+        }
+    }
+}
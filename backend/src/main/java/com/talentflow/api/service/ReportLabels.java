@@ -0,0 +1,64 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.entity.Candidate;
+import com.talentflow.api.entity.Employee;
+import com.talentflow.api.entity.VacationRequest;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rótulos em português dos enums exibidos nos relatórios, resolvidos por tabela
+ * (mesmos textos usados no frontend).
+ */
+public final class ReportLabels {
+
+    private static final Map<Class<?>, Map<? extends Enum<?>, String>> LABELS = new HashMap<>();
+
+    static {
+        Map<Employee.EmployeeStatus, String> employeeStatus = new EnumMap<>(Employee.EmployeeStatus.class);
+        employeeStatus.put(Employee.EmployeeStatus.ACTIVE, "Ativo");
+        employeeStatus.put(Employee.EmployeeStatus.ON_LEAVE, "Afastado");
+        employeeStatus.put(Employee.EmployeeStatus.TERMINATED, "Desligado");
+        LABELS.put(Employee.EmployeeStatus.class, employeeStatus);
+
+        Map<Candidate.CandidateStatus, String> candidateStatus = new EnumMap<>(Candidate.CandidateStatus.class);
+        candidateStatus.put(Candidate.CandidateStatus.APPLIED, "Novo");
+        candidateStatus.put(Candidate.CandidateStatus.SCREENING, "Triagem");
+        candidateStatus.put(Candidate.CandidateStatus.INTERVIEW_SCHEDULED, "Entrevista Agendada");
+        candidateStatus.put(Candidate.CandidateStatus.INTERVIEWED, "Entrevistado");
+        candidateStatus.put(Candidate.CandidateStatus.OFFER_SENT, "Oferta Enviada");
+        candidateStatus.put(Candidate.CandidateStatus.HIRED, "Contratado");
+        candidateStatus.put(Candidate.CandidateStatus.REJECTED, "Rejeitado");
+        candidateStatus.put(Candidate.CandidateStatus.WITHDRAWN, "Desistiu");
+        LABELS.put(Candidate.CandidateStatus.class, candidateStatus);
+
+        Map<VacationRequest.VacationType, String> vacationType = new EnumMap<>(VacationRequest.VacationType.class);
+        vacationType.put(VacationRequest.VacationType.VACATION, "Férias");
+        vacationType.put(VacationRequest.VacationType.SICK_LEAVE, "Licença Médica");
+        vacationType.put(VacationRequest.VacationType.PERSONAL, "Pessoal");
+        vacationType.put(VacationRequest.VacationType.MATERNITY, "Maternidade");
+        vacationType.put(VacationRequest.VacationType.PATERNITY, "Paternidade");
+        LABELS.put(VacationRequest.VacationType.class, vacationType);
+
+        Map<VacationRequest.VacationStatus, String> vacationStatus = new EnumMap<>(VacationRequest.VacationStatus.class);
+        vacationStatus.put(VacationRequest.VacationStatus.PENDING, "Pendente");
+        vacationStatus.put(VacationRequest.VacationStatus.APPROVED, "Aprovada");
+        vacationStatus.put(VacationRequest.VacationStatus.REJECTED, "Rejeitada");
+        vacationStatus.put(VacationRequest.VacationStatus.CANCELLED, "Cancelada");
+        LABELS.put(VacationRequest.VacationStatus.class, vacationStatus);
+    }
+
+    private ReportLabels() {
+    }
+
+    public static String of(Enum<?> value) {
+        if (value == null) {
+            return null;
+        }
+        Map<? extends Enum<?>, String> labels = LABELS.get(value.getDeclaringClass());
+        String label = labels != null ? labels.get(value) : null;
+        return label != null ? label : value.name();
+    }
+}
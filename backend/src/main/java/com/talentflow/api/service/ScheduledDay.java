@@ -0,0 +1,137 @@
+package com.talentflow.api.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Jornada de um funcionário em um dia, resolvida da escala: turno (entrada, saída, intervalo) ou
+ * folga. Concentra o cálculo de atraso, saída antecipada, horas trabalhadas e extras; horários
+ * são comparados em minutos a partir da entrada do turno, então turnos noturnos que passam da
+ * meia-noite não exigem tratamento à parte.
+ */
+public record ScheduledDay(Long shiftId, String shiftName, LocalTime start, LocalTime end, int breakMinutes,
+                           boolean dayOff) {
+
+    private static final int DAY_SECONDS = 24 * 60 * 60;
+    // Chegadas até 6h antes da entrada contam como antecipadas, não como atraso do dia anterior
+    private static final int EARLY_ARRIVAL_WINDOW = 6 * 60 * 60;
+    // Marcações até 6h depois da saída de um turno noturno ainda contam nele
+    private static final int LATE_DEPARTURE_WINDOW = 6 * 60 * 60;
+
+    /**
+     * Jornada padrão (9h às 18h com 1h de intervalo) de quem não tem escala atribuída.
+     */
+    public static final ScheduledDay STANDARD =
+            new ScheduledDay(null, "Padrão", LocalTime.of(9, 0), LocalTime.of(18, 0), 60, false);
+
+    public static ScheduledDay off(String scheduleName) {
+        return new ScheduledDay(null, scheduleName, null, null, 0, true);
+    }
+
+    public boolean crossesMidnight() {
+        return !dayOff && !end.isAfter(start);
+    }
+
+    public int shiftMinutes() {
+        return dayOff ? 0 : secondsBetween(start, end) / 60;
+    }
+
+    /**
+     * Jornada esperada: duração do turno menos o intervalo; zero na folga.
+     */
+    public int expectedMinutes() {
+        return dayOff ? 0 : Math.max(0, shiftMinutes() - breakMinutes);
+    }
+
+    public int lateMinutes(LocalTime clockIn) {
+        if (dayOff || clockIn == null) {
+            return 0;
+        }
+        int offset = secondsBetween(start, clockIn);
+        return offset > DAY_SECONDS - EARLY_ARRIVAL_WINDOW ? 0 : offset / 60;
+    }
+
+    public int earlyDepartureMinutes(LocalTime clockOut) {
+        if (dayOff || clockOut == null) {
+            return 0;
+        }
+        return Math.max(0, secondsBetween(start, end) - secondsBetween(start, clockOut)) / 60;
+    }
+
+    /**
+     * Horas extras: o que passa da jornada esperada; na folga, todo o trabalho do dia.
+     */
+    public int overtimeMinutes(int workedMinutes) {
+        return Math.max(0, workedMinutes - expectedMinutes());
+    }
+
+    /**
+     * Se uma marcação feita no dia seguinte pertence a esta jornada: só em turnos que passam da
+     * meia-noite, até a janela depois da saída, e quando está mais perto da saída deste turno que
+     * da entrada da jornada seguinte.
+     */
+    public boolean ownsNextDayPunch(LocalTime time, ScheduledDay next) {
+        if (!crossesMidnight()) {
+            return false;
+        }
+        int afterEnd = time.toSecondOfDay() - end.toSecondOfDay();
+        if (afterEnd > LATE_DEPARTURE_WINDOW) {
+            return false;
+        }
+        return next.dayOff || Math.max(0, afterEnd) < Math.max(0, next.start.toSecondOfDay() - time.toSecondOfDay());
+    }
+
+    /**
+     * Quando a jornada do dia se encerra para a verificação de ocorrências: a saída do turno (no dia
+     * seguinte, se passa da meia-noite) mais a janela de marcações tardias; na folga, o fim do dia.
+     */
+    public LocalDateTime closesAt(LocalDate date) {
+        if (dayOff) {
+            return date.plusDays(1).atStartOfDay();
+        }
+        LocalDateTime shiftEnd = crossesMidnight() ? date.plusDays(1).atTime(end) : date.atTime(end);
+        return shiftEnd.plusSeconds(LATE_DEPARTURE_WINDOW);
+    }
+
+    /**
+     * Posição da marcação na jornada, para ordenar: em turnos que passam da meia-noite, as
+     * marcações da madrugada vêm depois das da véspera.
+     */
+    public int punchOrder(LocalTime time) {
+        int seconds = time.toSecondOfDay();
+        return crossesMidnight() && seconds <= end.toSecondOfDay() + LATE_DEPARTURE_WINDOW ? seconds + DAY_SECONDS : seconds;
+    }
+
+    /**
+     * Minutos entre entrada e saída menos o almoço registrado; saídas depois da meia-noite contam
+     * no mesmo dia de trabalho.
+     */
+    public static int workedMinutes(LocalTime clockIn, LocalTime lunchOut, LocalTime lunchIn, LocalTime clockOut) {
+        if (clockIn == null || clockOut == null) {
+            return 0;
+        }
+
+        int totalMinutes = secondsBetween(clockIn, clockOut) / 60;
+
+        // Subtrair tempo de almoço se houver
+        if (lunchOut != null && lunchIn != null) {
+            totalMinutes -= secondsBetween(lunchOut, lunchIn) / 60;
+        }
+
+        return Math.max(0, totalMinutes);
+    }
+
+    /**
+     * Minutos de from até to; to anterior a from conta no dia seguinte.
+     */
+    public static int minutesBetween(LocalTime from, LocalTime to) {
+        return secondsBetween(from, to) / 60;
+    }
+
+    // Segundos de from até to, avançando para o dia seguinte quando to é anterior
+    private static int secondsBetween(LocalTime from, LocalTime to) {
+        int seconds = to.toSecondOfDay() - from.toSecondOfDay();
+        return seconds < 0 ? seconds + DAY_SECONDS : seconds;
+    }
+}
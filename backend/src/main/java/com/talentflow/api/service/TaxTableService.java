@@ -0,0 +1,159 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.TaxTableDTO;
+import com.talentflow.api.entity.TaxBracket;
+import com.talentflow.api.entity.TaxTable;
+import com.talentflow.api.exception.BusinessException;
+import com.talentflow.api.exception.ResourceNotFoundException;
+import com.talentflow.api.repository.TaxTableRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Tabelas de INSS e IRRF versionadas por data de vigência. As tabelas são compiladas uma vez
+ * ({@link CompiledTaxTable}) e mantidas em memória; a versão aplicada a uma competência é a de
+ * maior vigência até o primeiro dia do mês.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaxTableService {
+
+    private final TaxTableRepository taxTableRepository;
+
+    private volatile Map<TaxTable.TaxType, Versions> compiled;
+
+    /**
+     * Versões de um tipo de imposto ordenadas por vigência.
+     */
+    private record Versions(long[] validFromDays, CompiledTaxTable[] tables) {
+
+        CompiledTaxTable resolve(LocalDate date) {
+            long day = date.toEpochDay();
+            int low = 0;
+            int high = validFromDays.length - 1;
+            int found = 0; // competências anteriores à primeira versão usam a mais antiga
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (validFromDays[mid] <= day) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return tables[found];
+        }
+    }
+
+    public CompiledTaxTable resolve(TaxTable.TaxType type, LocalDate date) {
+        Versions versions = getCompiled().get(type);
+        if (versions == null) {
+            throw new BusinessException("Nenhuma tabela de " + type + " cadastrada");
+        }
+        return versions.resolve(date);
+    }
+
+    public CompiledTaxTable resolve(TaxTable.TaxType type, Integer year, Integer month) {
+        return resolve(type, LocalDate.of(year, month, 1));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaxTableDTO> findAll() {
+        return taxTableRepository.findAllWithBrackets().stream()
+                .map(TaxTableDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public TaxTableDTO findById(Long id) {
+        return TaxTableDTO.fromEntity(taxTableRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Tabela de imposto não encontrada")));
+    }
+
+    @Transactional
+    public TaxTableDTO create(TaxTableDTO dto) {
+        if (dto.getType() == null || dto.getValidFrom() == null || dto.getMode() == null) {
+            throw new BusinessException("Tipo, vigência e modo de cálculo são obrigatórios");
+        }
+        if (dto.getBrackets() == null || dto.getBrackets().isEmpty()) {
+            throw new BusinessException("Informe ao menos uma faixa");
+        }
+        if (taxTableRepository.existsByTypeAndValidFrom(dto.getType(), dto.getValidFrom())) {
+            throw new BusinessException("Já existe uma tabela de " + dto.getType() + " com esta vigência");
+        }
+
+        TaxTable table = TaxTable.builder()
+                .type(dto.getType())
+                .validFrom(dto.getValidFrom())
+                .mode(dto.getMode())
+                .ceilingValue(dto.getCeilingValue())
+                .description(dto.getDescription())
+                .build();
+        for (TaxTableDTO.BracketDTO bracket : dto.getBrackets()) {
+            if (bracket.getRate() == null) {
+                throw new BusinessException("Alíquota da faixa é obrigatória");
+            }
+            table.getBrackets().add(TaxBracket.builder()
+                    .table(table)
+                    .upperLimit(bracket.getUpperLimit())
+                    .rate(bracket.getRate())
+                    .deduction(bracket.getDeduction())
+                    .build());
+        }
+
+        // Valida faixas e alíquotas antes de gravar
+        CompiledTaxTable.compile(table);
+
+        table = taxTableRepository.save(table);
+        invalidateAfterCommit();
+        return TaxTableDTO.fromEntity(table);
+    }
+
+    private Map<TaxTable.TaxType, Versions> getCompiled() {
+        Map<TaxTable.TaxType, Versions> current = compiled;
+        if (current == null) {
+            synchronized (this) {
+                current = compiled;
+                if (current == null) {
+                    current = load();
+                    compiled = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Map<TaxTable.TaxType, Versions> load() {
+        Map<TaxTable.TaxType, List<CompiledTaxTable>> byType = new EnumMap<>(TaxTable.TaxType.class);
+        for (TaxTable table : taxTableRepository.findAllWithBrackets()) {
+            byType.computeIfAbsent(table.getType(), type -> new ArrayList<>()).add(CompiledTaxTable.compile(table));
+        }
+
+        Map<TaxTable.TaxType, Versions> result = new EnumMap<>(TaxTable.TaxType.class);
+        byType.forEach((type, tables) -> {
+            // A consulta já ordena por vigência
+            long[] days = tables.stream().mapToLong(t -> t.getValidFrom().toEpochDay()).toArray();
+            result.put(type, new Versions(days, tables.toArray(CompiledTaxTable[]::new)));
+        });
+        return result;
+    }
+
+    private void invalidateAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                compiled = null;
+            }
+        });
+    }
+}
@@ -0,0 +1,341 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.TimeBankBalanceDTO;
+import com.talentflow.api.dto.TimeBankEntryDTO;
+import com.talentflow.api.dto.TimeBankStatementDTO;
+import com.talentflow.api.entity.Employee;
+import com.talentflow.api.entity.TimeBankBalance;
+import com.talentflow.api.entity.TimeBankEntry;
+import com.talentflow.api.entity.TimeRecord;
+import com.talentflow.api.exception.BusinessException;
+import com.talentflow.api.exception.ResourceNotFoundException;
+import com.talentflow.api.repository.EmployeeRepository;
+import com.talentflow.api.repository.TimeBankBalanceRepository;
+import com.talentflow.api.repository.TimeBankEntryRepository;
+import com.talentflow.api.repository.TimeRecordRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Banco de horas: razão de movimentos com saldo corrente por funcionário. A aprovação de um dia
+ * lança as horas extras como crédito e o atraso e a saída antecipada como débito; rejeições e
+ * recálculos lançam a diferença como estorno. Débitos compensam primeiro os créditos que vencem
+ * antes, e o saldo de crédito não compensado no prazo expira no job noturno.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimeBankService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final TimeBankEntryRepository entryRepository;
+    private final TimeBankBalanceRepository balanceRepository;
+    private final TimeRecordRepository timeRecordRepository;
+    private final EmployeeRepository employeeRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final BatchReader batchReader;
+
+    // Prazo de compensação do acordo (art. 59 da CLT: 6 meses no acordo individual, 12 no coletivo)
+    @Value("${app.time.bank.expiry-months:6}")
+    private int expiryMonths;
+
+    private TransactionTemplate transaction;
+    private TransactionTemplate requiresNew;
+
+    /**
+     * O que um registro de ponto deve ter lançado no banco: as horas extras e o atraso mais a saída
+     * antecipada quando aprovado, nada nos demais status.
+     */
+    public record Posting(Long timeRecordId, Long employeeId, LocalDate date, int credit, int debit) {
+
+        public static Posting of(TimeRecord record) {
+            return of(record.getId(), record.getEmployee().getId(), record.getRecordDate(), record.getStatus(),
+                    record.getOvertimeMinutes(), record.getLateMinutes(), record.getEarlyDepartureMinutes());
+        }
+
+        public static Posting of(TimeRecordRepository.PunchTimes record) {
+            return of(record.getId(), record.getEmployeeId(), record.getRecordDate(), record.getStatus(),
+                    record.getOvertimeMinutes(), record.getLateMinutes(), record.getEarlyDepartureMinutes());
+        }
+
+        public static Posting of(Long timeRecordId, Long employeeId, LocalDate date, TimeRecord.RecordStatus status,
+                                 Integer overtime, Integer late, Integer early) {
+            if (status != TimeRecord.RecordStatus.APPROVED) {
+                return new Posting(timeRecordId, employeeId, date, 0, 0);
+            }
+            return new Posting(timeRecordId, employeeId, date, orZero(overtime), orZero(late) + orZero(early));
+        }
+    }
+
+    @PostConstruct
+    void createTransactionTemplate() {
+        transaction = new TransactionTemplate(transactionManager);
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Lança os dias aprovados que ainda não estão no banco (abertura do banco de horas) e aplica as
+     * expirações vencidas. Cada funcionário é lançado em ordem de data numa transação própria; se a
+     * abertura for interrompida, a próxima subida continua pelos funcionários que faltaram.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void openIfEmpty() {
+        long start = System.currentTimeMillis();
+        int[] days = {0};
+        long employees = batchReader.forEach(timeRecordRepository::findEmployeesWithUnpostedApprovedAfter,
+                employeeId -> employeeId,
+                employeeId -> days[0] += transaction.execute(status -> {
+                    List<TimeRecordRepository.PunchTimes> approved =
+                            timeRecordRepository.findApprovedPunchTimesByEmployee(employeeId);
+                    approved.forEach(record -> apply(Posting.of(record)));
+                    return approved.size();
+                }));
+        if (employees == 0) {
+            return;
+        }
+        log.info("Banco de horas aberto com {} dias aprovados de {} funcionários ({} ms)",
+                days[0], employees, System.currentTimeMillis() - start);
+        expire(LocalDate.now());
+    }
+
+    /**
+     * Lança a diferença entre o que o registro deve ter no banco e o que já foi lançado para ele;
+     * sem efeito quando nada mudou, então aprovar de novo não duplica o crédito.
+     */
+    @Transactional
+    public void post(Posting posting) {
+        apply(posting);
+    }
+
+    private void apply(Posting posting) {
+        TimeBankBalance balance = lockBalance(posting.employeeId());
+        TimeBankEntryRepository.Posted posted = entryRepository.sumPostedByRecord(posting.timeRecordId());
+
+        int credit = posting.credit() - posted.getCredit().intValue();
+        int debit = posting.debit() - posted.getDebit().intValue();
+        String day = posting.date().format(DATE_FORMAT);
+        if (credit != 0) {
+            append(balance, posting, credit > 0 ? TimeBankEntry.EntryType.CREDIT : TimeBankEntry.EntryType.CREDIT_REVERSAL,
+                    credit, (credit > 0 ? "Horas extras de " : "Estorno de horas extras de ") + day);
+        }
+        if (debit != 0) {
+            append(balance, posting, debit > 0 ? TimeBankEntry.EntryType.DEBIT : TimeBankEntry.EntryType.DEBIT_REVERSAL,
+                    -debit, (debit > 0 ? "Atraso e saída antecipada de " : "Estorno de atraso e saída antecipada de ") + day);
+        }
+    }
+
+    /**
+     * Movimento no fim do razão. Entradas positivas abrem um crédito (descontada a parte que quita
+     * saldo negativo); saídas compensam os créditos em aberto que vencem primeiro.
+     */
+    private void append(TimeBankBalance balance, Posting posting, TimeBankEntry.EntryType type, int minutes,
+                        String description) {
+        int before = balance.getBalanceMinutes();
+        int remaining = 0;
+        LocalDate expiresAt = null;
+        if (minutes > 0) {
+            remaining = Math.max(0, minutes + Math.min(0, before));
+            expiresAt = posting.date().plusMonths(expiryMonths);
+        } else {
+            consume(balance.getEmployeeId(), -minutes);
+        }
+
+        entryRepository.save(TimeBankEntry.builder()
+                .employeeId(balance.getEmployeeId())
+                .timeRecordId(posting.timeRecordId())
+                .type(type)
+                .referenceDate(posting.date())
+                .minutes(minutes)
+                .balanceAfter(before + minutes)
+                .remainingMinutes(remaining)
+                .expiresAt(expiresAt)
+                .description(description)
+                .build());
+
+        balance.setBalanceMinutes(before + minutes);
+        if (type == TimeBankEntry.EntryType.CREDIT || type == TimeBankEntry.EntryType.CREDIT_REVERSAL) {
+            balance.setCreditedMinutes(balance.getCreditedMinutes() + minutes);
+        } else {
+            balance.setDebitedMinutes(balance.getDebitedMinutes() - minutes);
+        }
+    }
+
+    private void consume(Long employeeId, int minutes) {
+        for (TimeBankEntry credit : entryRepository.findOpenCredits(employeeId)) {
+            if (minutes == 0) {
+                return;
+            }
+            int used = Math.min(minutes, credit.getRemainingMinutes());
+            credit.setRemainingMinutes(credit.getRemainingMinutes() - used);
+            minutes -= used;
+        }
+    }
+
+    /**
+     * Saldo do funcionário com a linha bloqueada até o fim da transação, criado no primeiro movimento.
+     */
+    private TimeBankBalance lockBalance(Long employeeId) {
+        if (balanceRepository.lock(employeeId, LocalDateTime.now()) == 0) {
+            createEmptyBalance(employeeId);
+            balanceRepository.lock(employeeId, LocalDateTime.now());
+        }
+        return balanceRepository.findByEmployeeId(employeeId)
+                .orElseThrow(() -> new IllegalStateException("Saldo do banco de horas não encontrado: " + employeeId));
+    }
+
+    /**
+     * Cria o saldo zerado numa transação própria. Com dois primeiros movimentos concorrentes, o que
+     * perde a chave única só encontra a linha pronta e a bloqueia.
+     */
+    private void createEmptyBalance(Long employeeId) {
+        try {
+            requiresNew.executeWithoutResult(status ->
+                    balanceRepository.saveAndFlush(TimeBankBalance.builder().employeeId(employeeId).build()));
+        } catch (DataIntegrityViolationException e) {
+            // Criado por outra transação entre o UPDATE e o INSERT
+        }
+    }
+
+    @Scheduled(cron = "${app.time.bank.expiry-cron:0 30 0 * * *}")
+    public void expireScheduled() {
+        expire(LocalDate.now());
+    }
+
+    /**
+     * Expira o saldo dos créditos vencidos antes da data, uma transação por funcionário.
+     */
+    public Map<String, Object> expire(LocalDate date) {
+        long start = System.currentTimeMillis();
+        List<Long> employeeIds = entryRepository.findEmployeesWithExpiredCredits(date);
+
+        int credits = 0;
+        long minutes = 0;
+        for (Long employeeId : employeeIds) {
+            int[] expired = transaction.execute(status -> expireEmployee(employeeId, date));
+            credits += expired[0];
+            minutes += expired[1];
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        if (!employeeIds.isEmpty()) {
+            log.info("Banco de horas: {} créditos expirados ({} min) de {} funcionários ({} ms)",
+                    credits, minutes, employeeIds.size(), elapsed);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("date", date);
+        result.put("employees", employeeIds.size());
+        result.put("credits", credits);
+        result.put("minutes", minutes);
+        result.put("elapsedMillis", elapsed);
+        return result;
+    }
+
+    private int[] expireEmployee(Long employeeId, LocalDate date) {
+        TimeBankBalance balance = lockBalance(employeeId);
+        List<TimeBankEntry> credits = entryRepository.findExpiredCredits(employeeId, date);
+
+        int minutes = 0;
+        for (TimeBankEntry credit : credits) {
+            int remaining = credit.getRemainingMinutes();
+            credit.setRemainingMinutes(0);
+            int after = balance.getBalanceMinutes() - remaining;
+            entryRepository.save(TimeBankEntry.builder()
+                    .employeeId(employeeId)
+                    .type(TimeBankEntry.EntryType.EXPIRY)
+                    .referenceDate(credit.getReferenceDate())
+                    .minutes(-remaining)
+                    .balanceAfter(after)
+                    .description("Expiração do crédito de " + credit.getReferenceDate().format(DATE_FORMAT))
+                    .build());
+            balance.setBalanceMinutes(after);
+            balance.setExpiredMinutes(balance.getExpiredMinutes() + remaining);
+            minutes += remaining;
+        }
+        return new int[]{credits.size(), minutes};
+    }
+
+    @Transactional(readOnly = true)
+    public TimeBankBalanceDTO getBalance(Long employeeId) {
+        Employee employee = findEmployee(employeeId);
+        TimeBankBalance balance = balanceRepository.findByEmployeeId(employeeId)
+                .orElseGet(() -> TimeBankBalance.builder().employeeId(employeeId).build());
+        return TimeBankBalanceDTO.builder()
+                .employeeId(employeeId)
+                .employeeName(employee.getUser() != null ? employee.getUser().getName() : null)
+                .balanceMinutes(balance.getBalanceMinutes())
+                .balance(TimeBankEntryDTO.formatBalance(balance.getBalanceMinutes()))
+                .creditedMinutes(balance.getCreditedMinutes())
+                .debitedMinutes(balance.getDebitedMinutes())
+                .expiredMinutes(balance.getExpiredMinutes())
+                .updatedAt(balance.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Extrato dos movimentos lançados no período, com o saldo de abertura tirado do último
+     * movimento anterior.
+     */
+    @Transactional(readOnly = true)
+    public TimeBankStatementDTO getStatement(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new BusinessException("A data final deve ser igual ou posterior à data inicial");
+        }
+        Employee employee = findEmployee(employeeId);
+        LocalDateTime start = startDate.atStartOfDay();
+
+        int opening = entryRepository.findFirstByEmployeeIdAndCreatedAtBeforeOrderByCreatedAtDescIdDesc(employeeId, start)
+                .map(TimeBankEntry::getBalanceAfter)
+                .orElse(0);
+        List<TimeBankEntry> entries = entryRepository.findStatement(employeeId, start, endDate.plusDays(1).atStartOfDay());
+        int closing = entries.isEmpty() ? opening : entries.get(entries.size() - 1).getBalanceAfter();
+        int expiring = entryRepository.findOpenCredits(employeeId).stream()
+                .filter(credit -> !credit.getExpiresAt().isAfter(endDate))
+                .mapToInt(TimeBankEntry::getRemainingMinutes)
+                .sum();
+
+        return TimeBankStatementDTO.builder()
+                .employeeId(employeeId)
+                .employeeName(employee.getUser() != null ? employee.getUser().getName() : null)
+                .startDate(startDate)
+                .endDate(endDate)
+                .openingBalanceMinutes(opening)
+                .closingBalanceMinutes(closing)
+                .closingBalance(TimeBankEntryDTO.formatBalance(closing))
+                .creditedMinutes(entries.stream().mapToInt(TimeBankEntry::getMinutes).filter(m -> m > 0).sum())
+                .debitedMinutes(-entries.stream().mapToInt(TimeBankEntry::getMinutes).filter(m -> m < 0).sum())
+                .expiringMinutes(expiring)
+                .entries(entries.stream().map(TimeBankEntryDTO::fromEntity).collect(Collectors.toList()))
+                .build();
+    }
+
+    private Employee findEmployee(Long employeeId) {
+        return employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Funcionário não encontrado"));
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
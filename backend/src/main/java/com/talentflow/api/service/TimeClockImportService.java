@@ -0,0 +1,499 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.TimeClockImportDTO;
+import com.talentflow.api.entity.TimeClockImport;
+import com.talentflow.api.entity.TimeRecord;
+import com.talentflow.api.entity.User;
+import com.talentflow.api.exception.BusinessException;
+import com.talentflow.api.repository.EmployeeRepository;
+import com.talentflow.api.repository.TimeClockImportRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Importação do AFD dos relógios de ponto (REP). O {@link AfdParser} lê o arquivo mapeado em
+ * memória; cada marcação é ligada ao funcionário por um índice PIS/CPF montado numa consulta e
+ * guardada num long compactado (dia, funcionário, horário), então o arquivo inteiro vira um
+ * array ordenado por dia e funcionário. As marcações de cada dia se juntam às já registradas
+ * (horários repetidos no mesmo minuto contam uma vez) e são gravadas em batch JDBC: inserção
+ * condicionada à ausência do registro e atualização condicionada às marcações lidas. Importar o
+ * mesmo arquivo de novo não muda nada, e o NSR já importado de cada REP é pulado sem ler o banco.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimeClockImportService {
+
+    private final TimeClockImportRepository importRepository;
+    private final EmployeeRepository employeeRepository;
+    private final WorkScheduleService workScheduleService;
+    private final TimeRecordIngestionService timeRecordIngestionService;
+    private final TimeRecordService timeRecordService;
+    private final MonthlyTimesheetService monthlyTimesheetService;
+    private final TimeBankService timeBankService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.time.afd.batch-size:1000}")
+    private int batchSize;
+
+    private static final int SAMPLE_SIZE = 20;
+
+    // Marcação compactada: dia (20 bits) | funcionário (24 bits) | segundo do dia (17 bits)
+    private static final int SECOND_BITS = 17;
+    private static final int EMPLOYEE_BITS = 24;
+    private static final long MAX_EMPLOYEE_ID = (1L << EMPLOYEE_BITS) - 1;
+
+    private static final String INSERT_SQL = "INSERT INTO time_records (employee_id, record_date, clock_in, lunch_out, " +
+            "lunch_in, clock_out, late_minutes, early_departure_minutes, worked_minutes, overtime_minutes, location, " +
+            "type, status, created_at, updated_at) " +
+            "SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'NORMAL', 'PENDING', ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM time_records WHERE employee_id = ? AND record_date = ?)";
+
+    private static final String UPDATE_SQL = "UPDATE time_records SET clock_in = ?, lunch_out = ?, lunch_in = ?, " +
+            "clock_out = ?, late_minutes = ?, early_departure_minutes = ?, worked_minutes = ?, overtime_minutes = ?, " +
+            "updated_at = ? WHERE id = ? AND clock_in IS NOT DISTINCT FROM ? AND lunch_out IS NOT DISTINCT FROM ? " +
+            "AND lunch_in IS NOT DISTINCT FROM ? AND clock_out IS NOT DISTINCT FROM ?";
+
+    // Registros do dia numa faixa contínua de funcionários (o lote vem do array ordenado)
+    private static final String EXISTING_SQL = "SELECT id, employee_id, clock_in, lunch_out, lunch_in, clock_out, " +
+            "late_minutes, early_departure_minutes, worked_minutes, overtime_minutes, status FROM time_records " +
+            "WHERE record_date = ? AND employee_id BETWEEN ? AND ?";
+
+    private TransactionTemplate transaction;
+
+    /**
+     * Registro já gravado do dia, lido por JDBC direto (o lote pode ter milhares).
+     */
+    private record Existing(Long id, Long employeeId, LocalTime clockIn, LocalTime lunchOut, LocalTime lunchIn,
+                            LocalTime clockOut, Integer late, Integer early, Integer worked, Integer overtime,
+                            TimeRecord.RecordStatus status) {
+    }
+
+    /**
+     * Dia de um funcionário depois da junção: as quatro marcações e os minutos calculados da escala.
+     */
+    private record Day(Long employeeId, LocalDate date, LocalTime clockIn, LocalTime lunchOut, LocalTime lunchIn,
+                       LocalTime clockOut, int late, Integer early, Integer worked, Integer overtime) {
+    }
+
+    /**
+     * Totais de uma importação em andamento.
+     */
+    private static class Totals {
+        long days;
+        long inserted;
+        long updated;
+        long unchanged;
+        long conflicts;
+        final Set<YearMonth> months = new TreeSet<>();
+        boolean today;
+    }
+
+    @PostConstruct
+    void createTransactionTemplate() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Importa um AFD enviado; com reprocess, ignora o NSR já importado do REP (ex.: depois de
+     * cadastrar o PIS de funcionários que ficaram de fora).
+     */
+    public synchronized TimeClockImportDTO importAfd(MultipartFile file, boolean reprocess) throws IOException {
+        if (file.isEmpty()) {
+            throw new BusinessException("Arquivo AFD vazio");
+        }
+        Path temp = Files.createTempFile("afd-", ".txt");
+        try {
+            file.transferTo(temp);
+            return importFile(temp, file.getOriginalFilename(), reprocess, getCurrentUserEmail());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private TimeClockImportDTO importFile(Path file, String fileName, boolean reprocess, String importedBy)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        Collector collector = new Collector(workerIndex(false), workerIndex(true), reprocess);
+        AfdParser.Summary summary = new AfdParser(collector).parse(file);
+        long parsed = System.currentTimeMillis();
+
+        // Entradas ainda no diário precisam estar no banco antes da junção
+        timeRecordIngestionService.flush();
+        Totals totals = merge(collector.sorted(), collector.location());
+
+        for (YearMonth period : totals.months) {
+            monthlyTimesheetService.rebuild(period.getYear(), period.getMonthValue());
+        }
+        if (totals.today) {
+            timeRecordService.evictTodayCache();
+            timeRecordIngestionService.resetState();
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        TimeClockImport saved = importRepository.save(TimeClockImport.builder()
+                .repSerial(collector.repSerial)
+                .fileName(fileName)
+                .fileSize(summary.bytes())
+                .lines(summary.lines())
+                .punches(summary.punches())
+                .invalidLines(summary.invalid())
+                .alreadyImported(collector.alreadyImported)
+                .unknownWorkerPunches(collector.unknownPunches)
+                .days(totals.days)
+                .inserted(totals.inserted)
+                .updated(totals.updated)
+                .unchanged(totals.unchanged)
+                .conflicts(totals.conflicts)
+                .lastNsr(collector.lastNsr)
+                .parseMillis(parsed - start)
+                .elapsedMillis(elapsed)
+                .linesPerSecond(summary.lines() * 1000 / Math.max(1, elapsed))
+                .importedBy(importedBy)
+                .build());
+
+        log.info("AFD {} (REP {}) importado: {} linhas, {} marcações, {} dias ({} novos, {} alterados, {} conflitos) " +
+                        "em {} ms ({} linhas/s)", fileName, collector.repSerial, summary.lines(), summary.punches(),
+                totals.days, totals.inserted, totals.updated, totals.conflicts, elapsed, saved.getLinesPerSecond());
+
+        TimeClockImportDTO result = TimeClockImportDTO.fromEntity(saved);
+        result.setUnknownWorkers(new ArrayList<>(collector.unknownSample));
+        result.setInvalidLineNumbers(collector.invalidSample);
+        return result;
+    }
+
+    public List<TimeClockImportDTO> findRecent() {
+        return importRepository.findTop50ByOrderByCreatedAtDesc().stream()
+                .map(TimeClockImportDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    private String getCurrentUserEmail() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof User user) {
+            return user.getEmail();
+        }
+        return null;
+    }
+
+    /**
+     * PIS ou CPF (só dígitos, como número) para o id do funcionário.
+     */
+    private Map<Long, Long> workerIndex(boolean cpf) {
+        Map<Long, Long> index = new HashMap<>();
+        for (EmployeeRepository.TimeClockRef ref : employeeRepository.findTimeClockRefs()) {
+            String value = cpf ? ref.getCpf() : ref.getPis();
+            if (value != null && value.matches("\\d{1,18}")) {
+                index.put(Long.parseLong(value), ref.getId());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Recebe as marcações do parser e as guarda compactadas, já no dia de trabalho: a marcação da
+     * madrugada depois de um turno noturno vai para a véspera.
+     */
+    private class Collector implements AfdParser.Handler {
+
+        private final Map<Long, Long> byPis;
+        private final Map<Long, Long> byCpf;
+        private final boolean reprocess;
+
+        private long[] packed = new long[1024];
+        private int size;
+
+        private String repSerial = "";
+        private long watermark;
+        private long lastNsr;
+        private long alreadyImported;
+        private long unknownPunches;
+        private final Set<String> unknownSample = new LinkedHashSet<>();
+        private final List<Long> invalidSample = new ArrayList<>();
+
+        Collector(Map<Long, Long> byPis, Map<Long, Long> byCpf, boolean reprocess) {
+            this.byPis = byPis;
+            this.byCpf = byCpf;
+            this.reprocess = reprocess;
+        }
+
+        @Override
+        public void header(String serial) {
+            repSerial = serial;
+            Long last = serial.isEmpty() ? null : importRepository.findLastNsr(serial);
+            watermark = last != null && !reprocess ? last : 0;
+            lastNsr = Math.max(lastNsr, last != null ? last : 0);
+        }
+
+        @Override
+        public void punch(long nsr, long epochDay, int secondOfDay, long worker, boolean cpf) {
+            lastNsr = Math.max(lastNsr, nsr);
+            if (nsr <= watermark) {
+                alreadyImported++;
+                return;
+            }
+            Long employeeId = (cpf ? byCpf : byPis).get(worker);
+            if (employeeId == null || employeeId > MAX_EMPLOYEE_ID) {
+                unknownPunches++;
+                if (unknownSample.size() < SAMPLE_SIZE) {
+                    unknownSample.add((cpf ? "CPF " : "PIS ") + String.format("%011d", worker));
+                }
+                return;
+            }
+
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            LocalTime time = LocalTime.ofSecondOfDay(secondOfDay);
+            ScheduledDay previous = workScheduleService.resolve(employeeId, date.minusDays(1));
+            if (previous.crossesMidnight() && previous.ownsNextDayPunch(time, workScheduleService.resolve(employeeId, date))) {
+                epochDay--;
+            }
+
+            if (size == packed.length) {
+                packed = Arrays.copyOf(packed, size * 2);
+            }
+            packed[size++] = epochDay << (EMPLOYEE_BITS + SECOND_BITS) | employeeId << SECOND_BITS | secondOfDay;
+        }
+
+        @Override
+        public void invalid(long lineNumber) {
+            if (invalidSample.size() < SAMPLE_SIZE) {
+                invalidSample.add(lineNumber);
+            }
+        }
+
+        long[] sorted() {
+            long[] result = Arrays.copyOf(packed, size);
+            Arrays.sort(result);
+            return result;
+        }
+
+        String location() {
+            return repSerial.isEmpty() ? "AFD" : "REP " + repSerial;
+        }
+    }
+
+    /**
+     * Percorre o array ordenado agrupando as marcações por dia e funcionário e grava em lotes do
+     * mesmo dia.
+     */
+    private Totals merge(long[] punches, String location) {
+        Totals totals = new Totals();
+        Map<Long, List<LocalTime>> batch = new HashMap<>();
+        long batchDay = -1;
+
+        for (int i = 0; i < punches.length; i++) {
+            long value = punches[i];
+            if (i > 0 && value == punches[i - 1]) {
+                continue;
+            }
+            long epochDay = value >>> (EMPLOYEE_BITS + SECOND_BITS);
+            long employeeId = (value >>> SECOND_BITS) & MAX_EMPLOYEE_ID;
+            int second = (int) (value & ((1L << SECOND_BITS) - 1));
+
+            if (epochDay != batchDay || (batch.size() >= batchSize && !batch.containsKey(employeeId))) {
+                if (!batch.isEmpty()) {
+                    writeBatch(LocalDate.ofEpochDay(batchDay), batch, location, totals);
+                }
+                batch = new HashMap<>();
+                batchDay = epochDay;
+            }
+            batch.computeIfAbsent(employeeId, id -> new ArrayList<>()).add(LocalTime.ofSecondOfDay(second));
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(LocalDate.ofEpochDay(batchDay), batch, location, totals);
+        }
+        return totals;
+    }
+
+    private void writeBatch(LocalDate date, Map<Long, List<LocalTime>> punches, String location, Totals totals) {
+        Map<Long, Existing> existing = new HashMap<>();
+        jdbcTemplate.query(EXISTING_SQL, rs -> {
+            long employeeId = rs.getLong("employee_id");
+            if (punches.containsKey(employeeId)) {
+                existing.put(employeeId, new Existing(rs.getLong("id"), employeeId,
+                        rs.getObject("clock_in", LocalTime.class), rs.getObject("lunch_out", LocalTime.class),
+                        rs.getObject("lunch_in", LocalTime.class), rs.getObject("clock_out", LocalTime.class),
+                        rs.getObject("late_minutes", Integer.class), rs.getObject("early_departure_minutes", Integer.class),
+                        rs.getObject("worked_minutes", Integer.class), rs.getObject("overtime_minutes", Integer.class),
+                        rs.getString("status") != null ? TimeRecord.RecordStatus.valueOf(rs.getString("status")) : null));
+            }
+        }, Date.valueOf(date), Collections.min(punches.keySet()), Collections.max(punches.keySet()));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<TimeBankService.Posting> postings = new ArrayList<>();
+        for (Map.Entry<Long, List<LocalTime>> entry : punches.entrySet()) {
+            Existing record = existing.get(entry.getKey());
+            Day day = merged(entry.getKey(), date, record, entry.getValue());
+            totals.days++;
+            if (record == null) {
+                inserts.add(insertArgs(day, location, now));
+            } else if (unchanged(record, day)) {
+                totals.unchanged++;
+            } else {
+                updates.add(updateArgs(day, record, now));
+                postings.add(record.status() == TimeRecord.RecordStatus.APPROVED
+                        ? TimeBankService.Posting.of(record.id(), day.employeeId(), date, record.status(),
+                        day.overtime(), day.late(), day.early())
+                        : null);
+            }
+        }
+        if (inserts.isEmpty() && updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            transaction.executeWithoutResult(status -> {
+                count(jdbcTemplate.batchUpdate(INSERT_SQL, inserts), totals, true);
+                int[] rows = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+                count(rows, totals, false);
+                post(rows, postings);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Outro registro do mesmo dia inserido no meio do batch: regrava um a um
+            for (Object[] args : inserts) {
+                transaction.executeWithoutResult(status -> writeOne(args, totals));
+            }
+            for (int i = 0; i < updates.size(); i++) {
+                Object[] args = updates.get(i);
+                TimeBankService.Posting posting = postings.get(i);
+                transaction.executeWithoutResult(status -> {
+                    int[] rows = {jdbcTemplate.update(UPDATE_SQL, args)};
+                    count(rows, totals, false);
+                    post(rows, Arrays.asList(posting));
+                });
+            }
+        }
+        totals.months.add(YearMonth.from(date));
+        totals.today |= date.equals(LocalDate.now());
+    }
+
+    private void writeOne(Object[] args, Totals totals) {
+        try {
+            count(new int[]{jdbcTemplate.update(INSERT_SQL, args)}, totals, true);
+        } catch (DuplicateKeyException e) {
+            totals.conflicts++;
+        }
+    }
+
+    private void post(int[] rows, List<TimeBankService.Posting> postings) {
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] != 0 && postings.get(i) != null) {
+                timeBankService.post(postings.get(i));
+            }
+        }
+    }
+
+    private static void count(int[] rows, Totals totals, boolean insert) {
+        for (int row : rows) {
+            // SUCCESS_NO_INFO (-2): o driver não informa as linhas de cada comando
+            if (row == 0) {
+                totals.conflicts++;
+            } else if (insert) {
+                totals.inserted++;
+            } else {
+                totals.updated++;
+            }
+        }
+    }
+
+    /**
+     * Junta as marcações do arquivo às do registro e distribui na ordem da jornada: entrada,
+     * saída e retorno do almoço e, com quatro ou mais, a última como saída.
+     */
+    private Day merged(Long employeeId, LocalDate date, Existing record, List<LocalTime> punches) {
+        ScheduledDay schedule = workScheduleService.resolve(employeeId, date);
+        List<LocalTime> times = new ArrayList<>();
+        if (record != null) {
+            for (LocalTime time : new LocalTime[]{record.clockIn(), record.lunchOut(), record.lunchIn(), record.clockOut()}) {
+                if (time != null) {
+                    times.add(time);
+                }
+            }
+        }
+        for (LocalTime punch : punches) {
+            if (times.stream().noneMatch(time -> time.getHour() == punch.getHour() && time.getMinute() == punch.getMinute())) {
+                times.add(punch);
+            }
+        }
+        times.sort(Comparator.comparingInt(schedule::punchOrder));
+
+        int n = times.size();
+        LocalTime clockIn = times.get(0);
+        LocalTime lunchOut = n >= 3 ? times.get(1) : null;
+        LocalTime lunchIn = n >= 3 ? times.get(2) : null;
+        LocalTime clockOut = n == 2 || n >= 4 ? times.get(n - 1) : null;
+
+        Integer early = record != null ? record.early() : null;
+        Integer worked = record != null ? record.worked() : null;
+        Integer overtime = record != null ? record.overtime() : null;
+        if (clockOut != null) {
+            early = schedule.earlyDepartureMinutes(clockOut);
+            worked = ScheduledDay.workedMinutes(clockIn, lunchOut, lunchIn, clockOut);
+            overtime = schedule.overtimeMinutes(worked);
+        }
+        return new Day(employeeId, date, clockIn, lunchOut, lunchIn, clockOut, schedule.lateMinutes(clockIn),
+                early, worked, overtime);
+    }
+
+    private static boolean unchanged(Existing record, Day day) {
+        return Objects.equals(record.clockIn(), day.clockIn()) && Objects.equals(record.lunchOut(), day.lunchOut())
+                && Objects.equals(record.lunchIn(), day.lunchIn()) && Objects.equals(record.clockOut(), day.clockOut())
+                && Objects.equals(record.late(), day.late()) && Objects.equals(record.early(), day.early())
+                && Objects.equals(record.worked(), day.worked()) && Objects.equals(record.overtime(), day.overtime());
+    }
+
+    private static Object[] insertArgs(Day day, String location, Timestamp now) {
+        return new Object[]{day.employeeId(), Date.valueOf(day.date()), time(day.clockIn()), time(day.lunchOut()),
+                time(day.lunchIn()), time(day.clockOut()), day.late(), day.early(), day.worked(), day.overtime(),
+                location, now, now, day.employeeId(), Date.valueOf(day.date())};
+    }
+
+    private static Object[] updateArgs(Day day, Existing record, Timestamp now) {
+        return new Object[]{time(day.clockIn()), time(day.lunchOut()), time(day.lunchIn()), time(day.clockOut()),
+                day.late(), day.early(), day.worked(), day.overtime(), now, record.id(),
+                time(record.clockIn()), time(record.lunchOut()), time(record.lunchIn()), time(record.clockOut())};
+    }
+
+    private static SqlParameterValue time(LocalTime value) {
+        return new SqlParameterValue(Types.TIME, value != null ? Time.valueOf(value) : null);
+    }
+}
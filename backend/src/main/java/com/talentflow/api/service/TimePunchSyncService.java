@@ -0,0 +1,502 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.TimePunchSyncRequest;
+import com.talentflow.api.dto.TimePunchSyncResultDTO;
+import com.talentflow.api.entity.Employee;
+import com.talentflow.api.entity.Role;
+import com.talentflow.api.entity.TimePunchKey;
+import com.talentflow.api.entity.TimeRecord;
+import com.talentflow.api.entity.User;
+import com.talentflow.api.exception.BusinessException;
+import com.talentflow.api.repository.EmployeeRepository;
+import com.talentflow.api.repository.TimePunchKeyRepository;
+import com.talentflow.api.repository.TimeRecordRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sincronização das marcações feitas sem conexão no aplicativo. Cada marcação chega com uma chave
+ * gerada no aparelho; chave já vista devolve o resultado da primeira vez, então reenviar o lote
+ * depois de um timeout não gera "já registrada". As marcações novas vão para o dia de trabalho (a
+ * madrugada de um turno noturno fica na véspera), são agrupadas por funcionário e dia e aplicadas
+ * em ordem de horário com as regras do registro online, numa transação por lote que grava também
+ * as chaves, o consolidado mensal e o banco de horas. Os registros existentes são gravados com
+ * UPDATE condicional às marcações lidas; se uma marcação concorrente chegou antes, o lote é
+ * reaplicado uma vez sobre o estado novo. Administrador e RH (ou o aparelho de ponto com esse
+ * perfil) sincronizam marcações de qualquer funcionário; os demais usuários, só as próprias.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimePunchSyncService {
+
+    private final TimePunchKeyRepository timePunchKeyRepository;
+    private final TimeRecordRepository timeRecordRepository;
+    private final EmployeeRepository employeeRepository;
+    private final WorkScheduleService workScheduleService;
+    private final TimeRecordIngestionService timeRecordIngestionService;
+    private final TimeRecordService timeRecordService;
+    private final MonthlyTimesheetService monthlyTimesheetService;
+    private final TimeBankService timeBankService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.time.sync.max-punches:500}")
+    private int maxPunches;
+
+    @Value("${app.time.sync.max-age-days:31}")
+    private int maxAgeDays;
+
+    @Value("${app.time.sync.clock-skew-minutes:5}")
+    private int clockSkewMinutes;
+
+    @Value("${app.time.sync.key-retention-days:90}")
+    private int keyRetentionDays;
+
+    private static final String INSERT_KEY_SQL = "INSERT INTO time_punch_keys (idempotency_key, employee_id, " +
+            "record_date, punch_type, outcome, time_record_id, message, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private record DayKey(Long employeeId, LocalDate date) {
+    }
+
+    /**
+     * Marcação do lote ainda não sincronizada, com a posição no lote.
+     */
+    private record Pending(int index, TimePunchSyncRequest.Punch punch) {
+    }
+
+    /**
+     * Resultado de uma marcação sobre o registro do dia.
+     */
+    private record Mark(TimePunchSyncResultDTO.Status status, String message) {
+
+        static final Mark APPLIED = new Mark(TimePunchSyncResultDTO.Status.APPLIED, null);
+
+        static Mark rejected(String message) {
+            return new Mark(TimePunchSyncResultDTO.Status.REJECTED, message);
+        }
+    }
+
+    /**
+     * O que a transação do lote produziu: resultados por posição e o que muda no estado de hoje.
+     */
+    private record Applied(Map<Integer, TimePunchSyncResultDTO.Item> results, Set<Long> todayEmployees,
+                           boolean todayClockIn) {
+    }
+
+    private TransactionTemplate transaction;
+
+    @PostConstruct
+    void createTransactionTemplate() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public TimePunchSyncResultDTO sync(TimePunchSyncRequest request, String ipAddress) {
+        long start = System.currentTimeMillis();
+        List<TimePunchSyncRequest.Punch> punches = request != null ? request.getPunches() : null;
+        if (punches == null || punches.isEmpty()) {
+            throw new BusinessException("Nenhuma marcação para sincronizar");
+        }
+        if (punches.size() > maxPunches) {
+            throw new BusinessException("O lote deve ter no máximo " + maxPunches + " marcações");
+        }
+
+        Long ownEmployeeId = ownEmployeeId();
+        TimePunchSyncResultDTO.Item[] results = new TimePunchSyncResultDTO.Item[punches.size()];
+        Set<UUID> keys = new HashSet<>();
+        List<Pending> candidates = new ArrayList<>();
+        for (int i = 0; i < punches.size(); i++) {
+            TimePunchSyncRequest.Punch punch = punches.get(i);
+            if (punch == null || punch.getKey() == null || punch.getEmployeeId() == null
+                    || punch.getType() == null || punch.getTimestamp() == null) {
+                results[i] = item(punch, null, null, Mark.rejected("Marcação incompleta: key, employeeId, type e timestamp são obrigatórios"));
+            } else if (!keys.add(punch.getKey())) {
+                results[i] = item(punch, null, null, new Mark(TimePunchSyncResultDTO.Status.DUPLICATE, "Chave repetida no lote"));
+            } else {
+                candidates.add(new Pending(i, punch));
+            }
+        }
+
+        Applied applied = new Applied(Map.of(), Set.of(), false);
+        if (!candidates.isEmpty()) {
+            applied = null;
+            for (int attempt = 1; applied == null; attempt++) {
+                // Entradas ainda no diário precisam estar no banco antes da leitura dos registros,
+                // inclusive as confirmadas depois da tentativa anterior
+                timeRecordIngestionService.flush();
+                try {
+                    applied = transaction.execute(status -> apply(candidates, ipAddress, ownEmployeeId));
+                } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+                    // Registro do dia criado ou alterado por uma marcação concorrente, ou o mesmo lote em paralelo
+                    if (attempt == 2) {
+                        throw new BusinessException("As marcações foram alteradas por outra operação; sincronize novamente");
+                    }
+                }
+            }
+        }
+
+        applied.results().forEach((index, item) -> results[index] = item);
+        applied.todayEmployees().forEach(timeRecordService::evictToday);
+        if (applied.todayClockIn()) {
+            timeRecordIngestionService.resetState();
+        }
+
+        Map<TimePunchSyncResultDTO.Status, Long> counts = Arrays.stream(results)
+                .collect(Collectors.groupingBy(TimePunchSyncResultDTO.Item::getStatus, Collectors.counting()));
+        TimePunchSyncResultDTO result = TimePunchSyncResultDTO.builder()
+                .received(punches.size())
+                .applied(counts.getOrDefault(TimePunchSyncResultDTO.Status.APPLIED, 0L).intValue())
+                .duplicates(counts.getOrDefault(TimePunchSyncResultDTO.Status.DUPLICATE, 0L).intValue())
+                .rejected(counts.getOrDefault(TimePunchSyncResultDTO.Status.REJECTED, 0L).intValue())
+                .elapsedMillis(System.currentTimeMillis() - start)
+                .results(Arrays.asList(results))
+                .build();
+        log.info("Sincronização de ponto: {} marcações ({} gravadas, {} repetidas, {} recusadas) em {} ms",
+                result.getReceived(), result.getApplied(), result.getDuplicates(), result.getRejected(),
+                result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * Funcionário do usuário autenticado, ou null quando ele pode sincronizar marcações de qualquer
+     * funcionário (administrador e RH).
+     */
+    private Long ownEmployeeId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof User user)) {
+            throw new BusinessException("Usuário não autenticado");
+        }
+        if (user.getRole() == Role.ADMIN || user.getRole() == Role.HR) {
+            return null;
+        }
+        return employeeRepository.findByUserId(user.getId())
+                .map(Employee::getId)
+                .orElseThrow(() -> new BusinessException("Usuário sem funcionário vinculado"));
+    }
+
+    /**
+     * Aplica o lote numa transação: recusa as marcações de outro funcionário (sem gravar a chave),
+     * consulta as chaves conhecidas, lê os registros dos dias envolvidos numa consulta, aplica as
+     * marcações de cada dia em ordem e grava as chaves novas.
+     */
+    private Applied apply(List<Pending> candidates, String ipAddress, Long ownEmployeeId) {
+        Map<Integer, TimePunchSyncResultDTO.Item> results = new HashMap<>();
+        List<Pending> allowed = new ArrayList<>();
+        for (Pending pending : candidates) {
+            if (ownEmployeeId != null && !ownEmployeeId.equals(pending.punch().getEmployeeId())) {
+                results.put(pending.index(), item(pending.punch(), null, null,
+                        Mark.rejected("Marcação de outro funcionário")));
+            } else {
+                allowed.add(pending);
+            }
+        }
+        if (allowed.isEmpty()) {
+            return new Applied(results, Set.of(), false);
+        }
+
+        Map<UUID, TimePunchKey> known = timePunchKeyRepository
+                .findAllById(allowed.stream().map(pending -> pending.punch().getKey()).toList()).stream()
+                .collect(Collectors.toMap(TimePunchKey::getIdempotencyKey, Function.identity()));
+
+        List<Pending> fresh = new ArrayList<>();
+        for (Pending pending : allowed) {
+            TimePunchKey key = known.get(pending.punch().getKey());
+            if (key != null) {
+                results.put(pending.index(), replayed(pending.punch(), key));
+            } else {
+                fresh.add(pending);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return new Applied(results, Set.of(), false);
+        }
+
+        Map<Long, Employee> employees = employeeRepository
+                .findAllById(fresh.stream().map(pending -> pending.punch().getEmployeeId()).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+
+        Map<DayKey, List<Pending>> days = new LinkedHashMap<>();
+        for (Pending pending : fresh) {
+            TimePunchSyncRequest.Punch punch = pending.punch();
+            if (!employees.containsKey(punch.getEmployeeId())) {
+                results.put(pending.index(), item(punch, null, null, Mark.rejected("Funcionário não encontrado")));
+                continue;
+            }
+            if (punch.getTimestamp().isAfter(now.plusMinutes(clockSkewMinutes))) {
+                results.put(pending.index(), item(punch, null, null, Mark.rejected("Horário da marcação no futuro")));
+                continue;
+            }
+            LocalDate date = workday(punch.getEmployeeId(), punch.getTimestamp());
+            if (date.isBefore(today.minusDays(maxAgeDays))) {
+                results.put(pending.index(), item(punch, date, null,
+                        Mark.rejected("Marcações com mais de " + maxAgeDays + " dias não podem ser sincronizadas")));
+                continue;
+            }
+            days.computeIfAbsent(new DayKey(punch.getEmployeeId(), date), day -> new ArrayList<>()).add(pending);
+        }
+
+        Map<DayKey, TimeRecordRepository.PunchTimes> stored = new HashMap<>();
+        if (!days.isEmpty()) {
+            Set<Long> employeeIds = days.keySet().stream().map(DayKey::employeeId).collect(Collectors.toSet());
+            LocalDate first = days.keySet().stream().map(DayKey::date).min(Comparator.naturalOrder()).orElseThrow();
+            LocalDate last = days.keySet().stream().map(DayKey::date).max(Comparator.naturalOrder()).orElseThrow();
+            for (TimeRecordRepository.PunchTimes record : timeRecordRepository.findPunchTimes(employeeIds, first, last)) {
+                stored.put(new DayKey(record.getEmployeeId(), record.getRecordDate()), record);
+            }
+        }
+
+        Set<Long> todayEmployees = new HashSet<>();
+        boolean todayClockIn = false;
+        for (Map.Entry<DayKey, List<Pending>> day : days.entrySet()) {
+            DayKey key = day.getKey();
+            List<Pending> group = day.getValue();
+            group.sort(Comparator.comparing((Pending pending) -> pending.punch().getTimestamp())
+                    .thenComparing(pending -> pending.punch().getType()));
+
+            ScheduledDay schedule = workScheduleService.resolve(key.employeeId(), key.date());
+            TimeRecordRepository.PunchTimes existing = stored.get(key);
+            TimeRecord record = existing != null
+                    ? TimeRecord.builder()
+                    .id(existing.getId())
+                    .employee(employees.get(key.employeeId()))
+                    .recordDate(key.date())
+                    .clockIn(existing.getClockIn())
+                    .lunchOut(existing.getLunchOut())
+                    .lunchIn(existing.getLunchIn())
+                    .clockOut(existing.getClockOut())
+                    .lateMinutes(existing.getLateMinutes())
+                    .earlyDepartureMinutes(existing.getEarlyDepartureMinutes())
+                    .workedMinutes(existing.getWorkedMinutes())
+                    .overtimeMinutes(existing.getOvertimeMinutes())
+                    .status(existing.getStatus())
+                    .build()
+                    : TimeRecord.builder()
+                    .employee(employees.get(key.employeeId()))
+                    .recordDate(key.date())
+                    .type(TimeRecord.RecordType.NORMAL)
+                    .status(TimeRecord.RecordStatus.PENDING)
+                    .ipAddress(ipAddress)
+                    .location(group.get(0).punch().getLocation())
+                    .build();
+            MonthlyTimesheetService.Contribution before = MonthlyTimesheetService.Contribution.of(record);
+
+            List<Mark> marks = new ArrayList<>();
+            boolean changed = false;
+            for (Pending pending : group) {
+                Mark mark = mark(record, pending.punch(), schedule);
+                marks.add(mark);
+                if (mark == Mark.APPLIED) {
+                    changed = true;
+                    todayClockIn |= key.date().equals(today) && pending.punch().getType() == TimePunchKey.PunchType.CLOCK_IN;
+                }
+            }
+
+            if (changed) {
+                if (existing == null) {
+                    record = timeRecordRepository.save(record);
+                } else {
+                    write(record, existing, now);
+                }
+                monthlyTimesheetService.replace(before, MonthlyTimesheetService.Contribution.of(record));
+                if (record.getStatus() == TimeRecord.RecordStatus.APPROVED) {
+                    timeBankService.post(TimeBankService.Posting.of(record));
+                }
+                if (key.date().equals(today)) {
+                    todayEmployees.add(key.employeeId());
+                }
+            }
+            for (int i = 0; i < group.size(); i++) {
+                results.put(group.get(i).index(), item(group.get(i).punch(), key.date(), record.getId(), marks.get(i)));
+            }
+        }
+
+        Timestamp created = Timestamp.valueOf(now);
+        List<Object[]> inserts = new ArrayList<>();
+        for (Pending pending : fresh) {
+            inserts.add(keyArgs(results.get(pending.index()), created));
+        }
+        jdbcTemplate.batchUpdate(INSERT_KEY_SQL, inserts);
+        return new Applied(results, todayEmployees, todayClockIn);
+    }
+
+    /**
+     * Grava as marcações sobre o registro lido; se outra marcação mudou o registro depois da
+     * leitura, o lote inteiro volta e é reaplicado sobre o estado novo.
+     */
+    private void write(TimeRecord record, TimeRecordRepository.PunchTimes existing, LocalDateTime now) {
+        int updated = timeRecordRepository.markSyncedPunches(record.getId(), record.getClockIn(), record.getLunchOut(),
+                record.getLunchIn(), record.getClockOut(), record.getLateMinutes(), record.getEarlyDepartureMinutes(),
+                record.getWorkedMinutes(), record.getOvertimeMinutes(), now, existing.getClockIn(),
+                existing.getLunchOut(), existing.getLunchIn(), existing.getClockOut());
+        if (updated == 0) {
+            throw new OptimisticLockingFailureException("Registro de ponto " + record.getId() + " alterado durante a sincronização");
+        }
+    }
+
+    /**
+     * Dia de trabalho da marcação: a madrugada depois de um turno noturno pertence à véspera.
+     */
+    private LocalDate workday(Long employeeId, LocalDateTime timestamp) {
+        LocalDate date = timestamp.toLocalDate();
+        ScheduledDay previous = workScheduleService.resolve(employeeId, date.minusDays(1));
+        if (previous.crossesMidnight()
+                && previous.ownsNextDayPunch(timestamp.toLocalTime(), workScheduleService.resolve(employeeId, date))) {
+            return date.minusDays(1);
+        }
+        return date;
+    }
+
+    /**
+     * Aplica uma marcação ao registro com as regras do registro online. A marcação que já está no
+     * registro no mesmo minuto (ex.: enviada online antes da queda de conexão) conta como repetida.
+     */
+    private Mark mark(TimeRecord record, TimePunchSyncRequest.Punch punch, ScheduledDay schedule) {
+        LocalTime time = punch.getTimestamp().toLocalTime().truncatedTo(ChronoUnit.SECONDS);
+        TimePunchKey.PunchType type = punch.getType();
+
+        LocalTime current = switch (type) {
+            case CLOCK_IN -> record.getClockIn();
+            case LUNCH_OUT -> record.getLunchOut();
+            case LUNCH_IN -> record.getLunchIn();
+            case CLOCK_OUT -> record.getClockOut();
+        };
+        if (current != null) {
+            if (current.truncatedTo(ChronoUnit.MINUTES).equals(time.truncatedTo(ChronoUnit.MINUTES))) {
+                return new Mark(TimePunchSyncResultDTO.Status.DUPLICATE, "Marcação já registrada às " + current);
+            }
+            return Mark.rejected(switch (type) {
+                case CLOCK_IN -> "Já existe registro de entrada para o dia";
+                case LUNCH_OUT -> "Saída para almoço já registrada";
+                case LUNCH_IN -> "Retorno do almoço já registrado";
+                case CLOCK_OUT -> "Saída já registrada";
+            });
+        }
+        if (type != TimePunchKey.PunchType.CLOCK_IN && record.getClockIn() == null) {
+            return Mark.rejected("É necessário registrar entrada primeiro");
+        }
+        if (type == TimePunchKey.PunchType.LUNCH_IN && record.getLunchOut() == null) {
+            return Mark.rejected("É necessário registrar saída para almoço primeiro");
+        }
+        if (record.getClockOut() != null) {
+            return Mark.rejected("Saída já registrada");
+        }
+        LocalTime latest = latest(record, schedule);
+        if (latest != null && schedule.punchOrder(time) < schedule.punchOrder(latest)) {
+            return Mark.rejected("Horário anterior à última marcação do dia (" + latest + ")");
+        }
+
+        switch (type) {
+            case CLOCK_IN -> {
+                record.setClockIn(time);
+                record.setLateMinutes(schedule.lateMinutes(time));
+            }
+            case LUNCH_OUT -> record.setLunchOut(time);
+            case LUNCH_IN -> record.setLunchIn(time);
+            case CLOCK_OUT -> {
+                int workedMinutes = ScheduledDay.workedMinutes(record.getClockIn(), record.getLunchOut(), record.getLunchIn(), time);
+                record.setClockOut(time);
+                record.setEarlyDepartureMinutes(schedule.earlyDepartureMinutes(time));
+                record.setWorkedMinutes(workedMinutes);
+                record.setOvertimeMinutes(schedule.overtimeMinutes(workedMinutes));
+            }
+        }
+        return Mark.APPLIED;
+    }
+
+    private static LocalTime latest(TimeRecord record, ScheduledDay schedule) {
+        LocalTime latest = null;
+        for (LocalTime time : new LocalTime[]{record.getClockIn(), record.getLunchOut(), record.getLunchIn()}) {
+            if (time != null && (latest == null || schedule.punchOrder(time) > schedule.punchOrder(latest))) {
+                latest = time;
+            }
+        }
+        return latest;
+    }
+
+    private static TimePunchSyncResultDTO.Item replayed(TimePunchSyncRequest.Punch punch, TimePunchKey key) {
+        String message = switch (key.getOutcome()) {
+            case APPLIED -> "Marcação já sincronizada";
+            case DUPLICATE -> key.getMessage();
+            case REJECTED -> "Marcação já sincronizada e recusada: " + key.getMessage();
+        };
+        return item(punch, key.getRecordDate(), key.getTimeRecordId(),
+                new Mark(TimePunchSyncResultDTO.Status.DUPLICATE, message));
+    }
+
+    private static TimePunchSyncResultDTO.Item item(TimePunchSyncRequest.Punch punch, LocalDate date, Long recordId,
+                                                    Mark mark) {
+        return TimePunchSyncResultDTO.Item.builder()
+                .key(punch != null ? punch.getKey() : null)
+                .employeeId(punch != null ? punch.getEmployeeId() : null)
+                .type(punch != null ? punch.getType() : null)
+                .timestamp(punch != null ? punch.getTimestamp() : null)
+                .recordDate(date)
+                .status(mark.status())
+                .timeRecordId(mark.status() == TimePunchSyncResultDTO.Status.REJECTED ? null : recordId)
+                .message(mark.message())
+                .build();
+    }
+
+    // O resultado fica como foi devolvido; só a marcação gravada dispensa a mensagem
+    private static Object[] keyArgs(TimePunchSyncResultDTO.Item item, Timestamp created) {
+        TimePunchKey.Outcome outcome = switch (item.getStatus()) {
+            case APPLIED -> TimePunchKey.Outcome.APPLIED;
+            case DUPLICATE -> TimePunchKey.Outcome.DUPLICATE;
+            case REJECTED -> TimePunchKey.Outcome.REJECTED;
+        };
+        return new Object[]{item.getKey(), item.getEmployeeId(),
+                new SqlParameterValue(Types.DATE, item.getRecordDate() != null ? Date.valueOf(item.getRecordDate()) : null),
+                item.getType().name(),
+                outcome.name(),
+                new SqlParameterValue(Types.BIGINT, item.getTimeRecordId()),
+                new SqlParameterValue(Types.VARCHAR, outcome != TimePunchKey.Outcome.APPLIED ? item.getMessage() : null),
+                created};
+    }
+
+    /**
+     * Remove as chaves antigas. Ficam além do prazo de sincronização, então o reenvio de uma
+     * marcação cuja chave já saiu é recusado pela idade e não grava de novo.
+     */
+    @Scheduled(cron = "${app.time.sync.key-purge-cron:0 45 0 * * *}")
+    public void purgeKeys() {
+        int retentionDays = Math.max(keyRetentionDays, maxAgeDays + 2);
+        int deleted = timePunchKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Sincronização de ponto: {} chaves com mais de {} dias removidas", deleted, retentionDays);
+        }
+    }
+}
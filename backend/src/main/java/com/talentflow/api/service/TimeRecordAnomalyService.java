@@ -0,0 +1,318 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.TimeRecordDTO;
+import com.talentflow.api.entity.Notification;
+import com.talentflow.api.entity.Role;
+import com.talentflow.api.entity.TimeRecord;
+import com.talentflow.api.repository.TimeRecordRepository;
+import com.talentflow.api.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Verificação noturna do ponto. Uma consulta cruza os funcionários ativos com os registros do dia
+ * (LEFT JOIN) e com as férias aprovadas (anti-join) e devolve só quem pode ter ocorrência: sem
+ * registro, sem entrada ou saída, com jornada que exige intervalo ou já apontado antes. A
+ * classificação (saída não registrada, falta, intervalo curto) é feita numa passada sobre esse
+ * resultado, com a folga da escala descartando faltas; a gravação é um batch JDBC (registro de
+ * falta inserido, ocorrência marcada ou limpa nos existentes) e cada gestor recebe um resumo só
+ * com as ocorrências novas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimeRecordAnomalyService {
+
+    private final TimeRecordRepository timeRecordRepository;
+    private final UserRepository userRepository;
+    private final WorkScheduleService workScheduleService;
+    private final NotificationService notificationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.time.anomalies.lookback-days:2}")
+    private int lookbackDays;
+
+    @Value("${app.time.anomalies.min-lunch-minutes:60}")
+    private int minLunchMinutes;
+
+    @Value("${app.time.anomalies.lunch-required-after-minutes:360}")
+    private int lunchRequiredAfterMinutes;
+
+    private static final int NOTIFICATION_NAMES = 30;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    // Parâmetros: dia 2x (férias no CASE), dia (registro), dia (admissão), dia 2x (anti-join das férias), limite da jornada
+    private static final String CANDIDATES_SQL = "SELECT e.id AS employee_id, u.name AS employee_name, " +
+            "m.user_id AS manager_user_id, t.id AS record_id, t.clock_in, t.lunch_out, t.lunch_in, t.clock_out, " +
+            "t.worked_minutes, t.status, t.anomaly, " +
+            "CASE WHEN t.id IS NOT NULL AND t.clock_in IS NULL AND EXISTS (SELECT 1 FROM vacation_requests v " +
+            "WHERE v.employee_id = e.id AND v.status = 'APPROVED' AND v.start_date <= ? AND v.end_date >= ?) " +
+            "THEN 1 ELSE 0 END AS on_vacation " +
+            "FROM employees e JOIN users u ON u.id = e.user_id " +
+            "LEFT JOIN departments d ON d.id = e.department_id " +
+            "LEFT JOIN employees m ON m.id = d.manager_id " +
+            "LEFT JOIN time_records t ON t.employee_id = e.id AND t.record_date = ? " +
+            "WHERE e.status = 'ACTIVE' AND (e.hire_date IS NULL OR e.hire_date <= ?) " +
+            "AND (t.id IS NOT NULL OR NOT EXISTS (SELECT 1 FROM vacation_requests v WHERE v.employee_id = e.id " +
+            "AND v.status = 'APPROVED' AND v.start_date <= ? AND v.end_date >= ?)) " +
+            "AND (t.id IS NULL OR t.clock_in IS NULL OR t.clock_out IS NULL OR t.worked_minutes > ? " +
+            "OR t.anomaly IS NOT NULL)";
+
+    private static final String INSERT_ABSENT_SQL = "INSERT INTO time_records (employee_id, record_date, type, " +
+            "status, anomaly, created_at, updated_at) SELECT ?, ?, 'NORMAL', 'PENDING', 'ABSENT', ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM time_records WHERE employee_id = ? AND record_date = ?)";
+
+    // Só grava se o registro continua como foi classificado
+    private static final String UPDATE_ANOMALY_SQL = "UPDATE time_records SET anomaly = ?, updated_at = ? " +
+            "WHERE id = ? AND anomaly IS NOT DISTINCT FROM ? AND clock_in IS NOT DISTINCT FROM ? " +
+            "AND lunch_out IS NOT DISTINCT FROM ? AND lunch_in IS NOT DISTINCT FROM ? " +
+            "AND clock_out IS NOT DISTINCT FROM ?";
+
+    /**
+     * Funcionário do dia que pode ter ocorrência, como veio da consulta.
+     */
+    private record Candidate(Long employeeId, String employeeName, Long managerUserId, Long recordId,
+                             LocalTime clockIn, LocalTime lunchOut, LocalTime lunchIn, LocalTime clockOut,
+                             Integer workedMinutes, TimeRecord.RecordStatus status, TimeRecord.Anomaly anomaly,
+                             boolean onVacation) {
+    }
+
+    /**
+     * Ocorrência nova (ou trocada) de um funcionário, para o resumo do gestor.
+     */
+    private record Flagged(Candidate candidate, TimeRecord.Anomaly anomaly) {
+    }
+
+    private TransactionTemplate transaction;
+
+    @PostConstruct
+    void createTransactionTemplate() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Verifica os últimos dias encerrados. Turnos noturnos só se encerram na manhã seguinte, então
+     * cada execução revê também os dias anteriores; dias já verificados não mudam nem notificam de novo.
+     */
+    @Scheduled(cron = "${app.time.anomalies.cron:0 15 1 * * *}")
+    public void detectScheduled() {
+        LocalDate today = LocalDate.now();
+        for (int days = lookbackDays; days >= 1; days--) {
+            detect(today.minusDays(days));
+        }
+    }
+
+    public synchronized Map<String, Object> detect(LocalDate date) {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        Date day = Date.valueOf(date);
+
+        List<Candidate> candidates = jdbcTemplate.query(CANDIDATES_SQL, (rs, rowNum) -> new Candidate(
+                rs.getLong("employee_id"), rs.getString("employee_name"),
+                rs.getObject("manager_user_id", Long.class), rs.getObject("record_id", Long.class),
+                rs.getObject("clock_in", LocalTime.class), rs.getObject("lunch_out", LocalTime.class),
+                rs.getObject("lunch_in", LocalTime.class), rs.getObject("clock_out", LocalTime.class),
+                rs.getObject("worked_minutes", Integer.class),
+                rs.getString("status") != null ? TimeRecord.RecordStatus.valueOf(rs.getString("status")) : null,
+                rs.getString("anomaly") != null ? TimeRecord.Anomaly.valueOf(rs.getString("anomaly")) : null,
+                rs.getInt("on_vacation") == 1), day, day, day, day, day, day, lunchRequiredAfterMinutes);
+
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        List<Candidate> absentInserts = new ArrayList<>();
+        List<Candidate> updated = new ArrayList<>();
+        List<TimeRecord.Anomaly> updatedTo = new ArrayList<>();
+        int pending = 0;
+        for (Candidate candidate : candidates) {
+            ScheduledDay schedule = workScheduleService.resolve(candidate.employeeId(), date);
+            // Jornada ainda aberta (ex.: turno noturno até a manhã seguinte): fica para a próxima execução
+            if (now.isBefore(schedule.closesAt(date))) {
+                pending++;
+                continue;
+            }
+            // Dia justificado pelo RH não é reclassificado
+            if (candidate.status() == TimeRecord.RecordStatus.JUSTIFIED) {
+                continue;
+            }
+            TimeRecord.Anomaly anomaly = classify(candidate, schedule);
+            if (anomaly == candidate.anomaly()) {
+                continue;
+            }
+            if (candidate.recordId() == null) {
+                absentInserts.add(candidate);
+            } else {
+                updated.add(candidate);
+                updatedTo.add(anomaly);
+            }
+        }
+
+        List<Flagged> flagged = new ArrayList<>();
+        int[] counts = transaction.execute(status -> {
+            int[] inserted = jdbcTemplate.batchUpdate(INSERT_ABSENT_SQL, absentInserts.stream()
+                    .map(c -> new Object[]{c.employeeId(), day, updatedAt, updatedAt, c.employeeId(), day})
+                    .toList());
+            List<Object[]> args = new ArrayList<>();
+            for (int i = 0; i < updated.size(); i++) {
+                Candidate c = updated.get(i);
+                args.add(new Object[]{text(updatedTo.get(i)), updatedAt, c.recordId(), text(c.anomaly()),
+                        time(c.clockIn()), time(c.lunchOut()), time(c.lunchIn()), time(c.clockOut())});
+            }
+            int[] changed = jdbcTemplate.batchUpdate(UPDATE_ANOMALY_SQL, args);
+
+            int insertedCount = 0;
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i] != 0) {
+                    insertedCount++;
+                    flagged.add(new Flagged(absentInserts.get(i), TimeRecord.Anomaly.ABSENT));
+                }
+            }
+            int changedCount = 0;
+            int clearedCount = 0;
+            for (int i = 0; i < changed.length; i++) {
+                if (changed[i] == 0) {
+                    continue;
+                }
+                changedCount++;
+                if (updatedTo.get(i) != null) {
+                    flagged.add(new Flagged(updated.get(i), updatedTo.get(i)));
+                } else {
+                    clearedCount++;
+                }
+            }
+            return new int[]{insertedCount, changedCount, clearedCount};
+        });
+
+        Map<TimeRecord.Anomaly, Long> byType = flagged.stream()
+                .collect(Collectors.groupingBy(Flagged::anomaly, () -> new EnumMap<>(TimeRecord.Anomaly.class),
+                        Collectors.counting()));
+        int notified = notify(date, flagged);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("date", date);
+        result.put("candidates", candidates.size());
+        result.put("pending", pending);
+        result.put("absent", byType.getOrDefault(TimeRecord.Anomaly.ABSENT, 0L));
+        result.put("missingClockOut", byType.getOrDefault(TimeRecord.Anomaly.MISSING_CLOCK_OUT, 0L));
+        result.put("shortLunch", byType.getOrDefault(TimeRecord.Anomaly.SHORT_LUNCH, 0L));
+        result.put("cleared", counts != null ? counts[2] : 0);
+        result.put("recordsCreated", counts != null ? counts[0] : 0);
+        result.put("recordsUpdated", counts != null ? counts[1] : 0);
+        result.put("notifications", notified);
+        result.put("elapsedMillis", System.currentTimeMillis() - start);
+        log.info("Ocorrências de ponto de {}: {} candidatos, {} novas ({}), {} notificações em {} ms", date,
+                candidates.size(), flagged.size(), byType, notified, result.get("elapsedMillis"));
+        return result;
+    }
+
+    public List<TimeRecordDTO> findByDate(LocalDate date) {
+        return timeRecordRepository.findAnomaliesWithEmployee(date).stream()
+                .map(TimeRecordDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Falta só em dia de trabalho e sem férias; registro com alguma marcação mas sem entrada fica
+     * para o ajuste manual. Intervalo curto quando a jornada passa do limite que exige intervalo.
+     */
+    private TimeRecord.Anomaly classify(Candidate candidate, ScheduledDay schedule) {
+        if (candidate.clockIn() == null) {
+            boolean noPunches = candidate.lunchOut() == null && candidate.lunchIn() == null && candidate.clockOut() == null;
+            return noPunches && !candidate.onVacation() && !schedule.dayOff() ? TimeRecord.Anomaly.ABSENT : null;
+        }
+        if (candidate.clockOut() == null) {
+            return TimeRecord.Anomaly.MISSING_CLOCK_OUT;
+        }
+        int worked = candidate.workedMinutes() != null ? candidate.workedMinutes() : 0;
+        int lunch = candidate.lunchOut() != null && candidate.lunchIn() != null
+                ? ScheduledDay.minutesBetween(candidate.lunchOut(), candidate.lunchIn())
+                : 0;
+        return worked > lunchRequiredAfterMinutes && lunch < minLunchMinutes ? TimeRecord.Anomaly.SHORT_LUNCH : null;
+    }
+
+    /**
+     * Um resumo por gestor do departamento; funcionários sem gestor vão para o RH.
+     */
+    private int notify(LocalDate date, List<Flagged> flagged) {
+        if (flagged.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<Flagged>> byRecipient = new LinkedHashMap<>();
+        List<Flagged> withoutManager = new ArrayList<>();
+        for (Flagged item : flagged) {
+            Long manager = item.candidate().managerUserId();
+            if (manager != null) {
+                byRecipient.computeIfAbsent(manager, id -> new ArrayList<>()).add(item);
+            } else {
+                withoutManager.add(item);
+            }
+        }
+        if (!withoutManager.isEmpty()) {
+            for (Long userId : userRepository.findActiveIdsByRoleIn(Set.of(Role.HR, Role.ADMIN))) {
+                byRecipient.computeIfAbsent(userId, id -> new ArrayList<>()).addAll(withoutManager);
+            }
+        }
+
+        Map<Long, String> messages = new LinkedHashMap<>();
+        byRecipient.forEach((userId, items) -> messages.put(userId, summary(date, items)));
+        return notificationService.createBatch(messages, "Ocorrências de ponto em " + date.format(DATE_FORMAT),
+                Notification.NotificationType.TIME_ANOMALY, Notification.NotificationPriority.HIGH,
+                "TimeRecord", "/dashboard/time-records");
+    }
+
+    private static String summary(LocalDate date, List<Flagged> items) {
+        Map<TimeRecord.Anomaly, Long> counts = items.stream()
+                .collect(Collectors.groupingBy(Flagged::anomaly, () -> new EnumMap<>(TimeRecord.Anomaly.class),
+                        Collectors.counting()));
+        StringBuilder message = new StringBuilder("Ocorrências de ponto de ").append(date.format(DATE_FORMAT)).append(": ")
+                .append(counts.entrySet().stream()
+                        .map(entry -> label(entry.getKey()) + ": " + entry.getValue())
+                        .collect(Collectors.joining(", ")))
+                .append('.');
+        items.stream().limit(NOTIFICATION_NAMES).forEach(item -> message.append('\n')
+                .append(item.candidate().employeeName()).append(": ").append(label(item.anomaly())));
+        if (items.size() > NOTIFICATION_NAMES) {
+            message.append("\ne mais ").append(items.size() - NOTIFICATION_NAMES);
+        }
+        return message.toString();
+    }
+
+    private static String label(TimeRecord.Anomaly anomaly) {
+        return switch (anomaly) {
+            case MISSING_CLOCK_OUT -> "saída não registrada";
+            case ABSENT -> "falta";
+            case SHORT_LUNCH -> "intervalo curto";
+        };
+    }
+
+    private static SqlParameterValue text(TimeRecord.Anomaly anomaly) {
+        return new SqlParameterValue(Types.VARCHAR, anomaly != null ? anomaly.name() : null);
+    }
+
+    private static SqlParameterValue time(LocalTime value) {
+        return new SqlParameterValue(Types.TIME, value != null ? Time.valueOf(value) : null);
+    }
+}
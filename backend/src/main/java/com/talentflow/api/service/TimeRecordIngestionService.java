@@ -0,0 +1,393 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.TimeRecordDTO;
+import com.talentflow.api.entity.TimeRecord;
+import com.talentflow.api.exception.BusinessException;
+import com.talentflow.api.exception.ResourceNotFoundException;
+import com.talentflow.api.repository.EmployeeRepository;
+import com.talentflow.api.repository.TimeRecordRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Registro de entrada com escrita posterior (write-behind) para o pico da manhã. A marcação é
+ * validada contra o estado do dia em memória (quem já registrou entrada), gravada no
+ * {@link PunchJournal} e confirmada na hora; a descarga periódica grava as marcações em
+ * time_records em batch JDBC. Como a conferência é feita só com o estado desta instância, o diário
+ * só pode ficar ligado (app.time.ingest.enabled) com uma instância da API: com mais de uma, uma
+ * entrada confirmada aqui depois de outra confirmada em outra instância seria descartada na descarga
+ * sem o funcionário saber. Desligado, a entrada é gravada direto no banco por {@link TimeRecordService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimeRecordIngestionService {
+
+    private final EmployeeRepository employeeRepository;
+    private final TimeRecordRepository timeRecordRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final WorkScheduleService workScheduleService;
+
+    @Value("${app.time.ingest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.time.ingest.journal-dir:journal}")
+    private String journalDir;
+
+    @Value("${app.time.ingest.fsync:true}")
+    private boolean fsync;
+
+    @Value("${app.time.ingest.batch-size:500}")
+    private int batchSize;
+
+    private static final String INSERT_SQL = "INSERT INTO time_records (employee_id, record_date, clock_in, " +
+            "late_minutes, ip_address, location, type, status, created_at, updated_at) " +
+            "SELECT ?, ?, ?, ?, ?, ?, 'NORMAL', 'PENDING', ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM time_records WHERE employee_id = ? AND record_date = ?)";
+
+    // Registro do dia criado sem entrada (ex.: lançamento manual): completa só a entrada
+    private static final String FILL_CLOCK_IN_SQL = "UPDATE time_records SET clock_in = ?, late_minutes = ?, " +
+            "ip_address = ?, location = ?, updated_at = ? " +
+            "WHERE employee_id = ? AND record_date = ? AND clock_in IS NULL";
+
+    private record Key(Long employeeId, LocalDate date) {
+    }
+
+    // Estado do dia: funcionários com entrada registrada (no banco ou aguardando descarga)
+    private volatile LocalDate stateDate;
+    private volatile Set<Long> clockedIn = ConcurrentHashMap.newKeySet();
+    private final Set<Long> knownEmployees = ConcurrentHashMap.newKeySet();
+
+    // Marcações confirmadas e ainda não gravadas: fila para a descarga, mapa para consultas
+    private final Queue<PunchJournal.Punch> pending = new ConcurrentLinkedQueue<>();
+    private final Map<Key, PunchJournal.Punch> unflushed = new ConcurrentHashMap<>();
+    private final Object journalLock = new Object();
+    private final Object stateLock = new Object();
+
+    // Descarga anterior que falhou: marcações e segmentos mantidos para a próxima tentativa
+    private final List<PunchJournal.Punch> retry = new ArrayList<>();
+    private final List<Path> retrySegments = new ArrayList<>();
+
+    private PunchJournal journal;
+    private List<Path> recoveredSegments = List.of();
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void openJournal() throws IOException {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (!enabled) {
+            return;
+        }
+        journal = new PunchJournal(Paths.get(journalDir), fsync);
+        recoveredSegments = journal.open();
+    }
+
+    @PreDestroy
+    void closeJournal() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        flush();
+        synchronized (journalLock) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Reaplica os segmentos que ficaram de uma execução anterior (parada sem descarga): as
+     * marcações entram como pendentes e são gravadas na primeira descarga. Roda antes da carga do
+     * cache de hoje em {@link TimeRecordService}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void recover() throws IOException {
+        if (recoveredSegments.isEmpty()) {
+            return;
+        }
+        int count = 0;
+        for (Path segment : recoveredSegments) {
+            for (PunchJournal.Punch punch : PunchJournal.read(segment)) {
+                retry.add(punch);
+                unflushed.put(new Key(punch.employeeId(), punch.date()), punch);
+                count++;
+            }
+        }
+        retrySegments.addAll(recoveredSegments);
+        log.info("Diário de ponto: {} marcações de {} segmentos a reaplicar", count, recoveredSegments.size());
+        recoveredSegments = List.of();
+        flush();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public TimeRecordDTO clockIn(Long employeeId, String ipAddress, String location) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDate today = now.toLocalDate();
+
+        if (!knownEmployees.contains(employeeId)) {
+            if (!employeeRepository.existsById(employeeId)) {
+                throw new ResourceNotFoundException("Funcionário não encontrado");
+            }
+            knownEmployees.add(employeeId);
+        }
+
+        Set<Long> state = stateFor(today);
+        if (!state.add(employeeId)) {
+            throw new BusinessException("Já existe registro de entrada para hoje");
+        }
+
+        LocalTime time = now.toLocalTime();
+        int lateMinutes = workScheduleService.resolve(employeeId, today).lateMinutes(time);
+        PunchJournal.Punch punch = new PunchJournal.Punch(employeeId, today, time, lateMinutes, ipAddress, location);
+
+        // A marcação entra na fila junto com a gravação, no mesmo segmento que a descarga vai fechar;
+        // a confirmação espera o fsync em grupo, fora do lock
+        long position;
+        try {
+            synchronized (journalLock) {
+                position = journal.append(punch);
+                pending.add(punch);
+                unflushed.put(new Key(employeeId, today), punch);
+            }
+        } catch (IOException e) {
+            state.remove(employeeId);
+            throw new UncheckedIOException("Falha ao gravar a marcação no diário de ponto", e);
+        }
+        try {
+            journal.sync(position);
+        } catch (IOException e) {
+            synchronized (journalLock) {
+                // Já retirada pela descarga, que força o segmento antes de fechá-lo: a marcação está
+                // gravada e segue para o banco, então a entrada é confirmada
+                if (!pending.remove(punch)) {
+                    log.warn("Falha no fsync do diário de ponto depois da descarga da entrada do funcionário {}",
+                            employeeId, e);
+                    return toDTO(punch);
+                }
+                unflushed.remove(new Key(employeeId, today), punch);
+                state.remove(employeeId);
+            }
+            throw new UncheckedIOException("Falha ao gravar a marcação no diário de ponto", e);
+        }
+        return toDTO(punch);
+    }
+
+    /**
+     * Entrada de hoje confirmada e ainda não gravada em time_records.
+     */
+    public Optional<TimeRecordDTO> findUnflushed(Long employeeId, LocalDate date) {
+        return Optional.ofNullable(unflushed.get(new Key(employeeId, date))).map(this::toDTO);
+    }
+
+    public boolean hasUnflushed(Long employeeId, LocalDate date) {
+        return unflushed.containsKey(new Key(employeeId, date));
+    }
+
+    /**
+     * Descarta o estado do dia; a próxima entrada o recarrega do banco (ex.: depois de uma
+     * importação de marcações que criou registros de hoje).
+     */
+    public void resetState() {
+        synchronized (stateLock) {
+            stateDate = null;
+        }
+    }
+
+    /**
+     * Grava as marcações pendentes em time_records. O segmento do diário é fechado junto com a
+     * retirada da fila e só é apagado depois que as marcações estão no banco.
+     */
+    @Scheduled(fixedDelayString = "${app.time.ingest.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (journal == null) {
+            return;
+        }
+        List<PunchJournal.Punch> batch = new ArrayList<>(retry);
+        List<Path> segments = new ArrayList<>(retrySegments);
+        synchronized (journalLock) {
+            if (pending.isEmpty() && batch.isEmpty()) {
+                return;
+            }
+            try {
+                Path closed = journal.rotate();
+                if (closed != null) {
+                    segments.add(closed);
+                }
+            } catch (IOException e) {
+                log.error("Falha ao fechar o segmento do diário de ponto", e);
+                return;
+            }
+            PunchJournal.Punch punch;
+            while ((punch = pending.poll()) != null) {
+                batch.add(punch);
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            int written = write(batch);
+            retry.clear();
+            retrySegments.clear();
+            PunchJournal.delete(segments);
+            log.debug("Descarga do ponto: {} marcações ({} gravadas) em {} ms",
+                    batch.size(), written, System.currentTimeMillis() - start);
+        } catch (DataAccessException e) {
+            retry.clear();
+            retry.addAll(batch);
+            retrySegments.clear();
+            retrySegments.addAll(segments);
+            log.warn("Falha ao gravar {} marcações de ponto; nova tentativa na próxima descarga", batch.size(), e);
+            return;
+        }
+
+        for (PunchJournal.Punch punch : batch) {
+            unflushed.remove(new Key(punch.employeeId(), punch.date()), punch);
+        }
+    }
+
+    /**
+     * Grava as marcações em batch; se o batch viola uma restrição (outra instância inseriu o mesmo
+     * dia no meio do batch, por exemplo), regrava uma a uma. Retorna quantas marcações chegaram ao banco.
+     */
+    private int write(List<PunchJournal.Punch> punches) {
+        if (punches.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            Integer written = requiresNew.execute(status -> {
+                int count = 0;
+                List<PunchJournal.Punch> skipped = new ArrayList<>();
+                for (int from = 0; from < punches.size(); from += batchSize) {
+                    List<PunchJournal.Punch> slice = punches.subList(from, Math.min(from + batchSize, punches.size()));
+                    int[] results = jdbcTemplate.batchUpdate(INSERT_SQL, slice.stream().map(p -> insertArgs(p, now)).toList());
+                    for (int i = 0; i < results.length; i++) {
+                        if (results[i] == 0) {
+                            skipped.add(slice.get(i));
+                        } else {
+                            count++;
+                        }
+                    }
+                }
+                for (PunchJournal.Punch punch : skipped) {
+                    count += fillClockIn(punch, now);
+                }
+                return count;
+            });
+            return written != null ? written : 0;
+        } catch (DataIntegrityViolationException e) {
+            int count = 0;
+            for (PunchJournal.Punch punch : punches) {
+                Integer written = requiresNew.execute(status -> writeOne(punch, now));
+                count += written != null ? written : 0;
+            }
+            return count;
+        }
+    }
+
+    private int writeOne(PunchJournal.Punch punch, Timestamp now) {
+        try {
+            if (jdbcTemplate.update(INSERT_SQL, insertArgs(punch, now)) == 1) {
+                return 1;
+            }
+        } catch (DuplicateKeyException e) {
+            // Inserido por outra instância entre a verificação e a inserção
+        } catch (DataIntegrityViolationException e) {
+            // Ex.: funcionário removido depois da marcação; não adianta tentar de novo
+            log.error("Entrada de {} do funcionário {} rejeitada pelo banco", punch.date(), punch.employeeId(), e);
+            return 0;
+        }
+        return fillClockIn(punch, now);
+    }
+
+    private int fillClockIn(PunchJournal.Punch punch, Timestamp now) {
+        int updated = jdbcTemplate.update(FILL_CLOCK_IN_SQL, Time.valueOf(punch.time()), punch.lateMinutes(),
+                punch.ipAddress(), punch.location(), now, punch.employeeId(), Date.valueOf(punch.date()));
+        if (updated == 0) {
+            log.info("Entrada de {} do funcionário {} descartada: já registrada", punch.date(), punch.employeeId());
+        }
+        return updated;
+    }
+
+    private static Object[] insertArgs(PunchJournal.Punch punch, Timestamp now) {
+        return new Object[]{punch.employeeId(), Date.valueOf(punch.date()), Time.valueOf(punch.time()),
+                punch.lateMinutes(), punch.ipAddress(), punch.location(), now, now,
+                punch.employeeId(), Date.valueOf(punch.date())};
+    }
+
+    /**
+     * Estado do dia, carregado do banco uma vez por dia (e por instância) com as marcações ainda
+     * pendentes; a virada do dia descarta o estado anterior.
+     */
+    private Set<Long> stateFor(LocalDate today) {
+        if (today.equals(stateDate)) {
+            return clockedIn;
+        }
+        synchronized (stateLock) {
+            if (!today.equals(stateDate)) {
+                Set<Long> state = ConcurrentHashMap.newKeySet();
+                state.addAll(timeRecordRepository.findEmployeeIdsWithClockIn(today));
+                unflushed.keySet().stream()
+                        .filter(key -> key.date().equals(today))
+                        .forEach(key -> state.add(key.employeeId()));
+                clockedIn = state;
+                stateDate = today;
+            }
+            return clockedIn;
+        }
+    }
+
+    private TimeRecordDTO toDTO(PunchJournal.Punch punch) {
+        String[] days = {"Domingo", "Segunda", "Terça", "Quarta", "Quinta", "Sexta", "Sábado"};
+        return TimeRecordDTO.builder()
+                .employeeId(punch.employeeId())
+                .recordDate(punch.date())
+                .dayOfWeek(days[punch.date().getDayOfWeek().getValue() % 7])
+                .clockIn(punch.time())
+                .lateMinutes(punch.lateMinutes())
+                .type(TimeRecord.RecordType.NORMAL)
+                .status(TimeRecord.RecordStatus.PENDING)
+                .location(punch.location())
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.entity.TimeRecord;
+import com.talentflow.api.repository.TimeRecordRepository;
+import com.talentflow.api.repository.WorkScheduleRecomputeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Recalcula atraso, saída antecipada, horas trabalhadas e extras dos registros de ponto depois de
+ * uma mudança de escala. Lê os registros em lotes por id a partir da data afetada, grava em batch
+ * só os que mudaram (condicionado às marcações lidas, para não sobrescrever uma marcação feita no
+ * meio do recálculo), lança no banco de horas a diferença dos dias já aprovados e reconstrói o
+ * consolidado mensal dos meses percorridos.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimeRecordRecomputeService {
+
+    private final TimeRecordRepository timeRecordRepository;
+    private final WorkScheduleService workScheduleService;
+    private final MonthlyTimesheetService monthlyTimesheetService;
+    private final TimeRecordService timeRecordService;
+    private final TimeBankService timeBankService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.time.schedules.recompute-batch-size:500}")
+    private int batchSize;
+
+    private static final String UPDATE_SQL = "UPDATE time_records SET late_minutes = ?, early_departure_minutes = ?, " +
+            "worked_minutes = ?, overtime_minutes = ?, updated_at = ? WHERE id = ? " +
+            "AND clock_in = ? AND lunch_out IS NOT DISTINCT FROM ? AND lunch_in IS NOT DISTINCT FROM ? " +
+            "AND clock_out IS NOT DISTINCT FROM ?";
+
+    /**
+     * Processa o recálculo pedido pelas mudanças de escala desde a última execução. Os pedidos só
+     * saem da tabela depois do recálculo; se ele falhar ou a aplicação parar no meio, a próxima
+     * execução refaz a partir da mesma data.
+     */
+    @Scheduled(fixedDelayString = "${app.time.schedules.recompute-interval-ms:60000}")
+    public void recomputePending() {
+        WorkScheduleRecomputeRepository.Pending pending = workScheduleService.findPendingRecompute();
+        if (pending != null) {
+            // A mudança pode ter sido feita em outra instância, com a compilação desta desatualizada
+            workScheduleService.invalidate();
+            recompute(pending.getAffectedFrom());
+            workScheduleService.clearPendingRecompute(pending.getLastId());
+        }
+    }
+
+    public synchronized Map<String, Object> recompute(LocalDate from) {
+        long start = System.currentTimeMillis();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long scanned = 0;
+        int updated = 0;
+        long lastId = 0;
+
+        List<TimeRecordRepository.PunchTimes> page;
+        while (!(page = timeRecordRepository.findPunchTimesAfter(from, lastId, PageRequest.of(0, batchSize))).isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> changes = new ArrayList<>();
+            List<TimeBankService.Posting> postings = new ArrayList<>();
+            for (TimeRecordRepository.PunchTimes record : page) {
+                Object[] args = recomputed(record, now);
+                if (args != null) {
+                    changes.add(args);
+                    postings.add(posting(record, args));
+                }
+            }
+            if (!changes.isEmpty()) {
+                int[] results = transaction.execute(status -> {
+                    int[] rows = jdbcTemplate.batchUpdate(UPDATE_SQL, changes);
+                    // Dias aprovados levam a diferença ao banco de horas; UPDATE sem efeito não muda o registro
+                    for (int i = 0; i < rows.length; i++) {
+                        if (rows[i] != 0 && postings.get(i) != null) {
+                            timeBankService.post(postings.get(i));
+                        }
+                    }
+                    return rows;
+                });
+                for (int result : results) {
+                    // SUCCESS_NO_INFO (-2): o driver não informa as linhas de cada comando
+                    updated += result == 0 ? 0 : 1;
+                }
+            }
+            scanned += page.size();
+            lastId = page.get(page.size() - 1).getId();
+        }
+
+        int months = 0;
+        for (YearMonth period = YearMonth.from(from); !period.isAfter(YearMonth.now()); period = period.plusMonths(1)) {
+            monthlyTimesheetService.rebuild(period.getYear(), period.getMonthValue());
+            months++;
+        }
+        timeRecordService.evictTodayCache();
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Ponto recalculado desde {}: {} registros lidos, {} atualizados, {} meses consolidados ({} ms)",
+                from, scanned, updated, months, elapsed);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("scanned", scanned);
+        result.put("updated", updated);
+        result.put("months", months);
+        result.put("elapsedMillis", elapsed);
+        return result;
+    }
+
+    /**
+     * Argumentos do UPDATE quando algum valor calculado muda; nulo quando o registro já está certo.
+     * Sem saída, só o atraso é recalculado.
+     */
+    private Object[] recomputed(TimeRecordRepository.PunchTimes record, Timestamp now) {
+        ScheduledDay day = workScheduleService.resolve(record.getEmployeeId(), record.getRecordDate());
+
+        Integer late = day.lateMinutes(record.getClockIn());
+        Integer early = record.getEarlyDepartureMinutes();
+        Integer worked = record.getWorkedMinutes();
+        Integer overtime = record.getOvertimeMinutes();
+        if (record.getClockOut() != null) {
+            early = day.earlyDepartureMinutes(record.getClockOut());
+            worked = ScheduledDay.workedMinutes(record.getClockIn(), record.getLunchOut(), record.getLunchIn(),
+                    record.getClockOut());
+            overtime = day.overtimeMinutes(worked);
+        }
+
+        if (Objects.equals(late, record.getLateMinutes()) && Objects.equals(early, record.getEarlyDepartureMinutes())
+                && Objects.equals(worked, record.getWorkedMinutes()) && Objects.equals(overtime, record.getOvertimeMinutes())) {
+            return null;
+        }
+        return new Object[]{late, early, worked, overtime, now, record.getId(),
+                time(record.getClockIn()), time(record.getLunchOut()), time(record.getLunchIn()), time(record.getClockOut())};
+    }
+
+    private static TimeBankService.Posting posting(TimeRecordRepository.PunchTimes record, Object[] args) {
+        if (record.getStatus() != TimeRecord.RecordStatus.APPROVED) {
+            return null;
+        }
+        return TimeBankService.Posting.of(record.getId(), record.getEmployeeId(), record.getRecordDate(),
+                record.getStatus(), (Integer) args[3], (Integer) args[0], (Integer) args[1]);
+    }
+
+    private static SqlParameterValue time(LocalTime value) {
+        return new SqlParameterValue(Types.TIME, value != null ? Time.valueOf(value) : null);
+    }
+}
@@ -3,31 +3,78 @@ package com.talentflow.api.service;
 import com.talentflow.api.dto.TimeRecordDTO;
 import com.talentflow.api.entity.Employee;
 import com.talentflow.api.entity.TimeRecord;
+import com.talentflow.api.exception.BusinessException;
 import com.talentflow.api.exception.ResourceNotFoundException;
 import com.talentflow.api.repository.EmployeeRepository;
 import com.talentflow.api.repository.TimeRecordRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Registros de ponto. O estado do dia de cada funcionário fica em cache (carregado à meia-noite e
+ * na subida, ou sob demanda), então a consulta de hoje e a validação das marcações não leem o
+ * banco; as marcações gravam com UPDATE condicional ao estado validado, e um UPDATE sem efeito
+ * descarta a entrada e revalida contra o banco. O cache é local e não é invalidado entre
+ * instâncias: com mais de uma instância da API deve ser desligado (app.time.today-cache.enabled),
+ * e o estado de hoje passa a ser lido do banco a cada consulta.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class TimeRecordService {
 
     private final TimeRecordRepository timeRecordRepository;
     private final EmployeeRepository employeeRepository;
+    private final TimeRecordIngestionService timeRecordIngestionService;
+    private final MonthlyTimesheetService monthlyTimesheetService;
+    private final WorkScheduleService workScheduleService;
+    private final TimeBankService timeBankService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.time.today-cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    /**
+     * Estado de hoje de um funcionário; record nulo quando ainda não há registro.
+     */
+    private record Today(LocalDate date, TimeRecordDTO record) {
+    }
+
+    private final Map<Long, Today> todayCache = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private volatile LocalDate cacheDate = LocalDate.now();
+    private TransactionTemplate transaction;
 
-    private static final LocalTime STANDARD_START = LocalTime.of(9, 0);
-    private static final LocalTime STANDARD_END = LocalTime.of(18, 0);
-    private static final int STANDARD_WORK_MINUTES = 480; // 8 hours
+    @PostConstruct
+    void createTransactionTemplate() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
 
     public List<TimeRecordDTO> findAll() {
         return timeRecordRepository.findAll().stream()
@@ -48,18 +95,30 @@ public class TimeRecordService {
     }
 
     public List<TimeRecordDTO> findByEmployeeAndMonth(Long employeeId, Integer year, Integer month) {
-        return timeRecordRepository.findByEmployeeAndMonth(employeeId, year, month).stream()
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        return timeRecordRepository.findByEmployeeAndPeriod(employeeId, startDate, startDate.plusMonths(1)).stream()
                 .map(TimeRecordDTO::fromEntity)
                 .collect(Collectors.toList());
     }
 
     public Optional<TimeRecordDTO> findTodayRecord(Long employeeId) {
-        return timeRecordRepository.findByEmployeeIdAndRecordDate(employeeId, LocalDate.now())
-                .map(TimeRecordDTO::fromEntity);
+        return Optional.ofNullable(cachedToday(employeeId));
     }
 
-    @Transactional
+    /**
+     * Registro de entrada. Com o diário ligado a marcação não abre transação (a espera pelo fsync
+     * não segura conexão do pool); sem ele, grava o registro numa transação.
+     */
     public TimeRecordDTO clockIn(Long employeeId, String ipAddress, String location) {
+        if (timeRecordIngestionService.isEnabled()) {
+            TimeRecordDTO punched = timeRecordIngestionService.clockIn(employeeId, ipAddress, location);
+            cachePut(employeeId, punched);
+            return punched;
+        }
+        return transaction.execute(status -> clockInRecord(employeeId, ipAddress, location));
+    }
+
+    private TimeRecordDTO clockInRecord(Long employeeId, String ipAddress, String location) {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Funcionário não encontrado"));
 
@@ -78,109 +137,261 @@ public class TimeRecordService {
                 .status(TimeRecord.RecordStatus.PENDING)
                 .build());
 
-        LocalTime now = LocalTime.now();
+        LocalTime now = LocalTime.now().truncatedTo(ChronoUnit.SECONDS);
         record.setClockIn(now);
         record.setIpAddress(ipAddress);
         record.setLocation(location);
 
-        // Calcular atraso
-        if (now.isAfter(STANDARD_START)) {
-            int lateMinutes = (int) ChronoUnit.MINUTES.between(STANDARD_START, now);
-            record.setLateMinutes(lateMinutes);
-        } else {
-            record.setLateMinutes(0);
-        }
+        // Calcular atraso pela escala do dia
+        record.setLateMinutes(workScheduleService.resolve(employeeId, today).lateMinutes(now));
 
         record = timeRecordRepository.save(record);
-        return TimeRecordDTO.fromEntity(record);
+        TimeRecordDTO saved = TimeRecordDTO.fromEntity(record);
+        afterCommit(() -> cachePut(employeeId, saved));
+        return saved;
     }
 
-    @Transactional
     public TimeRecordDTO lunchOut(Long employeeId) {
-        TimeRecord record = timeRecordRepository.findByEmployeeIdAndRecordDate(employeeId, LocalDate.now())
-                .orElseThrow(() -> new ResourceNotFoundException("Não há registro de entrada para hoje"));
+        return punch(employeeId, record -> {
+            if (record.getClockIn() == null) {
+                throw new IllegalStateException("É necessário registrar entrada primeiro");
+            }
+            if (record.getLunchOut() != null) {
+                throw new IllegalStateException("Saída para almoço já registrada");
+            }
+
+            LocalTime now = LocalTime.now().truncatedTo(ChronoUnit.SECONDS);
+            int updated = timeRecordRepository.markLunchOut(employeeId, record.getRecordDate(), now, LocalDateTime.now());
+            return updated == 0 ? null : record.toBuilder().lunchOut(now).build();
+        });
+    }
 
-        if (record.getClockIn() == null) {
-            throw new IllegalStateException("É necessário registrar entrada primeiro");
-        }
-        if (record.getLunchOut() != null) {
-            throw new IllegalStateException("Saída para almoço já registrada");
-        }
+    public TimeRecordDTO lunchIn(Long employeeId) {
+        return punch(employeeId, record -> {
+            if (record.getLunchOut() == null) {
+                throw new IllegalStateException("É necessário registrar saída para almoço primeiro");
+            }
+            if (record.getLunchIn() != null) {
+                throw new IllegalStateException("Retorno do almoço já registrado");
+            }
+
+            LocalTime now = LocalTime.now().truncatedTo(ChronoUnit.SECONDS);
+            int updated = timeRecordRepository.markLunchIn(employeeId, record.getRecordDate(), now, LocalDateTime.now());
+            return updated == 0 ? null : record.toBuilder().lunchIn(now).build();
+        });
+    }
 
-        record.setLunchOut(LocalTime.now());
-        record = timeRecordRepository.save(record);
-        return TimeRecordDTO.fromEntity(record);
+    public TimeRecordDTO clockOut(Long employeeId) {
+        return punch(employeeId, record -> {
+            if (record.getClockIn() == null) {
+                throw new IllegalStateException("É necessário registrar entrada primeiro");
+            }
+            if (record.getClockOut() != null) {
+                throw new IllegalStateException("Saída já registrada");
+            }
+
+            LocalTime now = LocalTime.now().truncatedTo(ChronoUnit.SECONDS);
+            ScheduledDay day = workScheduleService.resolve(employeeId, record.getRecordDate());
+
+            // Calcular saída antecipada, horas trabalhadas e extras pela escala do dia
+            int earlyMinutes = day.earlyDepartureMinutes(now);
+            int workedMinutes = ScheduledDay.workedMinutes(record.getClockIn(), record.getLunchOut(), record.getLunchIn(), now);
+            int overtimeMinutes = day.overtimeMinutes(workedMinutes);
+
+            TimeRecordDTO marked = record.toBuilder()
+                    .clockOut(now)
+                    .earlyDepartureMinutes(earlyMinutes)
+                    .workedMinutes(workedMinutes)
+                    .workedTime(TimeRecordDTO.formatMinutes(workedMinutes))
+                    .overtimeMinutes(overtimeMinutes)
+                    .overtimeTime(TimeRecordDTO.formatMinutes(overtimeMinutes))
+                    .build();
+
+            // Saída e consolidado mensal na mesma transação
+            Integer updated = transaction.execute(status -> {
+                int rows = timeRecordRepository.markClockOut(employeeId, record.getRecordDate(),
+                        record.getLunchOut(), record.getLunchIn(), now,
+                        earlyMinutes, workedMinutes, overtimeMinutes, LocalDateTime.now());
+                if (rows > 0) {
+                    monthlyTimesheetService.replace(MonthlyTimesheetService.Contribution.of(record),
+                            MonthlyTimesheetService.Contribution.of(marked));
+                }
+                return rows;
+            });
+            return updated == null || updated == 0 ? null : marked;
+        });
     }
 
-    @Transactional
-    public TimeRecordDTO lunchIn(Long employeeId) {
-        TimeRecord record = timeRecordRepository.findByEmployeeIdAndRecordDate(employeeId, LocalDate.now())
-                .orElseThrow(() -> new ResourceNotFoundException("Não há registro de entrada para hoje"));
+    /**
+     * Valida e grava uma marcação sobre o estado de hoje em cache. A gravação devolve null quando o
+     * UPDATE condicional não encontra o estado validado (cache defasado ou marcação concorrente):
+     * a entrada é descartada e a validação se repete uma vez com o estado lido do banco.
+     */
+    private TimeRecordDTO punch(Long employeeId, Function<TimeRecordDTO, TimeRecordDTO> mark) {
+        for (int attempt = 1; ; attempt++) {
+            TimeRecordDTO record = cachedToday(employeeId);
+            if (record != null && record.getId() == null) {
+                // Entrada ainda no diário de ponto: grava antes de marcar sobre ela
+                timeRecordIngestionService.flush();
+                record = cachedToday(employeeId);
+            }
+            if (record == null) {
+                record = openNightShift(employeeId);
+            }
+            if (record == null) {
+                throw new ResourceNotFoundException("Não há registro de entrada para hoje");
+            }
+
+            TimeRecordDTO marked = mark.apply(record);
+            if (marked != null) {
+                cachePut(employeeId, marked);
+                return marked;
+            }
+            todayCache.remove(employeeId);
+            if (attempt == 2) {
+                throw new BusinessException("O registro de hoje foi alterado por outra operação; tente novamente");
+            }
+        }
+    }
 
-        if (record.getLunchOut() == null) {
-            throw new IllegalStateException("É necessário registrar saída para almoço primeiro");
+    /**
+     * Turno noturno iniciado ontem e ainda sem saída: as marcações depois da meia-noite são dele.
+     */
+    private TimeRecordDTO openNightShift(Long employeeId) {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        if (!workScheduleService.resolve(employeeId, yesterday).crossesMidnight()) {
+            return null;
         }
-        if (record.getLunchIn() != null) {
-            throw new IllegalStateException("Retorno do almoço já registrado");
+        if (timeRecordIngestionService.hasUnflushed(employeeId, yesterday)) {
+            timeRecordIngestionService.flush();
         }
-
-        record.setLunchIn(LocalTime.now());
-        record = timeRecordRepository.save(record);
-        return TimeRecordDTO.fromEntity(record);
+        return timeRecordRepository.findDayWithEmployee(employeeId, yesterday)
+                .filter(record -> record.getClockIn() != null && record.getClockOut() == null)
+                .map(TimeRecordDTO::fromEntity)
+                .orElse(null);
     }
 
-    @Transactional
-    public TimeRecordDTO clockOut(Long employeeId) {
-        TimeRecord record = timeRecordRepository.findByEmployeeIdAndRecordDate(employeeId, LocalDate.now())
-                .orElseThrow(() -> new ResourceNotFoundException("Não há registro de entrada para hoje"));
+    /**
+     * Carrega o estado de hoje de todos os funcionários ativos (sem registro inclusive) numa
+     * consulta; roda à meia-noite, quando o dia anterior sai do cache, e na subida da aplicação.
+     */
+    @Scheduled(cron = "${app.time.today-cache.preload-cron:0 0 0 * * *}")
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadToday() {
+        if (!cacheEnabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        rollOver(today);
+        // Entradas ainda no diário precisam estar no banco antes da leitura
+        timeRecordIngestionService.flush();
 
-        if (record.getClockIn() == null) {
-            throw new IllegalStateException("É necessário registrar entrada primeiro");
+        Map<Long, Today> loaded = new HashMap<>();
+        for (Long employeeId : employeeRepository.findActiveIds()) {
+            loaded.put(employeeId, new Today(today, null));
         }
-        if (record.getClockOut() != null) {
-            throw new IllegalStateException("Saída já registrada");
+        for (TimeRecord record : timeRecordRepository.findByRecordDateWithEmployee(today)) {
+            loaded.put(record.getEmployee().getId(), new Today(today, TimeRecordDTO.fromEntity(record)));
         }
+        // Marcações feitas durante a carga já estão no cache e são mais recentes
+        loaded.forEach(todayCache::putIfAbsent);
+        log.info("Cache de ponto de {}: {} funcionários carregados", today, loaded.size());
+    }
 
-        LocalTime now = LocalTime.now();
-        record.setClockOut(now);
+    /**
+     * Descarta o estado de hoje de todos os funcionários (ex.: registros recalculados em lote);
+     * a próxima consulta de cada um relê o banco.
+     */
+    public void evictTodayCache() {
+        todayCache.clear();
+    }
 
-        // Calcular saída antecipada
-        if (now.isBefore(STANDARD_END)) {
-            int earlyMinutes = (int) ChronoUnit.MINUTES.between(now, STANDARD_END);
-            record.setEarlyDepartureMinutes(earlyMinutes);
-        } else {
-            record.setEarlyDepartureMinutes(0);
-        }
+    /**
+     * Descarta o estado de hoje de um funcionário (ex.: marcações sincronizadas do aplicativo).
+     */
+    public void evictToday(Long employeeId) {
+        todayCache.remove(employeeId);
+    }
 
-        // Calcular horas trabalhadas
-        int workedMinutes = calculateWorkedMinutes(record);
-        record.setWorkedMinutes(workedMinutes);
+    /**
+     * Tamanho e taxa de acerto do cache de hoje desde a subida da aplicação.
+     */
+    public Map<String, Object> getTodayCacheStats() {
+        long hits = cacheHits.sum();
+        long misses = cacheMisses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", cacheEnabled);
+        stats.put("date", cacheDate);
+        stats.put("entries", todayCache.size());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return stats;
+    }
 
-        // Calcular horas extras
-        if (workedMinutes > STANDARD_WORK_MINUTES) {
-            record.setOvertimeMinutes(workedMinutes - STANDARD_WORK_MINUTES);
-        } else {
-            record.setOvertimeMinutes(0);
+    /**
+     * Estado de hoje pelo cache. Uma entrada aceita pelo diário de ponto (sem id) vale até ser
+     * gravada; depois disso é relida do banco para trazer o id.
+     */
+    private TimeRecordDTO cachedToday(Long employeeId) {
+        LocalDate today = LocalDate.now();
+        rollOver(today);
+
+        Today cached = cacheEnabled ? todayCache.get(employeeId) : null;
+        if (cached != null && cached.date().equals(today) && (cached.record() == null
+                || cached.record().getId() != null || timeRecordIngestionService.hasUnflushed(employeeId, today))) {
+            cacheHits.increment();
+            return cached.record();
         }
 
-        record = timeRecordRepository.save(record);
-        return TimeRecordDTO.fromEntity(record);
+        cacheMisses.increment();
+        TimeRecordDTO record = timeRecordRepository.findDayWithEmployee(employeeId, today)
+                .map(TimeRecordDTO::fromEntity)
+                .or(() -> timeRecordIngestionService.findUnflushed(employeeId, today))
+                .orElse(null);
+        if (!cacheEnabled) {
+            return record;
+        }
+        Today loaded = new Today(today, record);
+        // Não sobrescreve o que uma marcação concorrente gravou depois da leitura
+        if (cached == null) {
+            todayCache.putIfAbsent(employeeId, loaded);
+        } else {
+            todayCache.replace(employeeId, cached, loaded);
+        }
+        return record;
     }
 
-    private int calculateWorkedMinutes(TimeRecord record) {
-        if (record.getClockIn() == null || record.getClockOut() == null) {
-            return 0;
+    private void cachePut(Long employeeId, TimeRecordDTO record) {
+        LocalDate today = LocalDate.now();
+        rollOver(today);
+        if (cacheEnabled && today.equals(record.getRecordDate())) {
+            todayCache.put(employeeId, new Today(today, record));
         }
+    }
 
-        int totalMinutes = (int) ChronoUnit.MINUTES.between(record.getClockIn(), record.getClockOut());
-
-        // Subtrair tempo de almoço se houver
-        if (record.getLunchOut() != null && record.getLunchIn() != null) {
-            int lunchMinutes = (int) ChronoUnit.MINUTES.between(record.getLunchOut(), record.getLunchIn());
-            totalMinutes -= lunchMinutes;
+    private void rollOver(LocalDate today) {
+        if (!today.equals(cacheDate)) {
+            synchronized (todayCache) {
+                if (!today.equals(cacheDate)) {
+                    todayCache.clear();
+                    cacheDate = today;
+                }
+            }
         }
+    }
 
-        return Math.max(0, totalMinutes);
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     @Transactional
@@ -190,12 +401,16 @@ public class TimeRecordService {
 
         Employee approver = employeeRepository.findById(approvedById)
                 .orElseThrow(() -> new ResourceNotFoundException("Aprovador não encontrado"));
+        MonthlyTimesheetService.Contribution before = MonthlyTimesheetService.Contribution.of(record);
 
         record.setStatus(TimeRecord.RecordStatus.APPROVED);
         record.setApprovedBy(approver);
         record.setApprovedAt(LocalDateTime.now());
 
         record = timeRecordRepository.save(record);
+        monthlyTimesheetService.replace(before, MonthlyTimesheetService.Contribution.of(record));
+        timeBankService.post(TimeBankService.Posting.of(record));
+        evictAfterCommit(record);
         return TimeRecordDTO.fromEntity(record);
     }
 
@@ -203,14 +418,28 @@ public class TimeRecordService {
     public TimeRecordDTO reject(Long id, String justification) {
         TimeRecord record = timeRecordRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Registro não encontrado"));
+        MonthlyTimesheetService.Contribution before = MonthlyTimesheetService.Contribution.of(record);
 
         record.setStatus(TimeRecord.RecordStatus.REJECTED);
         record.setJustification(justification);
 
         record = timeRecordRepository.save(record);
+        monthlyTimesheetService.replace(before, MonthlyTimesheetService.Contribution.of(record));
+        timeBankService.post(TimeBankService.Posting.of(record));
+        evictAfterCommit(record);
         return TimeRecordDTO.fromEntity(record);
     }
 
+    /**
+     * Aprovação e rejeição gravam a entidade inteira; o estado de hoje é relido na próxima consulta.
+     */
+    private void evictAfterCommit(TimeRecord record) {
+        if (record.getRecordDate().equals(LocalDate.now())) {
+            Long employeeId = record.getEmployee().getId();
+            afterCommit(() -> todayCache.remove(employeeId));
+        }
+    }
+
     public Integer getTotalWorkedMinutes(Long employeeId, LocalDate startDate, LocalDate endDate) {
         Integer total = timeRecordRepository.getTotalWorkedMinutes(employeeId, startDate, endDate);
         return total != null ? total : 0;
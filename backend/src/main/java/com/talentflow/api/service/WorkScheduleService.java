@@ -0,0 +1,433 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.dto.WorkScheduleAssignmentDTO;
+import com.talentflow.api.dto.WorkScheduleDTO;
+import com.talentflow.api.dto.WorkShiftDTO;
+import com.talentflow.api.entity.WorkSchedule;
+import com.talentflow.api.entity.WorkScheduleAssignment;
+import com.talentflow.api.entity.WorkScheduleDay;
+import com.talentflow.api.entity.WorkScheduleRecompute;
+import com.talentflow.api.entity.WorkShift;
+import com.talentflow.api.exception.BusinessException;
+import com.talentflow.api.exception.ResourceNotFoundException;
+import com.talentflow.api.repository.DepartmentRepository;
+import com.talentflow.api.repository.EmployeeRepository;
+import com.talentflow.api.repository.WorkScheduleAssignmentRepository;
+import com.talentflow.api.repository.WorkScheduleRecomputeRepository;
+import com.talentflow.api.repository.WorkScheduleRepository;
+import com.talentflow.api.repository.WorkShiftRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Escalas de trabalho (turnos, ciclos e atribuições a funcionários ou departamentos). As escalas
+ * são compiladas uma vez em ciclos de {@link ScheduledDay} por atribuição, com as vigências de
+ * cada funcionário e departamento ordenadas para busca binária; a jornada de hoje de cada
+ * funcionário fica num cache do dia, então a resolução nas marcações de ponto é uma consulta a
+ * um mapa. Mudanças de escala invalidam a compilação e pedem o recálculo dos registros afetados.
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkScheduleService {
+
+    private final WorkShiftRepository workShiftRepository;
+    private final WorkScheduleRepository workScheduleRepository;
+    private final WorkScheduleAssignmentRepository assignmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final WorkScheduleRecomputeRepository recomputeRepository;
+
+    private volatile Compiled compiled;
+    private volatile DayCache today;
+
+    /**
+     * Ciclo compilado de uma escala: o dia do ciclo é o resto da distância até o início.
+     */
+    private record Cycle(long startDay, ScheduledDay[] days) {
+
+        ScheduledDay on(LocalDate date) {
+            return days[(int) Math.floorMod(date.toEpochDay() - startDay, (long) days.length)];
+        }
+    }
+
+    /**
+     * Atribuições de um funcionário ou departamento ordenadas por vigência.
+     */
+    private record Versions(long[] validFromDays, Cycle[] cycles) {
+
+        Cycle resolve(LocalDate date) {
+            long day = date.toEpochDay();
+            int low = 0;
+            int high = validFromDays.length - 1;
+            Cycle found = null; // antes da primeira vigência não há escala
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (validFromDays[mid] <= day) {
+                    found = cycles[mid];
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+
+    private record Compiled(Map<Long, Versions> byEmployee, Map<Long, Versions> byDepartment,
+                            Map<Long, Long> departmentByEmployee) {
+    }
+
+    private record DayCache(LocalDate date, Compiled source, Map<Long, ScheduledDay> byEmployee) {
+    }
+
+    /**
+     * Jornada do funcionário na data: escala do funcionário, senão a do departamento, senão a
+     * jornada padrão.
+     */
+    public ScheduledDay resolve(Long employeeId, LocalDate date) {
+        Compiled current = getCompiled();
+        DayCache cache = today;
+        if (cache == null || cache.source() != current || !cache.date().equals(date)) {
+            if (!date.equals(LocalDate.now())) {
+                return resolve(current, employeeId, date);
+            }
+            cache = new DayCache(date, current, new ConcurrentHashMap<>());
+            today = cache;
+        }
+        return cache.byEmployee().computeIfAbsent(employeeId, id -> resolve(current, id, date));
+    }
+
+    /**
+     * Descarta a compilação depois do commit da transação corrente (ex.: funcionário mudou de
+     * departamento); sem recálculo do histórico.
+     */
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clearCompiled();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clearCompiled();
+            }
+        });
+    }
+
+    /**
+     * Recálculo pedido pelas mudanças de escala ainda não processado, ou null.
+     */
+    @Transactional(readOnly = true)
+    public WorkScheduleRecomputeRepository.Pending findPendingRecompute() {
+        WorkScheduleRecomputeRepository.Pending pending = recomputeRepository.findPending();
+        return pending != null && pending.getLastId() != null ? pending : null;
+    }
+
+    /**
+     * Remove os pedidos cobertos por um recálculo concluído; os gravados durante ele ficam para a
+     * próxima execução.
+     */
+    @Transactional
+    public void clearPendingRecompute(Long lastId) {
+        recomputeRepository.deleteUpTo(lastId);
+    }
+
+    // ----- Turnos -----
+
+    public List<WorkShiftDTO> findAllShifts() {
+        return workShiftRepository.findAllByOrderByName().stream()
+                .map(WorkShiftDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public WorkShiftDTO createShift(WorkShiftDTO dto) {
+        if (workShiftRepository.existsByName(dto.getName())) {
+            throw new BusinessException("Já existe um turno com este nome");
+        }
+        WorkShift shift = new WorkShift();
+        applyShift(shift, dto);
+        return WorkShiftDTO.fromEntity(workShiftRepository.save(shift));
+    }
+
+    @Transactional
+    public WorkShiftDTO updateShift(Long id, WorkShiftDTO dto) {
+        WorkShift shift = workShiftRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Turno não encontrado"));
+        if (!shift.getName().equals(dto.getName()) && workShiftRepository.existsByName(dto.getName())) {
+            throw new BusinessException("Já existe um turno com este nome");
+        }
+        applyShift(shift, dto);
+        shift = workShiftRepository.save(shift);
+
+        List<Long> scheduleIds = workScheduleRepository.findIdsUsingShift(id);
+        changed(scheduleIds.isEmpty() ? null : assignmentRepository.findFirstValidFrom(scheduleIds));
+        return WorkShiftDTO.fromEntity(shift);
+    }
+
+    // ----- Escalas -----
+
+    @Transactional(readOnly = true)
+    public List<WorkScheduleDTO> findAll() {
+        return workScheduleRepository.findAllWithDays().stream()
+                .map(WorkScheduleDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public WorkScheduleDTO findById(Long id) {
+        return WorkScheduleDTO.fromEntity(workScheduleRepository.findWithDays(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Escala não encontrada")));
+    }
+
+    @Transactional
+    public WorkScheduleDTO create(WorkScheduleDTO dto) {
+        if (workScheduleRepository.existsByName(dto.getName())) {
+            throw new BusinessException("Já existe uma escala com este nome");
+        }
+        WorkSchedule schedule = WorkSchedule.builder()
+                .name(dto.getName())
+                .description(dto.getDescription())
+                .cycleStart(dto.getCycleStart())
+                .build();
+        applyDays(schedule, dto.getShiftIds());
+        return WorkScheduleDTO.fromEntity(workScheduleRepository.save(schedule));
+    }
+
+    @Transactional
+    public WorkScheduleDTO update(Long id, WorkScheduleDTO dto) {
+        WorkSchedule schedule = workScheduleRepository.findWithDays(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Escala não encontrada"));
+        if (!schedule.getName().equals(dto.getName()) && workScheduleRepository.existsByName(dto.getName())) {
+            throw new BusinessException("Já existe uma escala com este nome");
+        }
+        schedule.setName(dto.getName());
+        schedule.setDescription(dto.getDescription());
+        schedule.setCycleStart(dto.getCycleStart());
+        applyDays(schedule, dto.getShiftIds());
+        schedule = workScheduleRepository.save(schedule);
+
+        changed(assignmentRepository.findFirstValidFrom(List.of(id)));
+        return WorkScheduleDTO.fromEntity(schedule);
+    }
+
+    // ----- Atribuições -----
+
+    @Transactional(readOnly = true)
+    public List<WorkScheduleAssignmentDTO> findAllAssignments() {
+        return assignmentRepository.findAllWithTargets().stream()
+                .map(WorkScheduleAssignmentDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public WorkScheduleAssignmentDTO assign(WorkScheduleAssignmentDTO dto) {
+        if ((dto.getEmployeeId() == null) == (dto.getDepartmentId() == null)) {
+            throw new BusinessException("Informe o funcionário ou o departamento da escala");
+        }
+        WorkScheduleAssignment assignment = WorkScheduleAssignment.builder()
+                .schedule(workScheduleRepository.findById(dto.getScheduleId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Escala não encontrada")))
+                .validFrom(dto.getValidFrom())
+                .build();
+
+        if (dto.getEmployeeId() != null) {
+            if (assignmentRepository.existsByEmployeeIdAndValidFrom(dto.getEmployeeId(), dto.getValidFrom())) {
+                throw new BusinessException("O funcionário já tem uma escala a partir desta data");
+            }
+            assignment.setEmployee(employeeRepository.findById(dto.getEmployeeId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Funcionário não encontrado")));
+        } else {
+            if (assignmentRepository.existsByDepartmentIdAndValidFrom(dto.getDepartmentId(), dto.getValidFrom())) {
+                throw new BusinessException("O departamento já tem uma escala a partir desta data");
+            }
+            assignment.setDepartment(departmentRepository.findById(dto.getDepartmentId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Departamento não encontrado")));
+        }
+
+        assignment = assignmentRepository.save(assignment);
+        changed(assignment.getValidFrom());
+        return WorkScheduleAssignmentDTO.fromEntity(assignment);
+    }
+
+    @Transactional
+    public void unassign(Long id) {
+        WorkScheduleAssignment assignment = assignmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Atribuição de escala não encontrada"));
+        assignmentRepository.delete(assignment);
+        changed(assignment.getValidFrom());
+    }
+
+    /**
+     * Jornada resolvida de um funcionário numa data, para conferência.
+     */
+    public Map<String, Object> describe(Long employeeId, LocalDate date) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new ResourceNotFoundException("Funcionário não encontrado");
+        }
+        ScheduledDay day = resolve(employeeId, date);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("employeeId", employeeId);
+        result.put("date", date);
+        result.put("shiftName", day.shiftName());
+        result.put("dayOff", day.dayOff());
+        result.put("startTime", day.start());
+        result.put("endTime", day.end());
+        result.put("breakMinutes", day.breakMinutes());
+        result.put("expectedMinutes", day.expectedMinutes());
+        result.put("nightShift", day.crossesMidnight());
+        return result;
+    }
+
+    private void applyShift(WorkShift shift, WorkShiftDTO dto) {
+        if (dto.getStartTime().equals(dto.getEndTime())) {
+            throw new BusinessException("Entrada e saída do turno não podem ser iguais");
+        }
+        int breakMinutes = dto.getBreakMinutes() != null ? dto.getBreakMinutes() : 0;
+        ScheduledDay day = new ScheduledDay(null, dto.getName(), dto.getStartTime(), dto.getEndTime(), breakMinutes, false);
+        if (breakMinutes >= day.shiftMinutes()) {
+            throw new BusinessException("O intervalo deve ser menor que a duração do turno");
+        }
+        shift.setName(dto.getName());
+        shift.setStartTime(dto.getStartTime());
+        shift.setEndTime(dto.getEndTime());
+        shift.setBreakMinutes(breakMinutes);
+    }
+
+    /**
+     * Atualiza os dias do ciclo no lugar (posição a posição) para não violar a unicidade da
+     * posição com remoções e inserções no mesmo flush.
+     */
+    private void applyDays(WorkSchedule schedule, List<Long> shiftIds) {
+        Map<Long, WorkShift> shifts = workShiftRepository.findAllById(shiftIds.stream()
+                        .filter(id -> id != null).distinct().collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(WorkShift::getId, Function.identity()));
+
+        List<WorkScheduleDay> days = schedule.getDays();
+        for (int position = 0; position < shiftIds.size(); position++) {
+            Long shiftId = shiftIds.get(position);
+            WorkShift shift = null;
+            if (shiftId != null) {
+                shift = shifts.get(shiftId);
+                if (shift == null) {
+                    throw new ResourceNotFoundException("Turno não encontrado: " + shiftId);
+                }
+            }
+            if (position < days.size()) {
+                days.get(position).setShift(shift);
+            } else {
+                days.add(WorkScheduleDay.builder().schedule(schedule).position(position).shift(shift).build());
+            }
+        }
+        while (days.size() > shiftIds.size()) {
+            days.remove(days.size() - 1);
+        }
+    }
+
+    /**
+     * Grava o pedido de recálculo na transação da mudança e descarta a compilação depois do commit.
+     */
+    private void changed(LocalDate affectedFrom) {
+        // Registros futuros ainda não existem
+        if (affectedFrom != null && !affectedFrom.isAfter(LocalDate.now())) {
+            recomputeRepository.save(WorkScheduleRecompute.builder().affectedFrom(affectedFrom).build());
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clearCompiled();
+            }
+        });
+    }
+
+    private void clearCompiled() {
+        compiled = null;
+        today = null;
+    }
+
+    private static ScheduledDay resolve(Compiled compiled, Long employeeId, LocalDate date) {
+        Cycle cycle = find(compiled.byEmployee(), employeeId, date);
+        if (cycle == null) {
+            Long departmentId = compiled.departmentByEmployee().get(employeeId);
+            cycle = departmentId != null ? find(compiled.byDepartment(), departmentId, date) : null;
+        }
+        return cycle != null ? cycle.on(date) : ScheduledDay.STANDARD;
+    }
+
+    private static Cycle find(Map<Long, Versions> versions, Long id, LocalDate date) {
+        Versions found = versions.get(id);
+        return found != null ? found.resolve(date) : null;
+    }
+
+    private Compiled getCompiled() {
+        Compiled current = compiled;
+        if (current == null) {
+            synchronized (this) {
+                current = compiled;
+                if (current == null) {
+                    current = load();
+                    compiled = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Compiled load() {
+        Map<Long, Cycle> cycles = new HashMap<>();
+        for (WorkSchedule schedule : workScheduleRepository.findAllWithDays()) {
+            ScheduledDay[] days = schedule.getDays().stream()
+                    .map(d -> d.getShift() == null ? ScheduledDay.off(schedule.getName())
+                            : new ScheduledDay(d.getShift().getId(), d.getShift().getName(), d.getShift().getStartTime(),
+                            d.getShift().getEndTime(), d.getShift().getBreakMinutes(), false))
+                    .toArray(ScheduledDay[]::new);
+            if (days.length > 0) {
+                cycles.put(schedule.getId(), new Cycle(schedule.getCycleStart().toEpochDay(), days));
+            }
+        }
+
+        // A consulta já ordena por vigência
+        Map<Long, List<WorkScheduleAssignmentRepository.AssignmentRef>> byEmployee = new HashMap<>();
+        Map<Long, List<WorkScheduleAssignmentRepository.AssignmentRef>> byDepartment = new HashMap<>();
+        for (WorkScheduleAssignmentRepository.AssignmentRef ref : assignmentRepository.findAllRefs()) {
+            if (!cycles.containsKey(ref.getScheduleId())) {
+                continue;
+            }
+            if (ref.getEmployeeId() != null) {
+                byEmployee.computeIfAbsent(ref.getEmployeeId(), id -> new ArrayList<>()).add(ref);
+            } else if (ref.getDepartmentId() != null) {
+                byDepartment.computeIfAbsent(ref.getDepartmentId(), id -> new ArrayList<>()).add(ref);
+            }
+        }
+
+        Map<Long, Long> departmentByEmployee = new HashMap<>();
+        if (!byDepartment.isEmpty()) {
+            for (EmployeeRepository.DepartmentRef ref : employeeRepository.findDepartmentRefs()) {
+                departmentByEmployee.put(ref.getId(), ref.getDepartmentId());
+            }
+        }
+        return new Compiled(toVersions(byEmployee, cycles), toVersions(byDepartment, cycles), departmentByEmployee);
+    }
+
+    private static Map<Long, Versions> toVersions(Map<Long, List<WorkScheduleAssignmentRepository.AssignmentRef>> refs,
+                                                  Map<Long, Cycle> cycles) {
+        Map<Long, Versions> result = new HashMap<>();
+        refs.forEach((id, list) -> result.put(id, new Versions(
+                list.stream().mapToLong(r -> r.getValidFrom().toEpochDay()).toArray(),
+                list.stream().map(r -> cycles.get(r.getScheduleId())).toArray(Cycle[]::new))));
+        return result;
+    }
+}
@@ -0,0 +1,219 @@
+package com.talentflow.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Gera uma remessa e a lê de volta campo a campo pelas posições do layout FEBRABAN 240.
+ */
+class Cnab240WriterTest {
+
+    private static final Cnab240Writer.Company COMPANY = new Cnab240Writer.Company(
+            "341", "Banco Itaú", "12.345.678/0001-90", "CONV123", "1234", "5", "98765", "4", "TalentFlow Ltda");
+    private static final LocalDateTime GENERATED_AT = LocalDateTime.of(2026, 10, 5, 14, 30, 15);
+    private static final LocalDate PAYMENT_DATE = LocalDate.of(2026, 10, 5);
+
+    private ByteArrayOutputStream out;
+    private Cnab240Writer writer;
+
+    @BeforeEach
+    void setUp() {
+        out = new ByteArrayOutputStream();
+        writer = new Cnab240Writer(out, COMPANY);
+    }
+
+    @Test
+    void roundTripsHeaderSegmentsAndTrailers() throws IOException {
+        writer.fileHeader(GENERATED_AT, 42);
+        writer.startBatch(Cnab240Writer.ENTRY_ACCOUNT_CREDIT);
+        writer.payment("341", "1234", "0", "11111", "1", "José Conceição", "123.456.789-01", 7L, PAYMENT_DATE, 512_345L);
+        writer.payment("341", "4321", null, "22222", "X", "Maria Souza", "98765432100", 8L, PAYMENT_DATE, 100L);
+        writer.startBatch(Cnab240Writer.ENTRY_TED);
+        writer.payment("001", "0001", "9", "333333333333", "2", "Ana Lima", "11122233344", 9L, PAYMENT_DATE, 250_000L);
+        writer.finish();
+
+        List<String> lines = records();
+        // Header, (header + 2×A/B + trailer), (header + A/B + trailer), trailer
+        assertThat(lines).hasSize(1 + 6 + 4 + 1);
+
+        String header = lines.get(0);
+        assertThat(field(header, 1, 3)).isEqualTo("341");
+        assertThat(field(header, 4, 7)).isEqualTo("0000");
+        assertThat(field(header, 8, 8)).isEqualTo("0");
+        assertThat(field(header, 18, 18)).isEqualTo("2");
+        assertThat(field(header, 19, 32)).isEqualTo("12345678000190");
+        assertThat(field(header, 33, 52).trim()).isEqualTo("CONV123");
+        assertThat(field(header, 53, 57)).isEqualTo("01234");
+        assertThat(field(header, 59, 70)).isEqualTo("000000098765");
+        assertThat(field(header, 73, 102).trim()).isEqualTo("TALENTFLOW LTDA");
+        assertThat(field(header, 103, 132).trim()).isEqualTo("BANCO ITAU");
+        assertThat(field(header, 143, 143)).isEqualTo("1");
+        assertThat(field(header, 144, 151)).isEqualTo("05102026");
+        assertThat(field(header, 152, 157)).isEqualTo("143015");
+        assertThat(field(header, 158, 163)).isEqualTo("000042");
+        assertThat(field(header, 164, 166)).isEqualTo("089");
+
+        String creditHeader = lines.get(1);
+        assertThat(field(creditHeader, 4, 7)).isEqualTo("0001");
+        assertThat(field(creditHeader, 8, 8)).isEqualTo("1");
+        assertThat(field(creditHeader, 9, 9)).isEqualTo("C");
+        assertThat(field(creditHeader, 10, 11)).isEqualTo("30");
+        assertThat(field(creditHeader, 12, 13)).isEqualTo("01");
+        assertThat(field(creditHeader, 14, 16)).isEqualTo("045");
+
+        String a1 = lines.get(2);
+        assertThat(field(a1, 4, 7)).isEqualTo("0001");
+        assertThat(field(a1, 8, 8)).isEqualTo("3");
+        assertThat(field(a1, 9, 13)).isEqualTo("00001");
+        assertThat(field(a1, 14, 14)).isEqualTo("A");
+        assertThat(field(a1, 18, 20)).isEqualTo("000");
+        assertThat(field(a1, 21, 23)).isEqualTo("341");
+        assertThat(field(a1, 24, 28)).isEqualTo("01234");
+        assertThat(field(a1, 29, 29)).isEqualTo("0");
+        assertThat(field(a1, 30, 41)).isEqualTo("000000011111");
+        assertThat(field(a1, 42, 42)).isEqualTo("1");
+        assertThat(field(a1, 44, 73).trim()).isEqualTo("JOSE CONCEICAO");
+        assertThat(field(a1, 74, 93)).isEqualTo("00000000000000000007");
+        assertThat(field(a1, 94, 101)).isEqualTo("05102026");
+        assertThat(field(a1, 102, 104)).isEqualTo("BRL");
+        assertThat(Long.parseLong(field(a1, 120, 134))).isEqualTo(512_345L);
+
+        String b1 = lines.get(3);
+        assertThat(field(b1, 9, 13)).isEqualTo("00002");
+        assertThat(field(b1, 14, 14)).isEqualTo("B");
+        assertThat(field(b1, 18, 18)).isEqualTo("1");
+        assertThat(field(b1, 19, 32)).isEqualTo("00012345678901");
+
+        String a2 = lines.get(4);
+        assertThat(field(a2, 9, 13)).isEqualTo("00003");
+        assertThat(field(a2, 29, 29)).isEqualTo(" ");
+        assertThat(field(a2, 42, 42)).isEqualTo("X");
+
+        String creditTrailer = lines.get(6);
+        assertThat(field(creditTrailer, 4, 7)).isEqualTo("0001");
+        assertThat(field(creditTrailer, 8, 8)).isEqualTo("5");
+        assertThat(Integer.parseInt(field(creditTrailer, 18, 23))).isEqualTo(6);
+        assertThat(Long.parseLong(field(creditTrailer, 24, 41))).isEqualTo(512_445L);
+
+        String tedHeader = lines.get(7);
+        assertThat(field(tedHeader, 4, 7)).isEqualTo("0002");
+        assertThat(field(tedHeader, 12, 13)).isEqualTo("41");
+
+        String tedA = lines.get(8);
+        assertThat(field(tedA, 4, 7)).isEqualTo("0002");
+        assertThat(field(tedA, 9, 13)).isEqualTo("00001");
+        assertThat(field(tedA, 18, 20)).isEqualTo("018");
+        assertThat(field(tedA, 30, 41)).isEqualTo("333333333333");
+
+        String tedTrailer = lines.get(10);
+        assertThat(Integer.parseInt(field(tedTrailer, 18, 23))).isEqualTo(4);
+        assertThat(Long.parseLong(field(tedTrailer, 24, 41))).isEqualTo(250_000L);
+
+        String trailer = lines.get(11);
+        assertThat(field(trailer, 1, 3)).isEqualTo("341");
+        assertThat(field(trailer, 4, 7)).isEqualTo("9999");
+        assertThat(field(trailer, 8, 8)).isEqualTo("9");
+        assertThat(Integer.parseInt(field(trailer, 18, 23))).isEqualTo(2);
+        assertThat(Integer.parseInt(field(trailer, 24, 29))).isEqualTo(lines.size());
+        assertThat(writer.getPaymentCount()).isEqualTo(3);
+    }
+
+    @Test
+    void batchTotalsMatchDetailSums() throws IOException {
+        writer.fileHeader(GENERATED_AT, 1);
+        writer.startBatch(Cnab240Writer.ENTRY_ACCOUNT_CREDIT);
+        long expected = 0;
+        for (int i = 1; i <= 1000; i++) {
+            long cents = 100_000L + i * 37L;
+            expected += cents;
+            writer.payment("341", "1234", "0", String.valueOf(i), "1", "Funcionário " + i, "00000000000", i,
+                    PAYMENT_DATE, cents);
+        }
+        writer.finish();
+
+        List<String> lines = records();
+        long details = 0;
+        long amounts = 0;
+        int sequence = 0;
+        for (String line : lines) {
+            if (field(line, 8, 8).equals("3")) {
+                details++;
+                assertThat(Integer.parseInt(field(line, 9, 13))).isEqualTo(++sequence);
+                if (field(line, 14, 14).equals("A")) {
+                    amounts += Long.parseLong(field(line, 120, 134));
+                }
+            }
+        }
+        String batchTrailer = lines.get(lines.size() - 2);
+        assertThat(details).isEqualTo(2000);
+        assertThat(amounts).isEqualTo(expected);
+        assertThat(Long.parseLong(field(batchTrailer, 24, 41))).isEqualTo(expected);
+        assertThat(Integer.parseInt(field(batchTrailer, 18, 23))).isEqualTo(2002);
+        assertThat(Integer.parseInt(field(lines.get(lines.size() - 1), 24, 29))).isEqualTo(2004);
+    }
+
+    @Test
+    void emptyBatchesAreOmitted() throws IOException {
+        writer.fileHeader(GENERATED_AT, 1);
+        writer.startBatch(Cnab240Writer.ENTRY_ACCOUNT_CREDIT);
+        writer.startBatch(Cnab240Writer.ENTRY_TED);
+        writer.payment("001", "1", "0", "2", "3", "Ana", "11122233344", 1L, PAYMENT_DATE, 1L);
+        writer.finish();
+
+        List<String> lines = records();
+        assertThat(lines).hasSize(6);
+        assertThat(field(lines.get(1), 12, 13)).isEqualTo("41");
+        assertThat(field(lines.get(1), 4, 7)).isEqualTo("0001");
+        assertThat(Integer.parseInt(field(lines.get(5), 18, 23))).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsValuesLargerThanTheField() throws IOException {
+        writer.fileHeader(GENERATED_AT, 1);
+        writer.startBatch(Cnab240Writer.ENTRY_ACCOUNT_CREDIT);
+
+        assertThatThrownBy(() -> writer.payment("341", "123456", "0", "1", "1", "Ana", "11122233344", 1L,
+                PAYMENT_DATE, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> writer.payment("341", "1", "0", "1", "1", "Ana", "11122233344", 1L,
+                PAYMENT_DATE, -1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Separa os registros pelo CRLF, conferindo que todos têm exatamente 240 bytes ASCII.
+     */
+    private List<String> records() {
+        byte[] bytes = out.toByteArray();
+        assertThat(bytes.length % (Cnab240Writer.RECORD_LENGTH + 2)).isZero();
+
+        List<String> lines = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += Cnab240Writer.RECORD_LENGTH + 2) {
+            byte[] record = Arrays.copyOfRange(bytes, offset, offset + Cnab240Writer.RECORD_LENGTH);
+            assertThat(bytes[offset + Cnab240Writer.RECORD_LENGTH]).isEqualTo((byte) '\r');
+            assertThat(bytes[offset + Cnab240Writer.RECORD_LENGTH + 1]).isEqualTo((byte) '\n');
+            for (byte b : record) {
+                assertThat(b).isBetween((byte) 32, (byte) 126);
+            }
+            String line = new String(record, StandardCharsets.US_ASCII);
+            assertThat(line).hasSize(Cnab240Writer.RECORD_LENGTH);
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    // Posições inclusivas a partir de 1, como no layout
+    private static String field(String line, int from, int to) {
+        return line.substring(from - 1, to);
+    }
+}
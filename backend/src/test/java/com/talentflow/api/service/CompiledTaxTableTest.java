@@ -0,0 +1,199 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.entity.TaxBracket;
+import com.talentflow.api.entity.TaxTable;
+import com.talentflow.api.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Confere as tabelas compiladas com o cálculo em BigDecimal que existia antes das tabelas
+ * versionadas (INSS e IRRF 2024, como semeados pelo DataLoader).
+ */
+class CompiledTaxTableTest {
+
+    private static final long MAX_GOLDEN_CENTS = 3_000_000L; // R$ 30.000,00
+
+    private final CompiledTaxTable inss = CompiledTaxTable.compile(inss2024());
+    private final CompiledTaxTable irrf = CompiledTaxTable.compile(irrf2024());
+
+    @Test
+    void inssMatchesLegacyForEveryCent() {
+        for (long cents = 0; cents <= MAX_GOLDEN_CENTS; cents++) {
+            long expected = CompiledTaxTable.toCents(legacyInss(CompiledTaxTable.fromCents(cents)));
+            if (inss.taxCents(cents) != expected) {
+                assertThat(inss.taxCents(cents)).as("INSS de %d centavos", cents).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void irrfMatchesLegacyForEveryCent() {
+        for (long cents = 0; cents <= MAX_GOLDEN_CENTS; cents++) {
+            long expected = CompiledTaxTable.toCents(legacyIrrf(CompiledTaxTable.fromCents(cents)));
+            if (irrf.taxCents(cents) != expected) {
+                assertThat(irrf.taxCents(cents)).as("IRRF de %d centavos", cents).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void inssBracketEdgesAreInclusive() {
+        // Limite superior pertence à faixa; o centavo seguinte já usa a próxima alíquota
+        assertThat(inss.tax(new BigDecimal("1412.00"))).isEqualByComparingTo("105.90");
+        assertThat(inss.tax(new BigDecimal("1412.01"))).isEqualByComparingTo("127.08");
+        assertThat(inss.tax(new BigDecimal("2666.68"))).isEqualByComparingTo("240.00");
+        assertThat(inss.tax(new BigDecimal("2666.69"))).isEqualByComparingTo("320.00");
+        assertThat(inss.tax(new BigDecimal("4000.03"))).isEqualByComparingTo("480.00");
+        assertThat(inss.tax(new BigDecimal("4000.04"))).isEqualByComparingTo("560.01");
+    }
+
+    @Test
+    void inssAboveLastBracketUsesCeiling() {
+        assertThat(inss.tax(new BigDecimal("7786.02"))).isEqualByComparingTo("1090.04");
+        assertThat(inss.tax(new BigDecimal("7786.03"))).isEqualByComparingTo("908.85");
+        assertThat(inss.tax(new BigDecimal("1000000.00"))).isEqualByComparingTo("908.85");
+    }
+
+    @Test
+    void irrfDeductionModeEdges() {
+        assertThat(irrf.tax(new BigDecimal("2259.20"))).isEqualByComparingTo("0.00");
+        assertThat(irrf.tax(new BigDecimal("2259.21"))).isEqualByComparingTo("0.00");
+        assertThat(irrf.tax(new BigDecimal("2826.65"))).isEqualByComparingTo("42.56");
+        assertThat(irrf.tax(new BigDecimal("2826.66"))).isEqualByComparingTo("42.56");
+        assertThat(irrf.tax(new BigDecimal("4664.68"))).isEqualByComparingTo("386.78");
+        assertThat(irrf.tax(new BigDecimal("4664.69"))).isEqualByComparingTo("386.79");
+        // Última faixa sem limite: alíquota marginal de 27,5%
+        assertThat(irrf.tax(new BigDecimal("100000.00"))).isEqualByComparingTo("26604.00");
+    }
+
+    @Test
+    void zeroAndNegativeBasesAreExempt() {
+        assertThat(inss.taxCents(0)).isZero();
+        assertThat(inss.taxCents(-100)).isZero();
+        assertThat(irrf.taxCents(-100)).isZero();
+    }
+
+    @Test
+    void progressiveModeMatchesSliceBySliceSum() {
+        TaxTable table = table(TaxTable.TaxType.INSS, TaxTable.CalculationMode.PROGRESSIVE, null);
+        addBracket(table, "1412.00", "0.075", "0");
+        addBracket(table, "2666.68", "0.09", "0");
+        addBracket(table, "4000.03", "0.12", "0");
+        addBracket(table, "7786.02", "0.14", "0");
+        CompiledTaxTable progressive = CompiledTaxTable.compile(table);
+
+        for (long cents = 0; cents <= 1_000_000L; cents += 7) {
+            long expected = CompiledTaxTable.toCents(progressiveSum(CompiledTaxTable.fromCents(cents)));
+            if (progressive.taxCents(cents) != expected) {
+                assertThat(progressive.taxCents(cents)).as("INSS progressivo de %d centavos", cents).isEqualTo(expected);
+            }
+        }
+        // Sem teto informado, o teto é a soma de todas as faixas
+        assertThat(progressive.tax(new BigDecimal("20000.00")))
+                .isEqualByComparingTo(progressiveSum(new BigDecimal("7786.02")).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void rejectsDecreasingLimits() {
+        TaxTable table = table(TaxTable.TaxType.IRRF, TaxTable.CalculationMode.DEDUCTION, null);
+        addBracket(table, "2000.00", "0", "0");
+        addBracket(table, "2000.00", "0.075", "150.00");
+
+        assertThatThrownBy(() -> CompiledTaxTable.compile(table)).isInstanceOf(BusinessException.class);
+    }
+
+    // ==================== TABELAS 2024 ====================
+
+    static TaxTable inss2024() {
+        TaxTable table = table(TaxTable.TaxType.INSS, TaxTable.CalculationMode.FLAT, new BigDecimal("908.85"));
+        addBracket(table, "1412.00", "0.075", "0");
+        addBracket(table, "2666.68", "0.09", "0");
+        addBracket(table, "4000.03", "0.12", "0");
+        addBracket(table, "7786.02", "0.14", "0");
+        return table;
+    }
+
+    static TaxTable irrf2024() {
+        TaxTable table = table(TaxTable.TaxType.IRRF, TaxTable.CalculationMode.DEDUCTION, null);
+        addBracket(table, "2259.20", "0", "0");
+        addBracket(table, "2826.65", "0.075", "169.44");
+        addBracket(table, "3751.05", "0.15", "381.44");
+        addBracket(table, "4664.68", "0.225", "662.77");
+        addBracket(table, null, "0.275", "896.00");
+        return table;
+    }
+
+    private static TaxTable table(TaxTable.TaxType type, TaxTable.CalculationMode mode, BigDecimal ceiling) {
+        return TaxTable.builder()
+                .type(type)
+                .validFrom(LocalDate.of(2024, 1, 1))
+                .mode(mode)
+                .ceilingValue(ceiling)
+                .build();
+    }
+
+    private static void addBracket(TaxTable table, String upperLimit, String rate, String deduction) {
+        table.getBrackets().add(TaxBracket.builder()
+                .table(table)
+                .upperLimit(upperLimit != null ? new BigDecimal(upperLimit) : null)
+                .rate(new BigDecimal(rate))
+                .deduction(new BigDecimal(deduction))
+                .build());
+    }
+
+    // ==================== CÁLCULO ANTERIOR (BigDecimal) ====================
+
+    static BigDecimal legacyInss(BigDecimal salary) {
+        BigDecimal inss;
+        if (salary.compareTo(BigDecimal.valueOf(1412.00)) <= 0) {
+            inss = salary.multiply(BigDecimal.valueOf(0.075));
+        } else if (salary.compareTo(BigDecimal.valueOf(2666.68)) <= 0) {
+            inss = salary.multiply(BigDecimal.valueOf(0.09));
+        } else if (salary.compareTo(BigDecimal.valueOf(4000.03)) <= 0) {
+            inss = salary.multiply(BigDecimal.valueOf(0.12));
+        } else if (salary.compareTo(BigDecimal.valueOf(7786.02)) <= 0) {
+            inss = salary.multiply(BigDecimal.valueOf(0.14));
+        } else {
+            inss = BigDecimal.valueOf(908.85);
+        }
+        return inss.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal legacyIrrf(BigDecimal base) {
+        BigDecimal irrf;
+        if (base.compareTo(BigDecimal.valueOf(2259.20)) <= 0) {
+            irrf = BigDecimal.ZERO;
+        } else if (base.compareTo(BigDecimal.valueOf(2826.65)) <= 0) {
+            irrf = base.multiply(BigDecimal.valueOf(0.075)).subtract(BigDecimal.valueOf(169.44));
+        } else if (base.compareTo(BigDecimal.valueOf(3751.05)) <= 0) {
+            irrf = base.multiply(BigDecimal.valueOf(0.15)).subtract(BigDecimal.valueOf(381.44));
+        } else if (base.compareTo(BigDecimal.valueOf(4664.68)) <= 0) {
+            irrf = base.multiply(BigDecimal.valueOf(0.225)).subtract(BigDecimal.valueOf(662.77));
+        } else {
+            irrf = base.multiply(BigDecimal.valueOf(0.275)).subtract(BigDecimal.valueOf(896.00));
+        }
+        return irrf.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal progressiveSum(BigDecimal base) {
+        String[][] brackets = {{"1412.00", "0.075"}, {"2666.68", "0.09"}, {"4000.03", "0.12"}, {"7786.02", "0.14"}};
+        BigDecimal tax = BigDecimal.ZERO;
+        BigDecimal lower = BigDecimal.ZERO;
+        for (String[] bracket : brackets) {
+            BigDecimal upper = new BigDecimal(bracket[0]);
+            if (base.compareTo(lower) <= 0) {
+                break;
+            }
+            tax = tax.add(base.min(upper).subtract(lower).multiply(new BigDecimal(bracket[1])));
+            lower = upper;
+        }
+        return tax;
+    }
+}
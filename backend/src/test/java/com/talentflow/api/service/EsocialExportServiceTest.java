@@ -0,0 +1,196 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.repository.PayrollRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Valida os lotes S-1200 e S-1210 gerados contra recortes dos esquemas oficiais
+ * (src/test/resources/esocial): o envelope do lote e, à parte, cada evento pelo esquema do seu tipo.
+ */
+class EsocialExportServiceTest {
+
+    private static final String REMUNERATION_NAMESPACE = "http://www.esocial.gov.br/schema/evt/evtRemun/v_S_01_02_00";
+    private static final String PAYMENT_NAMESPACE = "http://www.esocial.gov.br/schema/evt/evtPgtos/v_S_01_02_00";
+    private static final LocalDate PAYMENT_DATE = LocalDate.of(2026, 10, 5);
+
+    private static Schema lotSchema;
+    private static Schema remunerationSchema;
+    private static Schema paymentSchema;
+
+    @TempDir
+    Path dir;
+
+    private PayrollRepository payrollRepository;
+    private EsocialExportService service;
+
+    @BeforeAll
+    static void loadSchemas() throws SAXException {
+        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        lotSchema = factory.newSchema(schema("envioLoteEventos-v1_1_1.xsd"));
+        remunerationSchema = factory.newSchema(schema("evtRemun-v_S_01_02_00.xsd"));
+        paymentSchema = factory.newSchema(schema("evtPgtos-v_S_01_02_00.xsd"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        payrollRepository = mock(PayrollRepository.class);
+        service = new EsocialExportService(payrollRepository);
+        ReflectionTestUtils.setField(service, "esocialDir", dir.toString());
+        ReflectionTestUtils.setField(service, "lotSize", 2);
+        ReflectionTestUtils.setField(service, "environment", 2);
+        ReflectionTestUtils.setField(service, "employerCnpj", "12.345.678/0001-90");
+        ReflectionTestUtils.setField(service, "rubricTable", "TALENTF");
+    }
+
+    @Test
+    void lotsAndEventsMatchTheLayout() throws Exception {
+        stubRows(
+                row(1L, 10L, "12345678901", 3L, null, "5000.00", "4123.45"),
+                row(2L, 11L, "98765432100", null, PAYMENT_DATE, "1412.00", "1301.10"),
+                // Líquido zerado: só o S-1200
+                row(3L, 12L, "11122233344", 3L, null, "2000.00", "0.00"));
+
+        Map<String, Object> result = service.export(2026, 9, PAYMENT_DATE);
+
+        assertThat(result.get("remunerationEvents")).isEqualTo(3L);
+        assertThat(result.get("paymentEvents")).isEqualTo(2L);
+        assertThat(result.get("lots")).asList().containsExactly(
+                "S-1200_lote_0001.xml", "S-1200_lote_0002.xml", "S-1210_lote_0001.xml");
+
+        Path period = dir.resolve("2026-09");
+        List<String> ids = new ArrayList<>();
+        assertThat(validateLot(period.resolve("S-1200_lote_0001.xml"), ids)).isEqualTo(2);
+        assertThat(validateLot(period.resolve("S-1200_lote_0002.xml"), ids)).isEqualTo(1);
+        assertThat(validateLot(period.resolve("S-1210_lote_0001.xml"), ids)).isEqualTo(2);
+        assertThat(ids).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void schemaRejectsInvalidCpf() throws Exception {
+        stubRows(row(1L, 10L, "123", 3L, null, "5000.00", "4123.45"));
+
+        service.export(2026, 9, PAYMENT_DATE);
+
+        Path lot = dir.resolve("2026-09").resolve("S-1200_lote_0001.xml");
+        assertThatThrownBy(() -> validateLot(lot, new ArrayList<>()))
+                .isInstanceOf(SAXException.class)
+                .hasMessageContaining("123");
+    }
+
+    @Test
+    void failedExportKeepsPreviousLots() throws Exception {
+        stubRows(row(1L, 10L, "12345678901", 3L, null, "5000.00", "4123.45"));
+        service.export(2026, 9, PAYMENT_DATE);
+        Path period = dir.resolve("2026-09");
+        byte[] previous = Files.readAllBytes(period.resolve("S-1200_lote_0001.xml"));
+
+        // Primeiro lote completo antes da falha na terceira folha
+        PayrollRepository.EsocialRow broken = row(3L, 12L, "11122233344", 3L, null, "2000.00", "0.00");
+        when(broken.getCpf()).thenThrow(new IllegalStateException("falha de leitura"));
+        stubRows(
+                row(1L, 10L, "12345678901", 3L, null, "5000.00", "4123.45"),
+                row(2L, 11L, "98765432100", null, PAYMENT_DATE, "1412.00", "1301.10"),
+                broken);
+
+        assertThatThrownBy(() -> service.export(2026, 9, PAYMENT_DATE))
+                .isInstanceOf(IllegalStateException.class);
+
+        try (Stream<Path> files = Files.list(period)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .containsExactly("S-1200_lote_0001.xml", "S-1210_lote_0001.xml");
+        }
+        assertThat(Files.readAllBytes(period.resolve("S-1200_lote_0001.xml"))).isEqualTo(previous);
+        try (Stream<Path> entries = Files.list(dir)) {
+            assertThat(entries.map(entry -> entry.getFileName().toString())).containsExactly("2026-09");
+        }
+    }
+
+    /**
+     * Valida o envelope do lote e cada evento contido nele; devolve a quantidade de eventos.
+     */
+    private int validateLot(Path file, List<String> ids) throws Exception {
+        lotSchema.newValidator().validate(new StreamSource(file.toFile()));
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document document = factory.newDocumentBuilder().parse(file.toFile());
+        NodeList events = document.getElementsByTagNameNS("*", "evento");
+        for (int i = 0; i < events.getLength(); i++) {
+            Element evento = (Element) events.item(i);
+            Element event = firstChildElement(evento);
+            Schema schema = REMUNERATION_NAMESPACE.equals(event.getNamespaceURI()) ? remunerationSchema : paymentSchema;
+            assertThat(event.getNamespaceURI()).isIn(REMUNERATION_NAMESPACE, PAYMENT_NAMESPACE);
+            schema.newValidator().validate(new DOMSource(event));
+
+            // O Id do envelope é o mesmo do evento
+            assertThat(firstChildElement(event).getAttribute("Id")).isEqualTo(evento.getAttribute("Id"));
+            ids.add(evento.getAttribute("Id"));
+        }
+        return events.getLength();
+    }
+
+    private void stubRows(PayrollRepository.EsocialRow... rows) {
+        when(payrollRepository.countClosedWithoutCpf(2026, 9)).thenReturn(0L);
+        when(payrollRepository.streamClosedForEsocial(2026, 9)).thenReturn(Stream.of(rows));
+    }
+
+    private static PayrollRepository.EsocialRow row(Long payrollId, Long employeeId, String cpf, Long departmentId,
+                                                    LocalDate paymentDate, String baseSalary, String netSalary) {
+        PayrollRepository.EsocialRow row = mock(PayrollRepository.EsocialRow.class);
+        when(row.getPayrollId()).thenReturn(payrollId);
+        when(row.getEmployeeId()).thenReturn(employeeId);
+        when(row.getCpf()).thenReturn(cpf);
+        when(row.getDepartmentId()).thenReturn(departmentId);
+        when(row.getPaymentDate()).thenReturn(paymentDate);
+        when(row.getBaseSalary()).thenReturn(new BigDecimal(baseSalary));
+        when(row.getInssValue()).thenReturn(new BigDecimal("450.00"));
+        when(row.getMealDiscount()).thenReturn(BigDecimal.ZERO);
+        when(row.getNetSalary()).thenReturn(new BigDecimal(netSalary));
+        return row;
+    }
+
+    private static Element firstChildElement(Element parent) {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element element) {
+                return element;
+            }
+        }
+        throw new AssertionError("Elemento sem filhos: " + parent.getTagName());
+    }
+
+    private static URL schema(String name) {
+        URL url = EsocialExportServiceTest.class.getResource("/esocial/" + name);
+        assertThat(url).as(name).isNotNull();
+        return url;
+    }
+}
@@ -0,0 +1,102 @@
+package com.talentflow.api.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gravação com fsync em grupo: marcações confirmadas em paralelo, inclusive durante a rotação do
+ * segmento, têm que estar nos segmentos lidos na reaplicação.
+ */
+class PunchJournalTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 5);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void concurrentAppendsAreAllDurable() throws Exception {
+        PunchJournal journal = new PunchJournal(dir, true);
+        assertThat(journal.open()).isEmpty();
+
+        int threads = 8;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        List<Path> closed = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int first = t * perThread;
+                futures.add(executor.submit(() -> {
+                    for (long id = first; id < first + perThread; id++) {
+                        journal.sync(journal.append(punch(id)));
+                    }
+                    return null;
+                }));
+            }
+            // Rotações no meio das gravações, como a descarga periódica
+            while (futures.stream().anyMatch(future -> !future.isDone())) {
+                Path segment = journal.rotate();
+                if (segment != null) {
+                    closed.add(segment);
+                }
+                Thread.sleep(1);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        journal.close();
+
+        List<Long> ids = new ArrayList<>();
+        for (Path segment : new PunchJournal(dir, true).open()) {
+            PunchJournal.read(segment).forEach(punch -> ids.add(punch.employeeId()));
+        }
+        assertThat(ids).hasSize(threads * perThread).doesNotHaveDuplicates();
+        assertThat(closed).isNotEmpty();
+    }
+
+    @Test
+    void syncAfterRotateDoesNotFail() throws Exception {
+        PunchJournal journal = new PunchJournal(dir, true);
+        journal.open();
+        long position = journal.append(punch(1L));
+        assertThat(journal.rotate()).isNotNull();
+
+        journal.sync(position);
+        journal.sync(journal.append(punch(2L)));
+        journal.close();
+
+        assertThat(new PunchJournal(dir, false).open()).hasSize(2);
+    }
+
+    @Test
+    void roundTripsFields() throws Exception {
+        PunchJournal journal = new PunchJournal(dir, false);
+        journal.open();
+        PunchJournal.Punch punch = new PunchJournal.Punch(7L, DATE, LocalTime.of(8, 3, 15), null,
+                "10.0.0.1", "Portaria | Bloco A");
+        journal.sync(journal.append(punch));
+        Path segment = journal.rotate();
+        journal.close();
+
+        assertThat(PunchJournal.read(segment)).containsExactly(punch);
+    }
+
+    private static PunchJournal.Punch punch(long employeeId) {
+        return new PunchJournal.Punch(employeeId, DATE, LocalTime.of(8, 0), 0, "127.0.0.1", null);
+    }
+}
@@ -0,0 +1,196 @@
+package com.talentflow.api.service;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import com.talentflow.api.dto.EmployeeDTO;
+import com.talentflow.api.entity.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a renderização de relatórios pelo {@link ReportDefinition} (fontes compartilhadas,
+ * rótulos por tabela) com o caminho anterior (uma {@code Font} por célula, uma {@code Color}
+ * por cabeçalho, mapeamento e {@code switch} de rótulos por exportação).
+ * <p>
+ * Os dois caminhos descarregam a tabela em blocos do mesmo tamanho, então a diferença medida
+ * é a da montagem das células. Execução com alocação por operação ({@code gc.alloc.rate.norm}):
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main ReportExportBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ReportExportBenchmark {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int PDF_CHUNK_ROWS = 200;
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private List<EmployeeDTO> employees;
+    private ReportExportService service;
+
+    @Setup
+    public void setUp() {
+        Employee.EmployeeStatus[] statuses = Employee.EmployeeStatus.values();
+        employees = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            employees.add(EmployeeDTO.builder()
+                    .id((long) i)
+                    .name("Funcionário " + i)
+                    .email("funcionario" + i + "@talentflow.com")
+                    .position(i % 3 == 0 ? "Desenvolvedor" : "Analista")
+                    .departmentName(i % 5 == 0 ? null : "Departamento " + (i % 7))
+                    .hireDate(LocalDate.of(2015, 1, 1).plusDays(i % 3000))
+                    .phone("(11) 9" + (10000000 + i))
+                    .salary(BigDecimal.valueOf(3000 + i % 9000))
+                    .status(statuses[i % statuses.length])
+                    .build());
+        }
+        // Os renderizadores não usam os repositórios
+        service = new ReportExportService(null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public void definitionPdf() {
+        service.writePdf(OutputStream.nullOutputStream(), ReportDefinitions.EMPLOYEES, employees::forEach);
+    }
+
+    @Benchmark
+    public void legacyPdf() {
+        Document document = new Document(PageSize.A4.rotate());
+        try {
+            PdfWriter.getInstance(document, OutputStream.nullOutputStream());
+            document.open();
+
+            PdfPTable table = new PdfPTable(6);
+            table.setWidthPercentage(100);
+            table.setWidths(new float[]{2.5f, 3f, 2f, 2f, 1.5f, 1.5f});
+            legacyTableHeader(table, new String[]{"Nome", "Email", "Cargo", "Departamento", "Data Admissão", "Status"});
+            table.setHeaderRows(1);
+            table.setComplete(false);
+
+            int pending = 0;
+            for (EmployeeDTO emp : employees) {
+                table.addCell(legacyCell(emp.getName()));
+                table.addCell(legacyCell(emp.getEmail()));
+                table.addCell(legacyCell(emp.getPosition()));
+                table.addCell(legacyCell(emp.getDepartmentName() != null ? emp.getDepartmentName() : "-"));
+                table.addCell(legacyCell(emp.getHireDate() != null ? emp.getHireDate().format(DATE_FORMAT) : "-"));
+                table.addCell(legacyCell(legacyStatusLabel(emp.getStatus().name())));
+                if (++pending >= PDF_CHUNK_ROWS) {
+                    document.add(table);
+                    pending = 0;
+                }
+            }
+            table.setComplete(true);
+            document.add(table);
+        } catch (DocumentException e) {
+            throw new RuntimeException(e);
+        } finally {
+            document.close();
+        }
+    }
+
+    // Apenas a montagem das células, sem o layout do PDF
+    @Benchmark
+    public void definitionCells(Blackhole blackhole) {
+        List<ReportColumn<EmployeeDTO>> columns = ReportDefinitions.EMPLOYEES.getPdfColumns();
+        for (EmployeeDTO emp : employees) {
+            for (ReportColumn<EmployeeDTO> column : columns) {
+                String text = column.text(emp);
+                blackhole.consume(service.createCell(text != null ? text : "-"));
+            }
+        }
+    }
+
+    @Benchmark
+    public void legacyCells(Blackhole blackhole) {
+        for (EmployeeDTO emp : employees) {
+            blackhole.consume(legacyCell(emp.getName()));
+            blackhole.consume(legacyCell(emp.getEmail()));
+            blackhole.consume(legacyCell(emp.getPosition()));
+            blackhole.consume(legacyCell(emp.getDepartmentName() != null ? emp.getDepartmentName() : "-"));
+            blackhole.consume(legacyCell(emp.getHireDate() != null ? emp.getHireDate().format(DATE_FORMAT) : "-"));
+            blackhole.consume(legacyCell(legacyStatusLabel(emp.getStatus().name())));
+        }
+    }
+
+    @Benchmark
+    public void definitionExcel() throws IOException {
+        service.writeExcel(OutputStream.nullOutputStream(), ReportDefinitions.EMPLOYEES, employees::forEach);
+    }
+
+    // Cópia dos auxiliares anteriores ao ReportDefinition
+    private static void legacyTableHeader(PdfPTable table, String[] headers) {
+        Font headerFont = new Font(Font.HELVETICA, 10, Font.BOLD, Color.WHITE);
+        for (String header : headers) {
+            PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
+            cell.setBackgroundColor(new Color(124, 58, 237));
+            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+            cell.setPadding(8);
+            table.addCell(cell);
+        }
+    }
+
+    private static PdfPCell legacyCell(String text) {
+        Font cellFont = new Font(Font.HELVETICA, 9, Font.NORMAL, Color.DARK_GRAY);
+        PdfPCell cell = new PdfPCell(new Phrase(text, cellFont));
+        cell.setPadding(6);
+        cell.setHorizontalAlignment(Element.ALIGN_LEFT);
+        return cell;
+    }
+
+    private static String legacyStatusLabel(String status) {
+        return switch (status) {
+            case "ACTIVE" -> "Ativo";
+            case "ON_LEAVE" -> "Afastado";
+            case "TERMINATED" -> "Desligado";
+            default -> status;
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReportExportBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.talentflow.api.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * INSS + IRRF de uma folha: cálculo anterior em BigDecimal contra as tabelas compiladas, tanto
+ * em centavos quanto pela API em BigDecimal usada no PayrollCalculator. Execução:
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main TaxTableBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaxTableBenchmark {
+
+    private static final int SALARIES = 4096;
+
+    private final CompiledTaxTable inss = CompiledTaxTable.compile(CompiledTaxTableTest.inss2024());
+    private final CompiledTaxTable irrf = CompiledTaxTable.compile(CompiledTaxTableTest.irrf2024());
+
+    private long[] salaryCents;
+    private BigDecimal[] salaries;
+
+    @Setup
+    public void setUp() {
+        // Salários entre R$ 1.000 e R$ 15.000, cobrindo todas as faixas
+        SplittableRandom random = new SplittableRandom(42);
+        salaryCents = new long[SALARIES];
+        salaries = new BigDecimal[SALARIES];
+        for (int i = 0; i < SALARIES; i++) {
+            salaryCents[i] = random.nextLong(100_000L, 1_500_000L);
+            salaries[i] = CompiledTaxTable.fromCents(salaryCents[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SALARIES)
+    public void legacyBigDecimal(Blackhole blackhole) {
+        for (BigDecimal gross : salaries) {
+            BigDecimal inssValue = CompiledTaxTableTest.legacyInss(gross);
+            blackhole.consume(CompiledTaxTableTest.legacyIrrf(gross.subtract(inssValue)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SALARIES)
+    public void compiledCents(Blackhole blackhole) {
+        for (long gross : salaryCents) {
+            long inssCents = inss.taxCents(gross);
+            blackhole.consume(irrf.taxCents(gross - inssCents));
+        }
+    }
+
+    // Como no PayrollCalculator: conversão de/para BigDecimal nas bordas
+    @Benchmark
+    @OperationsPerInvocation(SALARIES)
+    public void compiledFromBigDecimal(Blackhole blackhole) {
+        for (BigDecimal gross : salaries) {
+            long grossCents = CompiledTaxTable.toCents(gross);
+            long inssCents = inss.taxCents(grossCents);
+            blackhole.consume(CompiledTaxTable.fromCents(inssCents));
+            blackhole.consume(CompiledTaxTable.fromCents(irrf.taxCents(grossCents - inssCents)));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaxTableBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,41 @@
+package com.talentflow.api.service;
+
+import com.talentflow.api.entity.TaxBracket;
+import com.talentflow.api.entity.TaxTable;
+import com.talentflow.api.repository.TaxTableRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaxTableServiceTest {
+
+    @Test
+    void resolvesVersionValidOnFirstDayOfPeriod() {
+        TaxTable v2024 = CompiledTaxTableTest.irrf2024();
+        TaxTable v2025 = TaxTable.builder()
+                .type(TaxTable.TaxType.IRRF)
+                .validFrom(LocalDate.of(2025, 5, 1))
+                .mode(TaxTable.CalculationMode.DEDUCTION)
+                .build();
+        v2025.getBrackets().add(TaxBracket.builder().table(v2025)
+                .upperLimit(new BigDecimal("2428.80")).rate(BigDecimal.ZERO).deduction(BigDecimal.ZERO).build());
+        v2025.getBrackets().add(TaxBracket.builder().table(v2025)
+                .upperLimit(null).rate(new BigDecimal("0.275")).deduction(new BigDecimal("908.73")).build());
+
+        TaxTableRepository repository = mock(TaxTableRepository.class);
+        // A consulta devolve as versões ordenadas por vigência
+        when(repository.findAllWithBrackets()).thenReturn(List.of(v2024, v2025));
+        TaxTableService service = new TaxTableService(repository);
+
+        assertThat(service.resolve(TaxTable.TaxType.IRRF, 2023, 12).getValidFrom()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(service.resolve(TaxTable.TaxType.IRRF, 2025, 4).getValidFrom()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(service.resolve(TaxTable.TaxType.IRRF, 2025, 5).getValidFrom()).isEqualTo(LocalDate.of(2025, 5, 1));
+        assertThat(service.resolve(TaxTable.TaxType.IRRF, 2026, 1).tax(new BigDecimal("2400.00"))).isEqualByComparingTo("0.00");
+    }
+}